@@ -0,0 +1,27 @@
+package com.octopus.adapter.inbound.cli;
+
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+
+import java.util.Optional;
+
+@ConfigMapping(prefix = "octopus.import")
+public interface ImportConfig {
+
+    /**
+     * Number of records validated and written together.
+     */
+    @WithDefault("500")
+    int batchSize();
+
+    /**
+     * Batches read ahead of the slowest one still being written, which bounds the memory used by an import.
+     */
+    @WithDefault("16")
+    int maxInFlightBatches();
+
+    /**
+     * Threads validating and writing batches, one per available processor when not set.
+     */
+    Optional<Integer> workers();
+}
@@ -0,0 +1,131 @@
+package com.octopus.adapter.inbound.cli;
+
+import com.octopus.adapter.outbound.persistence.mongodb.QueryPlanInspector;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Instance;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+
+import static com.octopus.adapter.inbound.cli.TaskDefinitionImportCommand.EXIT_FAILED;
+import static com.octopus.adapter.inbound.cli.TaskDefinitionImportCommand.EXIT_OK;
+import static com.octopus.adapter.inbound.cli.TaskDefinitionImportCommand.EXIT_USAGE;
+
+/**
+ * Explains every repository query against the configured MongoDB and reports the plans that do not use their index,
+ * sort in memory or examine more than they return. Meant to be run against a local database in CI or before a
+ * release, after a change of queries or indexes.
+ * <p>
+ * With {@code --seed <n>}, an empty definitions collection is first filled with {@code n} synthetic definitions. With
+ * {@code --baseline <file>}, the plan shapes are compared with those of the file, and recorded there when it does not
+ * exist yet; a changed shape fails the run. Delete the file to accept the new plans.
+ * </p>
+ */
+@Slf4j
+@ApplicationScoped
+@RequiredArgsConstructor
+public class QueryPlanCommand {
+
+    private static final String USAGE = "Usage: explain-queries [--seed <count>] [--baseline <file>]";
+    private static final String BASELINE_SEPARATOR = ": ";
+
+    private final Instance<QueryPlanInspector> inspector;
+
+    /**
+     * @param args {@code [--seed <count>] [--baseline <file>]}
+     * @return the process exit code
+     */
+    public int run(String... args) {
+        var seed = 0;
+        Path baseline = null;
+        try {
+            for (var i = 0; i < args.length; i += 2) {
+                if (i + 1 >= args.length) throw new IllegalArgumentException(args[i] + " needs a value");
+                switch (args[i]) {
+                    case "--seed" -> seed = Integer.parseInt(args[i + 1]);
+                    case "--baseline" -> baseline = Path.of(args[i + 1]);
+                    default -> throw new IllegalArgumentException("Unknown option " + args[i]);
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            log.error("{}: {}", USAGE, e.getMessage());
+            return EXIT_USAGE;
+        }
+        if (!inspector.isResolvable()) {
+            log.error("explain-queries needs the mongodb persistence adapter");
+            return EXIT_USAGE;
+        }
+
+        try {
+            if (seed > 0) inspector.get().seed(seed);
+            var plans = inspector.get().inspect();
+
+            var report = new StringBuilder("Query plans:\n");
+            var failed = 0;
+            for (var plan : plans) {
+                if (!plan.isOk()) failed++;
+                report.append(plan.isOk() ? "[ok]   " : "[FAIL] ").append(plan.query()).append('\n')
+                        .append(plan.tree())
+                        .append("    returned ").append(plan.returned())
+                        .append(", keys examined ").append(plan.keysExamined())
+                        .append(", docs examined ").append(plan.docsExamined()).append('\n');
+                plan.violations().forEach(violation -> report.append("    ! ").append(violation).append('\n'));
+            }
+
+            var shapes = QueryPlanInspector.shapes(plans);
+            if (baseline != null) failed += compare(baseline, shapes, report);
+
+            log.info("{}{} of {} queries failed", report, failed, plans.size());
+            return failed == 0 ? EXIT_OK : EXIT_FAILED;
+        } catch (IOException | RuntimeException e) {
+            log.error("Query plan inspection failed", e);
+            return EXIT_FAILED;
+        }
+    }
+
+    /**
+     * Compares the plan shapes with the baseline, or records them if there is none.
+     *
+     * @return the number of queries whose plan changed
+     */
+    private static int compare(Path baseline, Map<String, String> shapes, StringBuilder report) throws IOException {
+        if (!Files.exists(baseline)) {
+            var lines = shapes.entrySet().stream().map(shape -> shape.getKey() + BASELINE_SEPARATOR + shape.getValue()).toList();
+            Files.write(baseline, lines, StandardCharsets.UTF_8);
+            report.append("Baseline recorded in ").append(baseline).append('\n');
+            return 0;
+        }
+
+        var recorded = new LinkedHashMap<String, String>();
+        for (var line : Files.readAllLines(baseline, StandardCharsets.UTF_8)) {
+            var separator = line.indexOf(BASELINE_SEPARATOR);
+            if (separator > 0) recorded.put(line.substring(0, separator), line.substring(separator + BASELINE_SEPARATOR.length()));
+        }
+
+        var queries = new LinkedHashSet<>(recorded.keySet());
+        queries.addAll(shapes.keySet());
+        var changed = 0;
+        var diff = new StringBuilder();
+        for (var query : queries) {
+            var before = recorded.get(query);
+            var after = shapes.get(query);
+            if (after != null && after.equals(before)) continue;
+
+            changed++;
+            diff.append("  ").append(query).append('\n');
+            if (before != null) diff.append("  - ").append(before).append('\n');
+            if (after != null) diff.append("  + ").append(after).append('\n');
+        }
+
+        if (changed == 0) report.append("Plans match the baseline ").append(baseline).append('\n');
+        else report.append("Plans changed since the baseline ").append(baseline).append(":\n").append(diff);
+        return changed;
+    }
+}
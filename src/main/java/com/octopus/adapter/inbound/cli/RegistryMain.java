@@ -0,0 +1,38 @@
+package com.octopus.adapter.inbound.cli;
+
+import io.quarkus.runtime.Quarkus;
+import io.quarkus.runtime.QuarkusApplication;
+import io.quarkus.runtime.annotations.QuarkusMain;
+import jakarta.inject.Inject;
+
+import java.util.Arrays;
+
+/**
+ * Entry point of the registry. Without arguments it serves the API until shut down; with {@code import <file>} it
+ * runs a bulk import instead and exits, and with {@code explain-queries} it checks the query plans and exits.
+ */
+@QuarkusMain
+public class RegistryMain implements QuarkusApplication {
+
+    static final String IMPORT_COMMAND = "import";
+    static final String EXPLAIN_COMMAND = "explain-queries";
+
+    @Inject
+    TaskDefinitionImportCommand importCommand;
+
+    @Inject
+    QueryPlanCommand queryPlanCommand;
+
+    @Override
+    public int run(String... args) {
+        if (args.length > 0 && IMPORT_COMMAND.equals(args[0])) {
+            return importCommand.run(Arrays.copyOfRange(args, 1, args.length));
+        }
+        if (args.length > 0 && EXPLAIN_COMMAND.equals(args[0])) {
+            return queryPlanCommand.run(Arrays.copyOfRange(args, 1, args.length));
+        }
+
+        Quarkus.waitForExit();
+        return 0;
+    }
+}
@@ -0,0 +1,235 @@
+package com.octopus.adapter.inbound.cli;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.octopus.application.port.inbound.ImportTaskDefinitionsUseCase;
+import com.octopus.application.port.inbound.command.CreateTaskDefinitionCommand;
+import jakarta.enterprise.context.ApplicationScoped;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Imports task definitions from a file of {@link CreateTaskDefinitionCommand}s in JSON, one per line.
+ * <p>
+ * The file is read sequentially and cut into batches; worker threads parse, validate and write batches in parallel,
+ * and at most {@link ImportConfig#maxInFlightBatches()} batches are in memory at any time. Batches complete in any
+ * order, and the checkpoint file holds the number of lines up to which every batch has completed, so that an
+ * interrupted import resumes from there. Rejected records are appended to a side file, with their line number and
+ * every error found.
+ * </p>
+ */
+@Slf4j
+@ApplicationScoped
+@RequiredArgsConstructor
+public class TaskDefinitionImportCommand {
+
+    static final int EXIT_OK = 0;
+    static final int EXIT_FAILED = 1;
+    static final int EXIT_USAGE = 2;
+
+    private static final long PROGRESS_INTERVAL_LINES = 100_000;
+
+    private record Line(long number, String text) {
+    }
+
+    private record Batch(long firstLine, long lastLine, List<Line> lines) {
+    }
+
+    /**
+     * Line of the rejects file.
+     */
+    record RejectedRecord(long line, List<String> errors, String record) {
+    }
+
+    private final ImportConfig config;
+    private final ImportTaskDefinitionsUseCase importUseCase;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * @param args {@code <file.ndjson> [rejects-file] [checkpoint-file]}, the side files defaulting to
+     *             {@code <file>.rejects.ndjson} and {@code <file>.checkpoint}
+     * @return the process exit code
+     */
+    public int run(String... args) {
+        if (args.length < 1 || args.length > 3) {
+            log.error("Usage: import <file.ndjson> [rejects-file] [checkpoint-file]");
+            return EXIT_USAGE;
+        }
+        var input = Path.of(args[0]);
+        var rejects = args.length > 1 ? Path.of(args[1]) : Path.of(args[0] + ".rejects.ndjson");
+        var checkpoint = args.length > 2 ? Path.of(args[2]) : Path.of(args[0] + ".checkpoint");
+
+        try {
+            return new Run(input, rejects, checkpoint).execute();
+        } catch (IOException | UncheckedIOException e) {
+            log.error("Import of {} failed", input, e);
+            return EXIT_FAILED;
+        }
+    }
+
+    /**
+     * State of one import.
+     */
+    private final class Run {
+
+        private final Path input;
+        private final Path rejectsFile;
+        private final Path checkpointFile;
+        private final Semaphore inFlight = new Semaphore(config.maxInFlightBatches());
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+        private final AtomicLong imported = new AtomicLong();
+        private final AtomicLong rejected = new AtomicLong();
+
+        /**
+         * Completed batches past the checkpoint, first line to last line, guarded by {@code this}.
+         */
+        private final TreeMap<Long, Long> completed = new TreeMap<>();
+        private long checkpoint;
+        private long lastReported;
+        private BufferedWriter rejects;
+
+        Run(Path input, Path rejectsFile, Path checkpointFile) {
+            this.input = input;
+            this.rejectsFile = rejectsFile;
+            this.checkpointFile = checkpointFile;
+        }
+
+        int execute() throws IOException {
+            checkpoint = Files.exists(checkpointFile) ? Long.parseLong(Files.readString(checkpointFile).strip()) : 0;
+            lastReported = checkpoint;
+            if (checkpoint > 0) log.info("Resuming import of {} after line {}", input, checkpoint);
+
+            var started = System.nanoTime();
+            var workers = config.workers().orElse(Runtime.getRuntime().availableProcessors());
+            ExecutorService executor = Executors.newFixedThreadPool(workers, Thread.ofPlatform().name("task-import-", 0).daemon().factory());
+
+            try (var reader = Files.newBufferedReader(input, StandardCharsets.UTF_8);
+                 var writer = Files.newBufferedWriter(rejectsFile, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                rejects = writer;
+
+                long number = 0;
+                long firstLine = checkpoint + 1;
+                var lines = new ArrayList<Line>(config.batchSize());
+                String text;
+                while (failure.get() == null && (text = reader.readLine()) != null) {
+                    if (++number <= checkpoint) continue;
+                    if (!text.isBlank()) lines.add(new Line(number, text));
+                    if (lines.size() == config.batchSize()) {
+                        submit(executor, new Batch(firstLine, number, lines));
+                        firstLine = number + 1;
+                        lines = new ArrayList<>(config.batchSize());
+                    }
+                }
+                if (failure.get() == null && number >= firstLine) submit(executor, new Batch(firstLine, number, lines));
+
+                // wait for the batches still in flight
+                inFlight.acquireUninterruptibly(config.maxInFlightBatches());
+            } finally {
+                executor.shutdownNow();
+            }
+
+            var elapsedSeconds = Math.max(1, (System.nanoTime() - started) / 1_000_000_000);
+            if (failure.get() != null) {
+                log.error("Import of {} stopped after line {}, run it again to resume: {} imported, {} rejected",
+                        input, checkpoint, imported.get(), rejected.get(), failure.get());
+                return EXIT_FAILED;
+            }
+            log.info("Imported {} into the registry in {} s: {} imported ({}/s), {} rejected, see {}",
+                    input, elapsedSeconds, imported.get(), imported.get() / elapsedSeconds, rejected.get(), rejectsFile);
+            return EXIT_OK;
+        }
+
+        private void submit(ExecutorService executor, Batch batch) {
+            inFlight.acquireUninterruptibly();
+            executor.execute(() -> {
+                try {
+                    process(batch);
+                    complete(batch);
+                } catch (RuntimeException | IOException e) {
+                    failure.compareAndSet(null, e);
+                } finally {
+                    inFlight.release();
+                }
+            });
+        }
+
+        private void process(Batch batch) throws IOException {
+            var commands = new ArrayList<CreateTaskDefinitionCommand>(batch.lines().size());
+            var commandLines = new ArrayList<Line>(batch.lines().size());
+            var rejectedRecords = new ArrayList<RejectedRecord>();
+
+            for (var line : batch.lines()) {
+                try {
+                    commands.add(objectMapper.readValue(line.text(), CreateTaskDefinitionCommand.class));
+                    commandLines.add(line);
+                } catch (JsonProcessingException e) {
+                    rejectedRecords.add(new RejectedRecord(line.number(), List.of("Malformed record: " + e.getOriginalMessage()), line.text()));
+                }
+            }
+
+            var refused = commands.isEmpty() ? List.<ImportTaskDefinitionsUseCase.Rejection>of() : importUseCase.importBatch(commands);
+            for (var rejection : refused) {
+                var line = commandLines.get(rejection.position());
+                rejectedRecords.add(new RejectedRecord(line.number(), rejection.errors(), line.text()));
+            }
+
+            imported.addAndGet(commands.size() - refused.size());
+            rejected.addAndGet(rejectedRecords.size());
+            writeRejects(rejectedRecords);
+        }
+
+        private void writeRejects(List<RejectedRecord> records) throws IOException {
+            if (records.isEmpty()) return;
+
+            synchronized (rejects) {
+                for (var record : records) {
+                    rejects.write(objectMapper.writeValueAsString(record));
+                    rejects.newLine();
+                }
+                // rejects are on disk before the checkpoint can move past them
+                rejects.flush();
+            }
+        }
+
+        /**
+         * Moves the checkpoint over every batch completed without a gap since the previous one.
+         */
+        private synchronized void complete(Batch batch) throws IOException {
+            completed.put(batch.firstLine(), batch.lastLine());
+
+            var moved = false;
+            Long lastLine;
+            while ((lastLine = completed.remove(checkpoint + 1)) != null) {
+                checkpoint = lastLine;
+                moved = true;
+            }
+            if (!moved) return;
+
+            var temporary = checkpointFile.resolveSibling(checkpointFile.getFileName() + ".tmp");
+            Files.writeString(temporary, Long.toString(checkpoint));
+            Files.move(temporary, checkpointFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+            if (checkpoint - lastReported >= PROGRESS_INTERVAL_LINES) {
+                lastReported = checkpoint;
+                log.info("Import progress: line {}, {} imported, {} rejected", checkpoint, imported.get(), rejected.get());
+            }
+        }
+    }
+}
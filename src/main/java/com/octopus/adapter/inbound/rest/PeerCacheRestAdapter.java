@@ -0,0 +1,91 @@
+package com.octopus.adapter.inbound.rest;
+
+import com.octopus.application.port.inbound.ServePeerCacheUseCase;
+import com.octopus.domain.vo.TaskDefinitionId;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Optional;
+
+/**
+ * Endpoints through which the registry replicas share their cache. Bodies are the stored form of a definition, not
+ * an API representation, and only other replicas may call them: every request must carry the token replicas share
+ * in the {@value #TOKEN_HEADER} header.
+ */
+@Slf4j
+@Path("/api/internal/v1/peer-cache")
+@Produces(MediaType.APPLICATION_JSON)
+@RequiredArgsConstructor
+public class PeerCacheRestAdapter {
+
+    static final String TOKEN_HEADER = "X-Peer-Cache-Token";
+
+    private final ServePeerCacheUseCase servePeerCacheUseCase;
+
+    /**
+     * @return HTTP 200 OK with the active definition of the name, 404 Not Found if it has none, or 401 Unauthorized
+     * without the shared token.
+     */
+    @GET
+    @Path("/names/{name}")
+    public Response getByName(@PathParam("name") String name, @HeaderParam(TOKEN_HEADER) String token) {
+        if (!servePeerCacheUseCase.isEnabled()) return Response.status(Response.Status.NOT_FOUND).build();
+        if (!servePeerCacheUseCase.authorizes(token)) return unauthorized();
+
+        return toResponse(servePeerCacheUseCase.serveByName(name));
+    }
+
+    /**
+     * @return HTTP 200 OK with the definition, 404 Not Found if there is none, or 401 Unauthorized without the shared
+     * token.
+     */
+    @GET
+    @Path("/ids/{id}")
+    public Response getById(@PathParam("id") String id, @HeaderParam(TOKEN_HEADER) String token) {
+        if (!servePeerCacheUseCase.isEnabled()) return Response.status(Response.Status.NOT_FOUND).build();
+        if (!servePeerCacheUseCase.authorizes(token)) return unauthorized();
+
+        return toResponse(servePeerCacheUseCase.serveById(TaskDefinitionId.of(id)));
+    }
+
+    /**
+     * Drops a name after one of its definitions was saved on another replica.
+     *
+     * @return HTTP 204 No Content, or 401 Unauthorized without the shared token.
+     */
+    @DELETE
+    @Path("/names/{name}")
+    public Response invalidateName(@PathParam("name") String name, @HeaderParam(TOKEN_HEADER) String token) {
+        if (!servePeerCacheUseCase.authorizes(token)) return unauthorized();
+
+        servePeerCacheUseCase.invalidateName(name);
+        return Response.noContent().build();
+    }
+
+    /**
+     * Drops a definition after it was saved on another replica.
+     *
+     * @return HTTP 204 No Content, or 401 Unauthorized without the shared token.
+     */
+    @DELETE
+    @Path("/ids/{id}")
+    public Response invalidateId(@PathParam("id") String id, @HeaderParam(TOKEN_HEADER) String token) {
+        if (!servePeerCacheUseCase.authorizes(token)) return unauthorized();
+
+        servePeerCacheUseCase.invalidateId(TaskDefinitionId.of(id));
+        return Response.noContent().build();
+    }
+
+    private static Response unauthorized() {
+        log.warn("Peer cache: refused a request without the shared token");
+        return Response.status(Response.Status.UNAUTHORIZED).build();
+    }
+
+    private static Response toResponse(Optional<byte[]> value) {
+        return value.map(body -> Response.ok(body).build())
+                .orElseGet(() -> Response.status(Response.Status.NOT_FOUND).build());
+    }
+}
@@ -1,15 +1,32 @@
 package com.octopus.adapter.inbound.rest;
 
 
+import com.octopus.adapter.inbound.rest.cache.ResponseBodyCache;
+import com.octopus.adapter.inbound.rest.mapper.TaskDefinitionMapstructMapper;
+import com.octopus.application.context.ReadSourceContext;
 import com.octopus.application.port.inbound.ResolveTaskDefinitionQuery;
+import com.octopus.application.port.inbound.query.LazyTaskDefinition;
+import com.octopus.application.port.inbound.query.TaskDefinitionProjection;
+import com.octopus.domain.entity.TaskDefinition;
+import com.octopus.domain.exception.DomainResourceNotFoundException;
+import com.octopus.domain.vo.TaskDefinitionHead;
+import com.octopus.domain.vo.TaskDefinitionRef;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.Optional;
+
+import static java.util.Objects.nonNull;
+
 @Slf4j
 @Path("/api/internal/v1/tasks")
 @Produces(MediaType.APPLICATION_JSON)
@@ -17,13 +34,31 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class TaskDefinitionInternalRestAdapter {
 
+    static final String SNAPSHOT_AGE_HEADER = "X-Registry-Snapshot-Age";
+
+    /**
+     * A pinned version never changes, so it may be cached for as long as caches allow.
+     */
+    static final String PINNED_CACHE_CONTROL = "public, max-age=31536000, immutable";
+
+    /**
+     * The current version of a name may move at any time, so caches must revalidate it through its ETag.
+     */
+    static final String UNPINNED_CACHE_CONTROL = "no-cache";
+
+    private static final String GZIP = "gzip";
+
     private final ResolveTaskDefinitionQuery resolveTaskDefinitionQuery;
+    private final TaskDefinitionMapstructMapper mapper;
+    private final ReadSourceContext readSourceContext;
+    private final ResponseBodyCache responseCache;
 
     /**
      * Endpoint to check if a task definition with the given name exists.
      *
      * @param name the name of the task definition to check
      * @return HTTP 200 OK if the task definition exists, HTTP 404 Not Found if it does not exist.
+     * When the answer comes from the local snapshot, the {@value #SNAPSHOT_AGE_HEADER} header carries its age in seconds.
      */
     @HEAD
     @Path("/{name}")
@@ -32,8 +67,118 @@ public class TaskDefinitionInternalRestAdapter {
 
         var exists = resolveTaskDefinitionQuery.execute(name);
 
-        if( exists ) return Response.ok().build();
+        var response = exists ? Response.ok() : Response.status(Response.Status.NOT_FOUND);
+
+        readSourceContext.snapshotAge().ifPresent(age -> response.header(SNAPSHOT_AGE_HEADER, age.toSeconds()));
+
+        return response.build();
+    }
+
+    /**
+     * Endpoint to resolve a task definition by {@code name} or by {@code name@version}.
+     * <p>
+     * A pinned {@code name@version} is immutable and served with {@value #PINNED_CACHE_CONTROL}, whatever the status
+     * of that version. A bare {@code name} resolves the current active version and carries the ETag
+     * {@code "name@version"}; revalidating it with {@code If-None-Match} only reads the small head pointer of the name.
+     * Encoded responses are served from the {@link ResponseBodyCache}, gzip-compressed when the client accepts it.
+     * </p>
+     *
+     * @param reference the name of the task definition to resolve, optionally followed by {@code @version}
+     * @param view      field projection, SUMMARY (default) reads scalar fields only, FULL also loads headers,
+     *                  payload template and retry policy
+     * @return HTTP 200 OK with the task definition, HTTP 304 Not Modified if the current version matches
+     * {@code If-None-Match}, HTTP 404 Not Found if there is no such version or no active task definition with that name.
+     */
+    @GET
+    @Path("/{reference}")
+    public Response resolveTask(@NotNull @NotBlank @PathParam("reference") String reference,
+                                @QueryParam("view") String view,
+                                @HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch,
+                                @HeaderParam(HttpHeaders.ACCEPT_ENCODING) String acceptEncoding,
+                                @Context Request request) {
+        log.debug("Resolving task definition '{}'", reference);
+
+        var ref = TaskDefinitionRef.parse(reference);
+        var projection = TaskDefinitionProjection.fromString(view);
+
+        var gzip = nonNull(acceptEncoding) && acceptEncoding.contains(GZIP);
+
+        if (ref.isPinned()) {
+            var response = responseCache.isEnabled()
+                    ? cached(ref.name(), ref.version(), projection, gzip)
+                    : Response.ok(toResponse(resolveVersion(ref.name(), ref.version()), projection));
+
+            return response
+                    .tag(entityTag(ref))
+                    .header(HttpHeaders.CACHE_CONTROL, PINNED_CACHE_CONTROL)
+                    .build();
+        }
+
+        var head = nonNull(ifNoneMatch) || responseCache.isEnabled()
+                ? resolveTaskDefinitionQuery.resolveActiveHead(ref.name())
+                : Optional.<TaskDefinitionHead>empty();
+
+        if (nonNull(ifNoneMatch) && head.isPresent()) {
+            var notModified = request.evaluatePreconditions(entityTag(head.get().versionRef()));
+            if (notModified != null) {
+                return notModified.header(HttpHeaders.CACHE_CONTROL, UNPINNED_CACHE_CONTROL).build();
+            }
+        }
+
+        if (responseCache.isEnabled() && head.isPresent()) {
+            return cached(ref.name(), head.get().version(), projection, gzip)
+                    .tag(entityTag(head.get().versionRef()))
+                    .header(HttpHeaders.CACHE_CONTROL, UNPINNED_CACHE_CONTROL)
+                    .build();
+        }
+
+        // the full view is read in one go, so that its summary and heavy sections come from the same version
+        var response = switch (projection) {
+            case SUMMARY -> {
+                var summary = resolveTaskDefinitionQuery.resolve(ref.name()).map(LazyTaskDefinition::summary)
+                        .orElseThrow(() -> notFound(ref.name()));
+                yield Response.ok(mapper.toSummaryResponse(summary)).tag(entityTag(summary.versionRef()));
+            }
+            case FULL -> {
+                var definition = resolveTaskDefinitionQuery.resolveComplete(ref.name())
+                        .orElseThrow(() -> notFound(ref.name()));
+                yield Response.ok(mapper.toFullResponse(definition)).tag(entityTag(definition.versionRef()));
+            }
+        };
+
+        return response
+                .header(HttpHeaders.CACHE_CONTROL, UNPINNED_CACHE_CONTROL)
+                .build();
+    }
+
+    private static DomainResourceNotFoundException notFound(String name) {
+        return new DomainResourceNotFoundException("No active task definition named '" + name + "'");
+    }
+
+    private Response.ResponseBuilder cached(String name, long version, TaskDefinitionProjection projection, boolean gzip) {
+        var entry = responseCache.get(name, version, projection, () -> toResponse(resolveVersion(name, version), projection));
+
+        if (gzip && nonNull(entry.gzipBody())) {
+            return Response.ok(entry.gzipBody())
+                    .header(HttpHeaders.CONTENT_ENCODING, GZIP)
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+        return Response.ok(entry.body()).header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+    }
+
+    private TaskDefinition resolveVersion(String name, long version) {
+        return resolveTaskDefinitionQuery.resolveVersion(name, version)
+                .orElseThrow(() -> new DomainResourceNotFoundException("No task definition version '" + name + "@" + version + "'"));
+    }
+
+    private Object toResponse(TaskDefinition definition, TaskDefinitionProjection projection) {
+        return switch (projection) {
+            case SUMMARY -> mapper.toSummaryResponse(definition.toSummary());
+            case FULL -> mapper.toFullResponse(definition);
+        };
+    }
 
-        return Response.status(Response.Status.NOT_FOUND).build();
+    private static EntityTag entityTag(TaskDefinitionRef ref) {
+        return new EntityTag(ref.toString());
     }
 }
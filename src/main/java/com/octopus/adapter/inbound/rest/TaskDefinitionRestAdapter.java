@@ -2,19 +2,35 @@ package com.octopus.adapter.inbound.rest;
 
 
 import com.octopus.adapter.inbound.rest.mapper.TaskDefinitionMapstructMapper;
+import com.octopus.adapter.inbound.rest.writequeue.TaskCreationQueue;
+import com.octopus.application.port.inbound.ChangeTaskDefinitionStatusUseCase;
 import com.octopus.application.port.inbound.CreateTaskDefinitionUseCase;
+import com.octopus.application.port.inbound.ListTaskDefinitionsQuery;
+import com.octopus.application.port.inbound.RecommendExecutionSettingsQuery;
+import com.octopus.application.port.inbound.ResolveTaskDefinitionQuery;
+import com.octopus.application.port.inbound.command.ChangeTaskDefinitionStatusCommand;
 import com.octopus.application.port.inbound.command.CreateTaskDefinitionCommand;
+import com.octopus.application.port.inbound.query.MetadataTagFilter;
+import com.octopus.application.port.inbound.query.PageCursor;
+import com.octopus.application.port.inbound.query.TaskDefinitionListCriteria;
+import com.octopus.application.port.inbound.query.TaskDefinitionProjection;
+import com.octopus.domain.exception.DomainResourceNotFoundException;
+import com.octopus.domain.exception.DomainValidationException;
+import com.octopus.domain.vo.TaskDefinitionId;
+import com.octopus.domain.vo.TaskStatus;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
-import jakarta.ws.rs.Consumes;
-import jakarta.ws.rs.POST;
-import jakarta.ws.rs.Path;
-import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import java.net.URI;
+import java.util.List;
+import java.util.UUID;
+
+import static jakarta.ws.rs.core.Response.Status.ACCEPTED;
 import static jakarta.ws.rs.core.Response.Status.CREATED;
 
 @Slf4j
@@ -24,17 +40,45 @@ import static jakarta.ws.rs.core.Response.Status.CREATED;
 @RequiredArgsConstructor
 public class TaskDefinitionRestAdapter {
 
+    static final String PREFER_HEADER = "Prefer";
+    static final String PREFERENCE_APPLIED_HEADER = "Preference-Applied";
+    static final String RESPOND_ASYNC = "respond-async";
+
     private final CreateTaskDefinitionUseCase createTaskUseCase;
+    private final ListTaskDefinitionsQuery listTaskDefinitionsQuery;
+    private final ChangeTaskDefinitionStatusUseCase changeStatusUseCase;
+    private final RecommendExecutionSettingsQuery recommendExecutionSettingsQuery;
+    private final ResolveTaskDefinitionQuery resolveTaskDefinitionQuery;
+    private final TaskCreationQueue creationQueue;
     private final TaskDefinitionMapstructMapper mapper;
 
     /**
      * Endpoint to create a new task definition.
+     * <p>
+     * With {@code Prefer: respond-async} and the write queue enabled, the creation is queued and written in bulk with
+     * others; its outcome is then read from the status URL returned in {@code Location}.
+     * </p>
      *
      * @param request the request body containing task definition data
-     * @return HTTP 201 Created with the created task definition in the response body.
+     * @param prefer  optional {@code Prefer} header
+     * @return HTTP 201 Created with the created task definition in the response body, or HTTP 202 Accepted with the
+     * pending creation when processed asynchronously.
      */
     @POST
-    public Response createTask(@Valid @NotNull CreateTaskDefinitionCommand request) {
+    public Response createTask(@Valid @NotNull CreateTaskDefinitionCommand request,
+                               @HeaderParam(PREFER_HEADER) String prefer) {
+        if (prefer != null && prefer.contains(RESPOND_ASYNC) && creationQueue.isEnabled()) {
+            log.debug("REST: Queueing creation of task with name: {}, category: {}", request.getName(), request.getCategory());
+
+            var creation = creationQueue.submit(request);
+
+            return Response.status(ACCEPTED)
+                    .location(URI.create("/api/v1/tasks/creations/" + creation.id()))
+                    .header(PREFERENCE_APPLIED_HEADER, RESPOND_ASYNC)
+                    .entity(mapper.toCreationResponse(creation))
+                    .build();
+        }
+
         log.info("REST: Creating task with name: {}, category: {}", request.getName(), request.getCategory());
 
         var domain = createTaskUseCase.execute(request);
@@ -43,4 +87,113 @@ public class TaskDefinitionRestAdapter {
 
         return Response.status(CREATED).entity(response).build();
     }
+
+    /**
+     * Endpoint to follow a creation queued by {@link #createTask} with {@code Prefer: respond-async}.
+     * <p>
+     * The status of a pending or recent creation is only known by the instance that queued it. Elsewhere, or once that
+     * status expired, a written creation is still found in the store, since the definition is created under the id of
+     * its creation.
+     * </p>
+     *
+     * @param id the id of the creation
+     * @return HTTP 200 OK with the status of the creation, and the created task definition once written,
+     * HTTP 404 Not Found if the creation is neither known to this instance nor written.
+     */
+    @GET
+    @Path("/creations/{id}")
+    public Response getCreation(@PathParam("id") String id) {
+        UUID creationId;
+        try {
+            creationId = UUID.fromString(id);
+        } catch (IllegalArgumentException e) {
+            throw new DomainValidationException("Invalid creation id: " + id, e);
+        }
+
+        var creation = creationQueue.find(creationId);
+        if (creation.isPresent()) {
+            return Response.ok(mapper.toCreationResponse(creation.get())).build();
+        }
+
+        var created = resolveTaskDefinitionQuery.resolveById(TaskDefinitionId.of(creationId))
+                .orElseThrow(() -> new DomainResourceNotFoundException(
+                        "No task creation '" + id + "' pending on this instance or written"));
+
+        return Response.ok(mapper.toCreationResponse(creationId, created)).build();
+    }
+
+    /**
+     * Endpoint to change the status of a task definition. The change is recorded as a new version.
+     *
+     * @param id      the id of the task definition
+     * @param request the request body containing the target status
+     * @return HTTP 200 OK with the task definition at its new version in the response body.
+     */
+    @PUT
+    @Path("/{id}/status")
+    public Response changeTaskStatus(@PathParam("id") String id,
+                                     @Valid @NotNull ChangeTaskDefinitionStatusCommand request) {
+        log.info("REST: Changing status of task {} to {}", id, request.getStatus());
+
+        var domain = changeStatusUseCase.execute(TaskDefinitionId.of(id), request);
+
+        return Response.ok(mapper.toFullResponse(domain)).build();
+    }
+
+    /**
+     * Endpoint to get timeout and retry settings derived from the executions reported for a task definition.
+     *
+     * @param id the id of the task definition
+     * @return HTTP 200 OK with the recommended settings next to the current ones in the response body.
+     */
+    @GET
+    @Path("/{id}/execution-recommendations")
+    public Response getExecutionRecommendations(@PathParam("id") String id) {
+        log.debug("REST: Recommending execution settings of task {}", id);
+
+        var recommendation = recommendExecutionSettingsQuery.recommend(TaskDefinitionId.of(id));
+
+        return Response.ok(mapper.toExecutionSettingsRecommendationResponse(recommendation)).build();
+    }
+
+    /**
+     * Endpoint to list task definitions, ordered by category and name.
+     *
+     * @param category    optional category filter
+     * @param status      optional status filter
+     * @param metadataKey optional filter on the presence of a metadata key
+     * @param tags        optional filter on metadata values, each written as {@code key:value}
+     * @param tagMatch    ALL (default) to require every tag, ANY to require at least one
+     * @param cursor      opaque cursor returned as {@code nextCursor} by the previous page
+     * @param limit       maximum number of items in the page
+     * @param view        field projection, SUMMARY (default) or FULL
+     * @return HTTP 200 OK with the page of task definitions in the response body.
+     */
+    @GET
+    public Response listTasks(@QueryParam("category") String category,
+                              @QueryParam("status") String status,
+                              @QueryParam("metadataKey") String metadataKey,
+                              @QueryParam("tag") List<String> tags,
+                              @QueryParam("tagMatch") String tagMatch,
+                              @QueryParam("cursor") String cursor,
+                              @QueryParam("limit") @DefaultValue("" + TaskDefinitionListCriteria.DEFAULT_LIMIT) int limit,
+                              @QueryParam("view") String view) {
+        log.debug("REST: Listing tasks with category: {}, status: {}, metadataKey: {}, tags: {} ({})", category, status, metadataKey, tags, tagMatch);
+
+        var criteria = TaskDefinitionListCriteria.builder()
+                .category(category)
+                .status(status != null ? TaskStatus.fromString(status) : null)
+                .metadataKey(metadataKey)
+                .tags(MetadataTagFilter.parse(tags, tagMatch))
+                .after(PageCursor.decode(cursor))
+                .limit(limit)
+                .build();
+
+        var response = switch (TaskDefinitionProjection.fromString(view)) {
+            case SUMMARY -> mapper.toPageResponse(listTaskDefinitionsQuery.listSummaries(criteria), mapper::toSummaryResponse);
+            case FULL -> mapper.toPageResponse(listTaskDefinitionsQuery.list(criteria), mapper::toFullResponse);
+        };
+
+        return Response.ok(response).build();
+    }
 }
@@ -0,0 +1,54 @@
+package com.octopus.adapter.inbound.rest;
+
+import com.octopus.adapter.inbound.rest.mapper.TaskDefinitionMapstructMapper;
+import com.octopus.application.port.inbound.SearchTaskDefinitionsQuery;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Path("/api/v1/tasks/search")
+@Produces(MediaType.APPLICATION_JSON)
+@RequiredArgsConstructor
+public class TaskDefinitionSearchRestAdapter {
+
+    private final SearchTaskDefinitionsQuery searchTaskDefinitionsQuery;
+    private final TaskDefinitionMapstructMapper mapper;
+
+    /**
+     * Endpoint to search task definitions by the words of their name, category and description.
+     *
+     * @param text  the words to search for, the last one may be incomplete
+     * @param limit maximum number of hits
+     * @return HTTP 200 OK with the hits, best matches first.
+     */
+    @GET
+    public Response search(@QueryParam("q") String text,
+                           @QueryParam("limit") @DefaultValue("" + SearchTaskDefinitionsQuery.DEFAULT_LIMIT) int limit) {
+        log.debug("REST: Searching tasks for '{}'", text);
+
+        var hits = searchTaskDefinitionsQuery.search(text, limit);
+
+        return Response.ok(hits.stream().map(mapper::toSearchHitResponse).toList()).build();
+    }
+
+    /**
+     * Endpoint to autocomplete task names.
+     *
+     * @param prefix the beginning of the name, case-insensitive
+     * @param limit  maximum number of suggestions
+     * @return HTTP 200 OK with the matching definitions in name order.
+     */
+    @GET
+    @Path("/suggest")
+    public Response suggest(@QueryParam("prefix") String prefix,
+                            @QueryParam("limit") @DefaultValue("" + SearchTaskDefinitionsQuery.DEFAULT_LIMIT) int limit) {
+        log.debug("REST: Suggesting task names for '{}'", prefix);
+
+        var hits = searchTaskDefinitionsQuery.suggest(prefix, limit);
+
+        return Response.ok(hits.stream().map(mapper::toSearchHitResponse).toList()).build();
+    }
+}
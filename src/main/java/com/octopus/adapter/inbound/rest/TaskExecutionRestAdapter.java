@@ -0,0 +1,101 @@
+package com.octopus.adapter.inbound.rest;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.octopus.adapter.inbound.rest.dto.ExecutionReportResponse;
+import com.octopus.application.port.inbound.RecordTaskExecutionsUseCase;
+import com.octopus.domain.exception.DomainValidationException;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@Slf4j
+@Path("/api/internal/v1/executions")
+@Produces(MediaType.APPLICATION_JSON)
+@Consumes(MediaType.APPLICATION_JSON)
+@RequiredArgsConstructor
+public class TaskExecutionRestAdapter {
+
+    private static final String TASK = "task";
+    private static final String LATENCY_MILLIS = "latencyMillis";
+    private static final String STATUS = "status";
+    private static final String ATTEMPT = "attempt";
+
+    private final RecordTaskExecutionsUseCase recordTaskExecutionsUseCase;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Endpoint for orchestrators to report task executions in batches:
+     * {@code [{"task": "send-email", "latencyMillis": 120, "status": 200, "attempt": 1}, ...]}.
+     * <p>
+     * The body is read as a stream and each execution is recorded as soon as it is parsed, without binding it to an
+     * object; consecutive executions of the same task share one name string.
+     * </p>
+     *
+     * @param body the JSON array of executions
+     * @return HTTP 202 Accepted with the number of executions recorded and rejected.
+     */
+    @POST
+    public Response report(InputStream body) {
+        long accepted = 0;
+        long rejected = 0;
+
+        try (var parser = objectMapper.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new DomainValidationException("Execution report must be a JSON array of executions");
+            }
+
+            String lastTask = null;
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                String task = null;
+                long latencyMillis = -1;
+                int status = 0;
+                int attempt = 1;
+
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    var field = parser.currentName();
+                    parser.nextToken();
+                    switch (field) {
+                        case TASK -> task = lastTask = taskName(parser, lastTask);
+                        case LATENCY_MILLIS -> latencyMillis = parser.getValueAsLong(-1);
+                        case STATUS -> status = parser.getValueAsInt(0);
+                        case ATTEMPT -> attempt = parser.getValueAsInt(0);
+                        default -> parser.skipChildren();
+                    }
+                }
+
+                if (recordTaskExecutionsUseCase.record(task, latencyMillis, status, attempt)) accepted++;
+                else rejected++;
+            }
+        } catch (IOException e) {
+            throw new DomainValidationException("Malformed execution report after " + (accepted + rejected) + " executions: " + e.getMessage());
+        }
+
+        log.debug("REST: Recorded {} task executions, rejected {}", accepted, rejected);
+
+        return Response.accepted(new ExecutionReportResponse(accepted, rejected)).build();
+    }
+
+    /**
+     * @return the task name at the current token, the previous one if it has the same characters
+     */
+    private static String taskName(JsonParser parser, String previous) throws IOException {
+        if (parser.currentToken() != JsonToken.VALUE_STRING) return null;
+
+        var length = parser.getTextLength();
+        if (previous != null && previous.length() == length) {
+            var chars = parser.getTextCharacters();
+            var offset = parser.getTextOffset();
+            var same = true;
+            for (int i = 0; i < length && same; i++) same = chars[offset + i] == previous.charAt(i);
+            if (same) return previous;
+        }
+        return parser.getText();
+    }
+}
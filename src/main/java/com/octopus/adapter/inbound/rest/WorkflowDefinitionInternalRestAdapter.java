@@ -0,0 +1,43 @@
+package com.octopus.adapter.inbound.rest;
+
+import com.octopus.adapter.inbound.rest.mapper.TaskDefinitionMapstructMapper;
+import com.octopus.application.port.inbound.ResolveWorkflowDefinitionQuery;
+import com.octopus.domain.exception.DomainResourceNotFoundException;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Path("/api/internal/v1/workflows")
+@Produces(MediaType.APPLICATION_JSON)
+@RequiredArgsConstructor
+public class WorkflowDefinitionInternalRestAdapter {
+
+    private final ResolveWorkflowDefinitionQuery resolveWorkflowDefinitionQuery;
+    private final TaskDefinitionMapstructMapper mapper;
+
+    /**
+     * Endpoint to resolve a workflow together with the full active definition of every task its steps run.
+     *
+     * @param name the name of the workflow
+     * @return HTTP 200 OK with the workflow and its tasks keyed by name; tasks that no longer have an active
+     * definition are listed in {@code missingTasks}. HTTP 404 Not Found if there is no workflow with that name.
+     */
+    @GET
+    @Path("/{name}")
+    public Response resolveWorkflow(@NotNull @NotBlank @PathParam("name") String name) {
+        log.debug("Resolving workflow '{}'", name);
+
+        var resolved = resolveWorkflowDefinitionQuery.resolve(name)
+                .orElseThrow(() -> new DomainResourceNotFoundException("No workflow definition named '" + name + "'"));
+
+        return Response.ok(mapper.toResolvedWorkflowResponse(resolved)).build();
+    }
+}
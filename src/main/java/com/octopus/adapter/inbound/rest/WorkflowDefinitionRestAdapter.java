@@ -0,0 +1,43 @@
+package com.octopus.adapter.inbound.rest;
+
+import com.octopus.adapter.inbound.rest.mapper.TaskDefinitionMapstructMapper;
+import com.octopus.application.port.inbound.RegisterWorkflowDefinitionUseCase;
+import com.octopus.application.port.inbound.command.RegisterWorkflowDefinitionCommand;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import static jakarta.ws.rs.core.Response.Status.CREATED;
+
+@Slf4j
+@Path("/api/v1/workflows")
+@Produces(MediaType.APPLICATION_JSON)
+@Consumes(MediaType.APPLICATION_JSON)
+@RequiredArgsConstructor
+public class WorkflowDefinitionRestAdapter {
+
+    private final RegisterWorkflowDefinitionUseCase registerWorkflowUseCase;
+    private final TaskDefinitionMapstructMapper mapper;
+
+    /**
+     * Endpoint to register a new workflow definition, a graph of steps each running a task definition by name.
+     *
+     * @param request the request body containing the workflow name and steps
+     * @return HTTP 201 Created with the workflow, its topological order and parallelism levels in the response body.
+     */
+    @POST
+    public Response registerWorkflow(@Valid @NotNull RegisterWorkflowDefinitionCommand request) {
+        log.info("REST: Registering workflow with name: {}", request.getName());
+
+        var domain = registerWorkflowUseCase.execute(request);
+
+        return Response.status(CREATED).entity(mapper.toWorkflowResponse(domain)).build();
+    }
+}
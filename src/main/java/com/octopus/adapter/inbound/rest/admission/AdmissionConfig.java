@@ -0,0 +1,58 @@
+package com.octopus.adapter.inbound.rest.admission;
+
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+
+import java.time.Duration;
+
+@ConfigMapping(prefix = "octopus.admission")
+public interface AdmissionConfig {
+
+    /**
+     * Whether requests are admitted against adaptive concurrency limits.
+     */
+    @WithDefault("true")
+    boolean enabled();
+
+    /**
+     * Limits of the internal lookups made by orchestrators.
+     */
+    LimitConfig internalReads();
+
+    /**
+     * Limits of the public read endpoints.
+     */
+    LimitConfig publicReads();
+
+    /**
+     * Limits of the public write endpoints.
+     */
+    LimitConfig publicWrites();
+
+    interface LimitConfig {
+
+        /**
+         * Concurrency limit before any latency has been observed.
+         */
+        @WithDefault("20")
+        int initialLimit();
+
+        @WithDefault("2")
+        int minLimit();
+
+        @WithDefault("200")
+        int maxLimit();
+
+        /**
+         * How much the short-term latency may exceed the long-term baseline before the limit shrinks.
+         */
+        @WithDefault("1.5")
+        double tolerance();
+
+        /**
+         * {@code Retry-After} sent with rejected requests.
+         */
+        @WithDefault("1s")
+        Duration retryAfter();
+    }
+}
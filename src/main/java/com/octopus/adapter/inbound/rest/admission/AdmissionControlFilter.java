@@ -0,0 +1,129 @@
+package com.octopus.adapter.inbound.rest.admission;
+
+import com.octopus.adapter.inbound.rest.dto.ErrorResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.vertx.http.runtime.CurrentVertxRequest;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.container.PreMatching;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.Provider;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Admits API requests against an adaptive concurrency limit per {@link EndpointClass}.
+ * Requests over the limit are rejected right away with {@code Retry-After} rather than queued, so a storm of
+ * writes cannot take the connection pool away from the internal lookups.
+ * <p>
+ * The permit of an admitted request is released by the response filter, which measures its latency, or else when the
+ * HTTP exchange ends, so that requests that never reach the response filter, e.g. because the client disconnected,
+ * do not lower the limit for good.
+ * </p>
+ */
+@Slf4j
+@Provider
+@PreMatching
+public class AdmissionControlFilter implements ContainerRequestFilter, ContainerResponseFilter {
+
+    private static final String ADMISSION = AdmissionControlFilter.class.getName() + ".admission";
+
+    private record Budget(GradientConcurrencyLimiter limiter, long retryAfterSeconds, Counter rejections) {
+    }
+
+    /**
+     * The permit of an admitted request, released once whichever of the response filter and the end of the exchange
+     * comes first.
+     */
+    private static final class Admission {
+        private final GradientConcurrencyLimiter limiter;
+        private final long admittedAt = System.nanoTime();
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        Admission(GradientConcurrencyLimiter limiter) {
+            this.limiter = limiter;
+        }
+
+        void release() {
+            if (released.compareAndSet(false, true)) limiter.release(System.nanoTime() - admittedAt);
+        }
+    }
+
+    private final boolean enabled;
+    private final CurrentVertxRequest currentRequest;
+    private final Map<EndpointClass, Budget> budgets = new EnumMap<>(EndpointClass.class);
+
+    public AdmissionControlFilter(AdmissionConfig config, MeterRegistry registry, CurrentVertxRequest currentRequest) {
+        this.enabled = config.enabled();
+        this.currentRequest = currentRequest;
+        budgets.put(EndpointClass.INTERNAL_READ, budget(EndpointClass.INTERNAL_READ, config.internalReads(), registry));
+        budgets.put(EndpointClass.PUBLIC_READ, budget(EndpointClass.PUBLIC_READ, config.publicReads(), registry));
+        budgets.put(EndpointClass.PUBLIC_WRITE, budget(EndpointClass.PUBLIC_WRITE, config.publicWrites(), registry));
+    }
+
+    @Override
+    public void filter(ContainerRequestContext request) {
+        if (!enabled) return;
+
+        var endpointClass = EndpointClass.of(request.getMethod(), request.getUriInfo().getPath());
+        if (endpointClass == null) return;
+
+        var budget = budgets.get(endpointClass);
+        if (budget.limiter().tryAcquire()) {
+            var admission = new Admission(budget.limiter());
+            request.setProperty(ADMISSION, admission);
+            currentRequest.getCurrent().addEndHandler(ended -> admission.release());
+            return;
+        }
+
+        budget.rejections().increment();
+        log.debug("Rejected {} {}: {} limit of {} reached", request.getMethod(), request.getUriInfo().getPath(),
+                endpointClass.tag(), budget.limiter().limit());
+
+        var status = endpointClass.rejectionStatus();
+        request.abortWith(Response.status(status)
+                .header(HttpHeaders.RETRY_AFTER, budget.retryAfterSeconds())
+                .type(MediaType.APPLICATION_JSON)
+                .entity(ErrorResponse.builder()
+                        .title("AdmissionRejected")
+                        .status(status.getStatusCode())
+                        .message("Too many concurrent " + endpointClass.tag() + " requests, retry later")
+                        .timestamp(Instant.now())
+                        .build())
+                .build());
+    }
+
+    @Override
+    public void filter(ContainerRequestContext request, ContainerResponseContext response) {
+        if (request.getProperty(ADMISSION) instanceof Admission admission) admission.release();
+    }
+
+    private static Budget budget(EndpointClass endpointClass, AdmissionConfig.LimitConfig config, MeterRegistry registry) {
+        var limiter = new GradientConcurrencyLimiter(config.initialLimit(), config.minLimit(), config.maxLimit(), config.tolerance());
+
+        Gauge.builder("octopus.admission.limit", limiter, GradientConcurrencyLimiter::limit)
+                .description("Current concurrency limit")
+                .tag("class", endpointClass.tag())
+                .register(registry);
+        Gauge.builder("octopus.admission.in.flight", limiter, GradientConcurrencyLimiter::inFlight)
+                .description("Requests currently admitted")
+                .tag("class", endpointClass.tag())
+                .register(registry);
+        var rejections = Counter.builder("octopus.admission.rejected")
+                .description("Requests rejected by admission control")
+                .tag("class", endpointClass.tag())
+                .register(registry);
+
+        return new Budget(limiter, Math.max(1, config.retryAfter().toSeconds()), rejections);
+    }
+}
@@ -0,0 +1,50 @@
+package com.octopus.adapter.inbound.rest.admission;
+
+import jakarta.ws.rs.HttpMethod;
+import jakarta.ws.rs.core.Response;
+
+/**
+ * Groups of endpoints sharing one concurrency budget, so that a burst on one group cannot starve the others.
+ */
+enum EndpointClass {
+
+    /**
+     * Orchestrator lookups on {@code /api/internal}: latency critical, rejected with 503 so callers fail over.
+     */
+    INTERNAL_READ("internal-read", Response.Status.SERVICE_UNAVAILABLE),
+
+    PUBLIC_READ("public-read", Response.Status.TOO_MANY_REQUESTS),
+
+    PUBLIC_WRITE("public-write", Response.Status.TOO_MANY_REQUESTS);
+
+    private static final String INTERNAL_PREFIX = "/api/internal/";
+    private static final String PUBLIC_PREFIX = "/api/";
+
+    private final String tag;
+    private final Response.Status rejectionStatus;
+
+    EndpointClass(String tag, Response.Status rejectionStatus) {
+        this.tag = tag;
+        this.rejectionStatus = rejectionStatus;
+    }
+
+    String tag() {
+        return tag;
+    }
+
+    Response.Status rejectionStatus() {
+        return rejectionStatus;
+    }
+
+    /**
+     * @return the class of the request, or {@code null} for paths outside the API (health, metrics, OpenAPI)
+     */
+    static EndpointClass of(String method, String path) {
+        var normalized = path.startsWith("/") ? path : "/" + path;
+        var read = HttpMethod.GET.equals(method) || HttpMethod.HEAD.equals(method);
+
+        if (normalized.startsWith(INTERNAL_PREFIX)) return read ? INTERNAL_READ : PUBLIC_WRITE;
+        if (normalized.startsWith(PUBLIC_PREFIX)) return read ? PUBLIC_READ : PUBLIC_WRITE;
+        return null;
+    }
+}
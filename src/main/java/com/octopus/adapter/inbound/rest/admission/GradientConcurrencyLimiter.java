@@ -0,0 +1,90 @@
+package com.octopus.adapter.inbound.rest.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limiter whose limit follows observed latency, after the gradient algorithm of Netflix
+ * concurrency-limits.
+ * <p>
+ * A slow exponential average of the response time serves as the no-queueing baseline and a fast one as the
+ * current latency. Their ratio, capped to {@code [0.5, 1]}, scales the limit down when requests start queueing
+ * somewhere downstream (typically the MongoDB connection pool); a headroom of {@code sqrt(limit)} lets the limit
+ * probe upwards while latency stays at the baseline. Requests over the limit are rejected instead of queued.
+ * </p>
+ */
+final class GradientConcurrencyLimiter {
+
+    private static final double SHORT_SMOOTHING = 0.1;
+    private static final double LONG_SMOOTHING = 0.002;
+    private static final double LIMIT_SMOOTHING = 0.2;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile int limit;
+
+    // guarded by this
+    private double estimatedLimit;
+    private double shortRttNanos;
+    private double longRttNanos;
+
+    GradientConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double tolerance) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.estimatedLimit = initialLimit;
+        this.limit = initialLimit;
+    }
+
+    int limit() {
+        return limit;
+    }
+
+    int inFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * @return whether the request may proceed; if so, {@link #release} must be called when it completes
+     */
+    boolean tryAcquire() {
+        if (inFlight.incrementAndGet() > limit) {
+            inFlight.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Releases a permit and feeds the response time of the request into the limit.
+     */
+    void release(long rttNanos) {
+        var concurrency = inFlight.getAndDecrement();
+        update(rttNanos, concurrency);
+    }
+
+    private synchronized void update(long rttNanos, int concurrency) {
+        if (longRttNanos == 0) {
+            shortRttNanos = rttNanos;
+            longRttNanos = rttNanos;
+            return;
+        }
+
+        shortRttNanos += (rttNanos - shortRttNanos) * SHORT_SMOOTHING;
+        longRttNanos += (rttNanos - longRttNanos) * LONG_SMOOTHING;
+
+        // after a sustained latency shift, let the baseline catch up instead of pinning the limit at its minimum
+        if (longRttNanos / shortRttNanos > 2) longRttNanos *= 0.95;
+
+        // do not grow the limit while the service is not using it
+        if (concurrency < estimatedLimit / 2) return;
+
+        var gradient = Math.max(0.5, Math.min(1.0, tolerance * longRttNanos / shortRttNanos));
+        var target = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, estimatedLimit * (1 - LIMIT_SMOOTHING) + target * LIMIT_SMOOTHING));
+        limit = (int) estimatedLimit;
+    }
+}
@@ -0,0 +1,220 @@
+package com.octopus.adapter.inbound.rest.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.octopus.application.port.inbound.query.TaskDefinitionProjection;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.vertx.core.buffer.Buffer;
+import jakarta.enterprise.context.ApplicationScoped;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cache of encoded resolve responses, keyed by definition name, version and projection.
+ * <p>
+ * Versions are immutable, so an entry can never be stale: a change only makes the entries of older versions
+ * useless, and {@link #evictName} reclaims them through an index of the keys of each name. Bodies are kept as
+ * {@link Buffer}s, written to the response as they are. The cache is bounded in bytes and evicts with the CLOCK
+ * (second chance) policy, so hits only flip a flag: keys are queued in insertion order, and the hand resumes where the
+ * previous eviction stopped.
+ * </p>
+ */
+@Slf4j
+@ApplicationScoped
+public class ResponseBodyCache {
+
+    record Key(String name, long version, TaskDefinitionProjection projection) {
+    }
+
+    /**
+     * An encoded response body, with its gzip variant when it is worth keeping one.
+     */
+    public static final class Entry {
+        private final Buffer body;
+        private final Buffer gzipBody;
+        private volatile boolean referenced = true;
+
+        Entry(Buffer body, Buffer gzipBody) {
+            this.body = body;
+            this.gzipBody = gzipBody;
+        }
+
+        public Buffer body() {
+            return body;
+        }
+
+        /**
+         * @return the gzip variant, or {@code null} if the body is too small to be worth compressing
+         */
+        public Buffer gzipBody() {
+            return gzipBody;
+        }
+
+        int size() {
+            return body.length() + (gzipBody != null ? gzipBody.length() : 0);
+        }
+    }
+
+    private final ResponseCacheConfig config;
+    private final ObjectMapper objectMapper;
+    private final ConcurrentHashMap<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Set<Key>> keysByName = new ConcurrentHashMap<>();
+    private final AtomicLong bytes = new AtomicLong();
+
+    /**
+     * The clock: the hand is the head of the queue. Keys dropped by {@link #evictName} stay queued until the hand
+     * reaches them, or until they outnumber the cached keys and the queue is compacted.
+     */
+    private final ConcurrentLinkedQueue<Key> clock = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger clockKeys = new AtomicInteger();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public ResponseBodyCache(ResponseCacheConfig config, ObjectMapper objectMapper, MeterRegistry registry) {
+        this.config = config;
+        this.objectMapper = objectMapper;
+
+        this.hits = Counter.builder("octopus.response.cache.requests").tag("result", "hit").register(registry);
+        this.misses = Counter.builder("octopus.response.cache.requests").tag("result", "miss").register(registry);
+        this.evictions = Counter.builder("octopus.response.cache.evictions").register(registry);
+        Gauge.builder("octopus.response.cache.size", bytes, AtomicLong::get).baseUnit("bytes").register(registry);
+        Gauge.builder("octopus.response.cache.entries", entries, ConcurrentHashMap::size).register(registry);
+    }
+
+    public boolean isEnabled() {
+        return config.enabled();
+    }
+
+    /**
+     * Returns the cached response, encoding {@code response} and caching it on a miss.
+     *
+     * @param response supplies the response object to encode, only called on a miss
+     */
+    public Entry get(String name, long version, TaskDefinitionProjection projection, Supplier<Object> response) {
+        var key = new Key(name, version, projection);
+        var entry = entries.get(key);
+        if (entry != null) {
+            entry.referenced = true;
+            hits.increment();
+            return entry;
+        }
+
+        misses.increment();
+        return put(key, response.get());
+    }
+
+    /**
+     * Encodes and caches a response, e.g. right after the definition was saved.
+     */
+    public Entry put(String name, long version, TaskDefinitionProjection projection, Object response) {
+        return put(new Key(name, version, projection), response);
+    }
+
+    /**
+     * Drops the entries of every version of a definition name older than {@code currentVersion}.
+     */
+    public void evictName(String name, long currentVersion) {
+        var keys = keysByName.get(name);
+        if (keys == null) return;
+        for (var key : keys) {
+            if (key.version() >= currentVersion) continue;
+            var entry = entries.get(key);
+            if (entry != null) remove(key, entry);
+            else keys.remove(key);
+        }
+    }
+
+    private Entry put(Key key, Object response) {
+        var entry = encode(response);
+        var previous = entries.put(key, entry);
+        bytes.addAndGet(entry.size() - (previous != null ? previous.size() : 0));
+        if (previous == null) {
+            keysByName.compute(key.name(), (name, keys) -> {
+                var indexed = keys != null ? keys : ConcurrentHashMap.<Key>newKeySet();
+                indexed.add(key);
+                return indexed;
+            });
+            clock.add(key);
+            if (clockKeys.incrementAndGet() > 2 * entries.size() + 64) compactClock();
+        }
+
+        if (bytes.get() > config.maxBytes()) evict();
+        return entry;
+    }
+
+    private boolean remove(Key key, Entry entry) {
+        if (!entries.remove(key, entry)) return false;
+        bytes.addAndGet(-entry.size());
+        keysByName.computeIfPresent(key.name(), (name, keys) -> {
+            keys.remove(key);
+            return keys.isEmpty() ? null : keys;
+        });
+        return true;
+    }
+
+    private Entry encode(Object response) {
+        try {
+            var json = objectMapper.writeValueAsBytes(response);
+            var gzip = config.gzip() && json.length >= config.gzipMinBytes() ? Buffer.buffer(gzip(json)) : null;
+            return new Entry(Buffer.buffer(json), gzip);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException("Could not encode task definition response", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) {
+        var out = new ByteArrayOutputStream(json.length / 4 + 32);
+        try (var gzip = new GZIPOutputStream(out)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Moves the hand, giving referenced entries a second chance, until the cache fits its budget.
+     */
+    private synchronized void evict() {
+        while (bytes.get() > config.maxBytes()) {
+            var key = clock.poll();
+            if (key == null) return;
+            clockKeys.decrementAndGet();
+
+            var entry = entries.get(key);
+            if (entry == null) continue;
+            if (entry.referenced) {
+                entry.referenced = false;
+                clock.add(key);
+                clockKeys.incrementAndGet();
+            } else if (remove(key, entry)) {
+                evictions.increment();
+            }
+        }
+    }
+
+    /**
+     * Drops from the clock the keys no longer cached, keeping the order of the others.
+     */
+    private synchronized void compactClock() {
+        clock.removeIf(key -> {
+            if (entries.containsKey(key)) return false;
+            clockKeys.decrementAndGet();
+            return true;
+        });
+    }
+}
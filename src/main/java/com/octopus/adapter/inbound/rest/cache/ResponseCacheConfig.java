@@ -0,0 +1,29 @@
+package com.octopus.adapter.inbound.rest.cache;
+
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+
+@ConfigMapping(prefix = "octopus.response-cache")
+public interface ResponseCacheConfig {
+
+    /**
+     * Whether encoded resolve responses are cached.
+     */
+    @WithDefault("true")
+    boolean enabled();
+
+    /**
+     * Upper bound of the cached bytes, plain and gzip variants included.
+     */
+    @WithDefault("67108864")
+    long maxBytes();
+
+    /**
+     * Whether a gzip variant is kept for bodies of at least {@link #gzipMinBytes()}.
+     */
+    @WithDefault("true")
+    boolean gzip();
+
+    @WithDefault("1024")
+    int gzipMinBytes();
+}
@@ -0,0 +1,37 @@
+package com.octopus.adapter.inbound.rest.cache;
+
+import com.octopus.adapter.inbound.rest.mapper.TaskDefinitionMapstructMapper;
+import com.octopus.application.event.TaskDefinitionChangedEvent;
+import com.octopus.application.port.inbound.query.TaskDefinitionProjection;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps the {@link ResponseBodyCache} in step with writes: the entries of superseded versions are dropped and the
+ * responses of the new version are encoded right away, so that the first orchestrator lookup is already a hit.
+ */
+@Slf4j
+@ApplicationScoped
+@RequiredArgsConstructor
+public class ResponseCacheUpdater {
+
+    private final ResponseBodyCache cache;
+    private final TaskDefinitionMapstructMapper mapper;
+
+    void onChanged(@Observes TaskDefinitionChangedEvent event) {
+        if (!cache.isEnabled()) return;
+
+        var definition = event.definition();
+        cache.evictName(event.name(), definition.version());
+
+        try {
+            cache.put(event.name(), definition.version(), TaskDefinitionProjection.SUMMARY, mapper.toSummaryResponse(definition.toSummary()));
+            cache.put(event.name(), definition.version(), TaskDefinitionProjection.FULL, mapper.toFullResponse(definition));
+        } catch (RuntimeException e) {
+            // the definition is saved already, a failed warm-up only costs a miss on the first read
+            log.warn("Could not cache responses of task definition '{}'", definition.versionRef(), e);
+        }
+    }
+}
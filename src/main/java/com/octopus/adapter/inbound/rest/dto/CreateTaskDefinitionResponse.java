@@ -4,7 +4,8 @@ public record CreateTaskDefinitionResponse(String id,
                                            String name,
                                            String category,
                                            String description,
-                                           String status
+                                           String status,
+                                           Long version
 ) {
 
 }
@@ -0,0 +1,7 @@
+package com.octopus.adapter.inbound.rest.dto;
+
+public record ExecutionReportResponse(long accepted,
+                                      long rejected
+) {
+
+}
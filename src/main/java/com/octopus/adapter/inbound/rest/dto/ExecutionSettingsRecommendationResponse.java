@@ -0,0 +1,21 @@
+package com.octopus.adapter.inbound.rest.dto;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+
+public record ExecutionSettingsRecommendationResponse(String definitionId,
+                                                      String name,
+                                                      Instant since,
+                                                      long executions,
+                                                      double p50LatencyMillis,
+                                                      double p99LatencyMillis,
+                                                      int currentTimeoutSeconds,
+                                                      Integer recommendedTimeoutSeconds,
+                                                      Set<Integer> currentRetryableStatusCodes,
+                                                      Set<Integer> recommendedRetryableStatusCodes,
+                                                      Map<Integer, Long> observedStatusCodes,
+                                                      Map<Integer, Long> attemptCounts
+) {
+
+}
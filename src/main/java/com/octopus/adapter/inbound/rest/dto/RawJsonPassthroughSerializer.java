@@ -0,0 +1,121 @@
+package com.octopus.adapter.inbound.rest.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.octopus.adapter.json.RawJsonMap;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Writes a {@link RawJsonMap} by copying its encoded JSON into the response buffer, without parsing it into a map
+ * and serializing it again. Any other map is serialized as usual.
+ */
+public class RawJsonPassthroughSerializer extends StdSerializer<Map<String, Object>> {
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public RawJsonPassthroughSerializer() {
+        super((Class) Map.class);
+    }
+
+    @Override
+    public void serialize(Map<String, Object> value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        if (value instanceof RawJsonMap raw && !raw.isParsed()) {
+            gen.writeRawValue(new RawJsonString(raw));
+        } else {
+            provider.defaultSerializeValue(value, gen);
+        }
+    }
+
+    /**
+     * Exposes the bytes of a {@link RawJsonMap} to the generator. UTF-8 generators call
+     * {@link #appendUnquotedUTF8} and copy straight from the stored buffer. Raw values are never written quoted,
+     * so the quoted forms are left to a {@link SerializedString} of the decoded text.
+     */
+    private record RawJsonString(RawJsonMap raw) implements SerializableString {
+
+        @Override
+        public String getValue() {
+            return new String(raw.utf8(), raw.offset(), raw.length(), StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public int charLength() {
+            return getValue().length();
+        }
+
+        @Override
+        public char[] asQuotedChars() {
+            return quoted().asQuotedChars();
+        }
+
+        @Override
+        public byte[] asUnquotedUTF8() {
+            return Arrays.copyOfRange(raw.utf8(), raw.offset(), raw.offset() + raw.length());
+        }
+
+        @Override
+        public byte[] asQuotedUTF8() {
+            return quoted().asQuotedUTF8();
+        }
+
+        @Override
+        public int appendQuotedUTF8(byte[] buffer, int offset) {
+            return quoted().appendQuotedUTF8(buffer, offset);
+        }
+
+        @Override
+        public int appendQuoted(char[] buffer, int offset) {
+            return quoted().appendQuoted(buffer, offset);
+        }
+
+        @Override
+        public int appendUnquotedUTF8(byte[] buffer, int offset) {
+            if (offset + raw.length() > buffer.length) return -1;
+            System.arraycopy(raw.utf8(), raw.offset(), buffer, offset, raw.length());
+            return raw.length();
+        }
+
+        @Override
+        public int appendUnquoted(char[] buffer, int offset) {
+            var chars = getValue().toCharArray();
+            if (offset + chars.length > buffer.length) return -1;
+            System.arraycopy(chars, 0, buffer, offset, chars.length);
+            return chars.length;
+        }
+
+        @Override
+        public int writeQuotedUTF8(OutputStream out) throws IOException {
+            return quoted().writeQuotedUTF8(out);
+        }
+
+        @Override
+        public int writeUnquotedUTF8(OutputStream out) throws IOException {
+            out.write(raw.utf8(), raw.offset(), raw.length());
+            return raw.length();
+        }
+
+        @Override
+        public int putQuotedUTF8(ByteBuffer buffer) {
+            return quoted().putQuotedUTF8(buffer);
+        }
+
+        @Override
+        public int putUnquotedUTF8(ByteBuffer buffer) {
+            if (raw.length() > buffer.remaining()) return -1;
+            buffer.put(raw.utf8(), raw.offset(), raw.length());
+            return raw.length();
+        }
+
+        private SerializableString quoted() {
+            return new SerializedString(getValue());
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.octopus.adapter.inbound.rest.dto;
+
+import java.util.List;
+import java.util.Map;
+
+public record ResolvedWorkflowResponse(WorkflowDefinitionResponse workflow,
+                                       Map<String, TaskDefinitionResponse> tasks,
+                                       List<String> missingTasks
+) {
+
+}
@@ -0,0 +1,18 @@
+package com.octopus.adapter.inbound.rest.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.Instant;
+import java.util.List;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TaskCreationResponse(String id,
+                                   String name,
+                                   String status,
+                                   CreateTaskDefinitionResponse task,
+                                   List<String> errors,
+                                   Instant submittedAt,
+                                   Instant completedAt
+) {
+
+}
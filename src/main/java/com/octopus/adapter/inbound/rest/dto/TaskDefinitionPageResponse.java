@@ -0,0 +1,10 @@
+package com.octopus.adapter.inbound.rest.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TaskDefinitionPageResponse<T>(List<T> items,
+                                            String nextCursor) {
+}
@@ -0,0 +1,33 @@
+package com.octopus.adapter.inbound.rest.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.time.Instant;
+import java.util.Map;
+
+public record TaskDefinitionResponse(String id,
+                                     String name,
+                                     String category,
+                                     String description,
+                                     String status,
+                                     Map<String, String> metadata,
+                                     HttpConfigResponse httpConfig,
+                                     RetryPolicyResponse retryPolicy,
+                                     Instant createdAt,
+                                     Instant updatedAt,
+                                     Long version
+) {
+
+    public record HttpConfigResponse(String endpoint,
+                                     String httpMethod,
+                                     Integer timeoutSeconds,
+                                     Map<String, String> headers,
+                                     @JsonSerialize(using = RawJsonPassthroughSerializer.class)
+                                     Map<String, Object> payloadTemplate) {
+    }
+
+    public record RetryPolicyResponse(Integer maxAttempts,
+                                      Integer[] backoffSeconds,
+                                      Integer[] retryableStatusCodes) {
+    }
+}
@@ -0,0 +1,12 @@
+package com.octopus.adapter.inbound.rest.dto;
+
+public record TaskDefinitionSearchHitResponse(String id,
+                                              String name,
+                                              String category,
+                                              String description,
+                                              String status,
+                                              Long version,
+                                              Double score
+) {
+
+}
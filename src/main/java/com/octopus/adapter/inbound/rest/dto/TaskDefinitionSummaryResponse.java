@@ -0,0 +1,20 @@
+package com.octopus.adapter.inbound.rest.dto;
+
+import java.time.Instant;
+import java.util.Map;
+
+public record TaskDefinitionSummaryResponse(String id,
+                                            String name,
+                                            String category,
+                                            String description,
+                                            String status,
+                                            Map<String, String> metadata,
+                                            String endpoint,
+                                            String httpMethod,
+                                            Integer timeoutSeconds,
+                                            Instant createdAt,
+                                            Instant updatedAt,
+                                            Long version
+) {
+
+}
@@ -0,0 +1,20 @@
+package com.octopus.adapter.inbound.rest.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+public record WorkflowDefinitionResponse(String id,
+                                         String name,
+                                         String description,
+                                         List<StepResponse> steps,
+                                         List<String> topologicalOrder,
+                                         List<List<String>> levels,
+                                         Instant createdAt,
+                                         Long version
+) {
+
+    public record StepResponse(String id,
+                               String task,
+                               List<String> dependsOn) {
+    }
+}
@@ -13,15 +13,24 @@ import java.util.Map;
 @Provider
 public class DomainValidationExceptionMapper implements ExceptionMapper<DomainValidationException> {
 
+    /**
+     * Invalid requests are the client's problem, and may come in floods: log a sample of them, without stack trace.
+     */
+    private static final int MAX_LOGS_PER_SECOND = 10;
+
+    private final LogSampler logSampler = new LogSampler(MAX_LOGS_PER_SECOND);
+
     @Override
     public Response toResponse(DomainValidationException exception) {
 
-        log.warn("Domain validation exception occurred: {}", exception.getMessage(), exception);
+        var dropped = logSampler.tryLog();
+        if (dropped == 0) log.warn("Domain validation exception occurred: {}", exception.getMessage());
+        else if (dropped > 0) log.warn("Domain validation exception occurred: {} ({} similar not logged)", exception.getMessage(), dropped);
 
         var errorResponse = ErrorResponse.builder()
                 .title(exception.getClass().getSimpleName())
                 .status(Response.Status.BAD_REQUEST.getStatusCode())
-                .violations(Map.of("message", exception.getMessage()))
+                .violations(Map.of("message", exception.getMessage(), "errors", exception.violations()))
                 .timestamp(java.time.Instant.now())
                 .build();
 
@@ -0,0 +1,38 @@
+package com.octopus.adapter.inbound.rest.exception;
+
+/**
+ * Lets at most a fixed number of log lines through per second, and counts the ones it holds back so that the next
+ * line let through can report them.
+ */
+final class LogSampler {
+
+    private static final long WINDOW_NANOS = 1_000_000_000L;
+
+    private final int perSecond;
+    private long windowStart = System.nanoTime();
+    private int logged;
+    private long suppressed;
+
+    LogSampler(int perSecond) {
+        this.perSecond = perSecond;
+    }
+
+    /**
+     * @return {@code -1} if this line must be dropped, otherwise the number of lines dropped since the last one let through
+     */
+    synchronized long tryLog() {
+        var now = System.nanoTime();
+        if (now - windowStart >= WINDOW_NANOS) {
+            windowStart = now;
+            logged = 0;
+        }
+        if (logged == perSecond) {
+            suppressed++;
+            return -1;
+        }
+        logged++;
+        var dropped = suppressed;
+        suppressed = 0;
+        return dropped;
+    }
+}
@@ -0,0 +1,43 @@
+package com.octopus.adapter.inbound.rest.exception;
+
+import com.octopus.adapter.inbound.rest.dto.ErrorResponse;
+import com.octopus.adapter.inbound.rest.writequeue.TaskCreationQueueFullException;
+import com.octopus.adapter.inbound.rest.writequeue.WriteQueueConfig;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.ExceptionMapper;
+import jakarta.ws.rs.ext.Provider;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Instant;
+
+/**
+ * Creations refused by a full write queue: the client is asked to come back once the queue had time to drain.
+ */
+@Slf4j
+@Provider
+@RequiredArgsConstructor
+public class TaskCreationQueueFullExceptionMapper implements ExceptionMapper<TaskCreationQueueFullException> {
+
+    private final WriteQueueConfig config;
+
+    @Override
+    public Response toResponse(TaskCreationQueueFullException exception) {
+
+        log.debug("Task creation queue full: {}", exception.getMessage());
+
+        var errorResponse = ErrorResponse.builder()
+                .title(exception.getClass().getSimpleName())
+                .status(Response.Status.SERVICE_UNAVAILABLE.getStatusCode())
+                .message(exception.getMessage())
+                .timestamp(Instant.now())
+                .build();
+
+        return Response.status(Response.Status.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, Math.max(1, config.retryAfter().toSeconds()))
+                .entity(errorResponse)
+                .build();
+    }
+
+}
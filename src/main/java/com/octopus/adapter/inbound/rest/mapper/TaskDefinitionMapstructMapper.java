@@ -1,10 +1,32 @@
 package com.octopus.adapter.inbound.rest.mapper;
 
 import com.octopus.adapter.inbound.rest.dto.CreateTaskDefinitionResponse;
+import com.octopus.adapter.inbound.rest.dto.ExecutionSettingsRecommendationResponse;
+import com.octopus.adapter.inbound.rest.dto.ResolvedWorkflowResponse;
+import com.octopus.adapter.inbound.rest.dto.TaskCreationResponse;
+import com.octopus.adapter.inbound.rest.dto.TaskDefinitionPageResponse;
+import com.octopus.adapter.inbound.rest.dto.TaskDefinitionResponse;
+import com.octopus.adapter.inbound.rest.dto.TaskDefinitionSearchHitResponse;
+import com.octopus.adapter.inbound.rest.dto.TaskDefinitionSummaryResponse;
+import com.octopus.adapter.inbound.rest.dto.WorkflowDefinitionResponse;
+import com.octopus.adapter.inbound.rest.writequeue.TaskCreation;
+import com.octopus.application.port.inbound.query.ExecutionSettingsRecommendation;
+import com.octopus.application.port.inbound.query.Page;
+import com.octopus.application.port.inbound.query.ResolvedWorkflow;
+import com.octopus.application.port.inbound.query.TaskDefinitionSearchHit;
 import com.octopus.domain.entity.TaskDefinition;
+import com.octopus.domain.entity.WorkflowDefinition;
+import com.octopus.domain.vo.HttpConfig;
+import com.octopus.domain.vo.RetryPolicy;
+import com.octopus.domain.vo.TaskDefinitionSummary;
+import com.octopus.domain.vo.WorkflowStep;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
+import java.util.LinkedHashMap;
+import java.util.UUID;
+import java.util.function.Function;
+
 import static org.mapstruct.ReportingPolicy.IGNORE;
 
 @Mapper(
@@ -18,6 +40,118 @@ public interface TaskDefinitionMapstructMapper {
     @Mapping(target = "category", expression = "java(domain.taskInfo().category())")
     @Mapping(target = "description", expression = "java(domain.taskInfo().description())")
     @Mapping(target = "status", expression = "java(domain.taskStatus().name())")
+    @Mapping(target = "version", expression = "java(domain.version())")
     CreateTaskDefinitionResponse toResponse(TaskDefinition domain);
 
+    @Mapping(target = "id", expression = "java(domain.id().value().toString())")
+    @Mapping(target = "name", expression = "java(domain.taskInfo().name())")
+    @Mapping(target = "category", expression = "java(domain.taskInfo().category())")
+    @Mapping(target = "description", expression = "java(domain.taskInfo().description())")
+    @Mapping(target = "status", expression = "java(domain.taskStatus().name())")
+    @Mapping(target = "metadata", expression = "java(domain.metadata())")
+    @Mapping(target = "httpConfig", expression = "java(toHttpConfigResponse(domain.httpConfig()))")
+    @Mapping(target = "retryPolicy", expression = "java(toRetryPolicyResponse(domain.retryPolicy()))")
+    @Mapping(target = "createdAt", expression = "java(domain.audit().createdAt())")
+    @Mapping(target = "updatedAt", expression = "java(domain.audit().updatedAt())")
+    @Mapping(target = "version", expression = "java(domain.version())")
+    TaskDefinitionResponse toFullResponse(TaskDefinition domain);
+
+    @Mapping(target = "id", expression = "java(summary.id().value().toString())")
+    @Mapping(target = "name", expression = "java(summary.taskInfo().name())")
+    @Mapping(target = "category", expression = "java(summary.taskInfo().category())")
+    @Mapping(target = "description", expression = "java(summary.taskInfo().description())")
+    @Mapping(target = "status", expression = "java(summary.taskStatus().name())")
+    @Mapping(target = "metadata", expression = "java(summary.metadata())")
+    @Mapping(target = "endpoint", expression = "java(summary.endpoint() != null ? summary.endpoint().url() : null)")
+    @Mapping(target = "httpMethod", expression = "java(summary.httpMethod() != null ? summary.httpMethod().name() : null)")
+    @Mapping(target = "timeoutSeconds", expression = "java(summary.timeoutSeconds())")
+    @Mapping(target = "createdAt", expression = "java(summary.audit() != null ? summary.audit().createdAt() : null)")
+    @Mapping(target = "updatedAt", expression = "java(summary.audit() != null ? summary.audit().updatedAt() : null)")
+    @Mapping(target = "version", expression = "java(summary.version())")
+    TaskDefinitionSummaryResponse toSummaryResponse(TaskDefinitionSummary summary);
+
+    @Mapping(target = "id", expression = "java(hit.id().value().toString())")
+    @Mapping(target = "status", expression = "java(hit.status().name())")
+    TaskDefinitionSearchHitResponse toSearchHitResponse(TaskDefinitionSearchHit hit);
+
+    ExecutionSettingsRecommendationResponse toExecutionSettingsRecommendationResponse(ExecutionSettingsRecommendation recommendation);
+
+    default TaskDefinitionResponse.HttpConfigResponse toHttpConfigResponse(HttpConfig httpConfig) {
+        if (httpConfig == null) {
+            return null;
+        }
+        return new TaskDefinitionResponse.HttpConfigResponse(
+                httpConfig.endpoint().url(),
+                httpConfig.httpMethod().name(),
+                httpConfig.timeoutSeconds(),
+                httpConfig.headers(),
+                httpConfig.payloadTemplate());
+    }
+
+    default TaskDefinitionResponse.RetryPolicyResponse toRetryPolicyResponse(RetryPolicy retryPolicy) {
+        if (retryPolicy == null) {
+            return null;
+        }
+        return new TaskDefinitionResponse.RetryPolicyResponse(
+                retryPolicy.maxAttempts(),
+                retryPolicy.backoffSeconds(),
+                retryPolicy.retryableStatusCodes());
+    }
+
+    default WorkflowDefinitionResponse toWorkflowResponse(WorkflowDefinition workflow) {
+        return new WorkflowDefinitionResponse(
+                workflow.id().value().toString(),
+                workflow.name(),
+                workflow.description(),
+                workflow.steps().stream()
+                        .map(step -> new WorkflowDefinitionResponse.StepResponse(step.id(), step.taskName(), step.dependsOn()))
+                        .toList(),
+                workflow.topologicalOrder().stream().map(WorkflowStep::id).toList(),
+                workflow.levels().stream().map(level -> level.stream().map(WorkflowStep::id).toList()).toList(),
+                workflow.audit().createdAt(),
+                workflow.version());
+    }
+
+    default ResolvedWorkflowResponse toResolvedWorkflowResponse(ResolvedWorkflow resolved) {
+        var tasks = new LinkedHashMap<String, TaskDefinitionResponse>();
+        for (var name : resolved.workflow().taskNames()) {
+            var task = resolved.tasks().get(name);
+            if (task != null) tasks.put(name, toFullResponse(task));
+        }
+        return new ResolvedWorkflowResponse(toWorkflowResponse(resolved.workflow()), tasks, resolved.missingTasks());
+    }
+
+    default TaskCreationResponse toCreationResponse(TaskCreation creation) {
+        var created = creation.created();
+        var errors = creation.errors();
+        return new TaskCreationResponse(
+                creation.id().toString(),
+                creation.name(),
+                creation.status().name(),
+                created != null ? toResponse(created) : null,
+                errors.isEmpty() ? null : errors,
+                creation.submittedAt(),
+                creation.completedAt());
+    }
+
+    /**
+     * A written creation no longer known by the queue, read back from the definition it created.
+     */
+    default TaskCreationResponse toCreationResponse(UUID id, TaskDefinition created) {
+        return new TaskCreationResponse(
+                id.toString(),
+                created.taskInfo().name(),
+                TaskCreation.Status.CREATED.name(),
+                toResponse(created),
+                null,
+                null,
+                created.audit().createdAt());
+    }
+
+    default <T, R> TaskDefinitionPageResponse<R> toPageResponse(Page<T> page, Function<T, R> converter) {
+        return new TaskDefinitionPageResponse<>(
+                page.items().stream().map(converter).toList(),
+                page.hasNext() ? page.nextCursor().encode() : null);
+    }
+
 }
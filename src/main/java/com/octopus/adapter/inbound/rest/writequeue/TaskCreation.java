@@ -0,0 +1,134 @@
+package com.octopus.adapter.inbound.rest.writequeue;
+
+import com.octopus.application.port.inbound.command.CreateTaskDefinitionCommand;
+import com.octopus.domain.entity.TaskDefinition;
+import com.octopus.domain.exception.DomainBusinessRuleException;
+import com.octopus.domain.exception.DomainValidationException;
+import jakarta.validation.ConstraintViolationException;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * A creation queued in the {@link TaskCreationQueue}, until and after it is written.
+ */
+public final class TaskCreation {
+
+    public enum Status {
+        /**
+         * Queued, or being written.
+         */
+        PENDING,
+        /**
+         * Written and acknowledged.
+         */
+        CREATED,
+        /**
+         * Refused, for the reasons a synchronous creation would have been.
+         */
+        REJECTED,
+        /**
+         * Its batch failed, e.g. the database was unreachable. The definition may have been written anyway, when only
+         * the acknowledgement was lost: look it up by the creation id before submitting it again, a second creation of
+         * the same name is refused while the first one is active.
+         */
+        FAILED
+    }
+
+    private final UUID id;
+    private final CreateTaskDefinitionCommand command;
+    private final Instant submittedAt;
+    private final CompletableFuture<TaskDefinition> result = new CompletableFuture<>();
+    private volatile Instant completedAt;
+
+    TaskCreation(UUID id, CreateTaskDefinitionCommand command, Instant submittedAt) {
+        this.id = id;
+        this.command = command;
+        this.submittedAt = submittedAt;
+    }
+
+    public UUID id() {
+        return id;
+    }
+
+    public String name() {
+        return command.getName();
+    }
+
+    CreateTaskDefinitionCommand command() {
+        return command;
+    }
+
+    public Instant submittedAt() {
+        return submittedAt;
+    }
+
+    /**
+     * @return when the creation was written or refused, {@code null} while pending
+     */
+    public Instant completedAt() {
+        return completedAt;
+    }
+
+    /**
+     * @return a future completing with the created definition once its batch is acknowledged, or with the exception a
+     * synchronous creation would have thrown
+     */
+    public CompletableFuture<TaskDefinition> completion() {
+        return result.copy();
+    }
+
+    public Status status() {
+        if (!result.isDone()) return Status.PENDING;
+        if (!result.isCompletedExceptionally()) return Status.CREATED;
+        return isRefusal(failure()) ? Status.REJECTED : Status.FAILED;
+    }
+
+    /**
+     * @return the definition created, {@code null} unless {@link Status#CREATED}
+     */
+    public TaskDefinition created() {
+        return status() == Status.CREATED ? result.join() : null;
+    }
+
+    /**
+     * @return why the creation was refused or failed, empty otherwise
+     */
+    public List<String> errors() {
+        if (!result.isCompletedExceptionally()) return List.of();
+
+        return switch (failure()) {
+            case DomainValidationException e -> e.violations();
+            case ConstraintViolationException e -> e.getConstraintViolations().stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .toList();
+            case Throwable e -> List.of(String.valueOf(e.getMessage()));
+        };
+    }
+
+    void complete(TaskDefinition definition) {
+        completedAt = Instant.now();
+        result.complete(definition);
+    }
+
+    void fail(Throwable failure) {
+        completedAt = Instant.now();
+        result.completeExceptionally(failure);
+    }
+
+    private Throwable failure() {
+        return result.handle((definition, failure) -> failure instanceof CompletionException && failure.getCause() != null
+                ? failure.getCause()
+                : failure).join();
+    }
+
+    private static boolean isRefusal(Throwable failure) {
+        return failure instanceof DomainBusinessRuleException
+                || failure instanceof DomainValidationException
+                || failure instanceof ConstraintViolationException;
+    }
+}
@@ -0,0 +1,214 @@
+package com.octopus.adapter.inbound.rest.writequeue;
+
+import com.octopus.application.port.inbound.CreateTaskDefinitionUseCase;
+import com.octopus.application.port.inbound.command.CreateTaskDefinitionCommand;
+import com.octopus.domain.vo.TaskDefinitionId;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Group commit of task creations: creations are queued in memory and a single writer thread creates them in bulk,
+ * once {@link WriteQueueConfig#maxBatchSize()} are queued or {@link WriteQueueConfig#maxDelay()} after the first one,
+ * so that many clients share each write and its acknowledgement.
+ * <p>
+ * Each creation is checked and written as by a synchronous creation, in submission order; see
+ * {@link CreateTaskDefinitionUseCase#executeAll}. The outcome is available from the {@link TaskCreation} returned,
+ * as a future or by id, for {@link WriteQueueConfig#statusRetention()} after it was written. Outcomes are held by the
+ * instance that queued the creation, but each definition is created under the id of its creation, so that any instance
+ * can still find a written creation in the store. Queued creations are lost if the process dies before writing them.
+ * </p>
+ */
+@Slf4j
+@ApplicationScoped
+public class TaskCreationQueue {
+
+    private final WriteQueueConfig config;
+    private final CreateTaskDefinitionUseCase createTaskUseCase;
+    private final BlockingQueue<TaskCreation> queue;
+    private final ConcurrentHashMap<UUID, TaskCreation> creations = new ConcurrentHashMap<>();
+    private final Thread writer;
+
+    /**
+     * Completed creations still readable by id, oldest first. Only touched by the writer thread.
+     */
+    private final ArrayDeque<TaskCreation> retained = new ArrayDeque<>();
+
+    private final DistributionSummary batchSizes;
+    private final Timer batchWrites;
+    private final Counter rejected;
+    private final Counter created;
+    private final Counter refused;
+    private final Counter failed;
+
+    private volatile boolean running = true;
+
+    public TaskCreationQueue(WriteQueueConfig config, CreateTaskDefinitionUseCase createTaskUseCase, MeterRegistry registry) {
+        this.config = config;
+        this.createTaskUseCase = createTaskUseCase;
+        this.queue = new ArrayBlockingQueue<>(config.capacity());
+        this.writer = Thread.ofPlatform().name("task-write-queue").daemon().unstarted(this::writeLoop);
+
+        Gauge.builder("octopus.write-queue.depth", queue, BlockingQueue::size)
+                .description("Creations waiting to be written")
+                .register(registry);
+        this.batchSizes = DistributionSummary.builder("octopus.write-queue.batch.size")
+                .description("Creations written per bulk write")
+                .publishPercentiles(0.5, 0.99)
+                .register(registry);
+        this.batchWrites = Timer.builder("octopus.write-queue.batch.duration")
+                .description("Time to write and acknowledge a batch of creations")
+                .publishPercentiles(0.5, 0.99)
+                .register(registry);
+        this.rejected = Counter.builder("octopus.write-queue.rejected")
+                .description("Creations refused because the queue was full")
+                .register(registry);
+        this.created = outcomes(registry, "created");
+        this.refused = outcomes(registry, "rejected");
+        this.failed = outcomes(registry, "failed");
+    }
+
+    private static Counter outcomes(MeterRegistry registry, String outcome) {
+        return Counter.builder("octopus.write-queue.creations")
+                .description("Queued creations, by outcome")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    @PostConstruct
+    void start() {
+        if (config.enabled()) writer.start();
+    }
+
+    /**
+     * Stops accepting creations and writes those already queued.
+     */
+    @PreDestroy
+    void stop() {
+        running = false;
+        if (!writer.isAlive()) return;
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!queue.isEmpty()) log.warn("{} queued task creations were not written before shutdown", queue.size());
+    }
+
+    public boolean isEnabled() {
+        return config.enabled();
+    }
+
+    /**
+     * Queues a creation, waiting up to {@link WriteQueueConfig#enqueueTimeout()} for room.
+     *
+     * @param command a command that passed bean validation
+     * @throws TaskCreationQueueFullException if the queue stayed full
+     * @throws IllegalStateException           if the queue is disabled or shut down
+     */
+    public TaskCreation submit(CreateTaskDefinitionCommand command) {
+        if (!running || !config.enabled()) throw new IllegalStateException("The task creation queue is not accepting creations");
+
+        var creation = new TaskCreation(UUID.randomUUID(), command, Instant.now());
+        creations.put(creation.id(), creation);
+        try {
+            if (queue.offer(creation, config.enqueueTimeout().toNanos(), TimeUnit.NANOSECONDS)) return creation;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        creations.remove(creation.id());
+        rejected.increment();
+        throw new TaskCreationQueueFullException("The task creation queue is full, retry later");
+    }
+
+    /**
+     * @return the creation, while pending and for {@link WriteQueueConfig#statusRetention()} after it completed
+     */
+    public Optional<TaskCreation> find(UUID id) {
+        return Optional.ofNullable(creations.get(id));
+    }
+
+    private void writeLoop() {
+        var maxBatch = config.maxBatchSize();
+        var maxDelayNanos = config.maxDelay().toNanos();
+        var batch = new ArrayList<TaskCreation>(maxBatch);
+
+        while (running || !queue.isEmpty()) {
+            try {
+                var first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+
+                var deadline = System.nanoTime() + maxDelayNanos;
+                while (batch.size() < maxBatch) {
+                    var next = queue.poll(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                    if (next == null) break;
+                    batch.add(next);
+                }
+                writeBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void writeBatch(List<TaskCreation> batch) {
+        batchSizes.record(batch.size());
+        var started = System.nanoTime();
+        try {
+            var outcomes = createTaskUseCase.executeAll(batch.stream().map(TaskCreation::command).toList(),
+                    batch.stream().map(creation -> TaskDefinitionId.of(creation.id())).toList());
+            for (int i = 0; i < batch.size(); i++) {
+                var outcome = outcomes.get(i);
+                if (outcome.isCreated()) {
+                    created.increment();
+                    batch.get(i).complete(outcome.created());
+                } else {
+                    refused.increment();
+                    batch.get(i).fail(outcome.refusal());
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("Could not write a batch of {} task creations", batch.size(), e);
+            failed.increment(batch.size());
+            batch.forEach(creation -> creation.fail(e));
+        } finally {
+            batchWrites.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+        retain(batch);
+    }
+
+    /**
+     * Keeps the outcomes of the batch readable by id, and forgets the oldest ones past their retention.
+     */
+    private void retain(List<TaskCreation> batch) {
+        retained.addAll(batch);
+
+        var expired = Instant.now().minus(config.statusRetention());
+        while (!retained.isEmpty()
+                && (retained.size() > config.maxRetainedStatuses() || retained.peekFirst().completedAt().isBefore(expired))) {
+            creations.remove(retained.pollFirst().id());
+        }
+    }
+}
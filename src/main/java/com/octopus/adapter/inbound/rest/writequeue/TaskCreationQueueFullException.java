@@ -0,0 +1,12 @@
+package com.octopus.adapter.inbound.rest.writequeue;
+
+/**
+ * Thrown when the {@link TaskCreationQueue} stayed full for {@link WriteQueueConfig#enqueueTimeout()}: the creation
+ * was not queued and may be submitted again once the queue had time to drain.
+ */
+public class TaskCreationQueueFullException extends RuntimeException {
+
+    public TaskCreationQueueFullException(String message) {
+        super(message);
+    }
+}
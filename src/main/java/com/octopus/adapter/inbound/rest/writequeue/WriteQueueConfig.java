@@ -0,0 +1,59 @@
+package com.octopus.adapter.inbound.rest.writequeue;
+
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+
+import java.time.Duration;
+
+@ConfigMapping(prefix = "octopus.write-queue")
+public interface WriteQueueConfig {
+
+    /**
+     * Whether creations asking to be processed asynchronously are queued and written in bulk.
+     * When disabled, they are created synchronously like any other.
+     */
+    @WithDefault("false")
+    boolean enabled();
+
+    /**
+     * Creations waiting to be written, beyond which new ones are refused with 503.
+     */
+    @WithDefault("10000")
+    int capacity();
+
+    /**
+     * Number of queued creations that are written right away, without waiting for {@link #maxDelay()} to elapse.
+     */
+    @WithDefault("500")
+    int maxBatchSize();
+
+    /**
+     * How long the first creation of a batch waits for others before the batch is written.
+     */
+    @WithDefault("10ms")
+    Duration maxDelay();
+
+    /**
+     * How long a creation waits for room in a full queue before it is refused.
+     */
+    @WithDefault("50ms")
+    Duration enqueueTimeout();
+
+    /**
+     * {@code Retry-After} of the creations refused because the queue is full.
+     */
+    @WithDefault("1s")
+    Duration retryAfter();
+
+    /**
+     * How long the outcome of a creation can be read from its status URL once written.
+     */
+    @WithDefault("10m")
+    Duration statusRetention();
+
+    /**
+     * Outcomes kept for their status URL, the oldest being dropped first.
+     */
+    @WithDefault("100000")
+    int maxRetainedStatuses();
+}
@@ -0,0 +1,101 @@
+package com.octopus.adapter.json;
+
+import com.octopus.domain.vo.ReadOnlyMap;
+
+import java.util.AbstractMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Map whose content is held as UTF-8 encoded JSON and parsed only if it is accessed as a map.
+ * <p>
+ * Used for values the registry never inspects, such as payload templates: the persistence adapter reads them in this
+ * form and the REST adapter copies the encoded form (see {@link #utf8()}) to the wire without materializing it. The
+ * domain only ever sees it as a read-only {@link Map}.
+ * </p>
+ */
+public final class RawJsonMap extends AbstractMap<String, Object> implements ReadOnlyMap {
+
+    // the shortest non-empty JSON object, {"":0}
+    private static final int MIN_NON_EMPTY_LENGTH = 6;
+
+    private final byte[] utf8;
+    private final int offset;
+    private final int length;
+    private final Function<RawJsonMap, Map<String, Object>> parser;
+    private volatile Map<String, Object> content;
+
+    /**
+     * @param utf8   buffer holding the JSON object
+     * @param offset start of the JSON object in {@code utf8}
+     * @param length length of the JSON object in bytes
+     * @param parser parses the JSON object when the map content is first accessed
+     */
+    public RawJsonMap(byte[] utf8, int offset, int length, Function<RawJsonMap, Map<String, Object>> parser) {
+        this.utf8 = utf8;
+        this.offset = offset;
+        this.length = length;
+        this.parser = parser;
+    }
+
+    /**
+     * The buffer holding the JSON object, from {@link #offset()} for {@link #length()} bytes. Not copied: do not modify.
+     */
+    public byte[] utf8() {
+        return utf8;
+    }
+
+    public int offset() {
+        return offset;
+    }
+
+    public int length() {
+        return length;
+    }
+
+    public boolean isParsed() {
+        return content != null;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return length < MIN_NON_EMPTY_LENGTH && content().isEmpty();
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return content().entrySet();
+    }
+
+    @Override
+    public Object get(Object key) {
+        return content().get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return content().containsKey(key);
+    }
+
+    @Override
+    public int size() {
+        return content().size();
+    }
+
+    private Map<String, Object> content() {
+        var parsed = content;
+        if (isNull(parsed)) {
+            synchronized (this) {
+                parsed = content;
+                if (isNull(parsed)) {
+                    parsed = ReadOnlyMap.copyOf(parser.apply(this));
+                    content = parsed;
+                }
+            }
+        }
+        return parsed;
+    }
+}
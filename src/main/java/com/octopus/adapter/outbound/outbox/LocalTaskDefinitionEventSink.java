@@ -0,0 +1,49 @@
+package com.octopus.adapter.outbound.outbox;
+
+import com.octopus.application.event.TaskDefinitionEvent;
+import com.octopus.application.port.outbound.PublishTaskDefinitionEventsPort;
+import io.quarkus.arc.DefaultBean;
+import jakarta.enterprise.context.ApplicationScoped;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayDeque;
+import java.util.List;
+
+/**
+ * In-process stand-in for a message broker, used unless another {@link PublishTaskDefinitionEventsPort} is deployed:
+ * it logs the events and keeps the most recent ones in memory, where tests and local runs can inspect them.
+ */
+@Slf4j
+@DefaultBean
+@ApplicationScoped
+public class LocalTaskDefinitionEventSink implements PublishTaskDefinitionEventsPort {
+
+    private final int capacity;
+    private final ArrayDeque<TaskDefinitionEvent> recent;
+
+    public LocalTaskDefinitionEventSink(OutboxConfig config) {
+        this.capacity = config.localSinkCapacity();
+        this.recent = new ArrayDeque<>(capacity);
+    }
+
+    @Override
+    public void publish(List<TaskDefinitionEvent> events) {
+        synchronized (recent) {
+            for (var event : events) {
+                log.debug("Task definition event {} {}", event.type(), event.id());
+                if (capacity == 0) continue;
+                if (recent.size() == capacity) recent.removeFirst();
+                recent.addLast(event);
+            }
+        }
+    }
+
+    /**
+     * @return the events received last, oldest first
+     */
+    public List<TaskDefinitionEvent> recent() {
+        synchronized (recent) {
+            return List.copyOf(recent);
+        }
+    }
+}
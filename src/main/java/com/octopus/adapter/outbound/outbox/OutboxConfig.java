@@ -0,0 +1,32 @@
+package com.octopus.adapter.outbound.outbox;
+
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+
+@ConfigMapping(prefix = "octopus.outbox")
+public interface OutboxConfig {
+
+    /**
+     * Whether changes are recorded as outbox events and relayed to the event sink.
+     */
+    @WithDefault("true")
+    boolean enabled();
+
+    /**
+     * Events published per call to the sink.
+     */
+    @WithDefault("100")
+    int batchSize();
+
+    /**
+     * Batches published concurrently. Events of one name always go through the same batch sequence, in order.
+     */
+    @WithDefault("4")
+    int maxParallelBatches();
+
+    /**
+     * Events the local sink keeps in memory, the most recent ones, when no other sink is deployed.
+     */
+    @WithDefault("1000")
+    int localSinkCapacity();
+}
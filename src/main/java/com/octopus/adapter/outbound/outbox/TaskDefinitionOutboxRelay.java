@@ -0,0 +1,149 @@
+package com.octopus.adapter.outbound.outbox;
+
+import com.octopus.application.event.TaskDefinitionEvent;
+import com.octopus.application.port.outbound.PublishTaskDefinitionEventsPort;
+import com.octopus.application.port.outbound.TaskDefinitionOutboxPort;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Instance;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the outbox into the event sink, off the write path.
+ * <p>
+ * Each round reads up to {@code batch-size * max-parallel-batches} pending events, ordered by name and version, and
+ * spreads them by name over
+ * {@code max-parallel-batches} lanes published concurrently; within a lane, events go out in order, in batches of
+ * {@code batch-size}. Events are removed from the outbox only once their batch was delivered, and a lane stops at the
+ * first failed batch so that later events of the same names are not published ahead of it. Delivery is therefore
+ * at least once: a crash between publishing and removing publishes the same events again.
+ * </p>
+ * The lag, age of the oldest pending event, and the throughput are exported as {@code octopus.outbox.*} metrics.
+ * Only persistence adapters providing a {@link TaskDefinitionOutboxPort} record events; with others the relay is idle.
+ */
+@Slf4j
+@ApplicationScoped
+public class TaskDefinitionOutboxRelay {
+
+    private final OutboxConfig config;
+    private final Instance<TaskDefinitionOutboxPort> outbox;
+    private final PublishTaskDefinitionEventsPort sink;
+    private final ExecutorService publishers;
+
+    private final AtomicLong oldestPendingMillis = new AtomicLong();
+    private final Counter published;
+    private final Counter failedBatches;
+    private final Timer publishTime;
+
+    public TaskDefinitionOutboxRelay(OutboxConfig config,
+                                     Instance<TaskDefinitionOutboxPort> outbox,
+                                     PublishTaskDefinitionEventsPort sink,
+                                     MeterRegistry registry) {
+        this.config = config;
+        this.outbox = outbox;
+        this.sink = sink;
+        this.publishers = Executors.newFixedThreadPool(config.maxParallelBatches(),
+                Thread.ofPlatform().name("outbox-relay-", 0).daemon().factory());
+
+        TimeGauge.builder("octopus.outbox.lag", this, TimeUnit.MILLISECONDS, TaskDefinitionOutboxRelay::lagMillis)
+                .description("Age of the oldest event waiting in the outbox")
+                .register(registry);
+        this.published = Counter.builder("octopus.outbox.published")
+                .description("Events delivered to the event sink")
+                .register(registry);
+        this.failedBatches = Counter.builder("octopus.outbox.failed.batches")
+                .description("Event batches the sink failed to accept, to be published again")
+                .register(registry);
+        this.publishTime = Timer.builder("octopus.outbox.publish")
+                .description("Time the event sink takes to accept a batch")
+                .register(registry);
+    }
+
+    @Scheduled(every = "${octopus.outbox.poll-interval:1s}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void drain() {
+        if (!config.enabled() || !outbox.isResolvable()) return;
+
+        var capacity = config.batchSize() * config.maxParallelBatches();
+        try {
+            // keep going while rounds come back full and fully delivered, so a backlog drains without waiting
+            while (drainRound(capacity) == capacity) {
+                log.debug("Outbox backlog, draining another round");
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not read the outbox: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * @return the number of events delivered, less than the events read if a batch failed
+     */
+    private int drainRound(int capacity) {
+        var events = outbox.get().loadPending(capacity);
+        // events come ordered by name and version, so the oldest may be anywhere in the round
+        oldestPendingMillis.set(events.stream().mapToLong(event -> event.occurredAt().toEpochMilli()).min().orElse(0));
+        if (events.isEmpty()) return 0;
+
+        var lanes = new ArrayList<List<TaskDefinitionEvent>>(config.maxParallelBatches());
+        for (int i = 0; i < config.maxParallelBatches(); i++) lanes.add(new ArrayList<>());
+        for (var event : events) {
+            lanes.get(Math.floorMod(event.name().hashCode(), lanes.size())).add(event);
+        }
+
+        var deliveries = lanes.stream()
+                .filter(lane -> !lane.isEmpty())
+                .map(lane -> CompletableFuture.supplyAsync(() -> publishLane(lane), publishers))
+                .toList();
+
+        var delivered = new ArrayList<String>(events.size());
+        deliveries.forEach(delivery -> delivered.addAll(delivery.join()));
+
+        outbox.get().markPublished(delivered);
+        published.increment(delivered.size());
+
+        return delivered.size();
+    }
+
+    /**
+     * @return the ids of the events of the lane that were delivered
+     */
+    private List<String> publishLane(List<TaskDefinitionEvent> lane) {
+        var delivered = new ArrayList<String>(lane.size());
+        for (int from = 0; from < lane.size(); from += config.batchSize()) {
+            var batch = lane.subList(from, Math.min(from + config.batchSize(), lane.size()));
+            try {
+                publishTime.record(() -> sink.publish(batch));
+            } catch (RuntimeException e) {
+                failedBatches.increment();
+                log.warn("Could not publish {} task definition events, they stay in the outbox: {}", batch.size(), e.getMessage());
+                break;
+            }
+            batch.forEach(event -> delivered.add(event.id()));
+        }
+        return delivered;
+    }
+
+    private double lagMillis() {
+        var oldest = oldestPendingMillis.get();
+        return oldest == 0 ? 0 : Duration.between(Instant.ofEpochMilli(oldest), Instant.now()).toMillis();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        publishers.shutdown();
+    }
+}
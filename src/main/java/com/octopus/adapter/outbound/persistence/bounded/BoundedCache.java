@@ -0,0 +1,252 @@
+package com.octopus.adapter.outbound.persistence.bounded;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.octopus.adapter.outbound.persistence.mongodb.entity.TaskDefinitionEntity;
+import com.octopus.adapter.outbound.persistence.mongodb.mapper.TaskDefinitionPersistenceMapper;
+import com.octopus.application.event.TaskDefinitionChangedEvent;
+import com.octopus.domain.entity.TaskDefinition;
+import com.octopus.domain.vo.TaskDefinitionId;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Cache of lookups by name and by id for registries whose definitions do not all fit in memory. It holds at most
+ * {@link BoundedCacheConfig#maxWeight()} bytes and keeps the definitions looked up often, evicting with W-TinyLFU:
+ * see {@link WTinyLfuCache}. Entries expire after {@link BoundedCacheConfig#ttl()}, and hits on entries older than
+ * {@link BoundedCacheConfig#refreshAfter()} reload them in the background while the cached value is served. Absent
+ * definitions are cached for {@link BoundedCacheConfig#negativeTtl()}.
+ * <p>
+ * Values are kept encoded, as the JSON of {@link TaskDefinitionEntity}, and decoded on every hit: definitions are
+ * mutable aggregates and callers must not share instances. The weight of an entry is its encoded size, which the
+ * payload template dominates, plus a fixed overhead. Existence checks by name share the entries of lookups by name,
+ * and store only whether the definition exists when it was not loaded already.
+ * </p>
+ * Saving a definition on this replica drops its name and id. Changes made elsewhere, by other replicas or bulk
+ * imports, are seen once the entry expires.
+ */
+@Slf4j
+@ApplicationScoped
+public class BoundedCache {
+
+    /**
+     * Extra weight of an entry besides its key and value, roughly the map and queue nodes holding it.
+     */
+    private static final int ENTRY_OVERHEAD = 96;
+
+    /**
+     * A cached lookup: an encoded definition, or no value and whether a definition exists. A definition known to be
+     * absent answers both kinds of lookups, while a definition only known to exist answers existence checks.
+     */
+    private record Entry(byte[] value, boolean exists, long loadedAt) {
+
+        boolean isLoaded() {
+            return value != null || !exists;
+        }
+    }
+
+    private final BoundedCacheConfig config;
+    private final ObjectMapper objectMapper;
+    private final TaskDefinitionPersistenceMapper mapper;
+    private final WTinyLfuCache<String, Entry> entries;
+    private final ThreadPoolExecutor refresher;
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+    // bumped on every invalidation, so that a load racing with a write does not cache what it read before the write
+    private final AtomicLong generation = new AtomicLong();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter refreshes;
+    private final Timer loads;
+
+    public BoundedCache(BoundedCacheConfig config, ObjectMapper objectMapper, TaskDefinitionPersistenceMapper mapper,
+                        MeterRegistry registry) {
+        this.config = config;
+        this.objectMapper = objectMapper;
+        this.mapper = mapper;
+        this.entries = new WTinyLfuCache<>(config.maxWeight(), config.windowShare(), config.expectedEntries());
+        this.refresher = new ThreadPoolExecutor(config.refreshThreads(), config.refreshThreads(), 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(1000), Thread.ofPlatform().name("task-cache-refresh-", 0).daemon().factory());
+
+        this.hits = requests(registry, "hit");
+        this.misses = requests(registry, "miss");
+        this.refreshes = Counter.builder("octopus.bounded.cache.refreshes")
+                .description("Entries reloaded in the background before they expired")
+                .register(registry);
+        this.loads = Timer.builder("octopus.bounded.cache.load")
+                .description("Time to load a missed entry from the database")
+                .publishPercentiles(0.5, 0.99)
+                .register(registry);
+        Gauge.builder("octopus.bounded.cache.hit.ratio", this, BoundedCache::hitRatio)
+                .description("Share of lookups served from the cache since startup")
+                .register(registry);
+        FunctionCounter.builder("octopus.bounded.cache.evictions", entries, WTinyLfuCache::evictions)
+                .description("Entries evicted to keep the cache within its weight")
+                .register(registry);
+        Gauge.builder("octopus.bounded.cache.entries", entries, WTinyLfuCache::entries).register(registry);
+        Gauge.builder("octopus.bounded.cache.weight", entries, WTinyLfuCache::weight)
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    private static Counter requests(MeterRegistry registry, String result) {
+        return Counter.builder("octopus.bounded.cache.requests")
+                .description("Lookups through the bounded cache")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    @PreDestroy
+    void stop() {
+        refresher.shutdownNow();
+    }
+
+    public boolean isEnabled() {
+        return config.enabled();
+    }
+
+    public static String nameKey(String name) {
+        return "names/" + URLEncoder.encode(name, StandardCharsets.UTF_8);
+    }
+
+    public static String idKey(TaskDefinitionId id) {
+        return "ids/" + id.value();
+    }
+
+    /**
+     * Looks a definition up in the cache, then with {@code loader}.
+     */
+    Optional<TaskDefinition> get(String key, Supplier<Optional<TaskDefinition>> loader) {
+        var now = System.nanoTime();
+        var cached = entries.get(key, now);
+        if (cached != null && cached.isLoaded()) {
+            hits.increment();
+            if (isDue(cached, now)) refresh(key, () -> encode(loader.get()));
+            return decode(cached.value());
+        }
+
+        misses.increment();
+        var before = generation.get();
+        var loaded = loads.record(loader);
+        store(key, encode(loaded), before);
+        return loaded;
+    }
+
+    /**
+     * Checks in the cache, then with {@code loader}, whether a definition exists.
+     */
+    boolean exists(String key, Supplier<Boolean> loader) {
+        var now = System.nanoTime();
+        var cached = entries.get(key, now);
+        if (cached != null) {
+            hits.increment();
+            // loaded definitions are refreshed by the lookups that need them
+            if (cached.value() == null && isDue(cached, now)) refresh(key, () -> presence(Boolean.TRUE.equals(loader.get())));
+            return cached.exists();
+        }
+
+        misses.increment();
+        var before = generation.get();
+        var exists = loads.record(loader);
+        store(key, presence(Boolean.TRUE.equals(exists)), before);
+        return Boolean.TRUE.equals(exists);
+    }
+
+    /**
+     * Drops a key from this replica.
+     */
+    public void invalidate(String key) {
+        generation.incrementAndGet();
+        entries.invalidate(key);
+    }
+
+    void onChanged(@Observes TaskDefinitionChangedEvent event) {
+        if (!config.enabled()) return;
+
+        invalidate(nameKey(event.name()));
+        invalidate(idKey(event.definition().id()));
+    }
+
+    private boolean isDue(Entry entry, long now) {
+        return now - entry.loadedAt() > config.refreshAfter().toNanos();
+    }
+
+    /**
+     * Reloads a key in the background, unless it is already being reloaded or the refresh threads are saturated.
+     */
+    private void refresh(String key, Supplier<Entry> loader) {
+        if (!refreshing.add(key)) return;
+        try {
+            refresher.execute(() -> {
+                try {
+                    var before = generation.get();
+                    store(key, loader.get(), before);
+                    refreshes.increment();
+                } catch (RuntimeException e) {
+                    log.debug("Could not refresh cached '{}': {}", key, e.getMessage());
+                } finally {
+                    refreshing.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshing.remove(key);
+        }
+    }
+
+    private void store(String key, Entry entry, long loadedAtGeneration) {
+        var ttl = entry.value() == null && !entry.exists() ? config.negativeTtl() : config.ttl();
+        if (!ttl.isPositive()) return;
+
+        var weight = ENTRY_OVERHEAD + 2L * key.length() + (entry.value() == null ? 0 : entry.value().length);
+        entries.put(key, entry, weight, entry.loadedAt() + ttl.toNanos());
+        // an invalidation during the load may have missed the entry just stored
+        if (generation.get() != loadedAtGeneration) entries.invalidate(key);
+    }
+
+    private double hitRatio() {
+        var total = hits.count() + misses.count();
+        return total == 0 ? 0 : hits.count() / total;
+    }
+
+    private static Entry presence(boolean exists) {
+        return new Entry(null, exists, System.nanoTime());
+    }
+
+    private Entry encode(Optional<TaskDefinition> definition) {
+        if (definition.isEmpty()) return presence(false);
+        try {
+            return new Entry(objectMapper.writeValueAsBytes(mapper.toPersistence(definition.get())), true, System.nanoTime());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not encode task definition " + definition.get().id(), e);
+        }
+    }
+
+    private Optional<TaskDefinition> decode(byte[] value) {
+        if (value == null) return Optional.empty();
+        try {
+            return Optional.of(mapper.toDomain(objectMapper.readValue(value, TaskDefinitionEntity.class)));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not decode cached task definition", e);
+        }
+    }
+}
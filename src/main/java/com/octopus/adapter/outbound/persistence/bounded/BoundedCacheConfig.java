@@ -0,0 +1,63 @@
+package com.octopus.adapter.outbound.persistence.bounded;
+
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+
+import java.time.Duration;
+
+@ConfigMapping(prefix = "octopus.bounded-cache")
+public interface BoundedCacheConfig {
+
+    /**
+     * Whether lookups by name and by id, and existence checks, are cached in this replica.
+     */
+    @WithDefault("false")
+    boolean enabled();
+
+    /**
+     * Upper bound of the cached bytes: encoded definitions, dominated by their payload templates, plus a fixed
+     * overhead per entry.
+     */
+    @WithDefault("268435456")
+    long maxWeight();
+
+    /**
+     * Share of {@link #maxWeight()} given to the admission window, where new entries stay before competing with the
+     * frequently used ones for a place in the main area.
+     */
+    @WithDefault("0.01")
+    double windowShare();
+
+    /**
+     * Number of distinct keys the access frequencies are tracked for; sizes the frequency sketch at half a byte per
+     * key. Best set to about the number of entries {@link #maxWeight()} holds.
+     */
+    @WithDefault("100000")
+    int expectedEntries();
+
+    /**
+     * How long a definition is kept. Saves on this replica invalidate it earlier; this bounds how stale it can get
+     * after writes on other replicas or bulk imports.
+     */
+    @WithDefault("10m")
+    Duration ttl();
+
+    /**
+     * Age after which a hit reloads the entry in the background, so that frequently used entries are replaced
+     * before they expire rather than missed. Set it to {@link #ttl()} or more to disable refreshes.
+     */
+    @WithDefault("8m")
+    Duration refreshAfter();
+
+    /**
+     * How long the absence of a definition is kept; zero disables negative caching.
+     */
+    @WithDefault("30s")
+    Duration negativeTtl();
+
+    /**
+     * Threads running background refreshes.
+     */
+    @WithDefault("2")
+    int refreshThreads();
+}
@@ -0,0 +1,55 @@
+package com.octopus.adapter.outbound.persistence.bounded;
+
+import com.octopus.application.port.outbound.LoadTaskDefinitionPort;
+import com.octopus.domain.entity.TaskDefinition;
+import com.octopus.domain.vo.TaskDefinitionId;
+import jakarta.annotation.Priority;
+import jakarta.decorator.Decorator;
+import jakarta.decorator.Delegate;
+import jakarta.inject.Inject;
+
+import java.util.Optional;
+
+/**
+ * Serves lookups of a definition by name or by id, and existence checks by name, from the {@link BoundedCache} of
+ * this replica.
+ * <p>
+ * Sits outside the peer cache, the snapshot fallback and the coalescing layer, which only see the lookups that miss
+ * it. Every other call goes straight to the decorated port, in particular {@link #loadForUpdate} and
+ * {@link #loadActiveNames}, which writes use to read the definition they change and to check a name is free.
+ * </p>
+ */
+@Decorator
+@Priority(100)
+public abstract class BoundedCachingLoadTaskDefinitionPort implements LoadTaskDefinitionPort {
+
+    private final LoadTaskDefinitionPort delegate;
+    private final BoundedCache cache;
+
+    @Inject
+    protected BoundedCachingLoadTaskDefinitionPort(@Delegate LoadTaskDefinitionPort delegate, BoundedCache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public Optional<TaskDefinition> loadById(TaskDefinitionId id) {
+        if (!cache.isEnabled()) return delegate.loadById(id);
+
+        return cache.get(BoundedCache.idKey(id), () -> delegate.loadById(id));
+    }
+
+    @Override
+    public Optional<TaskDefinition> loadActiveByName(String name) {
+        if (!cache.isEnabled()) return delegate.loadActiveByName(name);
+
+        return cache.get(BoundedCache.nameKey(name), () -> delegate.loadActiveByName(name));
+    }
+
+    @Override
+    public boolean existsActiveByName(String name) {
+        if (!cache.isEnabled()) return delegate.existsActiveByName(name);
+
+        return cache.exists(BoundedCache.nameKey(name), () -> delegate.existsActiveByName(name));
+    }
+}
@@ -0,0 +1,91 @@
+package com.octopus.adapter.outbound.persistence.bounded;
+
+/**
+ * Count-min sketch of recent access frequencies: four 4-bit counters per key, spread over a table of longs holding
+ * sixteen counters each, the estimate being the smallest of the four. Counters saturate at 15 and are all halved once
+ * ten accesses per table slot were counted, so the estimate favours keys used often recently over keys used often
+ * long ago.
+ * <p>
+ * Not thread-safe: the owning cache calls it under its lock.
+ * </p>
+ */
+final class FrequencySketch {
+
+    private static final long[] SEEDS = {0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+    private static final long RESET_MASK = 0x7777777777777777L;
+    private static final long ONE_MASK = 0x1111111111111111L;
+    private static final int MAX_COUNT = 15;
+
+    private final long[] table;
+    private final int tableMask;
+    private final int sampleSize;
+    private int additions;
+
+    FrequencySketch(int expectedEntries) {
+        var length = Integer.highestOneBit(Math.clamp(expectedEntries, 16, 1 << 26) - 1) << 1;
+        this.table = new long[length];
+        this.tableMask = length - 1;
+        this.sampleSize = 10 * length;
+    }
+
+    /**
+     * @return the estimated number of recent accesses of the key, at most 15
+     */
+    int frequency(Object key) {
+        var hash = spread(key.hashCode());
+        var start = (hash & 3) << 2;
+        var frequency = MAX_COUNT;
+        for (int i = 0; i < 4; i++) {
+            var offset = (start + i) << 2;
+            var count = (int) ((table[indexOf(hash, i)] >>> offset) & 0xfL);
+            frequency = Math.min(frequency, count);
+        }
+        return frequency;
+    }
+
+    /**
+     * Counts one access of the key, ageing every counter once enough accesses were counted.
+     */
+    void increment(Object key) {
+        var hash = spread(key.hashCode());
+        var start = (hash & 3) << 2;
+        var added = false;
+        for (int i = 0; i < 4; i++) {
+            added |= incrementAt(indexOf(hash, i), start + i);
+        }
+        if (added && ++additions == sampleSize) reset();
+    }
+
+    private boolean incrementAt(int index, int counter) {
+        var offset = counter << 2;
+        var mask = 0xfL << offset;
+        if ((table[index] & mask) == mask) return false;
+
+        table[index] += 1L << offset;
+        return true;
+    }
+
+    /**
+     * Halves every counter. Odd counters lose their remainder, which is accounted for in the additions left.
+     */
+    private void reset() {
+        var odd = 0;
+        for (int i = 0; i < table.length; i++) {
+            odd += Long.bitCount(table[i] & ONE_MASK);
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        additions = (additions - (odd >>> 2)) >>> 1;
+    }
+
+    private int indexOf(int hash, int i) {
+        var h = (hash + SEEDS[i]) * SEEDS[i];
+        h += h >>> 32;
+        return (int) h & tableMask;
+    }
+
+    private static int spread(int x) {
+        x = ((x >>> 16) ^ x) * 0x45d9f3b;
+        x = ((x >>> 16) ^ x) * 0x45d9f3b;
+        return (x >>> 16) ^ x;
+    }
+}
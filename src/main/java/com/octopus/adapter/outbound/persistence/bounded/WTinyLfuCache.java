@@ -0,0 +1,273 @@
+package com.octopus.adapter.outbound.persistence.bounded;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Weight-bounded map evicting with W-TinyLFU. New entries go to a small LRU window; entries leaving the window join
+ * the probation segment of the main area, where each one competes with the least recently used entry of the segment
+ * and the one accessed less often recently, according to a {@link FrequencySketch}, is evicted. A second hit in
+ * probation promotes an entry to the protected segment, which holds most of the main area. One-off lookups, such as a
+ * scan of the registry, thus pass through the window without displacing the entries that are looked up all the time.
+ * <p>
+ * Reads only take the map: the access order and the sketch are updated under a lock taken with {@code tryLock}, so a
+ * busy read skips its bookkeeping rather than waiting. Writes take the lock. Values must be immutable.
+ * </p>
+ */
+final class WTinyLfuCache<K, V> {
+
+    private static final int WINDOW = 0;
+    private static final int PROBATION = 1;
+    private static final int PROTECTED = 2;
+
+    private static final class Node<K, V> {
+        final K key;
+        final V value;
+        final long weight;
+        final long expiresAt;
+
+        // guarded by the lock
+        int segment = -1;
+        Node<K, V> prev;
+        Node<K, V> next;
+
+        Node(K key, V value, long weight, long expiresAt) {
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isLinked() {
+            return segment >= 0;
+        }
+    }
+
+    /**
+     * Access-ordered list of the entries of one segment, least recently used first.
+     */
+    private static final class AccessQueue<K, V> {
+        Node<K, V> first;
+        Node<K, V> last;
+        long weight;
+
+        void addLast(Node<K, V> node, int segment) {
+            node.segment = segment;
+            node.prev = last;
+            node.next = null;
+            if (last == null) first = node;
+            else last.next = node;
+            last = node;
+            weight += node.weight;
+        }
+
+        void remove(Node<K, V> node) {
+            if (node.prev == null) first = node.next;
+            else node.prev.next = node.next;
+            if (node.next == null) last = node.prev;
+            else node.next.prev = node.prev;
+            node.prev = null;
+            node.next = null;
+            node.segment = -1;
+            weight -= node.weight;
+        }
+
+        void moveToLast(Node<K, V> node) {
+            if (node == last) return;
+            var segment = node.segment;
+            remove(node);
+            addLast(node, segment);
+        }
+
+        void clear() {
+            first = null;
+            last = null;
+            weight = 0;
+        }
+    }
+
+    private final ConcurrentHashMap<K, Node<K, V>> map = new ConcurrentHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final FrequencySketch sketch;
+    @SuppressWarnings("unchecked")
+    private final AccessQueue<K, V>[] segments = new AccessQueue[]{new AccessQueue<>(), new AccessQueue<>(), new AccessQueue<>()};
+
+    private final long maxWeight;
+    private final long maxWindowWeight;
+    private final long maxProtectedWeight;
+
+    private final AtomicLong evictions = new AtomicLong();
+    private volatile long weight;
+
+    WTinyLfuCache(long maxWeight, double windowShare, int expectedEntries) {
+        this.maxWeight = maxWeight;
+        this.maxWindowWeight = Math.max(1, (long) (maxWeight * windowShare));
+        this.maxProtectedWeight = (long) ((maxWeight - maxWindowWeight) * 0.8);
+        this.sketch = new FrequencySketch(expectedEntries);
+    }
+
+    /**
+     * @param now the current {@link System#nanoTime()}
+     * @return the value, or {@code null} if there is none or it expired
+     */
+    V get(K key, long now) {
+        var node = map.get(key);
+        if (node == null) {
+            if (lock.tryLock()) {
+                try {
+                    sketch.increment(key);
+                } finally {
+                    lock.unlock();
+                }
+            }
+            return null;
+        }
+
+        if (node.expiresAt - now <= 0) {
+            lock.lock();
+            try {
+                if (map.remove(key, node) && node.isLinked()) unlink(node);
+                weight = totalWeight();
+            } finally {
+                lock.unlock();
+            }
+            return null;
+        }
+
+        if (lock.tryLock()) {
+            try {
+                sketch.increment(key);
+                if (node.isLinked()) onAccess(node);
+            } finally {
+                lock.unlock();
+            }
+        }
+        return node.value;
+    }
+
+    /**
+     * Stores a value, replacing the current one, then evicts until the cache fits its weight again. A value heavier
+     * than the whole cache is not stored, and drops the current one.
+     */
+    void put(K key, V value, long entryWeight, long expiresAt) {
+        lock.lock();
+        try {
+            if (entryWeight > maxWeight) {
+                remove(key);
+                return;
+            }
+
+            var node = new Node<>(key, value, entryWeight, expiresAt);
+            var previous = map.put(key, node);
+            if (previous != null && previous.isLinked()) unlink(previous);
+            segments[WINDOW].addLast(node, WINDOW);
+            evict();
+            weight = totalWeight();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void invalidate(K key) {
+        lock.lock();
+        try {
+            remove(key);
+            weight = totalWeight();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void invalidateAll() {
+        lock.lock();
+        try {
+            map.clear();
+            for (var segment : segments) segment.clear();
+            weight = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long evictions() {
+        return evictions.get();
+    }
+
+    int entries() {
+        return map.size();
+    }
+
+    long weight() {
+        return weight;
+    }
+
+    private void remove(K key) {
+        var node = map.remove(key);
+        if (node != null && node.isLinked()) unlink(node);
+    }
+
+    private void onAccess(Node<K, V> node) {
+        switch (node.segment) {
+            case WINDOW -> segments[WINDOW].moveToLast(node);
+            case PROBATION -> {
+                segments[PROBATION].remove(node);
+                segments[PROTECTED].addLast(node, PROTECTED);
+                demoteProtected();
+            }
+            default -> segments[PROTECTED].moveToLast(node);
+        }
+    }
+
+    /**
+     * Moves the least recently used protected entries back to probation while the protected segment is over its share.
+     */
+    private void demoteProtected() {
+        var protectedQueue = segments[PROTECTED];
+        while (protectedQueue.weight > maxProtectedWeight && protectedQueue.first != null) {
+            var demoted = protectedQueue.first;
+            protectedQueue.remove(demoted);
+            segments[PROBATION].addLast(demoted, PROBATION);
+        }
+    }
+
+    /**
+     * Moves the entries over the window share to probation, then evicts from probation the loser of each duel between
+     * the entry that arrived last and the least recently used one until the cache fits.
+     */
+    private void evict() {
+        var window = segments[WINDOW];
+        var probation = segments[PROBATION];
+        while (window.weight > maxWindowWeight && window.first != null) {
+            var candidate = window.first;
+            window.remove(candidate);
+            probation.addLast(candidate, PROBATION);
+        }
+
+        while (totalWeight() > maxWeight) {
+            Node<K, V> evicted;
+            if (probation.first != null) {
+                var victim = probation.first;
+                var candidate = probation.last;
+                evicted = candidate == victim || sketch.frequency(candidate.key) > sketch.frequency(victim.key)
+                        ? victim
+                        : candidate;
+            } else if (segments[PROTECTED].first != null) {
+                evicted = segments[PROTECTED].first;
+            } else {
+                evicted = window.first;
+            }
+            unlink(evicted);
+            map.remove(evicted.key, evicted);
+            evictions.incrementAndGet();
+        }
+    }
+
+    private void unlink(Node<K, V> node) {
+        segments[node.segment].remove(node);
+    }
+
+    private long totalWeight() {
+        return segments[WINDOW].weight + segments[PROBATION].weight + segments[PROTECTED].weight;
+    }
+}
@@ -0,0 +1,180 @@
+package com.octopus.adapter.outbound.persistence.coalescing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Coalesces lookups by key in two steps.
+ * <ul>
+ *     <li>Single flight: a lookup of a key that is already queued or running waits on the same future.</li>
+ *     <li>Micro-batching: distinct keys queued within the window, or until the batch is full, are resolved
+ *     together by one call of the batch function, DataLoader style.</li>
+ * </ul>
+ * Keys missing from the batch result resolve to {@code null}.
+ *
+ * @param <V> the looked up value
+ */
+final class BatchingLoader<V> {
+
+    private final Function<Set<String>, Map<String, V>> batchFunction;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final ScheduledExecutorService timer;
+    private final Executor dispatcher;
+
+    private final ConcurrentHashMap<String, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    // guarded by this
+    private Map<String, Long> pending = new LinkedHashMap<>();
+    private ScheduledFuture<?> scheduledFlush;
+
+    private final Counter requests;
+    private final Counter coalesced;
+    private final Counter batches;
+    private final DistributionSummary batchSize;
+    private final Timer queueDelay;
+
+    BatchingLoader(String operation,
+                   Function<Set<String>, Map<String, V>> batchFunction,
+                   CoalescingConfig config,
+                   ScheduledExecutorService timer,
+                   Executor dispatcher,
+                   MeterRegistry registry) {
+        this.batchFunction = batchFunction;
+        this.windowNanos = config.window().toNanos();
+        this.maxBatchSize = config.maxBatchSize();
+        this.timer = timer;
+        this.dispatcher = dispatcher;
+
+        this.requests = Counter.builder("octopus.coalescing.requests")
+                .description("Lookups received by the coalescing layer")
+                .tag("operation", operation)
+                .register(registry);
+        this.coalesced = Counter.builder("octopus.coalescing.coalesced")
+                .description("Lookups that joined a lookup of the same key already in flight")
+                .tag("operation", operation)
+                .register(registry);
+        this.batches = Counter.builder("octopus.coalescing.batches")
+                .description("Batched queries sent to the persistence adapter")
+                .tag("operation", operation)
+                .register(registry);
+        this.batchSize = DistributionSummary.builder("octopus.coalescing.batch.size")
+                .description("Distinct keys per batched query")
+                .baseUnit("keys")
+                .tag("operation", operation)
+                .register(registry);
+        this.queueDelay = Timer.builder("octopus.coalescing.queue.delay")
+                .description("Time a key waits in the batch before its query is sent")
+                .tag("operation", operation)
+                .register(registry);
+    }
+
+    /**
+     * Looks up a key, blocking until its batch completes.
+     */
+    V load(String key) {
+        requests.increment();
+
+        var future = inFlight.get(key);
+        if (future == null) {
+            var created = new CompletableFuture<V>();
+            future = inFlight.putIfAbsent(key, created);
+            if (future == null) {
+                enqueue(key);
+                return await(created);
+            }
+        }
+        coalesced.increment();
+        return await(future);
+    }
+
+    private void enqueue(String key) {
+        Map<String, Long> full = null;
+        synchronized (this) {
+            pending.put(key, System.nanoTime());
+            if (pending.size() >= maxBatchSize) {
+                full = drain();
+            } else if (pending.size() == 1) {
+                scheduledFlush = timer.schedule(this::flush, windowNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+        if (full != null) dispatch(full);
+    }
+
+    private void flush() {
+        Map<String, Long> batch;
+        synchronized (this) {
+            batch = pending.isEmpty() ? null : drain();
+        }
+        if (batch != null) dispatch(batch);
+    }
+
+    // caller holds the monitor
+    private Map<String, Long> drain() {
+        var batch = pending;
+        pending = new LinkedHashMap<>();
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        return batch;
+    }
+
+    private void dispatch(Map<String, Long> batch) {
+        try {
+            dispatcher.execute(() -> run(batch));
+        } catch (RuntimeException e) {
+            batch.keySet().forEach(key -> fail(key, e));
+        }
+    }
+
+    private void run(Map<String, Long> batch) {
+        var started = System.nanoTime();
+        batch.values().forEach(enqueuedAt -> queueDelay.record(started - enqueuedAt, TimeUnit.NANOSECONDS));
+        batches.increment();
+        batchSize.record(batch.size());
+
+        Map<String, V> result;
+        try {
+            result = batchFunction.apply(batch.keySet());
+        } catch (RuntimeException e) {
+            batch.keySet().forEach(key -> fail(key, e));
+            return;
+        }
+        batch.keySet().forEach(key -> complete(key, result.get(key)));
+    }
+
+    // the future leaves the in-flight map before completing, so later lookups never see a stale value
+    private void complete(String key, V value) {
+        var future = inFlight.remove(key);
+        if (future != null) future.complete(value);
+    }
+
+    private void fail(String key, RuntimeException error) {
+        var future = inFlight.remove(key);
+        if (future != null) future.completeExceptionally(error);
+    }
+
+    private static <V> V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw e;
+        }
+    }
+}
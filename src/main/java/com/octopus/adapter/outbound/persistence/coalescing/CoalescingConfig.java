@@ -0,0 +1,35 @@
+package com.octopus.adapter.outbound.persistence.coalescing;
+
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+
+import java.time.Duration;
+
+@ConfigMapping(prefix = "octopus.coalescing")
+public interface CoalescingConfig {
+
+    /**
+     * Whether concurrent lookups by name are coalesced and batched before reaching the persistence adapter.
+     */
+    @WithDefault("true")
+    boolean enabled();
+
+    /**
+     * How long the first lookup of a batch waits for other names before the batch is sent.
+     * This is the queueing delay added to an isolated lookup.
+     */
+    @WithDefault("1ms")
+    Duration window();
+
+    /**
+     * Number of distinct names that sends a batch right away, without waiting for the window to elapse.
+     */
+    @WithDefault("64")
+    int maxBatchSize();
+
+    /**
+     * Threads running batched queries.
+     */
+    @WithDefault("4")
+    int dispatcherThreads();
+}
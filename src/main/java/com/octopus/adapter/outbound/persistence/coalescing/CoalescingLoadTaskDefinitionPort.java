@@ -0,0 +1,63 @@
+package com.octopus.adapter.outbound.persistence.coalescing;
+
+import com.octopus.application.port.outbound.LoadTaskDefinitionPort;
+import com.octopus.domain.entity.TaskDefinition;
+import com.octopus.domain.vo.TaskDefinitionSummary;
+import jakarta.annotation.Priority;
+import jakarta.decorator.Decorator;
+import jakarta.decorator.Delegate;
+import jakarta.inject.Inject;
+
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Coalesces concurrent lookups by name in front of the persistence adapter: callers looking up the same name
+ * share one query, and distinct names arriving within the configured window are merged into one {@code $in} query.
+ * <p>
+ * Sits innermost among the decorators, so that the snapshot fallback keeps timing and answering calls
+ * on the caller thread. Every other call goes straight to the decorated port.
+ * </p>
+ */
+@Decorator
+@Priority(500)
+public abstract class CoalescingLoadTaskDefinitionPort implements LoadTaskDefinitionPort {
+
+    private final LoadTaskDefinitionPort delegate;
+    private final boolean enabled;
+    private final BatchingLoader<Boolean> existsLoader;
+    private final BatchingLoader<TaskDefinition> definitionLoader;
+    private final BatchingLoader<TaskDefinitionSummary> summaryLoader;
+
+    @Inject
+    protected CoalescingLoadTaskDefinitionPort(@Delegate LoadTaskDefinitionPort delegate, LookupCoalescer coalescer) {
+        this.delegate = delegate;
+        this.enabled = coalescer.isEnabled();
+        this.existsLoader = coalescer.loader("existsActiveByName", names -> delegate.loadActiveNames(names).stream()
+                .collect(Collectors.toMap(Function.identity(), name -> Boolean.TRUE)));
+        this.definitionLoader = coalescer.loader("loadActiveByName", delegate::loadActiveByNames);
+        this.summaryLoader = coalescer.loader("loadActiveSummaryByName", delegate::loadActiveSummariesByNames);
+    }
+
+    @Override
+    public boolean existsActiveByName(String name) {
+        if (!enabled) return delegate.existsActiveByName(name);
+
+        return Boolean.TRUE.equals(existsLoader.load(name));
+    }
+
+    @Override
+    public Optional<TaskDefinition> loadActiveByName(String name) {
+        if (!enabled) return delegate.loadActiveByName(name);
+
+        return Optional.ofNullable(definitionLoader.load(name));
+    }
+
+    @Override
+    public Optional<TaskDefinitionSummary> loadActiveSummaryByName(String name) {
+        if (!enabled) return delegate.loadActiveSummaryByName(name);
+
+        return Optional.ofNullable(summaryLoader.load(name));
+    }
+}
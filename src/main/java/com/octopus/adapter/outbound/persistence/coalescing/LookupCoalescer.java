@@ -0,0 +1,52 @@
+package com.octopus.adapter.outbound.persistence.coalescing;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Function;
+
+/**
+ * Owns the threads and metrics shared by the {@link BatchingLoader}s of the coalescing layer.
+ */
+@ApplicationScoped
+public class LookupCoalescer {
+
+    private final CoalescingConfig config;
+    private final MeterRegistry registry;
+    private final ScheduledExecutorService timer;
+    private final ExecutorService dispatcher;
+
+    public LookupCoalescer(CoalescingConfig config, MeterRegistry registry) {
+        this.config = config;
+        this.registry = registry;
+        this.timer = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("task-lookup-timer").daemon().factory());
+        this.dispatcher = Executors.newFixedThreadPool(config.dispatcherThreads(),
+                Thread.ofPlatform().name("task-lookup-batch-", 0).daemon().factory());
+    }
+
+    public boolean isEnabled() {
+        return config.enabled();
+    }
+
+    /**
+     * Creates a loader resolving batches of keys with {@code batchFunction}.
+     *
+     * @param operation name of the lookup, used as metric tag
+     */
+    <V> BatchingLoader<V> loader(String operation, Function<Set<String>, Map<String, V>> batchFunction) {
+        return new BatchingLoader<>(operation, batchFunction, config, timer, dispatcher, registry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        timer.shutdownNow();
+        dispatcher.shutdown();
+    }
+}
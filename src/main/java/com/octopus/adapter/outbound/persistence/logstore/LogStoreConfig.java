@@ -0,0 +1,46 @@
+package com.octopus.adapter.outbound.persistence.logstore;
+
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+
+import java.time.Duration;
+
+@ConfigMapping(prefix = "octopus.persistence.logstore")
+public interface LogStoreConfig {
+
+    /**
+     * Directory holding the record log.
+     */
+    @WithDefault("data/logstore")
+    String directory();
+
+    /**
+     * Maximum number of records forced to disk by a single fsync.
+     */
+    @WithDefault("256")
+    int batchSize();
+
+    /**
+     * Maximum time the writer waits for more records before forcing a batch.
+     */
+    @WithDefault("2ms")
+    Duration batchDelay();
+
+    /**
+     * Maximum number of writes waiting for the writer thread; callers block beyond that.
+     */
+    @WithDefault("10000")
+    int queueCapacity();
+
+    /**
+     * Maximum time a save waits for its records to be on disk.
+     */
+    @WithDefault("10s")
+    Duration writeTimeout();
+
+    /**
+     * Share of the log occupied by superseded records above which it is compacted.
+     */
+    @WithDefault("0.5")
+    double compactionGarbageRatio();
+}
@@ -0,0 +1,357 @@
+package com.octopus.adapter.outbound.persistence.logstore;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+import java.util.function.Supplier;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only file of length-prefixed, checksummed records.
+ * <p>
+ * Record layout: {@code length(int) crc32c(int) payload(length bytes)}. All writes happen on a single writer
+ * thread that drains queued appends in batches and forces them to disk with one {@code fsync} per batch
+ * (group commit). Compaction runs on that same thread, so it never races with appends; readers are only
+ * blocked during the final file swap through {@link #lock()}.
+ * </p>
+ */
+@Slf4j
+final class RecordLog implements AutoCloseable {
+
+    private static final int RECORD_HEADER_SIZE = 8;
+    private static final int MAX_RECORD_SIZE = 64 * 1024 * 1024;
+
+    @FunctionalInterface
+    interface RecordConsumer {
+        void accept(long offset, byte[] payload);
+    }
+
+    private sealed interface Command permits Append, Compact {
+    }
+
+    private record Append(byte[] payload, LongConsumer onDurable, CompletableFuture<Long> result) implements Command {
+    }
+
+    private record Compact(Supplier<Collection<Long>> liveOffsets, Consumer<Map<Long, Long>> onSwap,
+                           CompletableFuture<Void> result) implements Command {
+    }
+
+    private final Path file;
+    private final int maxBatch;
+    private final long maxBatchDelayNanos;
+    private final BlockingQueue<Command> commands;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Thread writer;
+
+    private volatile FileChannel channel;
+    private volatile long size;
+    private volatile boolean running = true;
+
+    RecordLog(Path file, int maxBatch, Duration maxBatchDelay, int queueCapacity) throws IOException {
+        this.file = file;
+        this.maxBatch = maxBatch;
+        this.maxBatchDelayNanos = maxBatchDelay.toNanos();
+        this.commands = new ArrayBlockingQueue<>(queueCapacity);
+
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.size = channel.size();
+
+        this.writer = Thread.ofPlatform().name("task-log-writer").daemon().unstarted(this::writeLoop);
+    }
+
+    /**
+     * Lock guarding offsets handed out by this log: hold the read lock while resolving an offset and reading it,
+     * so that a compaction cannot move records in between.
+     */
+    ReadWriteLock lock() {
+        return lock;
+    }
+
+    long size() {
+        return size;
+    }
+
+    /**
+     * Replays every intact record in file order, then truncates a torn or corrupted tail left by a crash.
+     * Must be called once, before {@link #start()}.
+     */
+    void replay(RecordConsumer consumer) throws IOException {
+        var header = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+        long position = 0;
+        long fileSize = channel.size();
+
+        while (position + RECORD_HEADER_SIZE <= fileSize) {
+            header.clear();
+            readFully(header, position);
+            header.flip();
+            int length = header.getInt();
+            int checksum = header.getInt();
+            if (length < 0 || length > MAX_RECORD_SIZE || position + RECORD_HEADER_SIZE + length > fileSize) break;
+
+            var payload = ByteBuffer.allocate(length);
+            readFully(payload, position + RECORD_HEADER_SIZE);
+            if (checksum(payload.array()) != checksum) break;
+
+            consumer.accept(position, payload.array());
+            position += RECORD_HEADER_SIZE + length;
+        }
+
+        if (position < fileSize) {
+            log.warn("Truncating {} bytes of torn or corrupted records at offset {} of {}", fileSize - position, position, file);
+            channel.truncate(position);
+            channel.force(true);
+        }
+        size = position;
+    }
+
+    void start() {
+        writer.start();
+    }
+
+    /**
+     * Queues a record. The returned future completes with the record offset once the record is on disk;
+     * {@code onDurable} runs before that, on the writer thread, while holding the write side of {@link #lock()}.
+     * If {@code onDurable} throws, the future completes with that exception, though the record stays in the log.
+     *
+     * @throws IllegalArgumentException if the payload is larger than a record may be, which replay would take for
+     * a corrupted tail
+     */
+    CompletableFuture<Long> append(byte[] payload, LongConsumer onDurable) {
+        if (payload.length > MAX_RECORD_SIZE) {
+            throw new IllegalArgumentException("Record of " + payload.length + " bytes exceeds the maximum of " + MAX_RECORD_SIZE);
+        }
+        var result = new CompletableFuture<Long>();
+        enqueue(new Append(payload, onDurable, result));
+        return result;
+    }
+
+    /**
+     * Rewrites the log keeping only the records at the offsets supplied when compaction starts.
+     * {@code onSwap} receives the old-to-new offset mapping while the write side of {@link #lock()} is held.
+     */
+    CompletableFuture<Void> compact(Supplier<Collection<Long>> liveOffsets, Consumer<Map<Long, Long>> onSwap) {
+        var result = new CompletableFuture<Void>();
+        enqueue(new Compact(liveOffsets, onSwap, result));
+        return result;
+    }
+
+    /**
+     * Reads the payload of the record at {@code offset}. Callers hold the read side of {@link #lock()}.
+     */
+    byte[] read(long offset) {
+        try {
+            var header = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+            readFully(header, offset);
+            header.flip();
+            var payload = ByteBuffer.allocate(header.getInt());
+            header.getInt();
+            readFully(payload, offset + RECORD_HEADER_SIZE);
+            return payload.array();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read record at offset " + offset + " of " + file, e);
+        }
+    }
+
+    /**
+     * Stops the writer after its current batch and fails every command still queued.
+     */
+    @Override
+    public void close() throws IOException {
+        running = false;
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        var closed = new IllegalStateException("Record log " + file + " is closed");
+        Command command;
+        while ((command = commands.poll()) != null) {
+            switch (command) {
+                case Append append -> append.result().completeExceptionally(closed);
+                case Compact compact -> compact.result().completeExceptionally(closed);
+            }
+        }
+        channel.close();
+    }
+
+    private void enqueue(Command command) {
+        if (!running) throw new IllegalStateException("Record log " + file + " is closed");
+        try {
+            commands.put(command);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while queueing a record", e);
+        }
+    }
+
+    private void writeLoop() {
+        var batch = new ArrayList<Append>(maxBatch);
+        while (running) {
+            try {
+                var first = commands.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                if (first instanceof Compact compact) {
+                    runCompaction(compact);
+                    continue;
+                }
+                batch.add((Append) first);
+
+                var deadline = System.nanoTime() + maxBatchDelayNanos;
+                while (batch.size() < maxBatch) {
+                    var next = commands.poll(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                    if (next == null) break;
+                    if (next instanceof Compact compact) {
+                        writeBatch(batch);
+                        batch.clear();
+                        runCompaction(compact);
+                        break;
+                    }
+                    batch.add((Append) next);
+                }
+                if (!batch.isEmpty()) writeBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            } catch (RuntimeException e) {
+                // the writer must outlive any failure, or every later append would wait forever
+                log.error("Could not write a batch of {} records to {}", batch.size(), file, e);
+                batch.forEach(append -> append.result().completeExceptionally(e));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void writeBatch(List<Append> batch) {
+        var offsets = new long[batch.size()];
+        try {
+            long position = size;
+            var buffers = new ByteBuffer[batch.size()];
+            for (int i = 0; i < batch.size(); i++) {
+                var payload = batch.get(i).payload();
+                buffers[i] = ByteBuffer.allocate(RECORD_HEADER_SIZE + payload.length)
+                        .putInt(payload.length)
+                        .putInt(checksum(payload))
+                        .put(payload)
+                        .flip();
+                offsets[i] = position;
+                position += buffers[i].remaining();
+            }
+
+            channel.position(size);
+            for (var buffer : buffers) {
+                while (buffer.hasRemaining()) channel.write(buffer);
+            }
+            channel.force(false);
+            size = position;
+        } catch (IOException e) {
+            log.error("Could not append {} records to {}", batch.size(), file, e);
+            batch.forEach(append -> append.result().completeExceptionally(new UncheckedIOException(e)));
+            return;
+        }
+
+        var failures = new RuntimeException[batch.size()];
+        lock.writeLock().lock();
+        try {
+            for (int i = 0; i < batch.size(); i++) {
+                try {
+                    batch.get(i).onDurable().accept(offsets[i]);
+                } catch (RuntimeException e) {
+                    log.error("Could not index the record at offset {} of {}", offsets[i], file, e);
+                    failures[i] = e;
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            if (failures[i] != null) batch.get(i).result().completeExceptionally(failures[i]);
+            else batch.get(i).result().complete(offsets[i]);
+        }
+    }
+
+    private void runCompaction(Compact compact) {
+        var compacted = file.resolveSibling(file.getFileName() + ".compact");
+        try {
+            Collection<Long> live;
+            lock.readLock().lock();
+            try {
+                live = compact.liveOffsets().get();
+            } finally {
+                lock.readLock().unlock();
+            }
+
+            var relocations = new HashMap<Long, Long>(live.size() * 2);
+            try (var target = FileChannel.open(compacted, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                long position = 0;
+                for (var offset : live.stream().sorted().toList()) {
+                    var payload = read(offset);
+                    var buffer = ByteBuffer.allocate(RECORD_HEADER_SIZE + payload.length)
+                            .putInt(payload.length)
+                            .putInt(checksum(payload))
+                            .put(payload)
+                            .flip();
+                    relocations.put(offset, position);
+                    position += buffer.remaining();
+                    while (buffer.hasRemaining()) target.write(buffer);
+                }
+                target.force(true);
+            }
+
+            lock.writeLock().lock();
+            try {
+                channel.close();
+                try {
+                    Files.move(compacted, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                } finally {
+                    // reopen whichever file is now in place: the compacted one, or the original if the move failed
+                    channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                    size = channel.size();
+                }
+                compact.onSwap().accept(relocations);
+            } finally {
+                lock.writeLock().unlock();
+            }
+            compact.result().complete(null);
+        } catch (IOException | RuntimeException e) {
+            log.error("Compaction of {} failed", file, e);
+            compact.result().completeExceptionally(e);
+        }
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) throw new IOException("Unexpected end of " + file + " at offset " + position);
+        }
+    }
+
+    private static int checksum(byte[] payload) {
+        var crc = new CRC32C();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,480 @@
+package com.octopus.adapter.outbound.persistence.logstore;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.octopus.adapter.outbound.persistence.mongodb.entity.TaskDefinitionEntity;
+import com.octopus.adapter.outbound.persistence.mongodb.mapper.TaskDefinitionPersistenceMapper;
+import com.octopus.application.port.inbound.query.Page;
+import com.octopus.application.port.inbound.query.PageCursor;
+import com.octopus.application.port.inbound.query.TaskDefinitionListCriteria;
+import com.octopus.application.port.outbound.LoadTaskDefinitionPort;
+import com.octopus.application.port.outbound.SaveTaskDefinitionPort;
+import com.octopus.domain.entity.TaskDefinition;
+import com.octopus.domain.exception.DomainBusinessRuleException;
+import com.octopus.domain.vo.TaskDefinitionDetails;
+import com.octopus.domain.vo.TaskDefinitionHead;
+import com.octopus.domain.vo.TaskDefinitionId;
+import com.octopus.domain.vo.TaskDefinitionRef;
+import com.octopus.domain.vo.TaskDefinitionSummary;
+import com.octopus.domain.vo.TaskStatus;
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.quarkus.runtime.Startup;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static java.util.Objects.nonNull;
+
+/**
+ * Embedded persistence adapter storing task definitions in a local append-only {@link RecordLog},
+ * for deployments without MongoDB and for hermetic performance tests.
+ * <p>
+ * Every save appends the whole definition; an in-memory index maps ids and active names to the offset of
+ * their latest record and keeps the listing order. The index is rebuilt by replaying the log at startup,
+ * and superseded records are reclaimed by periodic compaction.
+ * </p>
+ * <p>
+ * Each record is also an immutable version of its name, indexed by {@code name@version}. Versions stay live,
+ * so compaction only reclaims records whose version was superseded by a later duplicate during replay.
+ * </p>
+ * Selected with {@code octopus.persistence.adapter=logstore}.
+ */
+@Slf4j
+@Startup
+@ApplicationScoped
+@RequiredArgsConstructor
+@IfBuildProperty(name = "octopus.persistence.adapter", stringValue = "logstore")
+public class TaskDefinitionLogStoreAdapter implements LoadTaskDefinitionPort, SaveTaskDefinitionPort {
+
+    private static final String LOG_FILE = "task-definitions.log";
+
+    private record IndexEntry(long offset, int size, String name, String category, TaskStatus status, Map<String, String> metadata) {
+    }
+
+    private record ListingKey(String category, String name, String id) {
+        static final Comparator<ListingKey> ORDER = Comparator.comparing(ListingKey::category)
+                .thenComparing(ListingKey::name)
+                .thenComparing(ListingKey::id);
+    }
+
+    private final LogStoreConfig config;
+    private final ObjectMapper objectMapper;
+    private final TaskDefinitionPersistenceMapper mapper;
+
+    // guarded by recordLog.lock()
+    private final Map<String, IndexEntry> byId = new HashMap<>();
+    private final Map<String, String> activeIdByName = new HashMap<>();
+    private final TreeMap<ListingKey, String> listing = new TreeMap<>(ListingKey.ORDER);
+    private final Map<String, IndexEntry> byVersion = new HashMap<>();
+    private final Map<String, TaskDefinitionHead> heads = new HashMap<>();
+    private long liveBytes;
+
+    // versions durable or being appended with the definition claiming them, so that two saves cannot both claim
+    // the same version, and the latest claimed version of each name that new versions continue from
+    private final Map<String, String> claimedVersions = new ConcurrentHashMap<>();
+    private final Map<String, Long> latestVersions = new ConcurrentHashMap<>();
+
+    private RecordLog recordLog;
+
+    @PostConstruct
+    void open() {
+        var file = Path.of(config.directory()).resolve(LOG_FILE);
+        try {
+            recordLog = new RecordLog(file, config.batchSize(), config.batchDelay(), config.queueCapacity());
+            recordLog.replay((offset, payload) -> index(offset, payload.length, decode(payload)));
+            recordLog.start();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open task definition log " + file, e);
+        }
+        log.info("Opened task definition log {} with {} definitions", file, byId.size());
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        recordLog.close();
+    }
+
+    @Override
+    public Optional<TaskDefinition> loadById(TaskDefinitionId id) {
+        log.debug("Loading task definition by id: {}", id);
+
+        return readById(id.value().toString()).map(mapper::toDomain);
+    }
+
+    @Override
+    public Optional<TaskDefinition> loadForUpdate(TaskDefinitionId id) {
+        return loadById(id);
+    }
+
+    @Override
+    public Optional<TaskDefinition> loadActiveByName(String name) {
+        log.debug("Loading active task definition by name: {}", name);
+
+        return readActiveByName(name).map(mapper::toDomain);
+    }
+
+    @Override
+    public Map<String, TaskDefinition> loadActiveByNames(Collection<String> names) {
+        var definitions = new HashMap<String, TaskDefinition>();
+        for (var name : names) {
+            readActiveByName(name).ifPresent(entity -> definitions.put(name, mapper.toDomain(entity)));
+        }
+        return definitions;
+    }
+
+    @Override
+    public Map<String, TaskDefinitionSummary> loadActiveSummariesByNames(Collection<String> names) {
+        var summaries = new HashMap<String, TaskDefinitionSummary>();
+        for (var name : names) {
+            readActiveByName(name).ifPresent(entity -> summaries.put(name, mapper.toSummary(entity)));
+        }
+        return summaries;
+    }
+
+    @Override
+    public Set<String> loadActiveNames(Collection<String> names) {
+        var lock = recordLog.lock().readLock();
+        lock.lock();
+        try {
+            return names.stream().filter(activeIdByName::containsKey).collect(Collectors.toSet());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Optional<TaskDefinition> loadVersion(String name, long version) {
+        log.debug("Loading task definition version {}@{}", name, version);
+
+        var lock = recordLog.lock().readLock();
+        lock.lock();
+        try {
+            var entry = byVersion.get(TaskDefinitionRef.pinned(name, version).toString());
+            return entry != null ? Optional.of(mapper.toDomain(decode(recordLog.read(entry.offset())))) : Optional.empty();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Optional<TaskDefinitionHead> loadHead(String name) {
+        var lock = recordLog.lock().readLock();
+        lock.lock();
+        try {
+            return Optional.ofNullable(heads.get(name));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Map<String, Long> loadLatestVersions(Collection<String> names) {
+        var latest = new HashMap<String, Long>();
+        for (var name : names) {
+            var version = latestVersions.get(name);
+            if (version != null) latest.put(name, version);
+        }
+        return latest;
+    }
+
+    @Override
+    public Optional<TaskDefinitionSummary> loadSummaryById(TaskDefinitionId id) {
+        return readById(id.value().toString()).map(mapper::toSummary);
+    }
+
+    @Override
+    public Optional<TaskDefinitionSummary> loadActiveSummaryByName(String name) {
+        return readActiveByName(name).map(mapper::toSummary);
+    }
+
+    @Override
+    public Optional<TaskDefinitionDetails> loadDetailsById(TaskDefinitionId id) {
+        return readById(id.value().toString()).map(mapper::toDetails);
+    }
+
+    @Override
+    public boolean existsActiveByName(String name) {
+        var lock = recordLog.lock().readLock();
+        lock.lock();
+        try {
+            return activeIdByName.containsKey(name);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Page<TaskDefinitionSummary> loadSummaryPage(TaskDefinitionListCriteria criteria) {
+        return readPage(criteria, mapper::toSummary);
+    }
+
+    @Override
+    public Page<TaskDefinition> loadPage(TaskDefinitionListCriteria criteria) {
+        return readPage(criteria, mapper::toDomain);
+    }
+
+    @Override
+    public TaskDefinition save(TaskDefinition taskDefinition) {
+        log.debug("Saving task definition: {}", taskDefinition.taskInfo().name());
+
+        claimVersion(taskDefinition);
+        var versionRef = taskDefinition.versionRef().toString();
+
+        var entity = mapper.toPersistence(taskDefinition);
+        var payload = encode(entity);
+        try {
+            recordLog.append(payload, offset -> index(offset, payload.length, entity))
+                    .get(config.writeTimeout().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // the record is still queued and may be written, so its version stays claimed
+            throw new IllegalStateException("Task definition " + entity.getId() + " was not written within " + config.writeTimeout(), e);
+        } catch (InterruptedException e) {
+            claimedVersions.remove(versionRef);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while saving task definition", e);
+        } catch (ExecutionException e) {
+            claimedVersions.remove(versionRef);
+            throw new IllegalStateException("Could not save task definition " + entity.getId(), e.getCause());
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            // refused before being queued
+            claimedVersions.remove(versionRef);
+            throw e;
+        }
+
+        return taskDefinition;
+    }
+
+    /**
+     * Queues every record before waiting for any, so that they share group commits. A definition whose version is
+     * already stored with the same content was saved by an earlier run of the same import, and counts as saved.
+     */
+    @Override
+    public Map<Integer, String> saveAll(List<TaskDefinition> taskDefinitions) {
+        log.debug("Saving {} task definitions in bulk", taskDefinitions.size());
+
+        var failures = new HashMap<Integer, String>();
+        var appends = new HashMap<Integer, CompletableFuture<Long>>();
+        for (int i = 0; i < taskDefinitions.size(); i++) {
+            try {
+                claimVersion(taskDefinitions.get(i));
+            } catch (DomainBusinessRuleException e) {
+                if (!isStored(taskDefinitions.get(i))) failures.put(i, e.getMessage());
+                continue;
+            }
+            var entity = mapper.toPersistence(taskDefinitions.get(i));
+            var payload = encode(entity);
+            try {
+                appends.put(i, recordLog.append(payload, offset -> index(offset, payload.length, entity)));
+            } catch (IllegalArgumentException | IllegalStateException e) {
+                claimedVersions.remove(taskDefinitions.get(i).versionRef().toString());
+                failures.put(i, "Could not save task definition: " + e.getMessage());
+            }
+        }
+
+        var deadline = System.nanoTime() + config.writeTimeout().toNanos();
+        appends.forEach((i, append) -> {
+            try {
+                append.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                failures.put(i, "Task definition was not written within " + config.writeTimeout());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failures.put(i, "Interrupted while saving task definition");
+            } catch (ExecutionException e) {
+                claimedVersions.remove(taskDefinitions.get(i).versionRef().toString());
+                failures.put(i, "Could not save task definition: " + e.getCause().getMessage());
+            }
+        });
+        return failures;
+    }
+
+    /**
+     * Claims the version of a definition, moving it past the latest version of its name when another definition
+     * of the name claimed it first.
+     *
+     * @throws DomainBusinessRuleException if the definition itself already claimed the version, i.e. it was changed
+     * concurrently
+     */
+    private void claimVersion(TaskDefinition taskDefinition) {
+        var id = taskDefinition.id().value().toString();
+        var name = taskDefinition.taskInfo().name();
+        while (true) {
+            var claimant = claimedVersions.putIfAbsent(taskDefinition.versionRef().toString(), id);
+            if (claimant == null) {
+                latestVersions.merge(name, taskDefinition.version(), Math::max);
+                return;
+            }
+            if (claimant.equals(id)) {
+                throw new DomainBusinessRuleException(
+                        "Version " + taskDefinition.versionRef() + " of the task definition already exists");
+            }
+            taskDefinition.continueVersionsAfter(latestVersions.getOrDefault(name, taskDefinition.version()));
+        }
+    }
+
+    private boolean isStored(TaskDefinition taskDefinition) {
+        return loadVersion(taskDefinition.taskInfo().name(), taskDefinition.version())
+                .filter(taskDefinition::isSameVersionAs)
+                .isPresent();
+    }
+
+    @Scheduled(every = "${octopus.persistence.logstore.compaction-interval:5m}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void compactIfNeeded() {
+        var size = recordLog.size();
+        if (size == 0 || (double) (size - liveBytes) / size < config.compactionGarbageRatio()) return;
+
+        log.info("Compacting task definition log: {} of {} bytes are live", liveBytes, size);
+        recordLog.compact(
+                () -> Stream.concat(byId.values().stream(), byVersion.values().stream()).map(IndexEntry::offset).distinct().toList(),
+                this::relocate).join();
+    }
+
+    private Optional<TaskDefinitionEntity> readById(String id) {
+        var lock = recordLog.lock().readLock();
+        lock.lock();
+        try {
+            var entry = byId.get(id);
+            return entry != null ? Optional.of(decode(recordLog.read(entry.offset()))) : Optional.empty();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Optional<TaskDefinitionEntity> readActiveByName(String name) {
+        var lock = recordLog.lock().readLock();
+        lock.lock();
+        try {
+            var id = activeIdByName.get(name);
+            return id != null ? Optional.of(decode(recordLog.read(byId.get(id).offset()))) : Optional.empty();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private <T> Page<T> readPage(TaskDefinitionListCriteria criteria, Function<TaskDefinitionEntity, T> converter) {
+        var after = criteria.after();
+        var entities = new ArrayList<TaskDefinitionEntity>(criteria.limit() + 1);
+
+        var lock = recordLog.lock().readLock();
+        lock.lock();
+        try {
+            var candidates = after != null
+                    ? listing.tailMap(new ListingKey(after.category(), after.name(), after.id()), false)
+                    : listing;
+            for (var id : candidates.values()) {
+                var entry = byId.get(id);
+                if (matches(entry, criteria)) {
+                    entities.add(decode(recordLog.read(entry.offset())));
+                    if (entities.size() > criteria.limit()) break;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        var hasNext = entities.size() > criteria.limit();
+        var kept = hasNext ? entities.subList(0, criteria.limit()) : entities;
+        var last = hasNext ? kept.get(kept.size() - 1) : null;
+
+        return new Page<>(kept.stream().map(converter).toList(),
+                last != null ? new PageCursor(last.getCategory(), last.getName(), last.getId()) : null);
+    }
+
+    private static boolean matches(IndexEntry entry, TaskDefinitionListCriteria criteria) {
+        return (criteria.category() == null || criteria.category().equals(entry.category()))
+                && (criteria.status() == null || criteria.status() == entry.status())
+                && (criteria.metadataKey() == null || entry.metadata().containsKey(criteria.metadataKey()))
+                && (criteria.tags() == null || criteria.tags().matches(entry.metadata()));
+    }
+
+    /**
+     * Points the index at a newly durable record. Runs with the write side of the log lock held.
+     */
+    private void index(long offset, int size, TaskDefinitionEntity entity) {
+        var id = entity.getId();
+        var status = TaskStatus.fromString(entity.getStatus());
+        // metadata values may be null, which Map.copyOf rejects
+        var metadata = nonNull(entity.getMetadata())
+                ? Collections.unmodifiableMap(new HashMap<>(entity.getMetadata()))
+                : Map.<String, String>of();
+        var version = mapper.mapToVersion(entity.getVersion());
+        var entry = new IndexEntry(offset, size, entity.getName(), entity.getCategory(), status, metadata);
+
+        var previous = byId.put(id, entry);
+        if (previous != null) {
+            listing.remove(new ListingKey(previous.category(), previous.name(), id));
+            activeIdByName.remove(previous.name(), id);
+        }
+
+        listing.put(new ListingKey(entity.getCategory(), entity.getName(), id), id);
+        if (status == TaskStatus.ACTIVE) activeIdByName.put(entity.getName(), id);
+
+        // superseded records stay live as versions; only a replayed duplicate of a version becomes garbage
+        var versionRef = TaskDefinitionRef.pinned(entity.getName(), version).toString();
+        var previousVersion = byVersion.put(versionRef, entry);
+        if (previousVersion != null) liveBytes -= previousVersion.size();
+        liveBytes += size;
+        claimedVersions.put(versionRef, id);
+        latestVersions.merge(entity.getName(), version, Math::max);
+
+        // a definition that is not active does not take the head from another one of the name that is
+        var head = heads.get(entity.getName());
+        if (head == null || head.version() <= version
+                && (status == TaskStatus.ACTIVE || !head.isActive() || head.definitionId().value().toString().equals(id))) {
+            heads.put(entity.getName(), new TaskDefinitionHead(entity.getName(), TaskDefinitionId.of(id), version, status));
+        }
+    }
+
+    /**
+     * Applies the offsets assigned by a compaction. Runs with the write side of the log lock held.
+     */
+    private void relocate(Map<Long, Long> relocations) {
+        byId.replaceAll((id, entry) -> relocate(entry, relocations));
+        byVersion.replaceAll((ref, entry) -> relocate(entry, relocations));
+    }
+
+    private static IndexEntry relocate(IndexEntry entry, Map<Long, Long> relocations) {
+        return new IndexEntry(relocations.get(entry.offset()), entry.size(),
+                entry.name(), entry.category(), entry.status(), entry.metadata());
+    }
+
+    private byte[] encode(TaskDefinitionEntity entity) {
+        try {
+            return objectMapper.writeValueAsBytes(entity);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not encode task definition " + entity.getId(), e);
+        }
+    }
+
+    private TaskDefinitionEntity decode(byte[] payload) {
+        try {
+            return objectMapper.readValue(payload, TaskDefinitionEntity.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not decode task definition record", e);
+        }
+    }
+}
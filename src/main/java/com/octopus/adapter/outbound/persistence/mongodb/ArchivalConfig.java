@@ -0,0 +1,52 @@
+package com.octopus.adapter.outbound.persistence.mongodb;
+
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+
+import java.time.Duration;
+
+@ConfigMapping(prefix = "octopus.archival")
+public interface ArchivalConfig {
+
+    /**
+     * Whether inactive and deprecated definitions are moved to the archive collection once old enough.
+     */
+    @WithDefault("true")
+    boolean enabled();
+
+    /**
+     * How long a definition must have been left unmodified in a non-active status before it is archived.
+     */
+    @WithDefault("90d")
+    Duration minAge();
+
+    /**
+     * Definitions moved per batch.
+     */
+    @WithDefault("100")
+    int batchSize();
+
+    /**
+     * Pause between two batches, which bounds the write load an archival run puts on MongoDB.
+     */
+    @WithDefault("200ms")
+    Duration batchDelay();
+
+    /**
+     * Batches moved per run at most; the remaining definitions are left to the next run.
+     */
+    @WithDefault("50")
+    int maxBatchesPerRun();
+
+    /**
+     * Whether archived definitions are stored deflated. Read by the archive codec through the configuration provider.
+     */
+    @WithDefault("true")
+    boolean compress();
+
+    /**
+     * Archived definitions smaller than this are stored uncompressed.
+     */
+    @WithDefault("512")
+    int compressThresholdBytes();
+}
@@ -0,0 +1,30 @@
+package com.octopus.adapter.outbound.persistence.mongodb;
+
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+
+/**
+ * Content-addressed storage of the headers, payload template and retry policy blocks of the definitions.
+ * The codec reads the same properties through the configuration provider.
+ */
+@ConfigMapping(prefix = "octopus.persistence.blocks")
+public interface ContentBlockConfig {
+
+    /**
+     * Whether large blocks are stored once in the blocks collection and referenced by hash from the definitions.
+     */
+    @WithDefault("false")
+    boolean enabled();
+
+    /**
+     * Blocks whose canonical BSON is smaller than this stay inline, a reference costing about 40 bytes.
+     */
+    @WithDefault("256")
+    int minBytes();
+
+    /**
+     * Resolved blocks kept decoded in memory.
+     */
+    @WithDefault("10000")
+    int cacheMaxEntries();
+}
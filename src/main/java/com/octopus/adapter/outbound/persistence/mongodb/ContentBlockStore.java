@@ -0,0 +1,234 @@
+package com.octopus.adapter.outbound.persistence.mongodb;
+
+import com.mongodb.ErrorCategory;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.client.model.Accumulators;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.UpdateOptions;
+import com.octopus.adapter.outbound.persistence.mongodb.codec.ContentBlock;
+import com.octopus.adapter.outbound.persistence.mongodb.codec.ContentBlocks;
+import com.octopus.adapter.outbound.persistence.mongodb.codec.TaskDefinitionCodec;
+import com.octopus.adapter.outbound.persistence.mongodb.repository.TaskDefinitionMongoRepository;
+import com.octopus.domain.entity.TaskDefinition;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.quarkus.runtime.Startup;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonBinary;
+import org.bson.BsonDocument;
+import org.bson.Document;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.mongodb.client.model.Filters.eq;
+import static com.mongodb.client.model.Projections.include;
+import static com.mongodb.client.model.Updates.combine;
+import static com.mongodb.client.model.Updates.inc;
+import static com.mongodb.client.model.Updates.setOnInsert;
+import static com.octopus.adapter.outbound.persistence.mongodb.codec.TaskDefinitionCodec.ID;
+import static com.octopus.adapter.outbound.persistence.mongodb.repository.TaskDefinitionMongoRepository.BLOCK_REFS;
+
+/**
+ * The blocks collection behind {@link ContentBlocks}: stores the blocks of definitions before they are written,
+ * counts the definitions and versions referencing each block, and deletes the blocks no longer referenced.
+ * <p>
+ * A save adds a reference for its version and one for its definition, and releases those of the definition document
+ * it replaces, as read from that document. References are released only when a write is known not to have happened;
+ * when in doubt a reference is kept, so a block may outlive its last reference but is never deleted while still
+ * referenced. Archival copies a definition document unchanged, so it moves together with its references. Versions are
+ * immutable and keep their blocks alive for good.
+ * </p>
+ * <p>
+ * Also binds the block lookup of the codecs at startup, and reports how much the shared blocks save: the bytes stored
+ * once in the blocks collection against the bytes every reference would have stored inline.
+ * </p>
+ */
+@Slf4j
+@Startup
+@ApplicationScoped
+@IfBuildProperty(name = "octopus.persistence.adapter", stringValue = "mongodb", enableIfMissing = true)
+public class ContentBlockStore {
+
+    /**
+     * References added by the save of a definition: its version and the definition document.
+     */
+    public static final int REFERENCES_PER_SAVE = 2;
+
+    private static final String KIND = "kind";
+    private static final String CONTENT = "content";
+    private static final String SIZE = "size";
+    private static final String CREATED_AT = "createdAt";
+    private static final BulkWriteOptions UNORDERED_WRITE = new BulkWriteOptions().ordered(false);
+
+    private final ContentBlockConfig config;
+    private final TaskDefinitionMongoRepository repository;
+
+    private final AtomicLong blockCount = new AtomicLong();
+    private final AtomicLong storedBytes = new AtomicLong();
+    private final AtomicLong savedBytes = new AtomicLong();
+    private final Counter collected;
+
+    public ContentBlockStore(ContentBlockConfig config, TaskDefinitionMongoRepository repository, MeterRegistry registry) {
+        this.config = config;
+        this.repository = repository;
+
+        Gauge.builder("octopus.persistence.blocks.count", blockCount, AtomicLong::get)
+                .description("Content blocks stored, as of the last collection")
+                .register(registry);
+        Gauge.builder("octopus.persistence.blocks.stored", storedBytes, AtomicLong::get)
+                .description("Canonical size of the content blocks stored, as of the last collection")
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder("octopus.persistence.blocks.saved", savedBytes, AtomicLong::get)
+                .description("Bytes the references to shared content blocks save over storing every block inline")
+                .baseUnit("bytes")
+                .register(registry);
+        this.collected = Counter.builder("octopus.persistence.blocks.collected")
+                .description("Content blocks deleted once no longer referenced")
+                .register(registry);
+    }
+
+    @PostConstruct
+    void bindLoader() {
+        ContentBlocks.bindLoader(id -> {
+            var block = repository.blocksCollection()
+                    .withDocumentClass(BsonDocument.class)
+                    .find(eq(ID, id))
+                    .projection(include(CONTENT))
+                    .first();
+            return block != null ? block.getDocument(CONTENT) : null;
+        });
+    }
+
+    public boolean isEnabled() {
+        return config.enabled();
+    }
+
+    /**
+     * @return the blocks the definition is written with as references, empty when content blocks are disabled
+     */
+    public List<ContentBlock> blocksOf(TaskDefinition definition) {
+        if (!config.enabled()) return List.of();
+        return ((TaskDefinitionCodec) repository.mongoCollection().getCodecRegistry().get(TaskDefinition.class))
+                .contentBlocks(definition);
+    }
+
+    /**
+     * Stores the blocks that do not exist yet and adds references to all of them.
+     *
+     * @param blocks         blocks to reference, once per definition using them
+     * @param referencesEach references added per occurrence of a block
+     */
+    public void retain(Collection<ContentBlock> blocks, int referencesEach) {
+        if (blocks.isEmpty()) return;
+
+        var createdAt = new Date();
+        var updates = byHash(blocks).values().stream()
+                .map(occurrences -> {
+                    var block = occurrences.getFirst();
+                    return new UpdateOneModel<Document>(eq(ID, block.id()), combine(
+                            setOnInsert(KIND, block.kind()),
+                            setOnInsert(CONTENT, block.content()),
+                            setOnInsert(SIZE, block.size()),
+                            setOnInsert(CREATED_AT, createdAt),
+                            inc(BLOCK_REFS, occurrences.size() * referencesEach)),
+                            new UpdateOptions().upsert(true));
+                })
+                .toList();
+
+        try {
+            repository.blocksCollection().bulkWrite(updates, UNORDERED_WRITE);
+        } catch (MongoBulkWriteException e) {
+            if (e.getWriteErrors().stream().anyMatch(error -> ErrorCategory.fromErrorCode(error.getCode()) != ErrorCategory.DUPLICATE_KEY)) throw e;
+            // concurrent first saves of the same block: it exists now, and only the references are left to add
+            repository.blocksCollection().bulkWrite(
+                    e.getWriteErrors().stream().map(error -> updates.get(error.getIndex())).toList(), UNORDERED_WRITE);
+        }
+    }
+
+    /**
+     * Removes references added by {@link #retain}. The blocks are deleted by the next collection once unreferenced.
+     */
+    public void release(Collection<ContentBlock> blocks, int referencesEach) {
+        releaseReferences(blocks.stream().map(ContentBlock::id).toList(), referencesEach);
+    }
+
+    /**
+     * Removes the references a stored definition document holds, as written in it. Unlike {@link #release}, this does
+     * not depend on how the definition would be written now, so it suits documents written by earlier saves.
+     *
+     * @param stored a definition document, as stored in the main collection, a version or the archive
+     */
+    public void releaseHeldBy(BsonDocument stored, int referencesEach) {
+        releaseReferences(TaskDefinitionCodec.blockReferences(stored), referencesEach);
+    }
+
+    private void releaseReferences(List<BsonBinary> ids, int referencesEach) {
+        if (ids.isEmpty()) return;
+
+        var updates = ids.stream().collect(Collectors.groupingBy(Function.identity(), Collectors.counting()))
+                .entrySet().stream()
+                .map(occurrences -> new UpdateOneModel<Document>(eq(ID, occurrences.getKey()),
+                        inc(BLOCK_REFS, -occurrences.getValue() * referencesEach)))
+                .toList();
+        try {
+            repository.blocksCollection().bulkWrite(updates, UNORDERED_WRITE);
+        } catch (RuntimeException e) {
+            // a reference left behind only delays the collection of its block
+            log.warn("Could not release {} content block references: {}", updates.size(), e.getMessage());
+        }
+    }
+
+    private static Map<String, List<ContentBlock>> byHash(Collection<ContentBlock> blocks) {
+        return blocks.stream().collect(Collectors.groupingBy(ContentBlock::hex));
+    }
+
+    @Scheduled(every = "${octopus.persistence.blocks.collect-interval:1h}", delayed = "1m",
+            concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void collect() {
+        if (!config.enabled()) return;
+
+        try {
+            var deleted = repository.blocksCollection().deleteMany(TaskDefinitionMongoRepository.UNREFERENCED_BLOCKS_FILTER).getDeletedCount();
+            collected.increment(deleted);
+            if (deleted > 0) log.info("Deleted {} unreferenced content blocks", deleted);
+
+            refreshSavings();
+        } catch (RuntimeException e) {
+            log.warn("Content block collection failed: {}", e.getMessage());
+        }
+    }
+
+    private void refreshSavings() {
+        var totals = repository.blocksCollection().aggregate(List.of(
+                Aggregates.group(null,
+                        Accumulators.sum("blocks", 1),
+                        Accumulators.sum("stored", "$" + SIZE),
+                        Accumulators.sum("referenced", new Document("$multiply", List.of("$" + SIZE, "$" + BLOCK_REFS))))
+        )).first();
+        if (totals == null) {
+            blockCount.set(0);
+            storedBytes.set(0);
+            savedBytes.set(0);
+            return;
+        }
+
+        var stored = totals.get("stored", Number.class).longValue();
+        blockCount.set(totals.get("blocks", Number.class).longValue());
+        storedBytes.set(stored);
+        savedBytes.set(Math.max(0, totals.get("referenced", Number.class).longValue() - stored));
+    }
+}
@@ -0,0 +1,345 @@
+package com.octopus.adapter.outbound.persistence.mongodb;
+
+import com.mongodb.ExplainVerbosity;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.InsertManyOptions;
+import com.octopus.adapter.outbound.persistence.mongodb.repository.TaskDefinitionMongoRepository;
+import com.octopus.application.port.inbound.query.MetadataTagFilter;
+import com.octopus.domain.entity.TaskDefinition;
+import com.octopus.domain.vo.Audit;
+import com.octopus.domain.vo.Endpoint;
+import com.octopus.domain.vo.HttpConfig;
+import com.octopus.domain.vo.HttpMethod;
+import com.octopus.domain.vo.RetryPolicy;
+import com.octopus.domain.vo.TaskDefinitionId;
+import com.octopus.domain.vo.TaskDefinitionRef;
+import com.octopus.domain.vo.TaskInfo;
+import com.octopus.domain.vo.TaskStatus;
+import io.quarkus.arc.properties.IfBuildProperty;
+import jakarta.enterprise.context.ApplicationScoped;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static com.mongodb.client.model.Filters.eq;
+import static com.mongodb.client.model.Projections.include;
+import static com.octopus.adapter.outbound.persistence.mongodb.codec.TaskDefinitionCodec.CATEGORY;
+import static com.octopus.adapter.outbound.persistence.mongodb.codec.TaskDefinitionCodec.ID;
+import static com.octopus.adapter.outbound.persistence.mongodb.codec.TaskDefinitionCodec.NAME;
+import static com.octopus.adapter.outbound.persistence.mongodb.codec.TaskDefinitionCodec.STATUS;
+
+/**
+ * Explains every query the persistence adapters run, and checks the winning plans against what the indexes of
+ * {@link TaskDefinitionMongoRepository#ensureIndexes()} were created for: the expected index is used, no query sorts
+ * in memory, covered queries do not fetch documents, and no more documents are examined than returned.
+ * <p>
+ * The catalogue below mirrors the filters, projections, sorts and limits of the adapters, built from the repository
+ * helpers the adapters use, and has to be extended with every new query. Plans are only meaningful on a realistic
+ * volume, so {@link #seed} fills an empty definitions collection with synthetic definitions first.
+ * </p>
+ */
+@Slf4j
+@ApplicationScoped
+@RequiredArgsConstructor
+@IfBuildProperty(name = "octopus.persistence.adapter", stringValue = "mongodb", enableIfMissing = true)
+public class QueryPlanInspector {
+
+    /**
+     * Stand-in for the {@code _id} index, which plans answering a lookup by id in a single step do not name.
+     */
+    static final String ID_INDEX = "_id_";
+
+    private static final Set<String> ID_LOOKUP_STAGES = Set.of("IDHACK", "EXPRESS_IDHACK", "CLUSTERED_IXSCAN");
+    private static final int SEED_BATCH_SIZE = 1_000;
+    private static final int SEED_CATEGORIES = 50;
+    private static final int SAMPLE_NAMES = 10;
+    private static final int PAGE_SIZE = 50;
+    private static final int ARCHIVE_BATCH_SIZE = 500;
+    private static final int OUTBOX_BATCH_SIZE = 100;
+
+    /**
+     * What the plan of a query should look like.
+     *
+     * @param indexes            the index the winning plan must read, any of them when several are acceptable
+     * @param covered            whether the query must be answered from the index alone
+     * @param maxDocsPerReturned documents examined allowed per document returned
+     */
+    record Expectation(Set<String> indexes, boolean covered, double maxDocsPerReturned) {
+
+        static Expectation index(String... indexes) {
+            return new Expectation(Set.of(indexes), false, 1.0);
+        }
+
+        static Expectation coveredBy(String index) {
+            return new Expectation(Set.of(index), true, 0.0);
+        }
+    }
+
+    /**
+     * A query as an adapter runs it, either a find or, when {@code pipeline} is set, an aggregation.
+     */
+    record PlannedQuery(String name, MongoCollection<Document> collection, Bson filter, Bson projection, Bson sort,
+                        int limit, List<Bson> pipeline, Expectation expected) {
+
+        PlannedQuery(String name, MongoCollection<Document> collection, Bson filter, Bson projection, Bson sort,
+                     int limit, Expectation expected) {
+            this(name, collection, filter, projection, sort, limit, null, expected);
+        }
+
+        static PlannedQuery aggregation(String name, MongoCollection<Document> collection, List<Bson> pipeline,
+                                        Expectation expected) {
+            return new PlannedQuery(name, collection, null, null, null, 0, pipeline, expected);
+        }
+    }
+
+    /**
+     * The winning plan of a query and its execution statistics.
+     *
+     * @param shape one-line form of the stage tree, compared against the baseline
+     * @param tree  indented form of the stage tree
+     */
+    public record Plan(String query, String shape, String tree, Set<String> indexes, Set<String> stages,
+                       long returned, long keysExamined, long docsExamined, List<String> violations) {
+
+        public boolean isOk() {
+            return violations.isEmpty();
+        }
+    }
+
+    private final TaskDefinitionMongoRepository repository;
+
+    /**
+     * Inserts synthetic definitions if the definitions collection is empty: spread over {@value #SEED_CATEGORIES}
+     * categories, four in five active, with team and tier metadata and modification dates over the past two years.
+     *
+     * @return the number of definitions inserted, 0 if the collection already had documents
+     */
+    public long seed(int count) {
+        var collection = repository.mongoCollection().withDocumentClass(TaskDefinition.class);
+        if (collection.estimatedDocumentCount() > 0) {
+            log.info("Definitions collection is not empty, not seeding");
+            return 0;
+        }
+
+        var now = Instant.now();
+        var options = new InsertManyOptions().ordered(false);
+        for (var first = 0; first < count; first += SEED_BATCH_SIZE) {
+            var batch = IntStream.range(first, Math.min(count, first + SEED_BATCH_SIZE))
+                    .mapToObj(i -> seedDefinition(i, now))
+                    .toList();
+            collection.insertMany(batch, options);
+        }
+        log.info("Seeded {} synthetic task definitions", count);
+        return count;
+    }
+
+    private static TaskDefinition seedDefinition(int i, Instant now) {
+        var status = switch (i % 10) {
+            case 0 -> TaskStatus.INACTIVE;
+            case 5 -> TaskStatus.DEPRECATED;
+            default -> TaskStatus.ACTIVE;
+        };
+        var updatedAt = now.minus(i % 730, ChronoUnit.DAYS);
+
+        return new TaskDefinition(
+                TaskDefinitionId.random(),
+                new TaskInfo(seedName(i), "category-%02d".formatted(i % SEED_CATEGORIES), "Synthetic task " + i),
+                status,
+                Map.of("team", "team-%02d".formatted(i % 20), "tier", i % 3 == 0 ? "critical" : "standard"),
+                new HttpConfig(Endpoint.of("https://tasks.example.com/seed/" + i), HttpMethod.POST, 30,
+                        Map.of("Content-Type", "application/json"), null),
+                new RetryPolicy(3, new Integer[]{1, 5, 30}, new Integer[]{502, 503, 504}),
+                new Audit(updatedAt.minus(1, ChronoUnit.DAYS), updatedAt),
+                TaskDefinition.INITIAL_VERSION);
+    }
+
+    private static String seedName(int i) {
+        return "seed-task-%07d".formatted(i);
+    }
+
+    /**
+     * Explains every query of the catalogue, with values taken from the stored definitions.
+     */
+    public List<Plan> inspect() {
+        return catalogue().stream().map(this::explain).toList();
+    }
+
+    private List<PlannedQuery> catalogue() {
+        var definitions = repository.mongoCollection().withDocumentClass(Document.class);
+        var sample = definitions.find(eq(STATUS, TaskStatus.ACTIVE.name())).projection(include(NAME, CATEGORY)).first();
+        var name = sample != null ? sample.getString(NAME) : seedName(1);
+        var category = sample != null ? sample.getString(CATEGORY) : "category-01";
+        var id = sample != null ? sample.getString(ID) : TaskDefinitionId.random().value().toString();
+        var names = definitions.find(eq(STATUS, TaskStatus.ACTIVE.name())).projection(include(NAME)).limit(SAMPLE_NAMES)
+                .map(document -> document.getString(NAME))
+                .into(new ArrayList<>());
+        if (names.isEmpty()) names.add(name);
+        var tags = new MetadataTagFilter(List.of(new MetadataTagFilter.Tag("team", "team-01")), MetadataTagFilter.Match.ALL);
+
+        var versions = repository.versionCollection().withDocumentClass(Document.class);
+        var heads = repository.headCollection();
+        var archive = repository.archiveCollection().withDocumentClass(Document.class);
+        var stats = repository.executionStatsCollection();
+        var workflows = repository.workflowCollection().withDocumentClass(Document.class);
+        var blocks = repository.blocksCollection();
+        var summary = TaskDefinitionMongoRepository.SUMMARY_PROJECTION;
+        var sort = TaskDefinitionMongoRepository.KEYSET_SORT;
+
+        return List.of(
+                new PlannedQuery("findActiveByName", definitions,
+                        TaskDefinitionMongoRepository.activeByName(name), null, TaskDefinitionMongoRepository.ACTIVE_BY_NAME_SORT, 1,
+                        Expectation.index("name_status_version")),
+                new PlannedQuery("existsActiveByName", definitions,
+                        TaskDefinitionMongoRepository.activeByName(name), TaskDefinitionMongoRepository.ACTIVE_NAME_PROJECTION,
+                        null, 1, Expectation.coveredBy("name_status_version")),
+                new PlannedQuery("findActiveSummaryByName", definitions,
+                        TaskDefinitionMongoRepository.activeByName(name), summary, TaskDefinitionMongoRepository.ACTIVE_BY_NAME_SORT, 1,
+                        Expectation.index("name_status_version")),
+                new PlannedQuery("findActiveByNames", definitions,
+                        TaskDefinitionMongoRepository.activeByNames(names), null, null, 0, Expectation.index("name_status_version")),
+                new PlannedQuery("findActiveSummariesByNames", definitions,
+                        TaskDefinitionMongoRepository.activeByNames(names), summary, null, 0, Expectation.index("name_status_version")),
+                new PlannedQuery("findActiveNames", definitions,
+                        TaskDefinitionMongoRepository.activeByNames(names), TaskDefinitionMongoRepository.ACTIVE_NAMES_PROJECTION,
+                        null, 0, Expectation.index("name_status_version")),
+                new PlannedQuery("findProjectedById", definitions,
+                        eq(ID, id), summary, null, 1, Expectation.index(ID_INDEX)),
+                new PlannedQuery("findPage", definitions,
+                        repository.listingFilter(null, null, null, null, null, null, null), summary, sort, PAGE_SIZE + 1,
+                        Expectation.index("category_name_id")),
+                new PlannedQuery("findPage.afterCursor", definitions,
+                        repository.listingFilter(null, null, null, null, category, name, id), summary, sort, PAGE_SIZE + 1,
+                        Expectation.index("category_name_id")),
+                new PlannedQuery("findPage.status", definitions,
+                        repository.listingFilter(null, TaskStatus.ACTIVE, null, null, null, null, null), summary, sort,
+                        PAGE_SIZE + 1, Expectation.index("status_category_name_id")),
+                new PlannedQuery("findPage.category", definitions,
+                        repository.listingFilter(category, null, null, null, null, null, null), summary, sort, PAGE_SIZE + 1,
+                        Expectation.index("category_name_id", "status_category_name_id")),
+                new PlannedQuery("findPage.metadataKey", definitions,
+                        repository.listingFilter(null, null, "team", null, null, null, null), summary, sort, PAGE_SIZE + 1,
+                        Expectation.index("metadata_tags")),
+                new PlannedQuery("findPage.tag", definitions,
+                        repository.listingFilter(null, null, null, tags, null, null, null), summary, sort, PAGE_SIZE + 1,
+                        Expectation.index("metadata_tags")),
+                new PlannedQuery("archivable", definitions,
+                        TaskDefinitionMongoRepository.archivableFilter(Instant.now().minus(90, ChronoUnit.DAYS)), null, null,
+                        ARCHIVE_BATCH_SIZE, Expectation.index("status_updated_at")),
+                new PlannedQuery("archivedById", archive,
+                        eq(ID, id), null, null, 1, Expectation.index(ID_INDEX)),
+                new PlannedQuery("versionById", versions,
+                        eq(ID, TaskDefinitionRef.pinned(name, TaskDefinition.INITIAL_VERSION).toString()), null, null, 1, Expectation.index(ID_INDEX)),
+                new PlannedQuery("headByName", heads,
+                        eq(ID, name), null, null, 1, Expectation.index(ID_INDEX)),
+                PlannedQuery.aggregation("latestVersions", versions,
+                        TaskDefinitionMongoRepository.latestVersions(names), Expectation.index("name_version")),
+                new PlannedQuery("outboxPending", versions,
+                        TaskDefinitionMongoRepository.PENDING_EVENTS_FILTER, null, TaskDefinitionMongoRepository.PENDING_EVENTS_SORT,
+                        OUTBOX_BATCH_SIZE, Expectation.index("pending_name_version")),
+                new PlannedQuery("executionStatsSince", stats,
+                        TaskDefinitionMongoRepository.executionStatsSince(name, Instant.now().minus(7, ChronoUnit.DAYS)), null,
+                        null, 0, Expectation.index("name_day")),
+                new PlannedQuery("workflowByName", workflows,
+                        eq(NAME, name), null, null, 1, Expectation.index("name")),
+                new PlannedQuery("unreferencedBlocks", blocks,
+                        TaskDefinitionMongoRepository.UNREFERENCED_BLOCKS_FILTER, null, null, 0, Expectation.index("unreferenced")));
+    }
+
+    private Plan explain(PlannedQuery query) {
+        var explained = query.pipeline() != null
+                ? query.collection().aggregate(query.pipeline()).explain(Document.class, ExplainVerbosity.EXECUTION_STATS)
+                : explainFind(query);
+        // an aggregation that is not run by the query engine as a whole explains the query feeding its first stage
+        if (explained.containsKey("stages")) {
+            explained = explained.getList("stages", Document.class).getFirst().get("$cursor", Document.class);
+        }
+        var winning = explained.get("queryPlanner", Document.class).get("winningPlan", Document.class);
+        // the slot-based engine nests the classic plan shape one level down
+        if (winning.containsKey("queryPlan")) winning = winning.get("queryPlan", Document.class);
+        var statistics = explained.get("executionStats", Document.class);
+
+        var indexes = new LinkedHashSet<String>();
+        var stages = new LinkedHashSet<String>();
+        var tree = new StringBuilder();
+        var shape = describe(winning, 0, indexes, stages, tree);
+
+        var returned = number(statistics, "nReturned");
+        var keysExamined = number(statistics, "totalKeysExamined");
+        var docsExamined = number(statistics, "totalDocsExamined");
+
+        var violations = new ArrayList<String>();
+        var expected = query.expected();
+        if (indexes.stream().noneMatch(expected.indexes()::contains)) {
+            violations.add("expected index " + String.join(" or ", expected.indexes()) + ", used " + (indexes.isEmpty() ? "none" : indexes));
+        }
+        if (stages.contains("COLLSCAN")) violations.add("scans the collection");
+        if (stages.contains("SORT")) violations.add("sorts in memory");
+        if (expected.covered() && (stages.contains("FETCH") || docsExamined > 0)) {
+            violations.add("is not covered: examined " + docsExamined + " documents");
+        }
+        if (!expected.covered() && docsExamined > Math.max(1, returned) * expected.maxDocsPerReturned()) {
+            violations.add("examined " + docsExamined + " documents for " + returned + " returned");
+        }
+
+        return new Plan(query.name(), shape, tree.toString(), indexes, stages, returned, keysExamined, docsExamined, violations);
+    }
+
+    private static Document explainFind(PlannedQuery query) {
+        var find = query.collection().find(query.filter());
+        if (query.projection() != null) find = find.projection(query.projection());
+        if (query.sort() != null) find = find.sort(query.sort());
+        if (query.limit() > 0) find = find.limit(query.limit());
+
+        return find.explain(Document.class, ExplainVerbosity.EXECUTION_STATS);
+    }
+
+    /**
+     * Walks a stage and its inputs, collecting stage names and indexes.
+     *
+     * @return the one-line shape of the stage, e.g. {@code LIMIT(FETCH(IXSCAN name_status_version))}
+     */
+    private static String describe(Document stage, int depth, Set<String> indexes, Set<String> stages, StringBuilder tree) {
+        var name = stage.getString("stage");
+        stages.add(name);
+
+        var index = stage.getString("indexName");
+        if (index == null && ID_LOOKUP_STAGES.contains(name)) index = ID_INDEX;
+        if (index != null) indexes.add(index);
+
+        var label = index != null ? name + " " + index : name;
+        tree.append("  ".repeat(depth + 1)).append(label).append('\n');
+
+        var inputs = new ArrayList<Document>();
+        if (stage.containsKey("inputStage")) inputs.add(stage.get("inputStage", Document.class));
+        if (stage.containsKey("inputStages")) inputs.addAll(stage.getList("inputStages", Document.class));
+        if (inputs.isEmpty()) return label;
+
+        var children = inputs.stream().map(input -> describe(input, depth + 1, indexes, stages, tree)).toList();
+        return label + "(" + String.join(", ", children) + ")";
+    }
+
+    private static long number(Document document, String field) {
+        var value = document.get(field, Number.class);
+        return value != null ? value.longValue() : 0;
+    }
+
+    /**
+     * @return the shape of every plan by query, as stored in a baseline
+     */
+    public static Map<String, String> shapes(List<Plan> plans) {
+        var shapes = new LinkedHashMap<String, String>();
+        plans.forEach(plan -> shapes.put(plan.query(), plan.shape()));
+        return shapes;
+    }
+}
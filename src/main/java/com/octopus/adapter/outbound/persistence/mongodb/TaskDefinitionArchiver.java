@@ -0,0 +1,131 @@
+package com.octopus.adapter.outbound.persistence.mongodb;
+
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.WriteModel;
+import com.octopus.adapter.outbound.persistence.mongodb.codec.ArchivedTaskDefinition;
+import com.octopus.adapter.outbound.persistence.mongodb.repository.TaskDefinitionMongoRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import static com.mongodb.client.model.Filters.and;
+import static com.mongodb.client.model.Filters.eq;
+import static com.mongodb.client.model.Filters.in;
+import static com.mongodb.client.model.Projections.include;
+import static com.octopus.adapter.outbound.persistence.mongodb.codec.TaskDefinitionCodec.ID;
+
+/**
+ * Moves inactive and deprecated definitions left unmodified for {@code octopus.archival.min-age} from the main
+ * collection to the archive collection, so that the main collection and its indexes stay proportional to the active
+ * set that name lookups read.
+ * <p>
+ * Definitions are moved in throttled batches: each batch is copied to the archive, then deleted from the main
+ * collection under the same filter that selected it. A definition modified in between, for example activated again,
+ * fails that filter and stays in the main collection, and its archive copy is dropped. Archived definitions remain
+ * readable by id, and saving one moves it back.
+ * </p>
+ */
+@Slf4j
+@ApplicationScoped
+@IfBuildProperty(name = "octopus.persistence.adapter", stringValue = "mongodb", enableIfMissing = true)
+public class TaskDefinitionArchiver {
+
+    private static final ReplaceOptions UPSERT = new ReplaceOptions().upsert(true);
+
+    private final ArchivalConfig config;
+    private final TaskDefinitionMongoRepository repository;
+    private final Counter archived;
+
+    public TaskDefinitionArchiver(ArchivalConfig config, TaskDefinitionMongoRepository repository, MeterRegistry registry) {
+        this.config = config;
+        this.repository = repository;
+        this.archived = Counter.builder("octopus.archival.archived")
+                .description("Task definitions moved to the archive collection")
+                .register(registry);
+    }
+
+    @Scheduled(every = "${octopus.archival.interval:1h}", delayed = "1m", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void archive() {
+        if (!config.enabled()) return;
+
+        var cutoff = Instant.now().minus(config.minAge());
+        var total = 0;
+        try {
+            for (int batch = 0; batch < config.maxBatchesPerRun(); batch++) {
+                var moved = archiveBatch(cutoff);
+                total += moved;
+                if (moved < config.batchSize()) break;
+
+                Thread.sleep(config.batchDelay());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.warn("Task definition archival stopped after {} definitions: {}", total, e.getMessage());
+            return;
+        }
+
+        if (total > 0) log.info("Archived {} task definitions not modified since {}", total, cutoff);
+    }
+
+    /**
+     * @return the number of definitions read for the batch, whether or not they all moved
+     */
+    private int archiveBatch(Instant cutoff) {
+        var filter = TaskDefinitionMongoRepository.archivableFilter(cutoff);
+        // read raw, so that the archive copy holds the same content block references as the document it replaces
+        var definitions = repository.mongoCollection()
+                .withDocumentClass(RawBsonDocument.class)
+                .find(filter)
+                .limit(config.batchSize())
+                .into(new ArrayList<>(config.batchSize()));
+        if (definitions.isEmpty()) return 0;
+
+        var codec = repository.definitionCodec();
+        var archivedAt = Instant.now();
+        var ids = new ArrayList<String>(definitions.size());
+        var copies = new ArrayList<WriteModel<ArchivedTaskDefinition>>(definitions.size());
+        for (var stored : definitions) {
+            var copy = new ArchivedTaskDefinition(stored.decode(codec), archivedAt, stored);
+            ids.add(copy.id());
+            copies.add(new ReplaceOneModel<>(eq(ID, copy.id()), copy, UPSERT));
+        }
+
+        // copy first: a failure past this point leaves a definition in both collections, never in neither
+        repository.archiveCollection().bulkWrite(copies);
+        var deleted = repository.mongoCollection().deleteMany(and(in(ID, ids), filter)).getDeletedCount();
+        archived.increment(deleted);
+
+        if (deleted < ids.size()) dropStaleCopies(ids);
+
+        return definitions.size();
+    }
+
+    /**
+     * Drops the archive copies of the definitions that were modified while being archived and so stayed in the main
+     * collection.
+     */
+    private void dropStaleCopies(List<String> ids) {
+        var kept = new HashSet<String>();
+        repository.mongoCollection().withDocumentClass(Document.class)
+                .find(in(ID, ids))
+                .projection(include(ID))
+                .forEach(document -> kept.add(document.getString(ID)));
+
+        if (!kept.isEmpty()) {
+            repository.archiveCollection().deleteMany(in(ID, kept));
+            log.debug("Kept {} task definitions modified while being archived", kept.size());
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.octopus.adapter.outbound.persistence.mongodb;
+
+import com.octopus.adapter.outbound.persistence.mongodb.repository.TaskDefinitionMongoRepository;
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Ensures the MongoDB indexes required by the repository queries exist when the application starts, and fills the
+ * metadata tag array of documents written before it was introduced.
+ */
+@Slf4j
+@ApplicationScoped
+@RequiredArgsConstructor
+@IfBuildProperty(name = "octopus.persistence.adapter", stringValue = "mongodb", enableIfMissing = true)
+public class TaskDefinitionIndexInitializer {
+
+    private final TaskDefinitionMongoRepository repository;
+
+    void onStart(@Observes StartupEvent event) {
+        try {
+            repository.ensureIndexes();
+            log.info("Task definition indexes ensured");
+
+            var backfilled = repository.backfillMetadataTags();
+            if (backfilled > 0) log.info("Metadata tags backfilled on {} task definitions", backfilled);
+        } catch (RuntimeException e) {
+            log.error("Could not ensure task definition indexes, queries may fall back to collection scans", e);
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.octopus.adapter.outbound.persistence.mongodb;
+
+import com.mongodb.client.MongoCollection;
+import com.octopus.adapter.outbound.persistence.mongodb.repository.TaskDefinitionMongoRepository;
+import com.octopus.application.event.TaskDefinitionEvent;
+import com.octopus.application.port.outbound.TaskDefinitionOutboxPort;
+import com.octopus.domain.entity.TaskDefinition;
+import com.octopus.domain.vo.TaskDefinitionRef;
+import com.octopus.domain.vo.TaskStatus;
+import io.quarkus.arc.properties.IfBuildProperty;
+import jakarta.enterprise.context.ApplicationScoped;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+
+import static com.mongodb.client.model.Filters.and;
+import static com.mongodb.client.model.Filters.eq;
+import static com.mongodb.client.model.Filters.in;
+import static com.mongodb.client.model.Projections.include;
+import static com.mongodb.client.model.Updates.unset;
+import static com.octopus.adapter.outbound.persistence.mongodb.codec.TaskDefinitionCodec.ID;
+import static com.octopus.adapter.outbound.persistence.mongodb.codec.TaskDefinitionCodec.NAME;
+import static com.octopus.adapter.outbound.persistence.mongodb.codec.TaskDefinitionCodec.STATUS;
+import static com.octopus.adapter.outbound.persistence.mongodb.codec.TaskDefinitionCodec.VERSION;
+import static com.octopus.adapter.outbound.persistence.mongodb.codec.TaskDefinitionVersionCodec.DEFINITION;
+import static com.octopus.adapter.outbound.persistence.mongodb.codec.TaskDefinitionVersionCodec.DEFINITION_ID;
+import static com.octopus.adapter.outbound.persistence.mongodb.codec.TaskDefinitionVersionCodec.PENDING_SINCE;
+
+/**
+ * Outbox kept in the version history: a version document still carrying {@code pendingSince} is an event waiting
+ * to be published, see {@link com.octopus.adapter.outbound.persistence.mongodb.codec.TaskDefinitionVersionCodec}.
+ * The type of each event is told apart by comparing the version with the previous version of its name.
+ * <p>
+ * A save writes the version before the definition, so an event only goes out once its definition is at that version.
+ * Until then it is held back with the later events of its name, and after
+ * {@link TaskDefinitionPersistenceAdapter#ABANDONED_VERSION_AGE} its save is taken for interrupted and the event is
+ * dropped. Should another change of the definition take the version over later, its event is recorded anew.
+ * </p>
+ */
+@Slf4j
+@ApplicationScoped
+@RequiredArgsConstructor
+@IfBuildProperty(name = "octopus.persistence.adapter", stringValue = "mongodb", enableIfMissing = true)
+public class TaskDefinitionOutboxAdapter implements TaskDefinitionOutboxPort {
+
+    private static final String DEFINITION_STATUS = DEFINITION + "." + STATUS;
+
+    private final TaskDefinitionMongoRepository repository;
+
+    @Override
+    public List<TaskDefinitionEvent> loadPending(int limit) {
+        var pending = versions()
+                .find(TaskDefinitionMongoRepository.PENDING_EVENTS_FILTER)
+                .projection(include(NAME, VERSION, DEFINITION_ID, DEFINITION_STATUS, PENDING_SINCE))
+                .sort(TaskDefinitionMongoRepository.PENDING_EVENTS_SORT)
+                .limit(limit)
+                .into(new ArrayList<>(limit));
+        if (pending.isEmpty()) return List.of();
+        pending = completed(pending);
+
+        var previousRefs = pending.stream()
+                .filter(version -> version(version) > TaskDefinition.INITIAL_VERSION)
+                .map(version -> TaskDefinitionRef.pinned(version.getString(NAME), version(version) - 1).toString())
+                .toList();
+        var previous = new HashMap<String, Document>(previousRefs.size());
+        if (!previousRefs.isEmpty()) {
+            versions().find(in(ID, previousRefs))
+                    .projection(include(DEFINITION_ID, DEFINITION_STATUS))
+                    .forEach(version -> previous.put(version.getString(ID), version));
+        }
+
+        var events = new ArrayList<TaskDefinitionEvent>(pending.size());
+        for (var version : pending) {
+            var name = version.getString(NAME);
+            var prior = previous.get(TaskDefinitionRef.pinned(name, version(version) - 1).toString());
+            events.add(new TaskDefinitionEvent(
+                    version.getString(ID),
+                    typeOf(version, prior),
+                    version.getString(DEFINITION_ID),
+                    name,
+                    version(version),
+                    status(version),
+                    version.getDate(PENDING_SINCE).toInstant()));
+        }
+        return events;
+    }
+
+    /**
+     * Keeps the versions whose definition was updated, in order. A version whose definition was not updated yet holds
+     * back the later versions of its name, unless its save was interrupted, in which case its event is dropped.
+     */
+    private List<Document> completed(List<Document> pending) {
+        var definitionIds = pending.stream().map(version -> version.getString(DEFINITION_ID)).distinct().toList();
+        var stored = new HashMap<String, Long>(definitionIds.size());
+        repository.mongoCollection().withDocumentClass(Document.class)
+                .find(in(ID, definitionIds))
+                .projection(include(VERSION))
+                .forEach(definition -> stored.put(definition.getString(ID), version(definition)));
+        var unknown = definitionIds.stream().filter(id -> !stored.containsKey(id)).toList();
+        if (!unknown.isEmpty()) {
+            // only definitions whose changes all went through are archived
+            repository.archiveCollection().withDocumentClass(Document.class)
+                    .find(in(ID, unknown))
+                    .projection(include(ID))
+                    .forEach(archived -> stored.put(archived.getString(ID), Long.MAX_VALUE));
+        }
+
+        var abandonedBefore = Instant.now().minus(TaskDefinitionPersistenceAdapter.ABANDONED_VERSION_AGE);
+        var completed = new ArrayList<Document>(pending.size());
+        var heldNames = new HashSet<String>();
+        for (var version : pending) {
+            var name = version.getString(NAME);
+            if (heldNames.contains(name)) continue;
+
+            if (stored.getOrDefault(version.getString(DEFINITION_ID), 0L) >= version(version)) {
+                completed.add(version);
+            } else if (version.getDate(PENDING_SINCE).toInstant().isBefore(abandonedBefore)) {
+                drop(version);
+            } else {
+                heldNames.add(name);
+            }
+        }
+        return completed;
+    }
+
+    /**
+     * Drops the event of an interrupted save, unless the version was taken over by another change in the meantime.
+     */
+    private void drop(Document version) {
+        var dropped = versions().updateOne(
+                and(eq(ID, version.getString(ID)), eq(PENDING_SINCE, version.getDate(PENDING_SINCE))),
+                unset(PENDING_SINCE)).getModifiedCount();
+        if (dropped > 0) log.warn("Dropped the outbox event of version {}, whose save was interrupted", version.getString(ID));
+    }
+
+    @Override
+    public void markPublished(Collection<String> eventIds) {
+        if (eventIds.isEmpty()) return;
+
+        var updated = versions().updateMany(in(ID, eventIds), unset(PENDING_SINCE)).getModifiedCount();
+        log.debug("Marked {} of {} outbox events as published", updated, eventIds.size());
+    }
+
+    private static TaskDefinitionEvent.Type typeOf(Document version, Document prior) {
+        if (prior == null || !Objects.equals(prior.getString(DEFINITION_ID), version.getString(DEFINITION_ID))) {
+            return TaskDefinitionEvent.Type.CREATED;
+        }
+        return status(prior) != status(version) ? TaskDefinitionEvent.Type.STATUS_CHANGED : TaskDefinitionEvent.Type.RECONFIGURED;
+    }
+
+    private static long version(Document version) {
+        return version.get(VERSION, Number.class).longValue();
+    }
+
+    private static TaskStatus status(Document version) {
+        return TaskStatus.fromString(version.get(DEFINITION, Document.class).getString(STATUS));
+    }
+
+    /**
+     * The version collection read as plain documents, since only a few fields of each version are needed.
+     */
+    private MongoCollection<Document> versions() {
+        return repository.versionCollection().withDocumentClass(Document.class);
+    }
+}
@@ -1,40 +1,232 @@
 package com.octopus.adapter.outbound.persistence.mongodb;
 
+import com.mongodb.ErrorCategory;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.MongoWriteException;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.CountOptions;
+import com.mongodb.client.model.FindOneAndReplaceOptions;
+import com.mongodb.client.model.InsertManyOptions;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.ReturnDocument;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.UpdateOptions;
+import com.octopus.adapter.outbound.persistence.mongodb.codec.ArchivedTaskDefinition;
+import com.octopus.adapter.outbound.persistence.mongodb.codec.ContentBlock;
+import com.octopus.adapter.outbound.persistence.mongodb.codec.TaskDefinitionVersion;
 import com.octopus.adapter.outbound.persistence.mongodb.entity.TaskDefinitionEntity;
 import com.octopus.adapter.outbound.persistence.mongodb.mapper.TaskDefinitionPersistenceMapper;
 import com.octopus.adapter.outbound.persistence.mongodb.repository.TaskDefinitionMongoRepository;
+import com.octopus.application.port.inbound.query.Page;
+import com.octopus.application.port.inbound.query.PageCursor;
+import com.octopus.application.port.inbound.query.TaskDefinitionListCriteria;
 import com.octopus.application.port.outbound.LoadTaskDefinitionPort;
 import com.octopus.application.port.outbound.SaveTaskDefinitionPort;
 import com.octopus.domain.entity.TaskDefinition;
+import com.octopus.domain.exception.DomainBusinessRuleException;
+import com.octopus.domain.vo.TaskDefinitionDetails;
+import com.octopus.domain.vo.TaskDefinitionHead;
 import com.octopus.domain.vo.TaskDefinitionId;
+import com.octopus.domain.vo.TaskDefinitionRef;
+import com.octopus.domain.vo.TaskDefinitionSummary;
+import com.octopus.domain.vo.TaskStatus;
+import io.quarkus.arc.properties.IfBuildProperty;
 import jakarta.enterprise.context.ApplicationScoped;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.conversions.Bson;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.mongodb.client.model.Filters.and;
+import static com.mongodb.client.model.Filters.eq;
+import static com.mongodb.client.model.Filters.gte;
+import static com.mongodb.client.model.Filters.in;
+import static com.mongodb.client.model.Filters.lt;
+import static com.mongodb.client.model.Filters.lte;
+import static com.mongodb.client.model.Filters.ne;
+import static com.mongodb.client.model.Filters.or;
+import static com.mongodb.client.model.Projections.include;
+import static com.mongodb.client.model.Updates.combine;
+import static com.mongodb.client.model.Updates.set;
+import static com.octopus.adapter.outbound.persistence.mongodb.codec.TaskDefinitionCodec.*;
+import static com.octopus.adapter.outbound.persistence.mongodb.codec.TaskDefinitionVersionCodec.DEFINITION;
+import static com.octopus.adapter.outbound.persistence.mongodb.codec.TaskDefinitionVersionCodec.DEFINITION_ID;
 
 @Slf4j
 @ApplicationScoped
 @RequiredArgsConstructor
+@IfBuildProperty(name = "octopus.persistence.adapter", stringValue = "mongodb", enableIfMissing = true)
 public class TaskDefinitionPersistenceAdapter implements LoadTaskDefinitionPort, SaveTaskDefinitionPort {
 
+    /**
+     * Saves moved past versions taken by other definitions before giving up, should the name keep moving.
+     */
+    private static final int MAX_VERSION_ATTEMPTS = 3;
+
+    /**
+     * Age past which a version whose definition was never updated is taken for the leftover of an interrupted save,
+     * rather than a save still in progress. Such a version can be taken over by another change of its definition.
+     */
+    static final Duration ABANDONED_VERSION_AGE = Duration.ofMinutes(1);
+
+    private static final InsertManyOptions UNORDERED_INSERT = new InsertManyOptions().ordered(false);
+    private static final BulkWriteOptions UNORDERED_WRITE = new BulkWriteOptions().ordered(false);
+    private static final FindOneAndReplaceOptions UPSERT_RETURNING_BEFORE = new FindOneAndReplaceOptions()
+            .upsert(true)
+            .returnDocument(ReturnDocument.BEFORE);
+
     private final TaskDefinitionMongoRepository repository;
     private final TaskDefinitionPersistenceMapper mapper;
+    private final ContentBlockStore blockStore;
 
     @Override
     public Optional<TaskDefinition> loadById(TaskDefinitionId id) {
         log.debug("Loading task definition by id: {}", id);
 
-        return repository.findByIdOptional(id.value().toString())
-                .map(mapper::toDomain);
+        return Optional.ofNullable(definitions().find(eq(ID, id.value().toString())).first())
+                .or(() -> loadArchived(id));
+    }
+
+    @Override
+    public Optional<TaskDefinition> loadForUpdate(TaskDefinitionId id) {
+        return loadById(id);
+    }
+
+    /**
+     * Reads a definition the archiver moved out of the main collection. Only by-id reads look there: archived
+     * definitions are never active, and listings only cover the main collection.
+     */
+    private Optional<TaskDefinition> loadArchived(TaskDefinitionId id) {
+        return Optional.ofNullable(repository.archiveCollection().find(eq(ID, id.value().toString())).first())
+                .map(ArchivedTaskDefinition::definition);
     }
 
     @Override
     public Optional<TaskDefinition> loadActiveByName(String name) {
         log.debug("Loading active task definition by name: {}", name);
 
-        return repository.findActiveByName(name)
-                .map(mapper::toDomain);
+        return Optional.ofNullable(definitions()
+                .find(TaskDefinitionMongoRepository.activeByName(name))
+                .sort(TaskDefinitionMongoRepository.ACTIVE_BY_NAME_SORT)
+                .first());
+    }
+
+    /**
+     * Should a name ever have several active definitions, the one with the highest version wins.
+     */
+    @Override
+    public Map<String, TaskDefinition> loadActiveByNames(Collection<String> names) {
+        log.debug("Loading active task definitions by {} names", names.size());
+
+        return definitions()
+                .find(TaskDefinitionMongoRepository.activeByNames(names))
+                .into(new ArrayList<>(names.size()))
+                .stream()
+                .collect(Collectors.toMap(definition -> definition.taskInfo().name(), Function.identity(),
+                        (first, second) -> first.version() >= second.version() ? first : second));
+    }
+
+    @Override
+    public Map<String, TaskDefinitionSummary> loadActiveSummariesByNames(Collection<String> names) {
+        log.debug("Loading active task definition summaries by {} names", names.size());
+
+        return repository.findActiveProjectedByNames(names, TaskDefinitionMongoRepository.SUMMARY_PROJECTION).stream()
+                .map(mapper::toSummary)
+                .collect(Collectors.toMap(summary -> summary.taskInfo().name(), Function.identity(),
+                        (first, second) -> first.version() >= second.version() ? first : second));
+    }
+
+    @Override
+    public Set<String> loadActiveNames(Collection<String> names) {
+        log.debug("Checking active task definitions for {} names", names.size());
+
+        return repository.findActiveProjectedByNames(names, TaskDefinitionMongoRepository.ACTIVE_NAMES_PROJECTION).stream()
+                .map(TaskDefinitionEntity::getName)
+                .collect(Collectors.toSet());
+    }
+
+    @Override
+    public Optional<TaskDefinition> loadVersion(String name, long version) {
+        log.debug("Loading task definition version {}@{}", name, version);
+
+        return Optional.ofNullable(repository.versionCollection()
+                        .find(eq(ID, TaskDefinitionRef.pinned(name, version).toString()))
+                        .first())
+                .map(TaskDefinitionVersion::definition);
+    }
+
+    @Override
+    public Optional<TaskDefinitionHead> loadHead(String name) {
+        log.debug("Loading task definition head: {}", name);
+
+        return Optional.ofNullable(repository.headCollection().find(eq(ID, name)).first())
+                .map(TaskDefinitionPersistenceAdapter::toHead);
+    }
+
+    @Override
+    public Map<String, Long> loadLatestVersions(Collection<String> names) {
+        log.debug("Loading latest versions of {} names", names.size());
+
+        var latest = new HashMap<String, Long>();
+        repository.versionCollection().withDocumentClass(Document.class)
+                .aggregate(TaskDefinitionMongoRepository.latestVersions(names))
+                .forEach(group -> latest.put(group.getString(ID), group.get(VERSION, Number.class).longValue()));
+        return latest;
+    }
+
+    private static TaskDefinitionHead toHead(Document head) {
+        return new TaskDefinitionHead(
+                head.getString(ID),
+                TaskDefinitionId.of(head.getString(DEFINITION_ID)),
+                head.get(VERSION, Number.class).longValue(),
+                TaskStatus.fromString(head.getString(STATUS)));
+    }
+
+    @Override
+    public Optional<TaskDefinitionSummary> loadSummaryById(TaskDefinitionId id) {
+        log.debug("Loading task definition summary by id: {}", id);
+
+        return repository.findProjectedById(id.value().toString(), TaskDefinitionMongoRepository.SUMMARY_PROJECTION)
+                .map(mapper::toSummary)
+                .or(() -> loadArchived(id).map(TaskDefinition::toSummary));
+    }
+
+    @Override
+    public Optional<TaskDefinitionSummary> loadActiveSummaryByName(String name) {
+        log.debug("Loading active task definition summary by name: {}", name);
+
+        return repository.findActiveProjectedByName(name, TaskDefinitionMongoRepository.SUMMARY_PROJECTION)
+                .map(mapper::toSummary);
+    }
+
+    @Override
+    public Optional<TaskDefinitionDetails> loadDetailsById(TaskDefinitionId id) {
+        log.debug("Loading task definition details by id: {}", id);
+
+        // read through the details decoder, which understands compressed headers and payload templates
+        return Optional.ofNullable(repository.mongoCollection()
+                .withDocumentClass(RawBsonDocument.class)
+                .find(eq(ID, id.value().toString()))
+                .projection(TaskDefinitionMongoRepository.DETAILS_PROJECTION)
+                .first())
+                .map(document -> document.decode(repository.detailsDecoder()))
+                .or(() -> loadArchived(id).map(definition -> new TaskDefinitionDetails(definition.httpConfig(), definition.retryPolicy())));
     }
 
     @Override
@@ -44,15 +236,361 @@ public class TaskDefinitionPersistenceAdapter implements LoadTaskDefinitionPort,
         return repository.existsActiveByName(name);
     }
 
+    @Override
+    public Page<TaskDefinitionSummary> loadSummaryPage(TaskDefinitionListCriteria criteria) {
+        log.debug("Loading task definition summary page: {}", criteria);
+
+        var entities = repository.findPage(listingFilter(criteria), criteria.limit(), true);
+
+        return toPage(entities, criteria.limit(), mapper::toSummary,
+                last -> new PageCursor(last.getCategory(), last.getName(), last.getId()));
+    }
+
+    @Override
+    public Page<TaskDefinition> loadPage(TaskDefinitionListCriteria criteria) {
+        log.debug("Loading task definition page: {}", criteria);
+
+        var definitions = definitions()
+                .find(listingFilter(criteria))
+                .sort(TaskDefinitionMongoRepository.KEYSET_SORT)
+                .limit(criteria.limit() + 1)
+                .into(new ArrayList<>(criteria.limit() + 1));
+
+        return toPage(definitions, criteria.limit(), Function.identity(),
+                last -> new PageCursor(last.taskInfo().category(), last.taskInfo().name(), last.id().value().toString()));
+    }
+
     @Override
     public TaskDefinition save(TaskDefinition taskDefinition) {
         log.debug("Saving task definition: {}", taskDefinition.taskInfo().name());
 
-        TaskDefinitionEntity entity = mapper.toPersistence(taskDefinition);
+        // the blocks the version and the definition reference must exist before either is written
+        var blocks = blockStore.blocksOf(taskDefinition);
+        blockStore.retain(blocks, ContentBlockStore.REFERENCES_PER_SAVE);
+
+        // the version insert is the write that can conflict, so it goes first and guards the two others
+        try {
+            // recorded by an earlier save of the same change, whose reference the version already holds
+            if (!recordVersion(taskDefinition)) blockStore.release(blocks, 1);
+        } catch (RuntimeException e) {
+            blockStore.release(blocks, ContentBlockStore.REFERENCES_PER_SAVE);
+            throw e;
+        }
 
-        repository.persist(entity);
+        var id = taskDefinition.id().value().toString();
+        if (blockStore.isEnabled()) {
+            replaceCountingBlocks(id, taskDefinition);
+        } else {
+            definitions().replaceOne(eq(ID, id), taskDefinition, new ReplaceOptions().upsert(true));
+            // a saved archived definition, typically one being activated again, is back in the main collection
+            if (taskDefinition.version() > TaskDefinition.INITIAL_VERSION) repository.archiveCollection().deleteOne(eq(ID, id));
+        }
+        moveHead(taskDefinition);
 
-        return mapper.toDomain(entity);
+        return taskDefinition;
     }
-}
 
+    /**
+     * Records the version of a definition. The version, the definition and the head are written one after the other,
+     * so a save can be interrupted after the version only; saving the same change again finds its version recorded
+     * and completes the save, while saving another change of the definition replaces the abandoned version once it is
+     * {@link #ABANDONED_VERSION_AGE} old. A version recorded by another definition of the name, either since this one
+     * was loaded or by such an interrupted save, moves this one past the latest version of its name.
+     *
+     * @return whether the version was written, rather than found recorded by an earlier save of the same change
+     * @throws DomainBusinessRuleException if the definition itself was changed concurrently
+     */
+    private boolean recordVersion(TaskDefinition taskDefinition) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                repository.versionCollection().insertOne(new TaskDefinitionVersion(taskDefinition));
+                return true;
+            } catch (MongoWriteException e) {
+                if (e.getError().getCategory() != ErrorCategory.DUPLICATE_KEY) throw e;
+            }
+
+            var recorded = repository.versionCollection().withDocumentClass(Document.class)
+                    .find(eq(ID, taskDefinition.versionRef().toString()))
+                    .projection(include(DEFINITION_ID, DEFINITION + "." + UPDATED_AT))
+                    .first();
+            if (recorded != null && isSameChange(recorded, taskDefinition)) return false;
+            if (recorded != null && isAbandonedBy(recorded, taskDefinition) && takeOver(recorded, taskDefinition)) return true;
+            if (attempt == MAX_VERSION_ATTEMPTS || hasVersionsFrom(taskDefinition)) {
+                throw new DomainBusinessRuleException(
+                        "Version " + taskDefinition.versionRef() + " of the task definition already exists");
+            }
+
+            var name = taskDefinition.taskInfo().name();
+            log.debug("Version {} was taken by another definition of '{}'", taskDefinition.version(), name);
+            taskDefinition.continueVersionsAfter(loadLatestVersion(name).orElse(taskDefinition.version()));
+        }
+    }
+
+    /**
+     * Tells whether a recorded version holds this very change: same definition, modified at the same time.
+     */
+    private static boolean isSameChange(Document recorded, TaskDefinition taskDefinition) {
+        var definition = recorded.get(DEFINITION, Document.class);
+        return taskDefinition.id().value().toString().equals(recorded.getString(DEFINITION_ID))
+                && definition != null
+                && definition.getDate(UPDATED_AT) != null
+                && definition.getDate(UPDATED_AT).getTime() == taskDefinition.audit().updatedAt().toEpochMilli();
+    }
+
+    /**
+     * Tells whether a recorded version of the definition was left behind by an interrupted save: old enough, and
+     * never followed by the update of the definition itself.
+     */
+    private boolean isAbandonedBy(Document recorded, TaskDefinition taskDefinition) {
+        var definition = recorded.get(DEFINITION, Document.class);
+        if (!taskDefinition.id().value().toString().equals(recorded.getString(DEFINITION_ID))
+                || definition == null || definition.getDate(UPDATED_AT) == null
+                || definition.getDate(UPDATED_AT).toInstant().isAfter(Instant.now().minus(ABANDONED_VERSION_AGE))) {
+            return false;
+        }
+        return storedVersionOf(taskDefinition.id()) < taskDefinition.version();
+    }
+
+    /**
+     * The version the definition document is at, in the main collection or the archive, 0 if it was never written.
+     */
+    private long storedVersionOf(TaskDefinitionId id) {
+        var stored = repository.mongoCollection().withDocumentClass(Document.class)
+                .find(eq(ID, id.value().toString()))
+                .projection(include(VERSION))
+                .first();
+        if (stored != null) return stored.get(VERSION, Number.class).longValue();
+
+        return loadArchived(id).map(TaskDefinition::version).orElse(0L);
+    }
+
+    /**
+     * Replaces an abandoned version with the one being saved, unless it was replaced in the meantime. The abandoned
+     * save had retained the references of both documents it meant to write, the ones its version holds, which are
+     * released.
+     */
+    private boolean takeOver(Document recorded, TaskDefinition taskDefinition) {
+        var ref = taskDefinition.versionRef().toString();
+        var abandoned = repository.versionCollection().withDocumentClass(RawBsonDocument.class).find(eq(ID, ref)).first();
+        var replaced = repository.versionCollection().replaceOne(
+                and(eq(ID, ref), eq(DEFINITION + "." + UPDATED_AT, recorded.get(DEFINITION, Document.class).getDate(UPDATED_AT))),
+                new TaskDefinitionVersion(taskDefinition));
+        if (replaced.getMatchedCount() == 0) return false;
+
+        log.warn("Version {} of an interrupted save was replaced by another change of its definition", ref);
+        if (abandoned != null && abandoned.isDocument(DEFINITION)) {
+            blockStore.releaseHeldBy(abandoned.getDocument(DEFINITION), ContentBlockStore.REFERENCES_PER_SAVE);
+        }
+        return true;
+    }
+
+    /**
+     * Tells whether the definition already has a version at or past the one being saved, i.e. it was changed
+     * concurrently and the change being saved was based on a stale copy.
+     */
+    private boolean hasVersionsFrom(TaskDefinition taskDefinition) {
+        return repository.versionCollection().countDocuments(and(
+                eq(NAME, taskDefinition.taskInfo().name()),
+                gte(VERSION, taskDefinition.version()),
+                eq(DEFINITION_ID, taskDefinition.id().value().toString())), new CountOptions().limit(1)) > 0;
+    }
+
+    /**
+     * Replaces the definition document as {@link #save} does, and releases the block references of the document it
+     * replaces, or of the archived copy it brings back to the main collection. Both are read back as stored, so the
+     * references released are the ones they hold, whatever the blocks configuration was when they were written.
+     */
+    private void replaceCountingBlocks(String id, TaskDefinition taskDefinition) {
+        var replaced = repository.mongoCollection().withDocumentClass(RawBsonDocument.class).findOneAndReplace(
+                eq(ID, id), new RawBsonDocument(taskDefinition, repository.definitionCodec()), UPSERT_RETURNING_BEFORE);
+        if (replaced != null) {
+            blockStore.releaseHeldBy(replaced, 1);
+        }
+        if (taskDefinition.version() > TaskDefinition.INITIAL_VERSION) {
+            var archived = repository.archiveCollection().findOneAndDelete(eq(ID, id));
+            // a copy left next to a definition still in the main collection never took over its references
+            if (archived != null && replaced == null) blockStore.releaseHeldBy(archived.stored(), 1);
+        }
+    }
+
+    @Override
+    public Map<Integer, String> saveAll(List<TaskDefinition> taskDefinitions) {
+        log.debug("Saving {} task definitions in bulk", taskDefinitions.size());
+
+        var failures = new HashMap<Integer, String>();
+
+        var blocks = taskDefinitions.stream().map(blockStore::blocksOf).toList();
+        blockStore.retain(blocks.stream().flatMap(List::stream).toList(), ContentBlockStore.REFERENCES_PER_SAVE);
+
+        // as in save, versions go first: only the definitions whose version was recorded are written further
+        var versions = taskDefinitions.stream().map(TaskDefinitionVersion::new).toList();
+        collectFailures(failures, taskDefinitions, List.of(),
+                () -> repository.versionCollection().insertMany(versions, UNORDERED_INSERT));
+        // versions recorded by an earlier run of the same import, whose references they already hold
+        var applied = recordedBefore(taskDefinitions, failures);
+        blockStore.release(blocksAt(blocks, failures.keySet()), ContentBlockStore.REFERENCES_PER_SAVE);
+        blockStore.release(blocksAt(blocks, applied.keySet()), 1);
+
+        var recorded = positionsNotIn(failures, taskDefinitions.size()).stream()
+                .filter(i -> !applied.containsKey(i))
+                .toList();
+        var definitions = recorded.stream().map(taskDefinitions::get).toList();
+        var unrecorded = Set.copyOf(failures.keySet());
+        if (!definitions.isEmpty()) {
+            collectFailures(failures, taskDefinitions, recorded,
+                    () -> definitions().insertMany(definitions, UNORDERED_INSERT));
+        }
+        blockStore.release(blocksAt(blocks, failures.keySet().stream().filter(i -> !unrecorded.contains(i)).toList()), 1);
+        restoreDefinitions(applied.values());
+
+        var heads = positionsNotIn(failures, taskDefinitions.size()).stream()
+                .map(i -> new UpdateOneModel<Document>(headFilter(taskDefinitions.get(i)), headUpdate(taskDefinitions.get(i)),
+                        new UpdateOptions().upsert(true)))
+                .toList();
+        if (!heads.isEmpty()) {
+            try {
+                repository.headCollection().bulkWrite(heads, UNORDERED_WRITE);
+            } catch (MongoBulkWriteException e) {
+                // duplicate keys are heads already pointing past the saved version, as in moveHead
+                if (e.getWriteErrors().stream().anyMatch(error -> ErrorCategory.fromErrorCode(error.getCode()) != ErrorCategory.DUPLICATE_KEY)) throw e;
+            }
+        }
+
+        return failures;
+    }
+
+    /**
+     * Finds, among the definitions whose version already existed, the ones that an earlier save recorded: same id
+     * and same content. Bulk saves are resumed imports, whose definitions have ids derived from their first version,
+     * so such a version means the earlier run got that far, and its definition and head are written again in case
+     * it stopped there. The others stay refused.
+     *
+     * @return the recorded definition by position, removed from {@code failures}
+     */
+    private Map<Integer, TaskDefinition> recordedBefore(List<TaskDefinition> taskDefinitions, Map<Integer, String> failures) {
+        if (failures.isEmpty()) return Map.of();
+
+        var positions = new HashMap<String, Integer>();
+        failures.keySet().forEach(i -> positions.put(taskDefinitions.get(i).versionRef().toString(), i));
+
+        var applied = new HashMap<Integer, TaskDefinition>();
+        repository.versionCollection().find(in(ID, positions.keySet())).forEach(version -> {
+            var position = positions.get(version.ref());
+            if (position != null && taskDefinitions.get(position).isSameVersionAs(version.definition())) {
+                applied.put(position, version.definition());
+            }
+        });
+        applied.keySet().forEach(failures::remove);
+        return applied;
+    }
+
+    /**
+     * Writes the definition documents of versions recorded by an earlier save, unless the definition has been saved
+     * at a later version since. The definition then already exists, so the upsert collides with it and is ignored.
+     */
+    private void restoreDefinitions(Collection<TaskDefinition> recorded) {
+        if (recorded.isEmpty()) return;
+
+        var replacements = recorded.stream()
+                .map(definition -> new ReplaceOneModel<>(
+                        and(eq(ID, definition.id().value().toString()), lte(VERSION, definition.version())),
+                        definition, new ReplaceOptions().upsert(true)))
+                .toList();
+        try {
+            definitions().bulkWrite(replacements, UNORDERED_WRITE);
+        } catch (MongoBulkWriteException e) {
+            if (e.getWriteErrors().stream().anyMatch(error -> ErrorCategory.fromErrorCode(error.getCode()) != ErrorCategory.DUPLICATE_KEY)) throw e;
+        }
+    }
+
+    /**
+     * Runs an unordered bulk write and records the definitions it refused.
+     *
+     * @param positions position in {@code taskDefinitions} of each document written, or empty if they are the same
+     */
+    private static void collectFailures(Map<Integer, String> failures, List<TaskDefinition> taskDefinitions,
+                                        List<Integer> positions, Runnable write) {
+        try {
+            write.run();
+        } catch (MongoBulkWriteException e) {
+            for (var error : e.getWriteErrors()) {
+                int position = positions.isEmpty() ? error.getIndex() : positions.get(error.getIndex());
+                failures.put(position, ErrorCategory.fromErrorCode(error.getCode()) == ErrorCategory.DUPLICATE_KEY
+                        ? "Version " + taskDefinitions.get(position).versionRef() + " of the task definition already exists"
+                        : error.getMessage());
+            }
+        }
+    }
+
+    private static List<ContentBlock> blocksAt(List<List<ContentBlock>> blocks, Collection<Integer> positions) {
+        return positions.stream().flatMap(i -> blocks.get(i).stream()).toList();
+    }
+
+    private static List<Integer> positionsNotIn(Map<Integer, String> failures, int size) {
+        return IntStream.range(0, size).filter(i -> !failures.containsKey(i)).boxed().toList();
+    }
+
+    /**
+     * Points the head of the definition name at the saved version, see {@link #headFilter}. Also repairs a head left
+     * behind by a save interrupted after its version was recorded, when that save is repeated.
+     */
+    private void moveHead(TaskDefinition taskDefinition) {
+        try {
+            repository.headCollection().updateOne(headFilter(taskDefinition), headUpdate(taskDefinition),
+                    new UpdateOptions().upsert(true));
+        } catch (MongoWriteException e) {
+            // the filter missed because the head must stay where it is, and the upsert collided with it
+            if (e.getError().getCategory() != ErrorCategory.DUPLICATE_KEY) throw e;
+            log.debug("Head of '{}' stays ahead of version {}", taskDefinition.taskInfo().name(), taskDefinition.version());
+        }
+    }
+
+    /**
+     * Matches the head of the name when the saved version may take it over: the version is newer, and a definition
+     * that is not active does not take the head from another definition of the name that is.
+     */
+    private static Bson headFilter(TaskDefinition taskDefinition) {
+        var newer = and(eq(ID, taskDefinition.taskInfo().name()), lt(VERSION, taskDefinition.version()));
+        if (taskDefinition.isActive()) return newer;
+
+        return and(newer, or(
+                eq(DEFINITION_ID, taskDefinition.id().value().toString()),
+                ne(STATUS, TaskStatus.ACTIVE.name())));
+    }
+
+    private static Bson headUpdate(TaskDefinition taskDefinition) {
+        return combine(
+                set(DEFINITION_ID, taskDefinition.id().value().toString()),
+                set(VERSION, taskDefinition.version()),
+                set(STATUS, taskDefinition.taskStatus().name()));
+    }
+
+    private Bson listingFilter(TaskDefinitionListCriteria criteria) {
+        var after = criteria.after();
+
+        return repository.listingFilter(criteria.category(), criteria.status(), criteria.metadataKey(), criteria.tags(),
+                after != null ? after.category() : null,
+                after != null ? after.name() : null,
+                after != null ? after.id() : null);
+    }
+
+    /**
+     * The task definition collection, read and written through
+     * {@link com.octopus.adapter.outbound.persistence.mongodb.codec.TaskDefinitionCodec} instead of the entity POJO codec.
+     */
+    private MongoCollection<TaskDefinition> definitions() {
+        return repository.mongoCollection().withDocumentClass(TaskDefinition.class);
+    }
+
+    /**
+     * Trims the look-ahead document fetched by the query and derives the next cursor from the last item kept.
+     */
+    private <S, T> Page<T> toPage(List<S> documents, int limit, Function<S, T> converter, Function<S, PageCursor> cursor) {
+        var hasNext = documents.size() > limit;
+        var kept = hasNext ? documents.subList(0, limit) : documents;
+
+        PageCursor nextCursor = hasNext ? cursor.apply(kept.get(kept.size() - 1)) : null;
+
+        return new Page<>(kept.stream().map(converter).toList(), nextCursor);
+    }
+}
@@ -0,0 +1,128 @@
+package com.octopus.adapter.outbound.persistence.mongodb;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.UpdateOptions;
+import com.octopus.adapter.outbound.persistence.mongodb.repository.TaskDefinitionMongoRepository;
+import com.octopus.application.port.outbound.TaskExecutionStatsPort;
+import com.octopus.domain.vo.LatencyDistribution;
+import com.octopus.domain.vo.TaskExecutionStats;
+import io.quarkus.arc.properties.IfBuildProperty;
+import jakarta.enterprise.context.ApplicationScoped;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static com.mongodb.client.model.Filters.eq;
+import static com.mongodb.client.model.Updates.combine;
+import static com.mongodb.client.model.Updates.inc;
+import static com.mongodb.client.model.Updates.setOnInsert;
+
+/**
+ * Stores execution statistics as one document per task name and UTC day:
+ * {@code {_id: "name/2026-01-31", name, day, executions, latency: {bucket: n}, status: {code: n}, attempts: {n: n}}}.
+ * Flushes only add to counters with {@code $inc}, so replicas flushing the same task concurrently merge exactly,
+ * and a period is read back by adding up its days.
+ */
+@Slf4j
+@ApplicationScoped
+@RequiredArgsConstructor
+@IfBuildProperty(name = "octopus.persistence.adapter", stringValue = "mongodb", enableIfMissing = true)
+public class TaskExecutionStatsMongoAdapter implements TaskExecutionStatsPort {
+
+    private static final String ID = "_id";
+    private static final String NAME = "name";
+    private static final String DAY = "day";
+    private static final String EXECUTIONS = "executions";
+    private static final String LATENCY = "latency";
+    private static final String STATUS = "status";
+    private static final String ATTEMPTS = "attempts";
+
+    private static final BulkWriteOptions UNORDERED_WRITE = new BulkWriteOptions().ordered(false);
+    private static final UpdateOptions UPSERT = new UpdateOptions().upsert(true);
+
+    private final TaskDefinitionMongoRepository repository;
+
+    @Override
+    public Collection<TaskExecutionStats> merge(Collection<TaskExecutionStats> deltas) {
+        var day = Instant.now().truncatedTo(ChronoUnit.DAYS);
+        var date = LocalDate.ofInstant(day, ZoneOffset.UTC);
+
+        var ordered = List.copyOf(deltas);
+        var updates = ordered.stream()
+                .map(delta -> new UpdateOneModel<Document>(eq(ID, delta.name() + "/" + date), increments(delta, day), UPSERT))
+                .toList();
+
+        try {
+            repository.executionStatsCollection().bulkWrite(updates, UNORDERED_WRITE);
+            return List.of();
+        } catch (MongoBulkWriteException e) {
+            // the write is unordered: every update but the failed ones was applied, and must not be applied twice
+            return e.getWriteErrors().stream().map(error -> ordered.get(error.getIndex())).toList();
+        }
+    }
+
+    private static Bson increments(TaskExecutionStats delta, Instant day) {
+        var updates = new ArrayList<Bson>();
+        updates.add(setOnInsert(NAME, delta.name()));
+        updates.add(setOnInsert(DAY, Date.from(day)));
+        updates.add(inc(EXECUTIONS, delta.executions()));
+
+        var latency = delta.latency().counts();
+        for (int i = 0; i < latency.length; i++) {
+            if (latency[i] > 0) updates.add(inc(LATENCY + "." + i, latency[i]));
+        }
+        delta.statusCounts().forEach((status, count) -> updates.add(inc(STATUS + "." + status, count)));
+        delta.attemptCounts().forEach((attempt, count) -> updates.add(inc(ATTEMPTS + "." + attempt, count)));
+
+        return combine(updates);
+    }
+
+    @Override
+    public Optional<TaskExecutionStats> load(String name, Instant since) {
+        log.debug("Loading execution statistics of '{}' since {}", name, since);
+
+        var days = repository.executionStatsCollection()
+                .find(TaskDefinitionMongoRepository.executionStatsSince(name, since))
+                .into(new ArrayList<>());
+
+        return days.stream()
+                .map(day -> toStats(name, day))
+                .reduce(TaskExecutionStats::merge);
+    }
+
+    private static TaskExecutionStats toStats(String name, Document day) {
+        var latency = new long[LatencyDistribution.BUCKETS];
+        toCounts(day.get(LATENCY, Document.class)).forEach((bucket, count) -> {
+            if (bucket >= 0 && bucket < latency.length) latency[bucket] += count;
+        });
+
+        return new TaskExecutionStats(name,
+                day.get(EXECUTIONS, Number.class).longValue(),
+                new LatencyDistribution(latency),
+                toCounts(day.get(STATUS, Document.class)),
+                toCounts(day.get(ATTEMPTS, Document.class)));
+    }
+
+    private static Map<Integer, Long> toCounts(Document counts) {
+        var result = new HashMap<Integer, Long>();
+        if (counts == null) return result;
+
+        counts.forEach((key, count) -> result.put(Integer.valueOf(key), ((Number) count).longValue()));
+        return result;
+    }
+}
@@ -0,0 +1,53 @@
+package com.octopus.adapter.outbound.persistence.mongodb;
+
+import com.mongodb.ErrorCategory;
+import com.mongodb.MongoWriteException;
+import com.octopus.adapter.outbound.persistence.mongodb.repository.TaskDefinitionMongoRepository;
+import com.octopus.application.port.outbound.LoadWorkflowDefinitionPort;
+import com.octopus.application.port.outbound.SaveWorkflowDefinitionPort;
+import com.octopus.domain.entity.WorkflowDefinition;
+import com.octopus.domain.exception.DomainBusinessRuleException;
+import io.quarkus.arc.properties.IfBuildProperty;
+import jakarta.enterprise.context.ApplicationScoped;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Optional;
+
+import static com.mongodb.client.model.Filters.eq;
+import static com.octopus.adapter.outbound.persistence.mongodb.codec.TaskDefinitionCodec.NAME;
+
+@Slf4j
+@ApplicationScoped
+@RequiredArgsConstructor
+@IfBuildProperty(name = "octopus.persistence.adapter", stringValue = "mongodb", enableIfMissing = true)
+public class WorkflowDefinitionPersistenceAdapter implements LoadWorkflowDefinitionPort, SaveWorkflowDefinitionPort {
+
+    private final TaskDefinitionMongoRepository repository;
+
+    @Override
+    public Optional<WorkflowDefinition> loadByName(String name) {
+        log.debug("Loading workflow definition by name: {}", name);
+
+        return Optional.ofNullable(repository.workflowCollection().find(eq(NAME, name)).first());
+    }
+
+    @Override
+    public boolean existsByName(String name) {
+        return repository.workflowCollection().countDocuments(eq(NAME, name)) > 0;
+    }
+
+    @Override
+    public WorkflowDefinition save(WorkflowDefinition workflowDefinition) {
+        log.debug("Saving workflow definition: {}", workflowDefinition.name());
+
+        try {
+            repository.workflowCollection().insertOne(workflowDefinition);
+        } catch (MongoWriteException e) {
+            // the unique name index, against registrations racing past the existence check
+            if (e.getError().getCategory() != ErrorCategory.DUPLICATE_KEY) throw e;
+            throw new DomainBusinessRuleException("A workflow definition named '" + workflowDefinition.name() + "' already exists");
+        }
+        return workflowDefinition;
+    }
+}
@@ -0,0 +1,19 @@
+package com.octopus.adapter.outbound.persistence.mongodb.codec;
+
+import com.octopus.domain.entity.TaskDefinition;
+import org.bson.RawBsonDocument;
+
+import java.time.Instant;
+
+/**
+ * Document of the archive collection: a non-active definition moved out of the hot collection, keyed by its id.
+ *
+ * @param stored the definition document as written in the main collection, archived unchanged so that the content
+ *               block references it holds stay the ones retained for it
+ */
+public record ArchivedTaskDefinition(TaskDefinition definition, Instant archivedAt, RawBsonDocument stored) {
+
+    public String id() {
+        return definition.id().value().toString();
+    }
+}
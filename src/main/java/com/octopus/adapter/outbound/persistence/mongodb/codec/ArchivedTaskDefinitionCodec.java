@@ -0,0 +1,105 @@
+package com.octopus.adapter.outbound.persistence.mongodb.codec;
+
+import com.octopus.domain.entity.TaskDefinition;
+import org.bson.BsonBinary;
+import org.bson.BsonBinaryReader;
+import org.bson.BsonBinaryWriter;
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.codecs.RawBsonDocumentCodec;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.bson.io.BasicOutputBuffer;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+
+import static java.util.Objects.nonNull;
+
+/**
+ * Reads and writes {@link ArchivedTaskDefinition} documents:
+ * {@code {_id, name, status, archivedAt, definition}}. The definition has the layout of {@link TaskDefinitionCodec},
+ * either as a sub-document or, when archive compression is enabled and pays off, as deflated BSON binary data.
+ * Definitions read from the main collection are archived byte for byte, content block references included.
+ * Archived definitions are read one at a time by id, so nothing queries inside the compressed form.
+ */
+public class ArchivedTaskDefinitionCodec implements Codec<ArchivedTaskDefinition> {
+
+    public static final String ARCHIVED_AT = "archivedAt";
+
+    private static final RawBsonDocumentCodec RAW_CODEC = new RawBsonDocumentCodec();
+
+    private final Codec<TaskDefinition> definitionCodec;
+    private final FieldCompressor compressor;
+
+    public ArchivedTaskDefinitionCodec(CodecRegistry registry, FieldCompressor compressor) {
+        this.definitionCodec = registry.get(TaskDefinition.class);
+        this.compressor = compressor;
+    }
+
+    @Override
+    public Class<ArchivedTaskDefinition> getEncoderClass() {
+        return ArchivedTaskDefinition.class;
+    }
+
+    @Override
+    public void encode(BsonWriter writer, ArchivedTaskDefinition value, EncoderContext context) {
+        var definition = value.definition();
+
+        writer.writeStartDocument();
+        writer.writeString(TaskDefinitionCodec.ID, value.id());
+        writer.writeString(TaskDefinitionCodec.NAME, definition.taskInfo().name());
+        writer.writeString(TaskDefinitionCodec.STATUS, definition.taskStatus().name());
+        writer.writeDateTime(ARCHIVED_AT, value.archivedAt().toEpochMilli());
+        writer.writeName(TaskDefinitionVersionCodec.DEFINITION);
+        var bson = storedBytes(value);
+        var stored = compressor.compress(bson);
+        if (nonNull(stored)) {
+            writer.writeBinaryData(new BsonBinary(stored));
+        } else {
+            writer.pipe(new BsonBinaryReader(ByteBuffer.wrap(bson)));
+        }
+        writer.writeEndDocument();
+    }
+
+    /**
+     * @return the definition document as stored in the main collection, or as the definition codec writes it when
+     * the archived definition was not read from there
+     */
+    private byte[] storedBytes(ArchivedTaskDefinition value) {
+        if (nonNull(value.stored())) {
+            var buffer = value.stored().getByteBuffer();
+            var bson = new byte[buffer.remaining()];
+            buffer.get(bson);
+            return bson;
+        }
+        try (var buffer = new BasicOutputBuffer(); var bsonWriter = new BsonBinaryWriter(buffer)) {
+            definitionCodec.encode(bsonWriter, value.definition(), EncoderContext.builder().build());
+            return buffer.toByteArray();
+        }
+    }
+
+    @Override
+    public ArchivedTaskDefinition decode(BsonReader reader, DecoderContext context) {
+        RawBsonDocument stored = null;
+        Instant archivedAt = null;
+
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            switch (reader.readName()) {
+                case ARCHIVED_AT -> archivedAt = Instant.ofEpochMilli(reader.readDateTime());
+                case TaskDefinitionVersionCodec.DEFINITION -> stored = reader.getCurrentBsonType() == BsonType.BINARY
+                        ? new RawBsonDocument(compressor.timedRead(() -> compressor.decompress(reader.readBinaryData().getData())))
+                        : RAW_CODEC.decode(reader, context);
+                default -> reader.skipValue();
+            }
+        }
+        reader.readEndDocument();
+
+        return new ArchivedTaskDefinition(nonNull(stored) ? stored.decode(definitionCodec) : null, archivedAt, stored);
+    }
+}
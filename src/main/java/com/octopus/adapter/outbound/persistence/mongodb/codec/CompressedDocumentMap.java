@@ -0,0 +1,79 @@
+package com.octopus.adapter.outbound.persistence.mongodb.codec;
+
+import com.octopus.domain.vo.ReadOnlyMap;
+
+import java.util.AbstractMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Read-only map over a compressed sub-document, decompressed the first time its content is accessed.
+ * <p>
+ * Until then the stored bytes are kept as they are, so a definition that is loaded and saved again without
+ * its content being read is written back without being decompressed.
+ * </p>
+ *
+ * @param <V> the value type of the map
+ */
+final class CompressedDocumentMap<V> extends AbstractMap<String, V> implements ReadOnlyMap {
+
+    private final byte[] stored;
+    private final Function<byte[], Map<String, V>> decoder;
+    private volatile Map<String, V> content;
+
+    CompressedDocumentMap(byte[] stored, Function<byte[], Map<String, V>> decoder) {
+        this.stored = stored;
+        this.decoder = decoder;
+    }
+
+    byte[] stored() {
+        return stored;
+    }
+
+    boolean isMaterialized() {
+        return content != null;
+    }
+
+    /**
+     * Only non-empty sub-documents large enough to cross the threshold are stored compressed.
+     */
+    @Override
+    public boolean isEmpty() {
+        return false;
+    }
+
+    @Override
+    public Set<Entry<String, V>> entrySet() {
+        return content().entrySet();
+    }
+
+    @Override
+    public V get(Object key) {
+        return content().get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return content().containsKey(key);
+    }
+
+    @Override
+    public int size() {
+        return content().size();
+    }
+
+    private Map<String, V> content() {
+        var loaded = content;
+        if (loaded == null) {
+            synchronized (this) {
+                loaded = content;
+                if (loaded == null) {
+                    loaded = ReadOnlyMap.copyOf(decoder.apply(stored));
+                    content = loaded;
+                }
+            }
+        }
+        return loaded;
+    }
+}
@@ -0,0 +1,32 @@
+package com.octopus.adapter.outbound.persistence.mongodb.codec;
+
+import org.bson.BsonBinary;
+import org.bson.BsonDocument;
+
+import java.util.HexFormat;
+
+/**
+ * A block of a task definition stored once in the blocks collection and referenced by its hash from every definition
+ * and version with the same content.
+ *
+ * @param hash    SHA-256 of the kind and of the canonical BSON of the block
+ * @param kind    the field the block comes from, {@code headers}, {@code payloadTemplate} or {@code retryPolicy}
+ * @param size    size of the canonical BSON of the block, the bytes saved by each reference
+ * @param content the block in its stored form, as {@code {v: <field>}}
+ */
+public record ContentBlock(byte[] hash, String kind, int size, BsonDocument content) {
+
+    /**
+     * @return the block id, the same binary value as the references written in definitions
+     */
+    public BsonBinary id() {
+        return ContentBlocks.reference(hash);
+    }
+
+    /**
+     * @return the hash as hexadecimal, for grouping and logging
+     */
+    public String hex() {
+        return HexFormat.of().formatHex(hash);
+    }
+}
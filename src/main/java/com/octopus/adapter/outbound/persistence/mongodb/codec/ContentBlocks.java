@@ -0,0 +1,158 @@
+package com.octopus.adapter.outbound.persistence.mongodb.codec;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import org.bson.BsonBinary;
+import org.bson.BsonBinarySubType;
+import org.bson.BsonDocument;
+import org.bson.BsonSerializationException;
+import org.eclipse.microprofile.config.Config;
+import org.eclipse.microprofile.config.ConfigProvider;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Content addressing of the {@code headers}, {@code payloadTemplate} and {@code retryPolicy} blocks of task definitions.
+ * <p>
+ * A block whose canonical BSON (keys sorted at every level) is at least {@code min-bytes} long is stored once in the
+ * blocks collection, keyed by the SHA-256 of its kind and canonical BSON, and definitions and versions hold a reference
+ * instead: BSON binary data of subtype {@link BsonBinarySubType#USER_DEFINED} carrying the hash, which cannot be
+ * mistaken for a compressed field (subtype {@link BsonBinarySubType#BINARY}). Smaller blocks stay inline.
+ * </p>
+ * <p>
+ * Resolved blocks are kept decoded in memory by hash, so that the definitions sharing a block also share its
+ * in-memory copy. Cached blocks are unmodifiable. The blocks collection itself is read through the loader bound by
+ * the persistence adapter, codecs being created by the MongoDB client rather than by CDI.
+ * </p>
+ * Configured with {@code octopus.persistence.blocks.*}.
+ */
+public final class ContentBlocks {
+
+    private static final String DIGEST = "SHA-256";
+    private static final byte REFERENCE_SUBTYPE = BsonBinarySubType.USER_DEFINED.getValue();
+
+    private static volatile Function<BsonBinary, BsonDocument> loader;
+
+    private final boolean enabled;
+    private final int minBytes;
+    private final int maxCachedBlocks;
+    private final ConcurrentHashMap<String, Object> cache = new ConcurrentHashMap<>();
+
+    private final Counter hits;
+    private final Counter misses;
+
+    ContentBlocks(boolean enabled, int minBytes, int maxCachedBlocks) {
+        this.enabled = enabled;
+        this.minBytes = minBytes;
+        this.maxCachedBlocks = maxCachedBlocks;
+
+        this.hits = Counter.builder("octopus.persistence.blocks.cache.requests")
+                .description("Content block resolutions, by whether the block was already in memory")
+                .tag("result", "hit")
+                .register(Metrics.globalRegistry);
+        this.misses = Counter.builder("octopus.persistence.blocks.cache.requests")
+                .description("Content block resolutions, by whether the block was already in memory")
+                .tag("result", "miss")
+                .register(Metrics.globalRegistry);
+        Gauge.builder("octopus.persistence.blocks.cache.entries", cache, ConcurrentHashMap::size)
+                .description("Content blocks kept decoded in memory")
+                .register(Metrics.globalRegistry);
+    }
+
+    static ContentBlocks fromConfig() {
+        Config config = ConfigProvider.getConfig();
+        return new ContentBlocks(
+                config.getOptionalValue("octopus.persistence.blocks.enabled", Boolean.class).orElse(false),
+                config.getOptionalValue("octopus.persistence.blocks.min-bytes", Integer.class).orElse(256),
+                config.getOptionalValue("octopus.persistence.blocks.cache-max-entries", Integer.class).orElse(10_000));
+    }
+
+    /**
+     * Binds the lookup of a block by id, returning its stored content or {@code null} if there is no such block.
+     */
+    public static void bindLoader(Function<BsonBinary, BsonDocument> blockLoader) {
+        loader = blockLoader;
+    }
+
+    static BsonBinary reference(byte[] hash) {
+        return new BsonBinary(REFERENCE_SUBTYPE, hash);
+    }
+
+    static boolean isReference(byte subtype) {
+        return subtype == REFERENCE_SUBTYPE;
+    }
+
+    boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @param canonical the canonical BSON of a block
+     * @return whether the block is stored once and referenced, rather than inline
+     */
+    boolean qualifies(byte[] canonical) {
+        return enabled && canonical.length >= minBytes;
+    }
+
+    static byte[] hash(String kind, byte[] canonical) {
+        try {
+            var digest = MessageDigest.getInstance(DIGEST);
+            digest.update(kind.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            return digest.digest(canonical);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(DIGEST + " is not available", e);
+        }
+    }
+
+    /**
+     * Resolves a referenced block, decoding its stored content on the first resolution only.
+     *
+     * @param hash    the hash carried by the reference
+     * @param decoder decodes the stored content into an unmodifiable value
+     */
+    @SuppressWarnings("unchecked")
+    <T> T resolve(byte[] hash, Function<BsonDocument, T> decoder) {
+        var key = HexFormat.of().formatHex(hash);
+        var cached = cache.get(key);
+        if (cached != null) {
+            hits.increment();
+            return (T) cached;
+        }
+        misses.increment();
+
+        var blockLoader = loader;
+        if (blockLoader == null) {
+            throw new BsonSerializationException("Content block " + key + " is referenced but no block store is bound");
+        }
+        var content = blockLoader.apply(reference(hash));
+        if (content == null) {
+            throw new BsonSerializationException("Content block " + key + " is referenced but missing");
+        }
+
+        var value = decoder.apply(content);
+        if (maxCachedBlocks > 0) {
+            if (cache.size() >= maxCachedBlocks) evict();
+            cache.put(key, value);
+        }
+        return value;
+    }
+
+    /**
+     * Drops about a tenth of the cached blocks, in no particular order. Shared blocks are read again on next use.
+     */
+    private void evict() {
+        var toRemove = Math.max(1, maxCachedBlocks / 10);
+        var keys = cache.keySet().iterator();
+        while (toRemove-- > 0 && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.octopus.adapter.outbound.persistence.mongodb.codec;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.bson.BsonSerializationException;
+import org.eclipse.microprofile.config.Config;
+import org.eclipse.microprofile.config.ConfigProvider;
+
+import java.io.ByteArrayOutputStream;
+import java.util.function.Supplier;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Compresses large BSON sub-documents of a task definition for storage.
+ * <p>
+ * A compressed field is stored as BSON binary data made of a one-byte format marker followed by the compressed
+ * bytes of the field, either a BSON sub-document ({@link #DEFLATE_BSON}) or UTF-8 JSON ({@link #DEFLATE_JSON});
+ * the marker lets other algorithms be added without rewriting stored documents. Fields below the threshold, or that
+ * would not shrink, are stored as plain sub-documents, or as {@link #JSON} binary data, which is also how documents
+ * written before compression existed look.
+ * </p>
+ * Configured with {@code octopus.persistence.compression.*}. Codecs are created by the MongoDB client rather than
+ * by CDI, hence the configuration is read through {@link ConfigProvider} and the metrics go to the global registry.
+ */
+public final class FieldCompressor {
+
+    /**
+     * Format marker of a deflate-compressed BSON document.
+     */
+    static final byte DEFLATE_BSON = 1;
+
+    /**
+     * Format marker of an uncompressed UTF-8 JSON document.
+     */
+    static final byte JSON = 2;
+
+    /**
+     * Format marker of a deflate-compressed UTF-8 JSON document.
+     */
+    static final byte DEFLATE_JSON = 3;
+
+    private final boolean enabled;
+    private final boolean compressHeaders;
+    private final int thresholdBytes;
+    private final int level;
+
+    private final DistributionSummary compressionRatio;
+    private final DistributionSummary storedBytes;
+    private final Timer readTime;
+
+    FieldCompressor(boolean enabled, boolean compressHeaders, int thresholdBytes, int level) {
+        this.enabled = enabled;
+        this.compressHeaders = compressHeaders;
+        this.thresholdBytes = thresholdBytes;
+        this.level = level;
+
+        this.compressionRatio = DistributionSummary.builder("octopus.persistence.compression.ratio")
+                .description("Uncompressed over compressed size of the fields stored compressed")
+                .register(Metrics.globalRegistry);
+        this.storedBytes = DistributionSummary.builder("octopus.persistence.compression.stored")
+                .description("Size of the fields stored compressed")
+                .baseUnit("bytes")
+                .register(Metrics.globalRegistry);
+        this.readTime = Timer.builder("octopus.persistence.compression.read")
+                .description("Time spent decompressing and decoding compressed fields")
+                .register(Metrics.globalRegistry);
+    }
+
+    static FieldCompressor fromConfig() {
+        Config config = ConfigProvider.getConfig();
+        return new FieldCompressor(
+                config.getOptionalValue("octopus.persistence.compression.enabled", Boolean.class).orElse(true),
+                config.getOptionalValue("octopus.persistence.compression.headers", Boolean.class).orElse(false),
+                config.getOptionalValue("octopus.persistence.compression.threshold-bytes", Integer.class).orElse(4096),
+                config.getOptionalValue("octopus.persistence.compression.level", Integer.class).orElse(Deflater.DEFAULT_COMPRESSION));
+    }
+
+    /**
+     * The compressor of whole archived definitions, configured with {@code octopus.archival.*}. Archived documents are
+     * read rarely, so any definition that shrinks is worth compressing.
+     */
+    static FieldCompressor forArchive() {
+        Config config = ConfigProvider.getConfig();
+        return new FieldCompressor(
+                config.getOptionalValue("octopus.archival.compress", Boolean.class).orElse(true),
+                false,
+                config.getOptionalValue("octopus.archival.compress-threshold-bytes", Integer.class).orElse(512),
+                config.getOptionalValue("octopus.persistence.compression.level", Integer.class).orElse(Deflater.DEFAULT_COMPRESSION));
+    }
+
+    boolean isEnabled() {
+        return enabled;
+    }
+
+    boolean compressesHeaders() {
+        return enabled && compressHeaders;
+    }
+
+    /**
+     * @param bson the encoded sub-document
+     * @return the stored form of the sub-document, or {@code null} if it should be stored uncompressed
+     */
+    byte[] compress(byte[] bson) {
+        return compress(bson, DEFLATE_BSON);
+    }
+
+    /**
+     * @param data   the encoded field
+     * @param format the format marker of the compressed field
+     * @return the stored form of the field, or {@code null} if it should be stored uncompressed
+     */
+    byte[] compress(byte[] data, byte format) {
+        if (!enabled || data.length < thresholdBytes) return null;
+
+        var deflater = new Deflater(level);
+        try {
+            deflater.setInput(data);
+            deflater.finish();
+
+            var out = new ByteArrayOutputStream(data.length / 2 + 16);
+            out.write(format);
+            var chunk = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(chunk, 0, deflater.deflate(chunk));
+            }
+
+            if (out.size() >= data.length) return null;
+
+            var stored = out.toByteArray();
+            compressionRatio.record((double) data.length / stored.length);
+            storedBytes.record(stored.length);
+            return stored;
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * @param stored the stored form of a compressed field
+     * @return the encoded field
+     */
+    byte[] decompress(byte[] stored) {
+        if (stored.length == 0 || (stored[0] != DEFLATE_BSON && stored[0] != DEFLATE_JSON)) {
+            throw new BsonSerializationException("Unknown compressed field format " + (stored.length == 0 ? "(empty)" : stored[0]));
+        }
+
+        var inflater = new Inflater();
+        try {
+            inflater.setInput(stored, 1, stored.length - 1);
+
+            var out = new ByteArrayOutputStream(stored.length * 4);
+            var chunk = new byte[8192];
+            while (!inflater.finished()) {
+                var inflated = inflater.inflate(chunk);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new BsonSerializationException("Truncated compressed field");
+                }
+                out.write(chunk, 0, inflated);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new BsonSerializationException("Corrupted compressed field: " + e.getMessage());
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * Runs a read of a compressed field, recording the time it takes.
+     */
+    <T> T timedRead(Supplier<T> read) {
+        return readTime.record(read);
+    }
+}
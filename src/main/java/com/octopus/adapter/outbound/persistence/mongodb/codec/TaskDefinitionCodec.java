@@ -0,0 +1,615 @@
+package com.octopus.adapter.outbound.persistence.mongodb.codec;
+
+import com.octopus.adapter.json.RawJsonMap;
+import com.octopus.domain.entity.TaskDefinition;
+import com.octopus.domain.vo.*;
+import org.bson.BsonBinary;
+import org.bson.BsonBinaryReader;
+import org.bson.BsonBinaryWriter;
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentReader;
+import org.bson.BsonDocumentWriter;
+import org.bson.BsonInvalidOperationException;
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonValue;
+import org.bson.BsonWriter;
+import org.bson.Document;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.bson.io.BasicOutputBuffer;
+import org.bson.json.JsonMode;
+import org.bson.json.JsonWriterSettings;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Objects.nonNull;
+
+/**
+ * Reads and writes {@link TaskDefinition} aggregates straight from and to BSON, without going through
+ * {@link com.octopus.adapter.outbound.persistence.mongodb.entity.TaskDefinitionEntity} or any reflection.
+ * <p>
+ * The document layout is the one produced by the POJO codec for {@code TaskDefinitionEntity}, so both
+ * can read each other's documents. Fields this codec does not know are skipped.
+ * </p>
+ * <p>
+ * Large {@code payloadTemplate} (and optionally {@code headers}) sub-documents are stored compressed by
+ * {@link FieldCompressor}; compressed payload templates are only decompressed when their content is accessed.
+ * Such documents can no longer be read by the POJO codec, which therefore only reads projections without them.
+ * </p>
+ * <p>
+ * With {@code octopus.persistence.payload-template-format=json}, payload templates are stored as UTF-8 JSON instead
+ * and read back as a {@link RawJsonMap}, so that the REST layer can copy them to responses as they are.
+ * </p>
+ * <p>
+ * With {@code octopus.persistence.blocks.enabled}, large {@code headers}, BSON {@code payloadTemplate} and
+ * {@code retryPolicy} blocks are replaced by references to {@link ContentBlocks content blocks} stored once for every
+ * definition sharing them. The persistence adapter stores the blocks listed by {@link #contentBlocks} beforehand.
+ * </p>
+ */
+public class TaskDefinitionCodec implements Codec<TaskDefinition> {
+
+    public static final String ID = "_id";
+    public static final String NAME = "name";
+    public static final String CATEGORY = "category";
+    public static final String DESCRIPTION = "description";
+    public static final String STATUS = "status";
+    public static final String METADATA = "metadata";
+    /**
+     * Metadata stored a second time as an array of {@code {k, v}} entries, so that one multikey index serves every key.
+     */
+    public static final String METADATA_TAGS = "metadataTags";
+    public static final String TAG_KEY = "k";
+    public static final String TAG_VALUE = "v";
+    public static final String HTTP_CONFIG = "httpConfig";
+    public static final String ENDPOINT = "endpoint";
+    public static final String HTTP_METHOD = "httpMethod";
+    public static final String TIMEOUT_SECONDS = "timeoutSeconds";
+    public static final String HEADERS = "headers";
+    public static final String PAYLOAD_TEMPLATE = "payloadTemplate";
+    public static final String RETRY_POLICY = "retryPolicy";
+    public static final String MAX_ATTEMPTS = "maxAttempts";
+    public static final String BACKOFF_SECONDS = "backoffSeconds";
+    public static final String RETRYABLE_STATUS_CODES = "retryableStatusCodes";
+    public static final String CREATED_AT = "createdAt";
+    public static final String UPDATED_AT = "updatedAt";
+    public static final String VERSION = "version";
+    /**
+     * {@link Rehydration#VALIDATION_VERSION} the document was validated under, written right after the id so that
+     * readers know whether to trust the fields that follow.
+     */
+    public static final String VALIDATION_VERSION = "validationVersion";
+    /**
+     * The only field of the stored content of a {@link ContentBlock}.
+     */
+    public static final String BLOCK_VALUE = "v";
+
+    private static final JsonWriterSettings JSON_SETTINGS = JsonWriterSettings.builder().outputMode(JsonMode.RELAXED).build();
+
+    private final Codec<Document> documentCodec;
+    private final FieldCompressor compressor;
+    private final boolean jsonPayloadTemplates;
+    private final ContentBlocks blocks;
+
+    public TaskDefinitionCodec(CodecRegistry registry, FieldCompressor compressor, boolean jsonPayloadTemplates,
+                               ContentBlocks blocks) {
+        this.documentCodec = registry.get(Document.class);
+        this.compressor = compressor;
+        this.jsonPayloadTemplates = jsonPayloadTemplates;
+        this.blocks = blocks;
+    }
+
+    @Override
+    public Class<TaskDefinition> getEncoderClass() {
+        return TaskDefinition.class;
+    }
+
+    @Override
+    public void encode(BsonWriter writer, TaskDefinition value, EncoderContext context) {
+        var taskInfo = value.taskInfo();
+
+        writer.writeStartDocument();
+        writer.writeString(ID, value.id().value().toString());
+        writer.writeInt32(VALIDATION_VERSION, Rehydration.VALIDATION_VERSION);
+        writer.writeString(NAME, taskInfo.name());
+        writer.writeString(CATEGORY, taskInfo.category());
+        writer.writeString(DESCRIPTION, taskInfo.description());
+        writer.writeString(STATUS, value.taskStatus().name());
+        writeStringMap(writer, METADATA, value.metadata());
+        writeMetadataTags(writer, value.metadata());
+        writeHttpConfig(writer, value.httpConfig(), context);
+        var retryPolicyBlock = blockHash(RETRY_POLICY, value.retryPolicy(), context);
+        if (nonNull(retryPolicyBlock)) {
+            writer.writeBinaryData(RETRY_POLICY, ContentBlocks.reference(retryPolicyBlock));
+        } else {
+            writeRetryPolicy(writer, RETRY_POLICY, value.retryPolicy());
+        }
+        writer.writeDateTime(CREATED_AT, value.audit().createdAt().toEpochMilli());
+        writer.writeDateTime(UPDATED_AT, value.audit().updatedAt().toEpochMilli());
+        writer.writeInt64(VERSION, value.version());
+        writer.writeEndDocument();
+    }
+
+    @Override
+    public TaskDefinition decode(BsonReader reader, DecoderContext context) {
+        String id = null;
+        var taskInfo = TaskInfo.builder();
+        String status = null;
+        Map<String, String> metadata = null;
+        HttpConfig httpConfig = null;
+        RetryPolicy retryPolicy = null;
+        Instant createdAt = null;
+        Instant updatedAt = null;
+        long version = TaskDefinition.INITIAL_VERSION;
+        var trusted = false;
+
+        reader.readStartDocument();
+        try {
+            while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+                var field = reader.readName();
+                if (reader.getCurrentBsonType() == BsonType.NULL) {
+                    reader.readNull();
+                    continue;
+                }
+                switch (field) {
+                    case ID -> id = reader.readString();
+                    case VALIDATION_VERSION -> trusted = beginTrustedIfCurrent(reader, trusted);
+                    case NAME -> taskInfo.name(reader.readString());
+                    case CATEGORY -> taskInfo.category(reader.readString());
+                    case DESCRIPTION -> taskInfo.description(reader.readString());
+                    case STATUS -> status = reader.readString();
+                    case METADATA -> metadata = readStringMap(reader);
+                    case HTTP_CONFIG -> httpConfig = readHttpConfig(reader, context);
+                    case RETRY_POLICY -> retryPolicy = readRetryPolicy(reader);
+                    case CREATED_AT -> createdAt = Instant.ofEpochMilli(reader.readDateTime());
+                    case UPDATED_AT -> updatedAt = Instant.ofEpochMilli(reader.readDateTime());
+                    case VERSION -> version = readLong(reader);
+                    default -> reader.skipValue();
+                }
+            }
+            reader.readEndDocument();
+
+            return new TaskDefinition(
+                    TaskDefinitionId.of(id),
+                    taskInfo.build(),
+                    TaskStatus.fromString(status),
+                    metadata,
+                    httpConfig,
+                    retryPolicy,
+                    new Audit(createdAt, updatedAt),
+                    version);
+        } finally {
+            if (trusted) Rehydration.end();
+        }
+    }
+
+    /**
+     * Reads the stored validation version, and starts trusting the rest of the document if it is the current one.
+     *
+     * @return whether the rest of the document is trusted, to be ended by the caller
+     */
+    static boolean beginTrustedIfCurrent(BsonReader reader, boolean trusted) {
+        var current = reader.readInt32() == Rehydration.VALIDATION_VERSION;
+        if (current && !trusted) Rehydration.begin();
+        return trusted || current;
+    }
+
+    private void writeHttpConfig(BsonWriter writer, HttpConfig httpConfig, EncoderContext context) {
+        writer.writeStartDocument(HTTP_CONFIG);
+        writer.writeString(ENDPOINT, httpConfig.endpoint().url());
+        writer.writeString(HTTP_METHOD, httpConfig.httpMethod().name());
+        writer.writeInt32(TIMEOUT_SECONDS, httpConfig.timeoutSeconds());
+        var headersBlock = blockHash(HEADERS, httpConfig.headers(), context);
+        if (nonNull(headersBlock)) {
+            writer.writeBinaryData(HEADERS, ContentBlocks.reference(headersBlock));
+        } else {
+            writeHeaders(writer, HEADERS, httpConfig.headers(), context);
+        }
+        var payloadTemplateBlock = jsonPayloadTemplates ? null : blockHash(PAYLOAD_TEMPLATE, httpConfig.payloadTemplate(), context);
+        if (nonNull(payloadTemplateBlock)) {
+            writer.writeBinaryData(PAYLOAD_TEMPLATE, ContentBlocks.reference(payloadTemplateBlock));
+        } else if (nonNull(httpConfig.payloadTemplate())) {
+            writer.writeName(PAYLOAD_TEMPLATE);
+            if (jsonPayloadTemplates) {
+                writeJson(writer, httpConfig.payloadTemplate());
+            } else {
+                writeCompressible(writer, httpConfig.payloadTemplate(), context);
+            }
+        }
+        writer.writeEndDocument();
+    }
+
+    private void writeHeaders(BsonWriter writer, String name, Map<String, String> headers, EncoderContext context) {
+        if (compressor.compressesHeaders() && nonNull(headers)) {
+            writer.writeName(name);
+            writeCompressible(writer, headers, context);
+        } else {
+            writeStringMap(writer, name, headers);
+        }
+    }
+
+    /**
+     * Lists the blocks of a definition that are written as references to content blocks, which must be stored
+     * before the definition is. Empty when content blocks are disabled.
+     */
+    public List<ContentBlock> contentBlocks(TaskDefinition definition) {
+        if (!blocks.isEnabled()) return List.of();
+
+        var context = EncoderContext.builder().build();
+        var found = new ArrayList<ContentBlock>(3);
+        addContentBlock(found, HEADERS, definition.httpConfig().headers(), context);
+        if (!jsonPayloadTemplates) addContentBlock(found, PAYLOAD_TEMPLATE, definition.httpConfig().payloadTemplate(), context);
+        addContentBlock(found, RETRY_POLICY, definition.retryPolicy(), context);
+        return found;
+    }
+
+    private void addContentBlock(List<ContentBlock> found, String kind, Object value, EncoderContext context) {
+        if (value == null) return;
+
+        var canonical = canonicalBson(value, context);
+        if (blocks.qualifies(canonical)) {
+            found.add(new ContentBlock(ContentBlocks.hash(kind, canonical), kind, canonical.length,
+                    storedContent(kind, value, context)));
+        }
+    }
+
+    /**
+     * Lists the content block references a stored definition document holds. They are read from the document as it
+     * was written rather than re-encoded, since the blocks configuration may have changed since.
+     *
+     * @param stored a definition document, as stored in the main collection, a version or the archive
+     */
+    public static List<BsonBinary> blockReferences(BsonDocument stored) {
+        var references = new ArrayList<BsonBinary>(3);
+        var httpConfig = stored.get(HTTP_CONFIG);
+        if (nonNull(httpConfig) && httpConfig.isDocument()) {
+            addBlockReference(references, httpConfig.asDocument().get(HEADERS));
+            addBlockReference(references, httpConfig.asDocument().get(PAYLOAD_TEMPLATE));
+        }
+        addBlockReference(references, stored.get(RETRY_POLICY));
+        return references;
+    }
+
+    private static void addBlockReference(List<BsonBinary> references, BsonValue value) {
+        if (nonNull(value) && value.isBinary() && ContentBlocks.isReference(value.asBinary().getType())) {
+            references.add(value.asBinary());
+        }
+    }
+
+    /**
+     * @return the hash of the content block a value is written as, or {@code null} if it is written inline
+     */
+    private byte[] blockHash(String kind, Object value, EncoderContext context) {
+        if (!blocks.isEnabled() || value == null) return null;
+
+        var canonical = canonicalBson(value, context);
+        return blocks.qualifies(canonical) ? ContentBlocks.hash(kind, canonical) : null;
+    }
+
+    /**
+     * Encodes a block with the keys of every sub-document sorted, so that equal blocks hash the same whatever the
+     * order they were submitted in.
+     */
+    private byte[] canonicalBson(Object value, EncoderContext context) {
+        try (var buffer = new BasicOutputBuffer(); var bsonWriter = new BsonBinaryWriter(buffer)) {
+            if (value instanceof RetryPolicy retryPolicy) {
+                writeRetryPolicy(bsonWriter, retryPolicy);
+            } else {
+                context.encodeWithChildContext(documentCodec, bsonWriter, (Document) sorted(value));
+            }
+            return buffer.toByteArray();
+        }
+    }
+
+    private static Object sorted(Object value) {
+        if (value instanceof Map<?, ?> map) {
+            var document = new Document();
+            map.keySet().stream()
+                    .map(String::valueOf)
+                    .sorted()
+                    .forEach(key -> document.put(key, sorted(map.get(key))));
+            return document;
+        }
+        if (value instanceof List<?> list) {
+            return list.stream().map(TaskDefinitionCodec::sorted).toList();
+        }
+        return value;
+    }
+
+    /**
+     * Writes a block the way it would be written inline, as the only field of the block content.
+     */
+    @SuppressWarnings("unchecked")
+    private BsonDocument storedContent(String kind, Object value, EncoderContext context) {
+        var content = new BsonDocument();
+        try (var bsonWriter = new BsonDocumentWriter(content)) {
+            bsonWriter.writeStartDocument();
+            switch (kind) {
+                case HEADERS -> writeHeaders(bsonWriter, BLOCK_VALUE, (Map<String, String>) value, context);
+                case PAYLOAD_TEMPLATE -> {
+                    bsonWriter.writeName(BLOCK_VALUE);
+                    writeCompressible(bsonWriter, (Map<String, ?>) value, context);
+                }
+                default -> writeRetryPolicy(bsonWriter, BLOCK_VALUE, (RetryPolicy) value);
+            }
+            bsonWriter.writeEndDocument();
+        }
+        return content;
+    }
+
+    /**
+     * Positions a reader on the value of a block content.
+     */
+    private static BsonReader blockReader(BsonDocument content) {
+        var reader = new BsonDocumentReader(content);
+        reader.readStartDocument();
+        reader.readBsonType();
+        reader.readName();
+        return reader;
+    }
+
+    /**
+     * Writes a sub-document compressed when it is large enough, as a plain sub-document otherwise.
+     * A compressed map that was never read is written back as stored.
+     */
+    private void writeCompressible(BsonWriter writer, Map<String, ?> map, EncoderContext context) {
+        if (map instanceof CompressedDocumentMap<?> compressed && !compressed.isMaterialized()) {
+            writer.writeBinaryData(new BsonBinary(compressed.stored()));
+            return;
+        }
+        if (!compressor.isEnabled()) {
+            context.encodeWithChildContext(documentCodec, writer, new Document(new LinkedHashMap<String, Object>(map)));
+            return;
+        }
+
+        var bson = toBson(map, context);
+        var stored = compressor.compress(bson);
+        if (nonNull(stored)) {
+            writer.writeBinaryData(new BsonBinary(stored));
+        } else {
+            writer.pipe(new BsonBinaryReader(ByteBuffer.wrap(bson)));
+        }
+    }
+
+    /**
+     * Writes a sub-document as UTF-8 JSON binary data, compressed when it is large enough.
+     * A {@link RawJsonMap} is written as it is, without being parsed.
+     */
+    private void writeJson(BsonWriter writer, Map<String, ?> map) {
+        var json = map instanceof RawJsonMap raw
+                ? Arrays.copyOfRange(raw.utf8(), raw.offset(), raw.offset() + raw.length())
+                : new Document(new LinkedHashMap<String, Object>(map)).toJson(JSON_SETTINGS).getBytes(StandardCharsets.UTF_8);
+
+        var stored = compressor.compress(json, FieldCompressor.DEFLATE_JSON);
+        if (stored == null) {
+            stored = new byte[json.length + 1];
+            stored[0] = FieldCompressor.JSON;
+            System.arraycopy(json, 0, stored, 1, json.length);
+        }
+        writer.writeBinaryData(new BsonBinary(stored));
+    }
+
+    private Map<String, Object> readStoredPayloadTemplate(byte[] stored) {
+        int format = stored.length > 0 ? stored[0] : -1;
+        return switch (format) {
+            case FieldCompressor.JSON -> new RawJsonMap(stored, 1, stored.length - 1, TaskDefinitionCodec::parseJson);
+            case FieldCompressor.DEFLATE_JSON -> {
+                var json = compressor.timedRead(() -> compressor.decompress(stored));
+                yield new RawJsonMap(json, 0, json.length, TaskDefinitionCodec::parseJson);
+            }
+            default -> new CompressedDocumentMap<>(stored, this::readCompressedDocument);
+        };
+    }
+
+    private static Map<String, Object> parseJson(RawJsonMap raw) {
+        return Document.parse(new String(raw.utf8(), raw.offset(), raw.length(), StandardCharsets.UTF_8));
+    }
+
+    private byte[] toBson(Map<String, ?> map, EncoderContext context) {
+        try (var buffer = new BasicOutputBuffer(); var bsonWriter = new BsonBinaryWriter(buffer)) {
+            context.encodeWithChildContext(documentCodec, bsonWriter, new Document(new LinkedHashMap<String, Object>(map)));
+            return buffer.toByteArray();
+        }
+    }
+
+    private Map<String, Object> readCompressedDocument(byte[] stored) {
+        return compressor.timedRead(() -> documentCodec.decode(
+                new BsonBinaryReader(ByteBuffer.wrap(compressor.decompress(stored))), DecoderContext.builder().build()));
+    }
+
+    private Map<String, String> readCompressedStringMap(byte[] stored) {
+        return compressor.timedRead(() -> readStringMap(new BsonBinaryReader(ByteBuffer.wrap(compressor.decompress(stored)))));
+    }
+
+    HttpConfig readHttpConfig(BsonReader reader, DecoderContext context) {
+        var httpConfig = HttpConfig.builder();
+
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            var field = reader.readName();
+            if (reader.getCurrentBsonType() == BsonType.NULL) {
+                reader.readNull();
+                continue;
+            }
+            switch (field) {
+                case ENDPOINT -> httpConfig.endpoint(Endpoint.of(reader.readString()));
+                case HTTP_METHOD -> httpConfig.httpMethod(HttpMethod.fromString(reader.readString()));
+                case TIMEOUT_SECONDS -> httpConfig.timeoutSeconds(readInteger(reader));
+                case HEADERS -> httpConfig.headers(readHeaders(reader));
+                case PAYLOAD_TEMPLATE -> httpConfig.payloadTemplate(readPayloadTemplate(reader, context));
+                default -> reader.skipValue();
+            }
+        }
+        reader.readEndDocument();
+
+        return httpConfig.build();
+    }
+
+    private Map<String, String> readHeaders(BsonReader reader) {
+        if (reader.getCurrentBsonType() != BsonType.BINARY) return readStringMap(reader);
+        if (ContentBlocks.isReference(reader.peekBinarySubType())) {
+            return blocks.resolve(reader.readBinaryData().getData(),
+                    content -> Collections.unmodifiableMap(readHeaders(blockReader(content))));
+        }
+        return readCompressedStringMap(reader.readBinaryData().getData());
+    }
+
+    private Map<String, Object> readPayloadTemplate(BsonReader reader, DecoderContext context) {
+        if (reader.getCurrentBsonType() != BsonType.BINARY) return context.decodeWithChildContext(documentCodec, reader);
+        if (ContentBlocks.isReference(reader.peekBinarySubType())) {
+            return blocks.resolve(reader.readBinaryData().getData(),
+                    content -> Collections.unmodifiableMap(readPayloadTemplate(blockReader(content), DecoderContext.builder().build())));
+        }
+        return readStoredPayloadTemplate(reader.readBinaryData().getData());
+    }
+
+    private static void writeRetryPolicy(BsonWriter writer, String name, RetryPolicy retryPolicy) {
+        writer.writeName(name);
+        writeRetryPolicy(writer, retryPolicy);
+    }
+
+    private static void writeRetryPolicy(BsonWriter writer, RetryPolicy retryPolicy) {
+        writer.writeStartDocument();
+        writer.writeInt32(MAX_ATTEMPTS, retryPolicy.maxAttempts());
+        writeIntegerArray(writer, BACKOFF_SECONDS, retryPolicy.backoffSeconds());
+        writeIntegerArray(writer, RETRYABLE_STATUS_CODES, retryPolicy.retryableStatusCodes());
+        writer.writeEndDocument();
+    }
+
+    RetryPolicy readRetryPolicy(BsonReader reader) {
+        if (reader.getCurrentBsonType() == BsonType.BINARY) {
+            return blocks.resolve(reader.readBinaryData().getData(), content -> readRetryPolicy(blockReader(content)));
+        }
+
+        var retryPolicy = RetryPolicy.builder();
+
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            var field = reader.readName();
+            if (reader.getCurrentBsonType() == BsonType.NULL) {
+                reader.readNull();
+                continue;
+            }
+            switch (field) {
+                case MAX_ATTEMPTS -> retryPolicy.maxAttempts(readInteger(reader));
+                case BACKOFF_SECONDS -> retryPolicy.backoffSeconds(readIntegerArray(reader));
+                case RETRYABLE_STATUS_CODES -> retryPolicy.retryableStatusCodes(readIntegerArray(reader));
+                default -> reader.skipValue();
+            }
+        }
+        reader.readEndDocument();
+
+        return retryPolicy.build();
+    }
+
+    /**
+     * Writes the metadata again as {@code [{k, v}]}, the shape queried by tag filters. Never read back.
+     */
+    private static void writeMetadataTags(BsonWriter writer, Map<String, String> metadata) {
+        writer.writeStartArray(METADATA_TAGS);
+        if (metadata != null) {
+            for (var entry : metadata.entrySet()) {
+                writer.writeStartDocument();
+                writer.writeString(TAG_KEY, entry.getKey());
+                writeNullableString(writer, TAG_VALUE, entry.getValue());
+                writer.writeEndDocument();
+            }
+        }
+        writer.writeEndArray();
+    }
+
+    private static void writeStringMap(BsonWriter writer, String name, Map<String, String> map) {
+        if (map == null) return;
+
+        writer.writeStartDocument(name);
+        for (var entry : map.entrySet()) {
+            writeNullableString(writer, entry.getKey(), entry.getValue());
+        }
+        writer.writeEndDocument();
+    }
+
+    /**
+     * Writes {@code null} values as BSON null, as the POJO codec did, since the API accepts them in maps.
+     */
+    private static void writeNullableString(BsonWriter writer, String name, String value) {
+        if (value == null) {
+            writer.writeNull(name);
+        } else {
+            writer.writeString(name, value);
+        }
+    }
+
+    private static Map<String, String> readStringMap(BsonReader reader) {
+        var map = new HashMap<String, String>();
+
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            var key = reader.readName();
+            if (reader.getCurrentBsonType() == BsonType.NULL) {
+                reader.readNull();
+                map.put(key, null);
+            } else {
+                map.put(key, reader.readString());
+            }
+        }
+        reader.readEndDocument();
+
+        return map;
+    }
+
+    private static void writeIntegerArray(BsonWriter writer, String name, Integer[] values) {
+        if (values == null) return;
+
+        writer.writeStartArray(name);
+        for (var value : values) {
+            writer.writeInt32(value);
+        }
+        writer.writeEndArray();
+    }
+
+    private static Integer[] readIntegerArray(BsonReader reader) {
+        List<Integer> values = new ArrayList<>();
+
+        reader.readStartArray();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            values.add(readInteger(reader));
+        }
+        reader.readEndArray();
+
+        return values.toArray(new Integer[0]);
+    }
+
+    private static long readLong(BsonReader reader) {
+        return switch (reader.getCurrentBsonType()) {
+            case INT32 -> reader.readInt32();
+            case INT64 -> reader.readInt64();
+            case DOUBLE -> (long) reader.readDouble();
+            default -> throw new BsonInvalidOperationException(
+                    "Expected a number but found " + reader.getCurrentBsonType());
+        };
+    }
+
+    /**
+     * Reads a number written either by this codec (int32) or by other tools that may have widened it.
+     */
+    private static Integer readInteger(BsonReader reader) {
+        return switch (reader.getCurrentBsonType()) {
+            case INT32 -> reader.readInt32();
+            case INT64 -> Math.toIntExact(reader.readInt64());
+            case DOUBLE -> (int) reader.readDouble();
+            default -> throw new BsonInvalidOperationException(
+                    "Expected a number but found " + reader.getCurrentBsonType());
+        };
+    }
+}
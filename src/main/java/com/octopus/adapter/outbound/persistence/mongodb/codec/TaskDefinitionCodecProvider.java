@@ -0,0 +1,103 @@
+package com.octopus.adapter.outbound.persistence.mongodb.codec;
+
+import com.octopus.domain.entity.TaskDefinition;
+import com.octopus.domain.entity.WorkflowDefinition;
+import org.bson.codecs.Codec;
+import org.bson.codecs.configuration.CodecProvider;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.eclipse.microprofile.config.ConfigProvider;
+
+/**
+ * Registers {@link TaskDefinitionCodec}, {@link TaskDefinitionVersionCodec}, {@link ArchivedTaskDefinitionCodec} and
+ * {@link WorkflowDefinitionCodec} with the MongoDB client.
+ * Quarkus discovers {@link CodecProvider} implementations at build time, so no reflection is involved at runtime.
+ */
+public class TaskDefinitionCodecProvider implements CodecProvider {
+
+    private volatile FieldCompressor compressor;
+    private volatile FieldCompressor archiveCompressor;
+    private volatile ContentBlocks contentBlocks;
+    private volatile Boolean jsonPayloadTemplates;
+    private volatile Boolean outbox;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> Codec<T> get(Class<T> clazz, CodecRegistry registry) {
+        if (clazz == TaskDefinition.class) {
+            return (Codec<T>) new TaskDefinitionCodec(registry, compressor(), jsonPayloadTemplates(), contentBlocks());
+        }
+        if (clazz == TaskDefinitionVersion.class) {
+            return (Codec<T>) new TaskDefinitionVersionCodec(registry, outbox());
+        }
+        if (clazz == ArchivedTaskDefinition.class) {
+            return (Codec<T>) new ArchivedTaskDefinitionCodec(registry, archiveCompressor());
+        }
+        if (clazz == WorkflowDefinition.class) {
+            return (Codec<T>) new WorkflowDefinitionCodec();
+        }
+        return null;
+    }
+
+    private boolean jsonPayloadTemplates() {
+        var current = jsonPayloadTemplates;
+        if (current == null) {
+            current = "json".equalsIgnoreCase(ConfigProvider.getConfig()
+                    .getOptionalValue("octopus.persistence.payload-template-format", String.class)
+                    .orElse("bson"));
+            jsonPayloadTemplates = current;
+        }
+        return current;
+    }
+
+    private boolean outbox() {
+        var current = outbox;
+        if (current == null) {
+            current = ConfigProvider.getConfig().getOptionalValue("octopus.outbox.enabled", Boolean.class).orElse(true);
+            outbox = current;
+        }
+        return current;
+    }
+
+    // created on first use, once the application configuration is available
+    private FieldCompressor compressor() {
+        var current = compressor;
+        if (current == null) {
+            synchronized (this) {
+                current = compressor;
+                if (current == null) {
+                    current = FieldCompressor.fromConfig();
+                    compressor = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private FieldCompressor archiveCompressor() {
+        var current = archiveCompressor;
+        if (current == null) {
+            synchronized (this) {
+                current = archiveCompressor;
+                if (current == null) {
+                    current = FieldCompressor.forArchive();
+                    archiveCompressor = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private ContentBlocks contentBlocks() {
+        var current = contentBlocks;
+        if (current == null) {
+            synchronized (this) {
+                current = contentBlocks;
+                if (current == null) {
+                    current = ContentBlocks.fromConfig();
+                    contentBlocks = current;
+                }
+            }
+        }
+        return current;
+    }
+}
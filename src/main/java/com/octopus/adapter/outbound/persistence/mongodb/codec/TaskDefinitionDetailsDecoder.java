@@ -0,0 +1,58 @@
+package com.octopus.adapter.outbound.persistence.mongodb.codec;
+
+import com.octopus.domain.vo.HttpConfig;
+import com.octopus.domain.vo.Rehydration;
+import com.octopus.domain.vo.RetryPolicy;
+import com.octopus.domain.vo.TaskDefinitionDetails;
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.codecs.Decoder;
+import org.bson.codecs.DecoderContext;
+
+import static com.octopus.adapter.outbound.persistence.mongodb.codec.TaskDefinitionCodec.HTTP_CONFIG;
+import static com.octopus.adapter.outbound.persistence.mongodb.codec.TaskDefinitionCodec.RETRY_POLICY;
+import static com.octopus.adapter.outbound.persistence.mongodb.codec.TaskDefinitionCodec.VALIDATION_VERSION;
+
+/**
+ * Reads the heavy sections of a task definition document, projected on {@code httpConfig} and {@code retryPolicy}
+ * (and {@code validationVersion}),
+ * with the same handling of compressed fields as {@link TaskDefinitionCodec}. Details are never written on their own,
+ * so this is a decoder only, applied to the raw documents read with {@code DETAILS_PROJECTION}.
+ */
+public class TaskDefinitionDetailsDecoder implements Decoder<TaskDefinitionDetails> {
+
+    private final TaskDefinitionCodec definitionCodec;
+
+    public TaskDefinitionDetailsDecoder(TaskDefinitionCodec definitionCodec) {
+        this.definitionCodec = definitionCodec;
+    }
+
+    @Override
+    public TaskDefinitionDetails decode(BsonReader reader, DecoderContext context) {
+        HttpConfig httpConfig = null;
+        RetryPolicy retryPolicy = null;
+        var trusted = false;
+
+        reader.readStartDocument();
+        try {
+            while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+                var field = reader.readName();
+                if (reader.getCurrentBsonType() == BsonType.NULL) {
+                    reader.readNull();
+                    continue;
+                }
+                switch (field) {
+                    case VALIDATION_VERSION -> trusted = TaskDefinitionCodec.beginTrustedIfCurrent(reader, trusted);
+                    case HTTP_CONFIG -> httpConfig = definitionCodec.readHttpConfig(reader, context);
+                    case RETRY_POLICY -> retryPolicy = definitionCodec.readRetryPolicy(reader);
+                    default -> reader.skipValue();
+                }
+            }
+            reader.readEndDocument();
+
+            return new TaskDefinitionDetails(httpConfig, retryPolicy);
+        } finally {
+            if (trusted) Rehydration.end();
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.octopus.adapter.outbound.persistence.mongodb.codec;
+
+import com.octopus.domain.entity.TaskDefinition;
+
+/**
+ * Document of the version-history collection: one immutable copy of a definition per {@code name@version}.
+ */
+public record TaskDefinitionVersion(TaskDefinition definition) {
+
+    public String ref() {
+        return definition.versionRef().toString();
+    }
+}
@@ -0,0 +1,73 @@
+package com.octopus.adapter.outbound.persistence.mongodb.codec;
+
+import com.octopus.domain.entity.TaskDefinition;
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.codecs.configuration.CodecRegistry;
+
+/**
+ * Reads and writes {@link TaskDefinitionVersion} documents:
+ * {@code {_id: "name@version", name, version, definitionId, definition: {...}, pendingSince}}, the embedded
+ * definition having the layout of {@link TaskDefinitionCodec}.
+ * <p>
+ * With the outbox enabled, new versions are written with {@code pendingSince}, the time of the change, which marks
+ * them as events still to be published; the outbox relay removes the field once the event is published. The event is
+ * recorded with the version, but the change is only complete once the definition document is updated too, so the
+ * outbox holds back the events of versions whose definition was not updated yet and drops those of interrupted saves.
+ * </p>
+ */
+public class TaskDefinitionVersionCodec implements Codec<TaskDefinitionVersion> {
+
+    public static final String DEFINITION_ID = "definitionId";
+    public static final String DEFINITION = "definition";
+    public static final String PENDING_SINCE = "pendingSince";
+
+    private final Codec<TaskDefinition> definitionCodec;
+    private final boolean outbox;
+
+    public TaskDefinitionVersionCodec(CodecRegistry registry, boolean outbox) {
+        this.definitionCodec = registry.get(TaskDefinition.class);
+        this.outbox = outbox;
+    }
+
+    @Override
+    public Class<TaskDefinitionVersion> getEncoderClass() {
+        return TaskDefinitionVersion.class;
+    }
+
+    @Override
+    public void encode(BsonWriter writer, TaskDefinitionVersion value, EncoderContext context) {
+        var definition = value.definition();
+
+        writer.writeStartDocument();
+        writer.writeString(TaskDefinitionCodec.ID, value.ref());
+        writer.writeString(TaskDefinitionCodec.NAME, definition.taskInfo().name());
+        writer.writeInt64(TaskDefinitionCodec.VERSION, definition.version());
+        writer.writeString(DEFINITION_ID, definition.id().value().toString());
+        writer.writeName(DEFINITION);
+        context.encodeWithChildContext(definitionCodec, writer, definition);
+        if (outbox) writer.writeDateTime(PENDING_SINCE, definition.audit().updatedAt().toEpochMilli());
+        writer.writeEndDocument();
+    }
+
+    @Override
+    public TaskDefinitionVersion decode(BsonReader reader, DecoderContext context) {
+        TaskDefinition definition = null;
+
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            if (reader.readName().equals(DEFINITION)) {
+                definition = context.decodeWithChildContext(definitionCodec, reader);
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.readEndDocument();
+
+        return new TaskDefinitionVersion(definition);
+    }
+}
@@ -0,0 +1,136 @@
+package com.octopus.adapter.outbound.persistence.mongodb.codec;
+
+import com.octopus.domain.entity.WorkflowDefinition;
+import com.octopus.domain.vo.Audit;
+import com.octopus.domain.vo.Rehydration;
+import com.octopus.domain.vo.WorkflowDefinitionId;
+import com.octopus.domain.vo.WorkflowStep;
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.octopus.adapter.outbound.persistence.mongodb.codec.TaskDefinitionCodec.*;
+
+/**
+ * Reads and writes {@link WorkflowDefinition} documents:
+ * {@code {_id, validationVersion, name, description, steps: [{id, task, dependsOn: [...]}], createdAt, updatedAt, version}}.
+ * The topological order and levels are not stored; they are computed again when a workflow is read.
+ */
+public class WorkflowDefinitionCodec implements Codec<WorkflowDefinition> {
+
+    public static final String STEPS = "steps";
+    public static final String STEP_ID = "id";
+    public static final String STEP_TASK = "task";
+    public static final String STEP_DEPENDS_ON = "dependsOn";
+
+    @Override
+    public Class<WorkflowDefinition> getEncoderClass() {
+        return WorkflowDefinition.class;
+    }
+
+    @Override
+    public void encode(BsonWriter writer, WorkflowDefinition value, EncoderContext context) {
+        writer.writeStartDocument();
+        writer.writeString(ID, value.id().value().toString());
+        writer.writeInt32(VALIDATION_VERSION, Rehydration.VALIDATION_VERSION);
+        writer.writeString(NAME, value.name());
+        if (value.description() != null) writer.writeString(DESCRIPTION, value.description());
+        writer.writeStartArray(STEPS);
+        for (var step : value.steps()) {
+            writer.writeStartDocument();
+            writer.writeString(STEP_ID, step.id());
+            writer.writeString(STEP_TASK, step.taskName());
+            writer.writeStartArray(STEP_DEPENDS_ON);
+            step.dependsOn().forEach(writer::writeString);
+            writer.writeEndArray();
+            writer.writeEndDocument();
+        }
+        writer.writeEndArray();
+        writer.writeDateTime(CREATED_AT, value.audit().createdAt().toEpochMilli());
+        writer.writeDateTime(UPDATED_AT, value.audit().updatedAt().toEpochMilli());
+        writer.writeInt64(VERSION, value.version());
+        writer.writeEndDocument();
+    }
+
+    @Override
+    public WorkflowDefinition decode(BsonReader reader, DecoderContext context) {
+        String id = null;
+        String name = null;
+        String description = null;
+        List<WorkflowStep> steps = List.of();
+        Instant createdAt = null;
+        Instant updatedAt = null;
+        long version = WorkflowDefinition.INITIAL_VERSION;
+        var trusted = false;
+
+        reader.readStartDocument();
+        try {
+            while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+                var field = reader.readName();
+                if (reader.getCurrentBsonType() == BsonType.NULL) {
+                    reader.readNull();
+                    continue;
+                }
+                switch (field) {
+                    case ID -> id = reader.readString();
+                    case VALIDATION_VERSION -> trusted = beginTrustedIfCurrent(reader, trusted);
+                    case NAME -> name = reader.readString();
+                    case DESCRIPTION -> description = reader.readString();
+                    case STEPS -> steps = readSteps(reader);
+                    case CREATED_AT -> createdAt = Instant.ofEpochMilli(reader.readDateTime());
+                    case UPDATED_AT -> updatedAt = Instant.ofEpochMilli(reader.readDateTime());
+                    case VERSION -> version = reader.readInt64();
+                    default -> reader.skipValue();
+                }
+            }
+            reader.readEndDocument();
+
+            return new WorkflowDefinition(WorkflowDefinitionId.of(id), name, description, steps,
+                    new Audit(createdAt, updatedAt), version);
+        } finally {
+            if (trusted) Rehydration.end();
+        }
+    }
+
+    private static List<WorkflowStep> readSteps(BsonReader reader) {
+        var steps = new ArrayList<WorkflowStep>();
+
+        reader.readStartArray();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            var step = WorkflowStep.builder();
+            reader.readStartDocument();
+            while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+                switch (reader.readName()) {
+                    case STEP_ID -> step.id(reader.readString());
+                    case STEP_TASK -> step.taskName(reader.readString());
+                    case STEP_DEPENDS_ON -> step.dependsOn(readStrings(reader));
+                    default -> reader.skipValue();
+                }
+            }
+            reader.readEndDocument();
+            steps.add(step.build());
+        }
+        reader.readEndArray();
+
+        return steps;
+    }
+
+    private static List<String> readStrings(BsonReader reader) {
+        var values = new ArrayList<String>();
+
+        reader.readStartArray();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            values.add(reader.readString());
+        }
+        reader.readEndArray();
+
+        return values;
+    }
+}
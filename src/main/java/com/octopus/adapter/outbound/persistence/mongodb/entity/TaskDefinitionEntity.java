@@ -31,6 +31,8 @@ public class TaskDefinitionEntity {
     private RetryPolicyEntity retryPolicy;
     private Instant createdAt;
     private Instant updatedAt;
+    private Long version;
+    private Integer validationVersion;  // see Rehydration
 
     @Getter
     @Setter
@@ -29,9 +29,18 @@ public interface TaskDefinitionPersistenceMapper {
     @Mapping(target = "retryPolicy", expression = "java(toRetryPolicyEntity(domain.retryPolicy()))")
     @Mapping(target = "createdAt", expression = "java(domain.audit().createdAt())")
     @Mapping(target = "updatedAt", expression = "java(domain.audit().updatedAt())")
+    @Mapping(target = "version", expression = "java(domain.version())")
+    @Mapping(target = "validationVersion", constant = "" + Rehydration.VALIDATION_VERSION)
     TaskDefinitionEntity toPersistence(TaskDefinition domain);
 
-    // TaskDefinitionEntity to TaskDefinition
+    // TaskDefinitionEntity to TaskDefinition, trusted when validated under the current rules
+    default TaskDefinition toDomain(TaskDefinitionEntity entity) {
+        if (entity == null) {
+            return null;
+        }
+        return Rehydration.rehydrate(entity.getValidationVersion(), () -> toValidatedDomain(entity));
+    }
+
     @Mapping(target = "id", expression = "java(mapStringToDomainId(entity.getId()))")
     @Mapping(target = "taskInfo", expression = "java(mapToTaskInfo(entity))")
     @Mapping(target = "taskStatus", expression = "java(mapToTaskStatus(entity.getStatus()))")
@@ -39,7 +48,8 @@ public interface TaskDefinitionPersistenceMapper {
     @Mapping(target = "httpConfig", expression = "java(toHttpConfig(entity.getHttpConfig()))")
     @Mapping(target = "retryPolicy", expression = "java(toRetryPolicy(entity.getRetryPolicy()))")
     @Mapping(target = "audit", expression = "java(mapToAudit(entity))")
-    TaskDefinition toDomain(TaskDefinitionEntity entity);
+    @Mapping(target = "version", expression = "java(mapToVersion(entity.getVersion()))")
+    TaskDefinition toValidatedDomain(TaskDefinitionEntity entity);
 
     // HttpConfig to HttpConfigEntity
     @Mapping(target = "endpoint", source = "endpoint.url")
@@ -53,6 +63,38 @@ public interface TaskDefinitionPersistenceMapper {
         return id != null ? id.value().toString() : TaskDefinitionId.random().value().toString();
     }
 
+    // TaskDefinitionEntity (possibly projected) to TaskDefinitionSummary
+    default TaskDefinitionSummary toSummary(TaskDefinitionEntity entity) {
+        if (entity == null) {
+            return null;
+        }
+        return Rehydration.rehydrate(entity.getValidationVersion(), () -> toValidatedSummary(entity));
+    }
+
+    default TaskDefinitionSummary toValidatedSummary(TaskDefinitionEntity entity) {
+        var httpConfig = entity.getHttpConfig();
+        return TaskDefinitionSummary.builder()
+                .id(mapStringToDomainId(entity.getId()))
+                .taskInfo(mapToTaskInfo(entity))
+                .taskStatus(mapToTaskStatus(entity.getStatus()))
+                .metadata(entity.getMetadata())
+                .endpoint(httpConfig != null ? mapToEndpoint(httpConfig.getEndpoint()) : null)
+                .httpMethod(httpConfig != null && httpConfig.getHttpMethod() != null ? HttpMethod.fromString(httpConfig.getHttpMethod()) : null)
+                .timeoutSeconds(httpConfig != null ? httpConfig.getTimeoutSeconds() : null)
+                .audit(mapToAudit(entity))
+                .version(mapToVersion(entity.getVersion()))
+                .build();
+    }
+
+    // TaskDefinitionEntity (projected on its heavy sections) to TaskDefinitionDetails
+    default TaskDefinitionDetails toDetails(TaskDefinitionEntity entity) {
+        if (entity == null) {
+            return null;
+        }
+        return Rehydration.rehydrate(entity.getValidationVersion(),
+                () -> new TaskDefinitionDetails(toHttpConfig(entity.getHttpConfig()), toRetryPolicy(entity.getRetryPolicy())));
+    }
+
     default TaskDefinitionId mapStringToDomainId(String id) {
         return id != null ? TaskDefinitionId.of(id) : null;
     }
@@ -75,6 +117,11 @@ public interface TaskDefinitionPersistenceMapper {
         return new Audit(entity.getCreatedAt(), entity.getUpdatedAt());
     }
 
+    // Definitions stored before versioning are their own first version
+    default long mapToVersion(Long version) {
+        return version != null ? version : TaskDefinition.INITIAL_VERSION;
+    }
+
     default Endpoint mapToEndpoint(String url) {
         return url != null ? Endpoint.of(url) : null;
     }
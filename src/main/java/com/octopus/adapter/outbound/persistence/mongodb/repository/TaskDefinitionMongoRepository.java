@@ -1,27 +1,382 @@
 package com.octopus.adapter.outbound.persistence.mongodb.repository;
 
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Accumulators;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.IndexModel;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.Sorts;
+import com.octopus.adapter.outbound.persistence.mongodb.codec.ArchivedTaskDefinition;
+import com.octopus.adapter.outbound.persistence.mongodb.codec.TaskDefinitionCodec;
+import com.octopus.adapter.outbound.persistence.mongodb.codec.TaskDefinitionDetailsDecoder;
+import com.octopus.adapter.outbound.persistence.mongodb.codec.TaskDefinitionVersion;
 import com.octopus.adapter.outbound.persistence.mongodb.entity.TaskDefinitionEntity;
+import com.octopus.domain.entity.TaskDefinition;
+import com.octopus.domain.entity.WorkflowDefinition;
+import com.octopus.application.port.inbound.query.MetadataTagFilter;
 import com.octopus.domain.vo.TaskStatus;
 import io.quarkus.mongodb.panache.PanacheMongoRepositoryBase;
 import jakarta.enterprise.context.ApplicationScoped;
+import org.bson.Document;
+import org.bson.codecs.Codec;
+import org.bson.conversions.Bson;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static com.mongodb.client.model.Filters.*;
+import static com.octopus.adapter.outbound.persistence.mongodb.codec.TaskDefinitionCodec.METADATA_TAGS;
+import static com.octopus.adapter.outbound.persistence.mongodb.codec.TaskDefinitionCodec.TAG_KEY;
+import static com.octopus.adapter.outbound.persistence.mongodb.codec.TaskDefinitionCodec.TAG_VALUE;
+import static com.octopus.adapter.outbound.persistence.mongodb.codec.TaskDefinitionVersionCodec.PENDING_SINCE;
+import static com.mongodb.client.model.Projections.excludeId;
+import static com.mongodb.client.model.Projections.fields;
+import static com.mongodb.client.model.Projections.include;
+import static com.mongodb.client.model.Sorts.ascending;
+import static com.mongodb.client.model.Sorts.descending;
+import static java.util.Objects.nonNull;
 
 @ApplicationScoped
 public class TaskDefinitionMongoRepository implements PanacheMongoRepositoryBase<TaskDefinitionEntity, String> {
 
+    public static final String VERSIONS_COLLECTION = "task_definition_versions";
+    public static final String HEADS_COLLECTION = "task_definition_heads";
+    public static final String ARCHIVE_COLLECTION = "task_definitions_archive";
+    public static final String EXECUTION_STATS_COLLECTION = "task_execution_stats";
+    public static final String BLOCKS_COLLECTION = "task_definition_blocks";
+    public static final String WORKFLOWS_COLLECTION = "workflow_definitions";
+    public static final String MIGRATIONS_COLLECTION = "task_definition_migrations";
+
+    /**
+     * Marker of the metadata tag backfill in the migrations collection.
+     */
+    public static final String METADATA_TAGS_MIGRATION = "metadata_tags";
+
+    /**
+     * Count of the definitions and versions referencing a content block.
+     */
+    public static final String BLOCK_REFS = "refs";
+
+    /**
+     * How long daily execution statistics are kept.
+     */
+    public static final Duration EXECUTION_STATS_RETENTION = Duration.ofDays(35);
+
+    /**
+     * Statuses whose definitions are moved to the archive collection once old enough.
+     */
+    public static final List<String> ARCHIVABLE_STATUSES = List.of(TaskStatus.INACTIVE.name(), TaskStatus.DEPRECATED.name());
+
+    /**
+     * Scalar fields read by summary projections. Headers, payload template and retry policy are left on the server.
+     */
+    public static final Bson SUMMARY_PROJECTION = include(
+            "name", "category", "description", "status", "metadata",
+            "httpConfig.endpoint", "httpConfig.httpMethod", "httpConfig.timeoutSeconds",
+            "createdAt", "updatedAt", "version", "validationVersion");
+
+    /**
+     * Heavy sections read separately from the summary.
+     */
+    public static final Bson DETAILS_PROJECTION = include("validationVersion", "httpConfig", "retryPolicy");
+
+    public static final Bson KEYSET_SORT = ascending("category", "name", "_id");
+
+    /**
+     * Highest version first, so that a lookup of one name picks the same definition as a lookup of several names
+     * should the name ever have more than one active definition. Follows the {@code name_status_version} index.
+     */
+    public static final Bson ACTIVE_BY_NAME_SORT = descending("version");
+
+    /**
+     * Only the fields of the {@code name_status_version} index, so that existence checks are answered from the index alone.
+     */
+    public static final Bson ACTIVE_NAME_PROJECTION = fields(include("name", "status"), excludeId());
+
+    /**
+     * Only the name, for telling which of several names have an active definition.
+     */
+    public static final Bson ACTIVE_NAMES_PROJECTION = include("name");
+
+    /**
+     * Matches the versions whose event is still to be published, all of them in the {@code pending_name_version} index.
+     */
+    public static final Bson PENDING_EVENTS_FILTER = exists(PENDING_SINCE);
+
+    /**
+     * Order pending events are published in, the order of the {@code pending_name_version} index.
+     */
+    public static final Bson PENDING_EVENTS_SORT = ascending("name", "version");
+
+    /**
+     * Matches the blocks no longer referenced, all of them in the {@code unreferenced} index.
+     */
+    public static final Bson UNREFERENCED_BLOCKS_FILTER = lte(BLOCK_REFS, 0);
+
+    /**
+     * Immutable versions of the task definitions, keyed by {@code name@version}.
+     */
+    public MongoCollection<TaskDefinitionVersion> versionCollection() {
+        return mongoDatabase().getCollection(VERSIONS_COLLECTION, TaskDefinitionVersion.class);
+    }
+
+    /**
+     * One small pointer document per task name to its latest version, keyed by name.
+     */
+    public MongoCollection<Document> headCollection() {
+        return mongoDatabase().getCollection(HEADS_COLLECTION);
+    }
+
+    /**
+     * Non-active definitions moved out of the main collection, keyed by definition id.
+     */
+    public MongoCollection<ArchivedTaskDefinition> archiveCollection() {
+        return mongoDatabase().getCollection(ARCHIVE_COLLECTION, ArchivedTaskDefinition.class);
+    }
+
+    /**
+     * Execution statistics of the tasks, one document per task name and day.
+     */
+    public MongoCollection<Document> executionStatsCollection() {
+        return mongoDatabase().getCollection(EXECUTION_STATS_COLLECTION);
+    }
+
+    /**
+     * Content blocks shared by definitions and versions, keyed by hash.
+     */
+    public MongoCollection<Document> blocksCollection() {
+        return mongoDatabase().getCollection(BLOCKS_COLLECTION);
+    }
+
+    /**
+     * One marker document per data migration that completed, keyed by migration name.
+     */
+    public MongoCollection<Document> migrationCollection() {
+        return mongoDatabase().getCollection(MIGRATIONS_COLLECTION);
+    }
+
+    /**
+     * Workflow definitions, keyed by id and unique by name.
+     */
+    public MongoCollection<WorkflowDefinition> workflowCollection() {
+        return mongoDatabase().getCollection(WORKFLOWS_COLLECTION, WorkflowDefinition.class);
+    }
+
+    /**
+     * The registered task definition codec, for definitions read or written as raw documents.
+     */
+    public Codec<TaskDefinition> definitionCodec() {
+        return mongoCollection().getCodecRegistry().get(TaskDefinition.class);
+    }
+
+    /**
+     * Decoder of the documents read with {@link #DETAILS_PROJECTION}, sharing the registered task definition codec.
+     */
+    public TaskDefinitionDetailsDecoder detailsDecoder() {
+        return new TaskDefinitionDetailsDecoder((TaskDefinitionCodec) definitionCodec());
+    }
+
+    /**
+     * Matches the definitions that are due for archival: not active, and last modified before the cutoff.
+     * Re-applied when deleting archived definitions, so that one modified in between stays where it is.
+     */
+    public static Bson archivableFilter(Instant cutoff) {
+        return and(in("status", ARCHIVABLE_STATUSES), lt("updatedAt", cutoff));
+    }
+
+    /**
+     * Matches the active definition of a name.
+     */
+    public static Bson activeByName(String name) {
+        return and(eq("name", name), eq("status", TaskStatus.ACTIVE.name()));
+    }
+
+    /**
+     * Matches the active definitions of several names.
+     */
+    public static Bson activeByNames(Collection<String> names) {
+        return and(in("name", names), eq("status", TaskStatus.ACTIVE.name()));
+    }
+
+    /**
+     * Matches the daily execution statistics of a task from the day of {@code since} on.
+     */
+    public static Bson executionStatsSince(String name, Instant since) {
+        return and(eq("name", name), gte("day", Date.from(since.truncatedTo(ChronoUnit.DAYS))));
+    }
+
+    /**
+     * Aggregation reading the highest recorded version of each name from the {@code name_version} index: sorted by
+     * that index and grouped with {@code $first}, the group is answered by a distinct scan of it.
+     */
+    public static List<Bson> latestVersions(Collection<String> names) {
+        return List.of(
+                Aggregates.match(in("name", names)),
+                Aggregates.sort(Sorts.orderBy(ascending("name"), descending("version"))),
+                Aggregates.group("$name", Accumulators.first("version", "$version")));
+    }
+
     /**
      * Find a task by name where status is ACTIVE.
      */
     public Optional<TaskDefinitionEntity> findActiveByName(String name) {
-        return find("name = ?1 and status = ?2", name, TaskStatus.ACTIVE).firstResultOptional();
+        return Optional.ofNullable(mongoCollection().find(activeByName(name)).sort(ACTIVE_BY_NAME_SORT).first());
     }
 
     /**
-     * Check if an active task with the given name exists.
+     * Check if an active task with the given name exists, reading the {@code name_status_version} index only.
      */
     public boolean existsActiveByName(String name) {
-        return count("name = ?1 and status = ?2", name, TaskStatus.ACTIVE) > 0;
+        return mongoCollection().withDocumentClass(Document.class)
+                .find(activeByName(name))
+                .projection(ACTIVE_NAME_PROJECTION)
+                .limit(1)
+                .first() != null;
+    }
+
+    /**
+     * Find a task by id reading only the given projection.
+     */
+    public Optional<TaskDefinitionEntity> findProjectedById(String id, Bson projection) {
+        return Optional.ofNullable(mongoCollection().find(eq("_id", id)).projection(projection).first());
     }
-}
 
+    /**
+     * Find an active task by name reading only the given projection.
+     */
+    public Optional<TaskDefinitionEntity> findActiveProjectedByName(String name, Bson projection) {
+        return Optional.ofNullable(mongoCollection()
+                .find(activeByName(name))
+                .projection(projection)
+                .sort(ACTIVE_BY_NAME_SORT)
+                .first());
+    }
+
+    /**
+     * Find the active tasks of several names reading only the given projection.
+     */
+    public List<TaskDefinitionEntity> findActiveProjectedByNames(Collection<String> names, Bson projection) {
+        return mongoCollection()
+                .find(activeByNames(names))
+                .projection(projection)
+                .into(new ArrayList<>(names.size()));
+    }
+
+    /**
+     * Find a page of tasks ordered by {@code category, name, _id}, seeking past the given key instead of skipping.
+     * Fetches one extra document so callers can tell whether another page exists.
+     *
+     * @param filter   the listing filter, see {@link #listingFilter}
+     * @param limit    the page size
+     * @param summary  whether to read only the {@link #SUMMARY_PROJECTION} fields
+     */
+    public List<TaskDefinitionEntity> findPage(Bson filter, int limit, boolean summary) {
+        var query = mongoCollection().find(filter).sort(KEYSET_SORT).limit(limit + 1);
+        if (summary) query = query.projection(SUMMARY_PROJECTION);
+
+        return query.into(new ArrayList<>(limit + 1));
+    }
+
+    /**
+     * Builds the filter of a keyset-paginated listing. Every argument is optional.
+     */
+    public Bson listingFilter(String category, TaskStatus status, String metadataKey, MetadataTagFilter tags,
+                              String afterCategory, String afterName, String afterId) {
+        var filters = new ArrayList<Bson>();
+
+        if (nonNull(category)) filters.add(eq("category", category));
+        if (nonNull(status)) filters.add(eq("status", status.name()));
+        // a key is present when the tag array has an entry for it, which the metadata_tags index answers
+        if (nonNull(metadataKey)) filters.add(eq(METADATA_TAGS + "." + TAG_KEY, metadataKey));
+        if (nonNull(tags)) filters.add(tagFilter(tags));
+
+        if (nonNull(afterId)) {
+            filters.add(or(
+                    gt("category", afterCategory),
+                    and(eq("category", afterCategory), gt("name", afterName)),
+                    and(eq("category", afterCategory), eq("name", afterName), gt("_id", afterId))));
+        }
+
+        return filters.isEmpty() ? empty() : and(filters);
+    }
+
+    /**
+     * Matches tags against the {@code [{k, v}]} array written next to the metadata map, so that any key is served
+     * by the single {@code metadata_tags} multikey index.
+     */
+    private static Bson tagFilter(MetadataTagFilter tags) {
+        var matches = tags.tags().stream()
+                .map(tag -> elemMatch(METADATA_TAGS, and(eq(TAG_KEY, tag.key()), eq(TAG_VALUE, tag.value()))))
+                .toList();
+
+        if (matches.size() == 1) return matches.getFirst();
+        return tags.match() == MetadataTagFilter.Match.ALL ? and(matches) : or(matches);
+    }
+
+    /**
+     * Fills the tag array of documents written before it existed, unless a previous run completed. Finding the
+     * documents lacking it takes a collection scan, so once done the backfill leaves a marker in the migrations
+     * collection and later starts only read that marker.
+     *
+     * @return the number of documents updated
+     */
+    public long backfillMetadataTags() {
+        if (migrationCollection().find(eq("_id", METADATA_TAGS_MIGRATION)).first() != null) return 0;
+
+        var tags = new Document("$ifNull", List.of(new Document("$objectToArray", "$metadata"), List.of()));
+        var updated = mongoCollection()
+                .updateMany(exists(METADATA_TAGS, false), List.of(new Document("$set", new Document(METADATA_TAGS, tags))))
+                .getModifiedCount();
+
+        migrationCollection().replaceOne(eq("_id", METADATA_TAGS_MIGRATION),
+                new Document("_id", METADATA_TAGS_MIGRATION).append("completedAt", Instant.now()),
+                new ReplaceOptions().upsert(true));
+        return updated;
+    }
+
+    /**
+     * Creates the indexes backing the repository queries. Index creation is idempotent.
+     * Queries and the indexes they are expected to use are listed in {@code QueryPlanInspector}, which has to follow
+     * any change of either.
+     */
+    public void ensureIndexes() {
+        mongoCollection().createIndexes(List.of(
+                new IndexModel(Indexes.compoundIndex(Indexes.ascending("name", "status"), Indexes.descending("version")),
+                        new IndexOptions().name("name_status_version")),
+                new IndexModel(Indexes.ascending("category", "name", "_id"), new IndexOptions().name("category_name_id")),
+                new IndexModel(Indexes.ascending("status", "category", "name", "_id"), new IndexOptions().name("status_category_name_id")),
+                new IndexModel(Indexes.ascending("status", "updatedAt"), new IndexOptions().name("status_updated_at")),
+                new IndexModel(Indexes.ascending(METADATA_TAGS + "." + TAG_KEY, METADATA_TAGS + "." + TAG_VALUE, "category", "name", "_id"),
+                        new IndexOptions().name("metadata_tags"))
+        ));
+        // superseded by name_status_version, which also orders the versions of a name
+        if (mongoCollection().listIndexes().map(index -> index.getString("name")).into(new ArrayList<>()).contains("name_status")) {
+            mongoCollection().dropIndex("name_status");
+        }
+        versionCollection().createIndexes(List.of(
+                new IndexModel(Indexes.compoundIndex(Indexes.ascending("name"), Indexes.descending("version")),
+                        new IndexOptions().name("name_version")),
+                // only versions whose event is still to be published are indexed, so the index stays as small as the outbox
+                new IndexModel(Indexes.ascending("name", "version"),
+                        new IndexOptions().name("pending_name_version").partialFilterExpression(PENDING_EVENTS_FILTER))
+        ));
+        executionStatsCollection().createIndexes(List.of(
+                new IndexModel(Indexes.ascending("name", "day"), new IndexOptions().name("name_day")),
+                new IndexModel(Indexes.ascending("day"), new IndexOptions().name("day_ttl")
+                        .expireAfter(EXECUTION_STATS_RETENTION.toSeconds(), TimeUnit.SECONDS))
+        ));
+        workflowCollection().createIndex(Indexes.ascending("name"), new IndexOptions().name("name").unique(true));
+        // only blocks no longer referenced are indexed, the ones the collector deletes
+        blocksCollection().createIndex(Indexes.ascending(BLOCK_REFS),
+                new IndexOptions().name("unreferenced").partialFilterExpression(UNREFERENCED_BLOCKS_FILTER));
+    }
+}
@@ -0,0 +1,57 @@
+package com.octopus.adapter.outbound.persistence.peer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * Immutable consistent hash ring: each member takes a number of points on a 64-bit ring, and a key belongs to the
+ * member owning the first point at or after the hash of the key. Adding or removing a member only moves the keys
+ * between its points and their predecessors.
+ */
+final class ConsistentHashRing {
+
+    private final TreeMap<Long, String> points = new TreeMap<>();
+    private final List<String> members;
+
+    ConsistentHashRing(Collection<String> members, int virtualNodes) {
+        this.members = members.stream().distinct().sorted().toList();
+        for (var member : this.members) {
+            for (int i = 0; i < virtualNodes; i++) {
+                points.put(hash(member + "#" + i), member);
+            }
+        }
+    }
+
+    List<String> members() {
+        return members;
+    }
+
+    /**
+     * @return the member owning {@code key}, or {@code null} if the ring is empty
+     */
+    String ownerOf(String key) {
+        if (points.isEmpty()) return null;
+
+        var point = points.ceilingEntry(hash(key));
+        return (point != null ? point : points.firstEntry()).getValue();
+    }
+
+    /**
+     * FNV-1a over the UTF-8 bytes, followed by the MurmurHash3 finalizer so that similar keys land far apart.
+     */
+    static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
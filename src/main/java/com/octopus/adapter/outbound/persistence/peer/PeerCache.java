@@ -0,0 +1,277 @@
+package com.octopus.adapter.outbound.persistence.peer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.octopus.adapter.outbound.persistence.mongodb.entity.TaskDefinitionEntity;
+import com.octopus.adapter.outbound.persistence.mongodb.mapper.TaskDefinitionPersistenceMapper;
+import com.octopus.application.event.TaskDefinitionChangedEvent;
+import com.octopus.application.port.outbound.PeerCachePort;
+import com.octopus.domain.entity.TaskDefinition;
+import com.octopus.domain.exception.DomainValidationException;
+import com.octopus.domain.vo.TaskDefinitionId;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Cache of lookups shared by the registry replicas. Keys are spread over the replicas by consistent hashing: the
+ * owner of a key loads it from the database and keeps it until a write invalidates it, and the other replicas ask
+ * the owner on a miss, keeping a short-lived copy of its answer. Absent definitions are cached too. Invalidations of
+ * remote owners are sent without waiting for them: one that is lost leaves the owner stale for up to
+ * {@code owner-ttl}, which is why writes never read through this cache.
+ * <p>
+ * Values are kept encoded, as the JSON of {@link TaskDefinitionEntity} also sent between replicas, and decoded on
+ * every hit: definitions are mutable aggregates and callers must not share instances. Values received from a peer
+ * are validated in full before use, whatever validation version they claim, and kept re-encoded from the result.
+ * </p>
+ * When the owner does not answer, the lookup goes to the database and the owner is bypassed for a while, so an
+ * unreachable replica costs one timeout per {@code down-backoff} rather than one per lookup.
+ */
+@Slf4j
+@ApplicationScoped
+public class PeerCache implements PeerCachePort {
+
+    /**
+     * Set while this replica serves a lookup for a peer, so that the lookup is never forwarded again.
+     */
+    private static final ThreadLocal<Boolean> SERVING_PEER = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+    private record Entry(byte[] value, long expiresAt) {
+
+        boolean isFresh(long now) {
+            return expiresAt - now > 0;
+        }
+    }
+
+    private final PeerCacheConfig config;
+    private final PeerDirectory directory;
+    private final PeerCacheClient client;
+    private final ObjectMapper objectMapper;
+    private final TaskDefinitionPersistenceMapper mapper;
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    // bumped on every invalidation, so that a load racing with a write does not cache what it read before the write
+    private final AtomicLong generation = new AtomicLong();
+
+    private final Counter localHits;
+    private final Counter peerHits;
+    private final Counter peerErrors;
+    private final Counter misses;
+
+    public PeerCache(PeerCacheConfig config, PeerDirectory directory, PeerCacheClient client, ObjectMapper objectMapper,
+                     TaskDefinitionPersistenceMapper mapper, MeterRegistry registry) {
+        this.config = config;
+        this.directory = directory;
+        this.client = client;
+        this.objectMapper = objectMapper;
+        this.mapper = mapper;
+
+        this.localHits = requests(registry, "local_hit");
+        this.peerHits = requests(registry, "peer_hit");
+        this.peerErrors = requests(registry, "peer_error");
+        this.misses = requests(registry, "miss");
+        Gauge.builder("octopus.peer.cache.entries", entries, ConcurrentHashMap::size).register(registry);
+    }
+
+    private static Counter requests(MeterRegistry registry, String result) {
+        return Counter.builder("octopus.peer.cache.requests")
+                .description("Lookups through the peer cache")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return config.enabled();
+    }
+
+    @Override
+    public boolean authorizes(String token) {
+        var expected = config.token();
+        return expected.isPresent() && MessageDigest.isEqual(
+                expected.get().getBytes(StandardCharsets.UTF_8), token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public Optional<byte[]> serveName(String name, Supplier<Optional<TaskDefinition>> loader) {
+        return Optional.ofNullable(serve(nameKey(name), loader));
+    }
+
+    @Override
+    public Optional<byte[]> serveId(TaskDefinitionId id, Supplier<Optional<TaskDefinition>> loader) {
+        return Optional.ofNullable(serve(idKey(id), loader));
+    }
+
+    @Override
+    public void invalidateName(String name) {
+        invalidate(nameKey(name));
+    }
+
+    @Override
+    public void invalidateId(TaskDefinitionId id) {
+        invalidate(idKey(id));
+    }
+
+    public static String nameKey(String name) {
+        return "names/" + URLEncoder.encode(name, StandardCharsets.UTF_8);
+    }
+
+    public static String idKey(TaskDefinitionId id) {
+        return "ids/" + id.value();
+    }
+
+    /**
+     * Looks a key up locally, then on its owner, then with {@code loader}.
+     */
+    Optional<TaskDefinition> get(String key, Supplier<Optional<TaskDefinition>> loader) {
+        if (SERVING_PEER.get()) return loader.get();
+
+        var cached = entries.get(key);
+        if (cached != null && cached.isFresh(System.nanoTime())) {
+            localHits.increment();
+            return decode(cached.value());
+        }
+
+        var before = generation.get();
+        var owner = directory.ownerOf(key);
+        if (owner != null && !directory.isSelf(owner) && directory.isAvailable(owner)) {
+            try {
+                var received = decodeReceived(client.fetch(owner, key));
+                peerHits.increment();
+                store(key, encode(received), config.nearTtl(), before);
+                return received;
+            } catch (PeerCacheClient.Unavailable e) {
+                peerErrors.increment();
+                directory.markDown(owner);
+                log.debug("Peer {} could not serve '{}': {}", owner, key, e.getMessage());
+                return loader.get();
+            }
+        }
+
+        misses.increment();
+        var loaded = loader.get();
+        if (owner != null && directory.isSelf(owner)) store(key, encode(loaded), config.ownerTtl(), before);
+        return loaded;
+    }
+
+    /**
+     * Answers a lookup from a peer that considers this replica the owner of the key.
+     *
+     * @return the encoded definition, or {@code null} if there is none
+     */
+    byte[] serve(String key, Supplier<Optional<TaskDefinition>> loader) {
+        var cached = entries.get(key);
+        if (cached != null && cached.isFresh(System.nanoTime())) {
+            localHits.increment();
+            return cached.value();
+        }
+
+        misses.increment();
+        var before = generation.get();
+        Optional<TaskDefinition> loaded;
+        SERVING_PEER.set(Boolean.TRUE);
+        try {
+            loaded = loader.get();
+        } finally {
+            SERVING_PEER.remove();
+        }
+
+        var value = encode(loaded);
+        // while the membership is changing, peers may send keys this replica does not own and will not hear about
+        store(key, value, directory.isSelf(directory.ownerOf(key)) ? config.ownerTtl() : config.nearTtl(), before);
+        return value;
+    }
+
+    /**
+     * Drops a key from this replica.
+     */
+    void invalidate(String key) {
+        generation.incrementAndGet();
+        entries.remove(key);
+    }
+
+    void onChanged(@Observes TaskDefinitionChangedEvent event) {
+        if (!config.enabled()) return;
+
+        for (var key : List.of(nameKey(event.name()), idKey(event.definition().id()))) {
+            invalidate(key);
+
+            var owner = directory.ownerOf(key);
+            if (owner != null && !directory.isSelf(owner)) client.invalidate(owner, key);
+        }
+    }
+
+    private void store(String key, byte[] value, Duration ttl, long loadedAtGeneration) {
+        if (!ttl.isPositive()) return;
+        if (entries.size() >= config.maxEntries()) evict();
+
+        entries.put(key, new Entry(value, System.nanoTime() + ttl.toNanos()));
+        // an invalidation during the load may have missed the entry just stored
+        if (generation.get() != loadedAtGeneration) entries.remove(key);
+    }
+
+    /**
+     * Drops expired entries, then arbitrary ones until a tenth of the capacity is free.
+     */
+    private synchronized void evict() {
+        if (entries.size() < config.maxEntries()) return;
+
+        var now = System.nanoTime();
+        entries.values().removeIf(entry -> !entry.isFresh(now));
+
+        var target = config.maxEntries() - config.maxEntries() / 10;
+        var keys = entries.keySet().iterator();
+        while (entries.size() > target && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private byte[] encode(Optional<TaskDefinition> definition) {
+        if (definition.isEmpty()) return null;
+        try {
+            return objectMapper.writeValueAsBytes(mapper.toPersistence(definition.get()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not encode task definition " + definition.get().id(), e);
+        }
+    }
+
+    /**
+     * Decodes a value sent by a peer, validating it in full rather than trusting the validation version it carries.
+     *
+     * @throws PeerCacheClient.Unavailable if the value is not a valid definition
+     */
+    private Optional<TaskDefinition> decodeReceived(byte[] value) {
+        if (value == null) return Optional.empty();
+        try {
+            var entity = objectMapper.readValue(value, TaskDefinitionEntity.class);
+            entity.setValidationVersion(null);
+            return Optional.of(mapper.toDomain(entity));
+        } catch (IOException | DomainValidationException e) {
+            throw new PeerCacheClient.Unavailable("invalid definition received: " + e.getMessage());
+        }
+    }
+
+    private Optional<TaskDefinition> decode(byte[] value) {
+        if (value == null) return Optional.empty();
+        try {
+            return Optional.of(mapper.toDomain(objectMapper.readValue(value, TaskDefinitionEntity.class)));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not decode cached task definition", e);
+        }
+    }
+}
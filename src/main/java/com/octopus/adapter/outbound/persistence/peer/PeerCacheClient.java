@@ -0,0 +1,98 @@
+package com.octopus.adapter.outbound.persistence.peer;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * Calls the peer cache endpoints of the other replicas.
+ */
+@Slf4j
+@ApplicationScoped
+public class PeerCacheClient {
+
+    /**
+     * Path of the peer cache endpoints, followed by the key.
+     */
+    static final String BASE_PATH = "/api/internal/v1/peer-cache";
+
+    /**
+     * Header carrying the token replicas share.
+     */
+    static final String TOKEN_HEADER = "X-Peer-Cache-Token";
+
+    private final HttpClient client;
+    private final Duration timeout;
+    private final String token;
+
+    public PeerCacheClient(PeerCacheConfig config) {
+        if (config.enabled() && config.token().isEmpty()) {
+            throw new IllegalStateException("octopus.peer-cache.token must be set to the token replicas share");
+        }
+        this.token = config.token().orElse("");
+        this.timeout = config.requestTimeout();
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(timeout)
+                .build();
+    }
+
+    /**
+     * Asks the owner of a key for its value.
+     *
+     * @return the encoded definition, or {@code null} if there is none
+     * @throws Unavailable if the peer did not answer in time or could not serve the key
+     */
+    byte[] fetch(String peer, String key) {
+        var request = request(peer, key).GET().build();
+        try {
+            var response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            return switch (response.statusCode()) {
+                case 200 -> response.body();
+                case 404 -> null;
+                default -> throw new Unavailable("status " + response.statusCode());
+            };
+        } catch (IOException e) {
+            throw new Unavailable(e.toString());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new Unavailable("interrupted");
+        }
+    }
+
+    /**
+     * Tells the owner of a key to drop it, without waiting for the answer. A lost invalidation leaves the owner stale
+     * until its entry expires, so it is logged as a warning.
+     */
+    void invalidate(String peer, String key) {
+        var request = request(peer, key).DELETE().build();
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, failure) -> {
+                    if (failure != null || response.statusCode() >= 300) {
+                        log.warn("Could not invalidate '{}' on peer {}", key, peer);
+                    }
+                });
+    }
+
+    private HttpRequest.Builder request(String peer, String key) {
+        return HttpRequest.newBuilder(URI.create(peer + BASE_PATH + "/" + key))
+                .timeout(timeout)
+                .header(TOKEN_HEADER, token);
+    }
+
+    /**
+     * The peer could not serve a lookup. Expected whenever a replica restarts, so it carries no stack trace.
+     */
+    static final class Unavailable extends RuntimeException {
+
+        Unavailable(String reason) {
+            super(reason, null, false, false);
+        }
+    }
+}
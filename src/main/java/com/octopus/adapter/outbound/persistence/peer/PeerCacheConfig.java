@@ -0,0 +1,85 @@
+package com.octopus.adapter.outbound.persistence.peer;
+
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+@ConfigMapping(prefix = "octopus.peer-cache")
+public interface PeerCacheConfig {
+
+    /**
+     * Whether lookups by name and by id are cached across registry replicas, each replica owning a share of the keys.
+     */
+    @WithDefault("false")
+    boolean enabled();
+
+    /**
+     * Base URL of this replica as the other replicas reach it, such as {@code http://10.0.0.5:8080}. Required when
+     * the cache is enabled: the local host address is often not the one peers list or resolve, and a replica missing
+     * itself from the ring would forward the keys it owns.
+     */
+    Optional<String> self();
+
+    /**
+     * Token shared by the replicas, sent with every call to a peer and required from every caller. Required when the
+     * cache is enabled.
+     */
+    Optional<String> token();
+
+    /**
+     * Base URLs of all replicas, this one included. Takes precedence over {@link #dnsName()}.
+     */
+    Optional<List<String>> peers();
+
+    /**
+     * DNS name resolving to the addresses of all replicas, such as a Kubernetes headless service.
+     */
+    Optional<String> dnsName();
+
+    /**
+     * HTTP port of the replicas discovered through {@link #dnsName()}.
+     */
+    @WithDefault("8080")
+    int port();
+
+    /**
+     * Points each replica takes on the hash ring; more points spread keys more evenly.
+     */
+    @WithDefault("128")
+    int virtualNodes();
+
+    /**
+     * How long a call to the owning replica may take before the lookup goes to the database instead.
+     */
+    @WithDefault("100ms")
+    Duration requestTimeout();
+
+    /**
+     * How long a replica that failed to answer is bypassed before it is asked again.
+     */
+    @WithDefault("10s")
+    Duration downBackoff();
+
+    /**
+     * How long the owner of a key keeps it. Writes invalidate it earlier; this bounds staleness after writes whose
+     * invalidation was lost, such as bulk imports.
+     */
+    @WithDefault("5m")
+    Duration ownerTtl();
+
+    /**
+     * How long a replica keeps a copy of a key it got from the owner. Invalidations only reach the owner, so this is
+     * how stale such copies can get; zero disables them.
+     */
+    @WithDefault("5s")
+    Duration nearTtl();
+
+    /**
+     * Entries kept by one replica, owned keys and copies together.
+     */
+    @WithDefault("10000")
+    int maxEntries();
+}
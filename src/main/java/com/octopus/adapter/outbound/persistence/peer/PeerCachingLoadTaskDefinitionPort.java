@@ -0,0 +1,48 @@
+package com.octopus.adapter.outbound.persistence.peer;
+
+import com.octopus.application.port.outbound.LoadTaskDefinitionPort;
+import com.octopus.domain.entity.TaskDefinition;
+import com.octopus.domain.vo.TaskDefinitionId;
+import jakarta.annotation.Priority;
+import jakarta.decorator.Decorator;
+import jakarta.decorator.Delegate;
+import jakarta.inject.Inject;
+
+import java.util.Optional;
+
+/**
+ * Serves lookups of a definition by name or by id from the {@link PeerCache} shared by the registry replicas.
+ * <p>
+ * Sits outside the snapshot fallback and the coalescing layer, which only see the lookups that miss the peer cache.
+ * Every other call goes straight to the decorated port. Writes only read through {@link #loadForUpdate} and
+ * {@link #loadActiveNames}, so they never act on a cached definition, which may be stale for up to {@code owner-ttl}
+ * when an invalidation is lost.
+ * </p>
+ */
+@Decorator
+@Priority(200)
+public abstract class PeerCachingLoadTaskDefinitionPort implements LoadTaskDefinitionPort {
+
+    private final LoadTaskDefinitionPort delegate;
+    private final PeerCache cache;
+
+    @Inject
+    protected PeerCachingLoadTaskDefinitionPort(@Delegate LoadTaskDefinitionPort delegate, PeerCache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public Optional<TaskDefinition> loadById(TaskDefinitionId id) {
+        if (!cache.isEnabled()) return delegate.loadById(id);
+
+        return cache.get(PeerCache.idKey(id), () -> delegate.loadById(id));
+    }
+
+    @Override
+    public Optional<TaskDefinition> loadActiveByName(String name) {
+        if (!cache.isEnabled()) return delegate.loadActiveByName(name);
+
+        return cache.get(PeerCache.nameKey(name), () -> delegate.loadActiveByName(name));
+    }
+}
@@ -0,0 +1,106 @@
+package com.octopus.adapter.outbound.persistence.peer;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.runtime.StartupEvent;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Knows the registry replicas and which of them owns a key. Members come from the static peer list or from
+ * resolving the DNS name, refreshed periodically; replicas that failed to answer are bypassed for a while.
+ */
+@Slf4j
+@ApplicationScoped
+public class PeerDirectory {
+
+    private final PeerCacheConfig config;
+    private final String self;
+    private final ConcurrentHashMap<String, Long> downUntil = new ConcurrentHashMap<>();
+    private volatile ConsistentHashRing ring;
+
+    public PeerDirectory(PeerCacheConfig config, MeterRegistry registry) {
+        this.config = config;
+        if (config.enabled() && config.self().isEmpty()) {
+            throw new IllegalStateException("octopus.peer-cache.self must be set to the URL peers reach this replica at");
+        }
+        this.self = config.self().map(PeerDirectory::normalize).orElse("http://localhost:" + config.port());
+        this.ring = new ConsistentHashRing(List.of(self), config.virtualNodes());
+
+        Gauge.builder("octopus.peer.cache.peers", this, directory -> directory.ring.members().size())
+                .description("Registry replicas sharing the cache, this one included")
+                .register(registry);
+    }
+
+    void onStart(@Observes StartupEvent event) {
+        refresh();
+    }
+
+    @Scheduled(every = "${octopus.peer-cache.membership-refresh:30s}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void refresh() {
+        if (!config.enabled()) return;
+
+        var members = new ArrayList<String>();
+        members.add(self);
+        if (config.peers().isPresent()) {
+            config.peers().get().stream().map(PeerDirectory::normalize).forEach(members::add);
+        } else if (config.dnsName().isPresent()) {
+            try {
+                Arrays.stream(InetAddress.getAllByName(config.dnsName().get()))
+                        .map(address -> "http://" + address.getHostAddress() + ":" + config.port())
+                        .forEach(members::add);
+            } catch (UnknownHostException e) {
+                log.warn("Could not resolve registry peers from '{}', keeping {}: {}", config.dnsName().get(), ring.members(), e.getMessage());
+                return;
+            }
+        }
+
+        var updated = new ConsistentHashRing(members, config.virtualNodes());
+        if (!updated.members().equals(ring.members())) {
+            log.info("Registry peers are now {}", updated.members());
+            ring = updated;
+        }
+    }
+
+    /**
+     * @return the replica owning {@code key}
+     */
+    String ownerOf(String key) {
+        return ring.ownerOf(key);
+    }
+
+    boolean isSelf(String peer) {
+        return self.equals(peer);
+    }
+
+    /**
+     * @return whether {@code peer} is worth asking, i.e. it did not fail to answer recently
+     */
+    boolean isAvailable(String peer) {
+        var until = downUntil.get(peer);
+        if (until == null) return true;
+        if (System.nanoTime() - until < 0) return false;
+
+        downUntil.remove(peer, until);
+        return true;
+    }
+
+    void markDown(String peer) {
+        if (downUntil.put(peer, System.nanoTime() + config.downBackoff().toNanos()) == null) {
+            log.warn("Registry peer {} did not answer, reading from the database for {}", peer, config.downBackoff());
+        }
+    }
+
+    private static String normalize(String url) {
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+}
@@ -0,0 +1,72 @@
+package com.octopus.adapter.outbound.persistence.snapshot;
+
+import jakarta.enterprise.context.ApplicationScoped;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Circuit breaker guarding MongoDB reads. Both errors and calls slower than the configured threshold count
+ * as failures; after enough consecutive failures the breaker opens and callers use the snapshot instead.
+ * Once the open period elapses a single trial call is let through to decide whether to close again.
+ */
+@ApplicationScoped
+public class LatencyCircuitBreaker {
+
+    private static final long AWAITING_PROBE = Long.MAX_VALUE;
+
+    private final long slowCallThresholdNanos;
+    private final int failureThreshold;
+    private final long openDurationNanos;
+
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicBoolean trialInFlight = new AtomicBoolean();
+    private volatile long openUntilNanos = Long.MIN_VALUE;
+
+    public LatencyCircuitBreaker(SnapshotConfig config) {
+        this.slowCallThresholdNanos = config.slowCallThreshold().toNanos();
+        this.failureThreshold = config.failureThreshold();
+        this.openDurationNanos = config.openDuration().toNanos();
+    }
+
+    /**
+     * Opens the breaker until a call succeeds, so that a freshly started instance serves from its snapshot
+     * without waiting for the MongoDB client to connect.
+     */
+    public void openUntilFirstSuccess() {
+        openUntilNanos = AWAITING_PROBE;
+    }
+
+    public boolean isOpen() {
+        var openUntil = openUntilNanos;
+        return openUntil != Long.MIN_VALUE && (openUntil == AWAITING_PROBE || System.nanoTime() - openUntil < 0);
+    }
+
+    /**
+     * Whether a call may go to MongoDB. While open, only one trial call is allowed once the open period elapsed.
+     */
+    public boolean allowRequest() {
+        var openUntil = openUntilNanos;
+        if (openUntil == Long.MIN_VALUE) return true;
+        if (openUntil == AWAITING_PROBE || System.nanoTime() - openUntil < 0) return false;
+
+        return trialInFlight.compareAndSet(false, true);
+    }
+
+    public void recordCall(long elapsedNanos) {
+        if (elapsedNanos > slowCallThresholdNanos) {
+            recordFailure();
+            return;
+        }
+        consecutiveFailures.set(0);
+        openUntilNanos = Long.MIN_VALUE;
+        trialInFlight.set(false);
+    }
+
+    public void recordFailure() {
+        var wasTrial = trialInFlight.getAndSet(false);
+        if (consecutiveFailures.incrementAndGet() >= failureThreshold || wasTrial) {
+            openUntilNanos = System.nanoTime() + openDurationNanos;
+        }
+    }
+}
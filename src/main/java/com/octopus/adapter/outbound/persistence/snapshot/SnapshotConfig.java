@@ -0,0 +1,41 @@
+package com.octopus.adapter.outbound.persistence.snapshot;
+
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+
+import java.time.Duration;
+
+@ConfigMapping(prefix = "octopus.snapshot")
+public interface SnapshotConfig {
+
+    /**
+     * Whether the names of active definitions are snapshotted to disk and existence checks served from there when
+     * MongoDB is unavailable. Each refresh reads every active definition, so it is off by default.
+     */
+    @WithDefault("false")
+    boolean enabled();
+
+    /**
+     * Location of the snapshot file, relative to the working directory unless absolute.
+     */
+    @WithDefault("data/task-definitions.snapshot")
+    String path();
+
+    /**
+     * Calls to MongoDB slower than this count as failures for the circuit breaker.
+     */
+    @WithDefault("500ms")
+    Duration slowCallThreshold();
+
+    /**
+     * Consecutive failed or slow calls after which the circuit breaker opens.
+     */
+    @WithDefault("5")
+    int failureThreshold();
+
+    /**
+     * How long the circuit breaker stays open before letting a trial call through.
+     */
+    @WithDefault("30s")
+    Duration openDuration();
+}
@@ -0,0 +1,65 @@
+package com.octopus.adapter.outbound.persistence.snapshot;
+
+import com.octopus.application.context.ReadSourceContext;
+import com.octopus.application.port.outbound.LoadTaskDefinitionPort;
+import io.quarkus.arc.Arc;
+import jakarta.annotation.Priority;
+import jakarta.decorator.Decorator;
+import jakarta.decorator.Delegate;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Answers {@link #existsActiveByName} from the local snapshot when MongoDB fails, is slow, or has not been
+ * reached yet since startup. Every other call goes straight to the decorated port: the snapshot only holds the names
+ * and ids of active definitions, not enough to resolve them.
+ */
+@Slf4j
+@Decorator
+@Priority(400)
+public abstract class SnapshotFallbackLoadTaskDefinitionPort implements LoadTaskDefinitionPort {
+
+    private final LoadTaskDefinitionPort delegate;
+    private final TaskDefinitionSnapshotStore snapshotStore;
+    private final LatencyCircuitBreaker circuitBreaker;
+    private final ReadSourceContext readSourceContext;
+
+    @Inject
+    protected SnapshotFallbackLoadTaskDefinitionPort(@Delegate LoadTaskDefinitionPort delegate,
+                                                     TaskDefinitionSnapshotStore snapshotStore,
+                                                     LatencyCircuitBreaker circuitBreaker,
+                                                     ReadSourceContext readSourceContext) {
+        this.delegate = delegate;
+        this.snapshotStore = snapshotStore;
+        this.circuitBreaker = circuitBreaker;
+        this.readSourceContext = readSourceContext;
+    }
+
+    @Override
+    public boolean existsActiveByName(String name) {
+        if (!snapshotStore.isAvailable()) return delegate.existsActiveByName(name);
+
+        if (!circuitBreaker.allowRequest()) return existsInSnapshot(name);
+
+        var started = System.nanoTime();
+        try {
+            var exists = delegate.existsActiveByName(name);
+            circuitBreaker.recordCall(System.nanoTime() - started);
+            return exists;
+        } catch (RuntimeException e) {
+            circuitBreaker.recordFailure();
+            log.warn("MongoDB lookup of '{}' failed, answering from snapshot: {}", name, e.getMessage());
+            return existsInSnapshot(name);
+        }
+    }
+
+    private boolean existsInSnapshot(String name) {
+        var takenAt = snapshotStore.takenAt().orElseThrow();
+        if (Arc.container().requestContext().isActive()) {
+            readSourceContext.markServedFromSnapshot(takenAt);
+        }
+        log.debug("Served existence of '{}' from snapshot taken at {}", name, takenAt);
+
+        return snapshotStore.containsActive(name);
+    }
+}
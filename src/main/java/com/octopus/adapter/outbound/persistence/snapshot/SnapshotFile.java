@@ -0,0 +1,158 @@
+package com.octopus.adapter.outbound.persistence.snapshot;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.CRC32C;
+
+/**
+ * Compact, versioned, checksummed binary snapshot of the active task definitions, read through a memory mapping.
+ * <p>
+ * Layout (big endian):
+ * <pre>
+ * header  : magic(int) formatVersion(int) takenAtEpochMillis(long) entryCount(int)
+ * offsets : entryCount x int, absolute offset of each entry, entries sorted by name bytes
+ * entries : nameLength(short) name(UTF-8) idMostSigBits(long) idLeastSigBits(long)
+ * footer  : CRC32C of every preceding byte (int)
+ * </pre>
+ * Lookups binary-search the offset table directly in the mapped file, so opening a snapshot costs
+ * one checksum pass and no per-entry allocation.
+ * </p>
+ */
+final class SnapshotFile {
+
+    static final int MAGIC = 0x4F545253; // "OTRS"
+    static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 4 + 4 + 8 + 4;
+
+    record Entry(String name, UUID id) {
+    }
+
+    private record EncodedEntry(byte[] name, UUID id) {
+        int size() {
+            return 2 + name.length + 16;
+        }
+    }
+
+    private final MappedByteBuffer buffer;
+    private final Instant takenAt;
+    private final int entryCount;
+
+    private SnapshotFile(MappedByteBuffer buffer, Instant takenAt, int entryCount) {
+        this.buffer = buffer;
+        this.takenAt = takenAt;
+        this.entryCount = entryCount;
+    }
+
+    Instant takenAt() {
+        return takenAt;
+    }
+
+    int entryCount() {
+        return entryCount;
+    }
+
+    /**
+     * Writes a snapshot next to {@code target} and atomically renames it over {@code target}
+     * once its content is forced to disk.
+     */
+    static void write(Path target, Instant takenAt, List<Entry> entries) throws IOException {
+        var encoded = entries.stream()
+                .map(entry -> new EncodedEntry(entry.name().getBytes(StandardCharsets.UTF_8), entry.id()))
+                .sorted(Comparator.comparing(EncodedEntry::name, Arrays::compareUnsigned))
+                .toList();
+
+        var entriesSize = encoded.stream().mapToInt(EncodedEntry::size).sum();
+        var out = ByteBuffer.allocate(HEADER_SIZE + 4 * encoded.size() + entriesSize + 4);
+
+        out.putInt(MAGIC).putInt(FORMAT_VERSION).putLong(takenAt.toEpochMilli()).putInt(encoded.size());
+
+        var offset = HEADER_SIZE + 4 * encoded.size();
+        for (var entry : encoded) {
+            out.putInt(offset);
+            offset += entry.size();
+        }
+        for (var entry : encoded) {
+            out.putShort((short) entry.name().length)
+                    .put(entry.name())
+                    .putLong(entry.id().getMostSignificantBits())
+                    .putLong(entry.id().getLeastSignificantBits());
+        }
+
+        var crc = new CRC32C();
+        crc.update(out.array(), 0, out.position());
+        out.putInt((int) crc.getValue());
+        out.flip();
+
+        Files.createDirectories(target.toAbsolutePath().getParent());
+        var temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (var channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (out.hasRemaining()) channel.write(out);
+            channel.force(true);
+        }
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Maps a snapshot file and verifies its header and checksum.
+     *
+     * @throws IOException if the file cannot be read, has an unknown format or is corrupted
+     */
+    static SnapshotFile open(Path path) throws IOException {
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            var size = channel.size();
+            if (size < HEADER_SIZE + 4 || size > Integer.MAX_VALUE) throw new IOException("Invalid snapshot size " + size);
+
+            var buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+
+            if (buffer.getInt(0) != MAGIC) throw new IOException("Not a task definition snapshot: " + path);
+            var version = buffer.getInt(4);
+            if (version != FORMAT_VERSION) throw new IOException("Unsupported snapshot format version " + version);
+
+            var crc = new CRC32C();
+            crc.update(buffer.slice(0, (int) size - 4));
+            if ((int) crc.getValue() != buffer.getInt((int) size - 4)) throw new IOException("Snapshot checksum mismatch: " + path);
+
+            return new SnapshotFile(buffer, Instant.ofEpochMilli(buffer.getLong(8)), buffer.getInt(16));
+        }
+    }
+
+    /**
+     * Binary-searches the snapshot for a definition name.
+     */
+    boolean contains(String name) {
+        var target = name.getBytes(StandardCharsets.UTF_8);
+        int low = 0;
+        int high = entryCount - 1;
+
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = compareName(buffer.getInt(HEADER_SIZE + 4 * mid), target);
+            if (cmp < 0) low = mid + 1;
+            else if (cmp > 0) high = mid - 1;
+            else return true;
+        }
+        return false;
+    }
+
+    private int compareName(int entryOffset, byte[] target) {
+        int length = Short.toUnsignedInt(buffer.getShort(entryOffset));
+        int common = Math.min(length, target.length);
+        for (int i = 0; i < common; i++) {
+            int cmp = Byte.compareUnsigned(buffer.get(entryOffset + 2 + i), target[i]);
+            if (cmp != 0) return cmp;
+        }
+        return Integer.compare(length, target.length);
+    }
+}
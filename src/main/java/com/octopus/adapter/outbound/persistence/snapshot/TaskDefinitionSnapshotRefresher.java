@@ -0,0 +1,63 @@
+package com.octopus.adapter.outbound.persistence.snapshot;
+
+import com.octopus.application.port.inbound.query.PageCursor;
+import com.octopus.application.port.inbound.query.TaskDefinitionListCriteria;
+import com.octopus.application.port.outbound.LoadTaskDefinitionPort;
+import com.octopus.domain.vo.TaskStatus;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+
+/**
+ * Periodically rewrites the snapshot from the active definitions in MongoDB, paging through all of them, so the
+ * interval should grow with the registry. A successful refresh also acts as the probe that closes the circuit breaker
+ * after startup or an outage.
+ */
+@Slf4j
+@ApplicationScoped
+@RequiredArgsConstructor
+public class TaskDefinitionSnapshotRefresher {
+
+    private final SnapshotConfig config;
+    private final LoadTaskDefinitionPort loadTaskDefinitionPort;
+    private final TaskDefinitionSnapshotStore snapshotStore;
+    private final LatencyCircuitBreaker circuitBreaker;
+
+    @Scheduled(every = "${octopus.snapshot.refresh-interval:10m}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void refresh() {
+        if (!config.enabled()) return;
+
+        var takenAt = Instant.now();
+        var entries = new ArrayList<SnapshotFile.Entry>();
+        try {
+            PageCursor after = null;
+            do {
+                var started = System.nanoTime();
+                var page = loadTaskDefinitionPort.loadSummaryPage(TaskDefinitionListCriteria.builder()
+                        .status(TaskStatus.ACTIVE)
+                        .after(after)
+                        .limit(TaskDefinitionListCriteria.MAX_LIMIT)
+                        .build());
+                circuitBreaker.recordCall(System.nanoTime() - started);
+
+                page.items().forEach(summary -> entries.add(new SnapshotFile.Entry(summary.taskInfo().name(), summary.id().value())));
+                after = page.nextCursor();
+            } while (after != null);
+        } catch (RuntimeException e) {
+            circuitBreaker.recordFailure();
+            log.warn("Could not read active task definitions for the snapshot: {}", e.getMessage());
+            return;
+        }
+
+        try {
+            snapshotStore.replace(takenAt, entries);
+        } catch (IOException e) {
+            log.error("Could not write task definition snapshot", e);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.octopus.adapter.outbound.persistence.snapshot;
+
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Owns the on-disk snapshot of active task definitions: opens it at startup, before anything touches MongoDB,
+ * and swaps in each newly written snapshot.
+ */
+@Slf4j
+@ApplicationScoped
+@RequiredArgsConstructor
+public class TaskDefinitionSnapshotStore {
+
+    private final SnapshotConfig config;
+    private final LatencyCircuitBreaker circuitBreaker;
+
+    private volatile SnapshotFile current;
+
+    void onStart(@Observes StartupEvent event) {
+        if (!config.enabled()) return;
+
+        var path = Path.of(config.path());
+        if (!Files.exists(path)) {
+            log.info("No task definition snapshot at {}, MongoDB will be used from the first request", path);
+            return;
+        }
+
+        try {
+            current = SnapshotFile.open(path);
+            circuitBreaker.openUntilFirstSuccess();
+            log.info("Opened task definition snapshot with {} entries taken at {}", current.entryCount(), current.takenAt());
+        } catch (IOException e) {
+            log.error("Ignoring unreadable task definition snapshot at {}", path, e);
+        }
+    }
+
+    public boolean isAvailable() {
+        return config.enabled() && current != null;
+    }
+
+    /**
+     * @return the snapshot time, empty if no snapshot is available
+     */
+    public Optional<Instant> takenAt() {
+        var snapshot = current;
+        return snapshot != null ? Optional.of(snapshot.takenAt()) : Optional.empty();
+    }
+
+    public boolean containsActive(String name) {
+        var snapshot = current;
+        if (snapshot == null) throw new IllegalStateException("No task definition snapshot available");
+
+        return snapshot.contains(name);
+    }
+
+    /**
+     * Atomically replaces the snapshot on disk and starts serving it.
+     */
+    public void replace(Instant takenAt, List<SnapshotFile.Entry> entries) throws IOException {
+        var path = Path.of(config.path());
+
+        SnapshotFile.write(path, takenAt, entries);
+        current = SnapshotFile.open(path);
+
+        log.debug("Wrote task definition snapshot with {} entries", entries.size());
+    }
+}
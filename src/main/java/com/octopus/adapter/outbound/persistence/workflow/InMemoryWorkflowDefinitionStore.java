@@ -0,0 +1,39 @@
+package com.octopus.adapter.outbound.persistence.workflow;
+
+import com.octopus.application.port.outbound.LoadWorkflowDefinitionPort;
+import com.octopus.application.port.outbound.SaveWorkflowDefinitionPort;
+import com.octopus.domain.entity.WorkflowDefinition;
+import com.octopus.domain.exception.DomainBusinessRuleException;
+import io.quarkus.arc.DefaultBean;
+import jakarta.enterprise.context.ApplicationScoped;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps workflow definitions in memory, since startup, when the persistence adapter does not store them.
+ */
+@DefaultBean
+@ApplicationScoped
+public class InMemoryWorkflowDefinitionStore implements LoadWorkflowDefinitionPort, SaveWorkflowDefinitionPort {
+
+    private final ConcurrentHashMap<String, WorkflowDefinition> workflows = new ConcurrentHashMap<>();
+
+    @Override
+    public Optional<WorkflowDefinition> loadByName(String name) {
+        return Optional.ofNullable(workflows.get(name));
+    }
+
+    @Override
+    public boolean existsByName(String name) {
+        return workflows.containsKey(name);
+    }
+
+    @Override
+    public WorkflowDefinition save(WorkflowDefinition workflowDefinition) {
+        if (workflows.putIfAbsent(workflowDefinition.name(), workflowDefinition) != null) {
+            throw new DomainBusinessRuleException("A workflow definition named '" + workflowDefinition.name() + "' already exists");
+        }
+        return workflowDefinition;
+    }
+}
@@ -0,0 +1,30 @@
+package com.octopus.adapter.outbound.search;
+
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+
+import java.time.Duration;
+
+@ConfigMapping(prefix = "octopus.search")
+public interface SearchConfig {
+
+    /**
+     * Whether the search index is rebuilt from the persisted definitions when the application starts.
+     * Without it, only definitions saved since startup can be found.
+     */
+    @WithDefault("true")
+    boolean rebuildOnStartup();
+
+    /**
+     * How often the index is rebuilt from the persisted definitions, to pick up changes made through other replicas
+     * or by bulk imports, and drop names no longer listed.
+     */
+    @WithDefault("10m")
+    Duration rebuildInterval();
+
+    /**
+     * Maximum number of indexed words a prefix of the last search word expands to.
+     */
+    @WithDefault("32")
+    int maxPrefixExpansions();
+}
@@ -0,0 +1,227 @@
+package com.octopus.adapter.outbound.search;
+
+import com.octopus.application.event.TaskDefinitionChangedEvent;
+import com.octopus.application.port.inbound.query.PageCursor;
+import com.octopus.application.port.inbound.query.TaskDefinitionListCriteria;
+import com.octopus.application.port.inbound.query.TaskDefinitionSearchHit;
+import com.octopus.application.port.outbound.LoadTaskDefinitionPort;
+import com.octopus.application.port.outbound.SearchTaskDefinitionPort;
+import com.octopus.domain.vo.TaskDefinitionId;
+import com.octopus.domain.vo.TaskDefinitionSummary;
+import com.octopus.domain.vo.TaskStatus;
+import io.quarkus.runtime.StartupEvent;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+import static java.util.Objects.nonNull;
+
+/**
+ * In-process search index over task names, categories and descriptions, serving search-as-you-type without
+ * querying the database.
+ * <p>
+ * Names are kept in a sorted map keyed by their lower-case form, so a prefix lookup is a single seek followed by a
+ * scan of the matching names. Words of names, categories and descriptions go to an inverted index of weighted
+ * postings, ranked at query time by weight and inverse document frequency. Only the latest version of each name is
+ * indexed. The index is filled from the persisted definitions at startup and follows the saves of this replica.
+ * Changes made through other replicas or by bulk imports are picked up by a periodic rebuild, which also drops names
+ * no longer listed, e.g. archived ones.
+ * </p>
+ */
+@Slf4j
+@ApplicationScoped
+@RequiredArgsConstructor
+public class TaskDefinitionSearchIndex implements SearchTaskDefinitionPort {
+
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+    private static final float NAME_WEIGHT = 3f;
+    private static final float CATEGORY_WEIGHT = 2f;
+    private static final float DESCRIPTION_WEIGHT = 1f;
+    /**
+     * Words only reached through a prefix of the last search word count less than words typed in full.
+     */
+    private static final float PREFIX_MATCH_FACTOR = 0.5f;
+    private static final char NAME_KEY_SEPARATOR = '\u0000';
+
+    /**
+     * @param indexedAt {@link System#nanoTime()} when the entry was indexed, so a rebuild keeps the entries indexed
+     *                  while it ran even if its listing missed them
+     */
+    private record Entry(TaskDefinitionId id, String name, String category, String description, TaskStatus status,
+                         long version, Map<String, Float> words, long indexedAt) {
+
+        TaskDefinitionSearchHit toHit(double score) {
+            return new TaskDefinitionSearchHit(id, name, category, description, status, version, score);
+        }
+    }
+
+    private final SearchConfig config;
+    private final LoadTaskDefinitionPort loadTaskDefinitionPort;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<String, Entry> names = new ConcurrentSkipListMap<>();
+    /**
+     * Word to the weight of that word in each indexed name; also sorted, to expand word prefixes.
+     */
+    private final ConcurrentSkipListMap<String, Map<String, Float>> postings = new ConcurrentSkipListMap<>();
+
+    void onStart(@Observes StartupEvent event) {
+        if (config.rebuildOnStartup()) Thread.ofVirtual().name("search-index-rebuild").start(this::rebuild);
+    }
+
+    void onChanged(@Observes TaskDefinitionChangedEvent event) {
+        index(event.definition().toSummary());
+    }
+
+    @Override
+    public List<TaskDefinitionSearchHit> findByNamePrefix(String prefix, int limit) {
+        var key = prefix.toLowerCase(Locale.ROOT);
+        var hits = new ArrayList<TaskDefinitionSearchHit>(limit);
+
+        for (var entry : names.tailMap(key, true).entrySet()) {
+            if (hits.size() == limit || !entry.getKey().startsWith(key)) break;
+            hits.add(entry.getValue().toHit(0));
+        }
+        return hits;
+    }
+
+    @Override
+    public List<TaskDefinitionSearchHit> findByText(String text, int limit) {
+        var words = words(text);
+        if (words.isEmpty()) return List.of();
+
+        var scores = new HashMap<String, Double>();
+        for (int i = 0; i < words.size(); i++) {
+            var word = words.get(i);
+            score(word, 1f, scores);
+
+            if (i == words.size() - 1) {
+                int expansions = 0;
+                for (var longer : postings.tailMap(word, false).keySet()) {
+                    if (expansions++ == config.maxPrefixExpansions() || !longer.startsWith(word)) break;
+                    score(longer, PREFIX_MATCH_FACTOR, scores);
+                }
+            }
+        }
+
+        return scores.entrySet().stream()
+                .sorted(Map.Entry.<String, Double>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .limit(limit)
+                .map(scored -> {
+                    var entry = entries.get(scored.getKey());
+                    return entry != null ? entry.toHit(scored.getValue()) : null;
+                })
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /**
+     * Replaces the indexed version of a name, unless a newer version is indexed already.
+     */
+    synchronized void index(TaskDefinitionSummary summary) {
+        var name = summary.taskInfo().name();
+        var previous = entries.get(name);
+        if (previous != null && previous.version() > summary.version()) return;
+
+        var words = new HashMap<String, Float>();
+        addWords(words, name, NAME_WEIGHT);
+        addWords(words, summary.taskInfo().category(), CATEGORY_WEIGHT);
+        addWords(words, summary.taskInfo().description(), DESCRIPTION_WEIGHT);
+
+        var entry = new Entry(summary.id(), name, summary.taskInfo().category(), summary.taskInfo().description(),
+                summary.taskStatus(), summary.version(), Map.copyOf(words), System.nanoTime());
+
+        if (previous != null) removePostings(previous);
+        entries.put(name, entry);
+        names.put(nameKey(name), entry);
+        words.forEach((word, weight) -> postings.computeIfAbsent(word, w -> new ConcurrentHashMap<>()).put(name, weight));
+    }
+
+    /**
+     * Removes the entry of a name, unless it was replaced in the meantime.
+     */
+    private synchronized void remove(Entry entry) {
+        if (entries.remove(entry.name(), entry)) removePostings(entry);
+    }
+
+    @Scheduled(every = "${octopus.search.rebuild-interval:10m}", delayed = "${octopus.search.rebuild-interval:10m}",
+            concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void rebuildPeriodically() {
+        rebuild();
+    }
+
+    private void rebuild() {
+        var started = System.nanoTime();
+        try {
+            var listed = new HashSet<String>();
+            PageCursor after = null;
+            do {
+                var page = loadTaskDefinitionPort.loadSummaryPage(TaskDefinitionListCriteria.builder()
+                        .after(after)
+                        .limit(TaskDefinitionListCriteria.MAX_LIMIT)
+                        .build());
+                page.items().forEach(summary -> {
+                    listed.add(summary.taskInfo().name());
+                    index(summary);
+                });
+                after = page.nextCursor();
+            } while (after != null);
+
+            entries.values().stream()
+                    .filter(entry -> !listed.contains(entry.name()) && entry.indexedAt() - started < 0)
+                    .toList()
+                    .forEach(this::remove);
+
+            log.info("Search index rebuilt with {} task names in {} ms", entries.size(), (System.nanoTime() - started) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.error("Could not rebuild the search index, it only follows the saves of this replica until the next rebuild", e);
+        }
+    }
+
+    private void score(String word, float factor, Map<String, Double> scores) {
+        var posting = postings.get(word);
+        if (posting == null || posting.isEmpty()) return;
+
+        var idf = Math.log(1 + (double) entries.size() / posting.size());
+        posting.forEach((name, weight) -> scores.merge(name, factor * weight * idf, Double::sum));
+    }
+
+    private void removePostings(Entry entry) {
+        names.remove(nameKey(entry.name()));
+        entry.words().keySet().forEach(word -> postings.computeIfPresent(word, (w, posting) -> {
+            posting.remove(entry.name());
+            return posting.isEmpty() ? null : posting;
+        }));
+    }
+
+    private static void addWords(Map<String, Float> words, String text, float weight) {
+        if (nonNull(text)) words(text).forEach(word -> words.merge(word, weight, Float::sum));
+    }
+
+    static List<String> words(String text) {
+        return WORD_SEPARATOR.splitAsStream(text.toLowerCase(Locale.ROOT))
+                .filter(word -> !word.isEmpty())
+                .toList();
+    }
+
+    /**
+     * Lower-case name first, for case-insensitive prefix seeks, then the name itself to keep names differing
+     * only by case apart.
+     */
+    private static String nameKey(String name) {
+        return name.toLowerCase(Locale.ROOT) + NAME_KEY_SEPARATOR + name;
+    }
+}
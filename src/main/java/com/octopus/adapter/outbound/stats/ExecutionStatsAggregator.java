@@ -0,0 +1,115 @@
+package com.octopus.adapter.outbound.stats;
+
+import com.octopus.application.port.outbound.RecordTaskExecutionPort;
+import com.octopus.application.port.outbound.TaskExecutionStatsPort;
+import com.octopus.domain.vo.TaskExecutionStats;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Aggregates reported executions in memory, one {@link TaskExecutionAccumulator} per task name, and periodically
+ * merges what was recorded since the previous flush into the stored statistics in one batch. Counts that fail to be
+ * stored, all of them or only some tasks', are kept for the next flush.
+ */
+@Slf4j
+@ApplicationScoped
+public class ExecutionStatsAggregator implements RecordTaskExecutionPort {
+
+    private final ExecutionStatsConfig config;
+    private final TaskExecutionStatsPort statsPort;
+    private final ConcurrentHashMap<String, TaskExecutionAccumulator> accumulators = new ConcurrentHashMap<>();
+
+    private final LongAdder recorded = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final Timer flushTime;
+
+    public ExecutionStatsAggregator(ExecutionStatsConfig config, TaskExecutionStatsPort statsPort, MeterRegistry registry) {
+        this.config = config;
+        this.statsPort = statsPort;
+
+        FunctionCounter.builder("octopus.execution.stats.recorded", recorded, LongAdder::sum)
+                .description("Task executions aggregated")
+                .register(registry);
+        FunctionCounter.builder("octopus.execution.stats.dropped", dropped, LongAdder::sum)
+                .description("Task executions dropped because too many task names were being tracked")
+                .register(registry);
+        Gauge.builder("octopus.execution.stats.tasks", accumulators, ConcurrentHashMap::size)
+                .description("Task names being aggregated")
+                .register(registry);
+        this.flushTime = Timer.builder("octopus.execution.stats.flush")
+                .description("Time taken to store the executions aggregated over an interval")
+                .register(registry);
+    }
+
+    @Override
+    public boolean record(String taskName, long latencyMillis, int httpStatus, int attempt) {
+        if (!config.enabled()) return false;
+
+        // an accumulator retired by a concurrent flush is about to be removed: look the name up again
+        while (true) {
+            var accumulator = accumulators.get(taskName);
+            if (accumulator == null) {
+                if (accumulators.size() >= config.maxTasks()) {
+                    dropped.increment();
+                    return false;
+                }
+                accumulator = accumulators.computeIfAbsent(taskName, TaskExecutionAccumulator::new);
+            }
+            if (accumulator.record(latencyMillis, httpStatus, attempt)) {
+                recorded.increment();
+                return true;
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    @Scheduled(every = "${octopus.execution-stats.flush-interval:10s}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void flush() {
+        var deltas = new ArrayList<TaskExecutionStats>();
+        for (var entry : accumulators.entrySet()) {
+            var delta = entry.getValue().drain();
+            if (delta != null) {
+                deltas.add(delta);
+            } else if (entry.getValue().retire()) {
+                // idle since the previous flush: forget it, keeping whatever a report added before it was retired
+                accumulators.remove(entry.getKey(), entry.getValue());
+                var late = entry.getValue().drain();
+                if (late != null) deltas.add(late);
+            }
+        }
+        if (deltas.isEmpty()) return;
+
+        try {
+            var failed = flushTime.record(() -> statsPort.merge(deltas));
+            if (failed.isEmpty()) {
+                log.debug("Stored execution statistics of {} tasks", deltas.size());
+            } else {
+                log.warn("Could not store execution statistics of {} of {} tasks, keeping them for the next flush", failed.size(), deltas.size());
+                restore(failed);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not store execution statistics of {} tasks, keeping them for the next flush: {}", deltas.size(), e.getMessage());
+            restore(deltas);
+        }
+    }
+
+    private void restore(Collection<TaskExecutionStats> deltas) {
+        deltas.forEach(delta -> accumulators.computeIfAbsent(delta.name(), TaskExecutionAccumulator::new).restore(delta));
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        flush();
+    }
+}
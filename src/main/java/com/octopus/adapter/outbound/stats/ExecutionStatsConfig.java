@@ -0,0 +1,21 @@
+package com.octopus.adapter.outbound.stats;
+
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+
+@ConfigMapping(prefix = "octopus.execution-stats")
+public interface ExecutionStatsConfig {
+
+    /**
+     * Whether execution reports are aggregated; when disabled they are accepted and dropped.
+     */
+    @WithDefault("true")
+    boolean enabled();
+
+    /**
+     * Distinct task names aggregated between two flushes at most. Reports of further names are dropped until the
+     * next flush, so a caller sending random names cannot exhaust memory: each name holds a few kilobytes of counters.
+     */
+    @WithDefault("10000")
+    int maxTasks();
+}
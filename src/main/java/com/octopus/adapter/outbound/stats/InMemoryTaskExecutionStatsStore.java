@@ -0,0 +1,34 @@
+package com.octopus.adapter.outbound.stats;
+
+import com.octopus.application.port.outbound.TaskExecutionStatsPort;
+import com.octopus.domain.vo.TaskExecutionStats;
+import io.quarkus.arc.DefaultBean;
+import jakarta.enterprise.context.ApplicationScoped;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps execution statistics in memory, since startup, when the persistence adapter does not store them.
+ * The period asked for is ignored.
+ */
+@DefaultBean
+@ApplicationScoped
+public class InMemoryTaskExecutionStatsStore implements TaskExecutionStatsPort {
+
+    private final ConcurrentHashMap<String, TaskExecutionStats> stats = new ConcurrentHashMap<>();
+
+    @Override
+    public Collection<TaskExecutionStats> merge(Collection<TaskExecutionStats> deltas) {
+        deltas.forEach(delta -> stats.merge(delta.name(), delta, TaskExecutionStats::merge));
+        return List.of();
+    }
+
+    @Override
+    public Optional<TaskExecutionStats> load(String name, Instant since) {
+        return Optional.ofNullable(stats.get(name));
+    }
+}
@@ -0,0 +1,121 @@
+package com.octopus.adapter.outbound.stats;
+
+import com.octopus.domain.vo.LatencyDistribution;
+import com.octopus.domain.vo.RetryPolicy;
+import com.octopus.domain.vo.TaskExecutionStats;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Executions of one task counted since the last flush. Recording is a few atomic increments, without locks; the
+ * execution count is striped, as every report touches it, while the bucket counters spread over many slots already.
+ * A task only ever returns a handful of status codes, so their counters are created on the first report of each
+ * code rather than preallocated for the whole range; they are kept afterwards, so later reports allocate nothing.
+ * <p>
+ * An idle accumulator can be {@link #retire retired}: it then refuses reports, so that none is counted after its
+ * last drain.
+ * </p>
+ */
+final class TaskExecutionAccumulator {
+
+    private static final int ATTEMPTS = RetryPolicy.MAX_ATTEMPTS_LIMIT + 2;
+    private static final int RETIRED = Integer.MIN_VALUE;
+
+    private final String name;
+    private final LongAdder executions = new LongAdder();
+    private final AtomicLongArray latency = new AtomicLongArray(LatencyDistribution.BUCKETS);
+    private final ConcurrentHashMap<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+    private final AtomicLongArray attempts = new AtomicLongArray(ATTEMPTS);
+
+    // reports in progress, or RETIRED once no report may start any more
+    private final AtomicInteger writers = new AtomicInteger();
+
+    TaskExecutionAccumulator(String name) {
+        this.name = name;
+    }
+
+    /**
+     * @return {@code false} if the accumulator was retired and nothing was recorded
+     */
+    boolean record(long latencyMillis, int httpStatus, int attempt) {
+        if (writers.incrementAndGet() < 0) {
+            writers.decrementAndGet();
+            return false;
+        }
+        try {
+            executions.increment();
+            latency.incrementAndGet(LatencyDistribution.bucketOf(latencyMillis));
+            status(httpStatus).increment();
+            attempts.incrementAndGet(attempt);
+            return true;
+        } finally {
+            writers.decrementAndGet();
+        }
+    }
+
+    /**
+     * Stops accepting reports, provided none is in progress. Whatever was recorded before is left for a final
+     * {@link #drain}.
+     *
+     * @return whether the accumulator is now retired
+     */
+    boolean retire() {
+        return writers.compareAndSet(0, RETIRED);
+    }
+
+    /**
+     * Takes the counts recorded so far, leaving the counters at zero. Executions recorded concurrently are either
+     * taken or left for the next drain, never lost.
+     *
+     * @return the counts taken, or {@code null} if nothing was recorded
+     */
+    TaskExecutionStats drain() {
+        var count = executions.sumThenReset();
+        if (count == 0) return null;
+
+        var latencyCounts = new long[LatencyDistribution.BUCKETS];
+        for (int i = 0; i < latencyCounts.length; i++) latencyCounts[i] = latency.getAndSet(i, 0);
+
+        var statusCounts = new HashMap<Integer, Long>();
+        statuses.forEach((status, counter) -> {
+            var statusCount = counter.sumThenReset();
+            if (statusCount > 0) statusCounts.put(status, statusCount);
+        });
+
+        return new TaskExecutionStats(name, count, new LatencyDistribution(latencyCounts), statusCounts, drain(attempts));
+    }
+
+    /**
+     * Adds back counts that were drained but could not be stored.
+     */
+    void restore(TaskExecutionStats stats) {
+        executions.add(stats.executions());
+        var counts = stats.latency().counts();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0) latency.addAndGet(i, counts[i]);
+        }
+        stats.statusCounts().forEach((status, count) -> status(status).add(count));
+        stats.attemptCounts().forEach((attempt, count) -> attempts.addAndGet(attempt, count));
+    }
+
+    private LongAdder status(int httpStatus) {
+        var counter = statuses.get(httpStatus);
+        return counter != null ? counter : statuses.computeIfAbsent(httpStatus, status -> new LongAdder());
+    }
+
+    private static Map<Integer, Long> drain(AtomicLongArray counters) {
+        var counts = new HashMap<Integer, Long>();
+        for (int i = 0; i < counters.length(); i++) {
+            if (counters.get(i) == 0) continue;
+
+            var count = counters.getAndSet(i, 0);
+            if (count > 0) counts.put(i, count);
+        }
+        return counts;
+    }
+}
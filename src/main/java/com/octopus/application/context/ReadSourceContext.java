@@ -0,0 +1,30 @@
+package com.octopus.application.context;
+
+import jakarta.enterprise.context.RequestScoped;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Records, for the current request, whether data was served from a local snapshot instead of the
+ * primary store, so inbound adapters can tell clients how stale their answer may be.
+ */
+@RequestScoped
+public class ReadSourceContext {
+
+    private Instant snapshotTakenAt;
+
+    public void markServedFromSnapshot(Instant takenAt) {
+        this.snapshotTakenAt = takenAt;
+    }
+
+    /**
+     * @return the age of the snapshot the current request was served from, empty if it was served from the primary store
+     */
+    public Optional<Duration> snapshotAge() {
+        if (snapshotTakenAt == null) return Optional.empty();
+
+        return Optional.of(Duration.between(snapshotTakenAt, Instant.now()));
+    }
+}
@@ -0,0 +1,47 @@
+package com.octopus.application.event;
+
+import com.octopus.application.port.outbound.SaveTaskDefinitionPort;
+import com.octopus.domain.entity.TaskDefinition;
+import jakarta.annotation.Priority;
+import jakarta.decorator.Decorator;
+import jakarta.decorator.Delegate;
+import jakarta.enterprise.event.Event;
+import jakarta.inject.Inject;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fires a {@link TaskDefinitionChangedEvent} after every successful save, single or in bulk, whichever persistence
+ * adapter is in use.
+ */
+@Decorator
+@Priority(100)
+public abstract class ChangePublishingSaveTaskDefinitionPort implements SaveTaskDefinitionPort {
+
+    private final SaveTaskDefinitionPort delegate;
+    private final Event<TaskDefinitionChangedEvent> changed;
+
+    @Inject
+    protected ChangePublishingSaveTaskDefinitionPort(@Delegate SaveTaskDefinitionPort delegate,
+                                                     Event<TaskDefinitionChangedEvent> changed) {
+        this.delegate = delegate;
+        this.changed = changed;
+    }
+
+    @Override
+    public TaskDefinition save(TaskDefinition taskDefinition) {
+        var saved = delegate.save(taskDefinition);
+        changed.fire(new TaskDefinitionChangedEvent(saved));
+        return saved;
+    }
+
+    @Override
+    public Map<Integer, String> saveAll(List<TaskDefinition> taskDefinitions) {
+        var failures = delegate.saveAll(taskDefinitions);
+        for (int i = 0; i < taskDefinitions.size(); i++) {
+            if (!failures.containsKey(i)) changed.fire(new TaskDefinitionChangedEvent(taskDefinitions.get(i)));
+        }
+        return failures;
+    }
+}
@@ -0,0 +1,14 @@
+package com.octopus.application.event;
+
+import com.octopus.domain.entity.TaskDefinition;
+
+/**
+ * CDI event fired after a task definition was saved, whether it was created or changed.
+ * Observers get the definition as saved, at its new version.
+ */
+public record TaskDefinitionChangedEvent(TaskDefinition definition) {
+
+    public String name() {
+        return definition.taskInfo().name();
+    }
+}
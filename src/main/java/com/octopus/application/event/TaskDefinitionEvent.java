@@ -0,0 +1,39 @@
+package com.octopus.application.event;
+
+import com.octopus.domain.vo.TaskStatus;
+
+import java.time.Instant;
+
+/**
+ * Change of a task definition published to downstream systems through the outbox, one per recorded version.
+ * Events can be delivered more than once; {@link #id()}, the {@code name@version} of the change, identifies them.
+ *
+ * @param id           the {@code name@version} the change produced
+ * @param type         what changed compared to the previous version
+ * @param definitionId the id of the changed definition
+ * @param status       the status of the definition after the change
+ * @param occurredAt   when the change was made
+ */
+public record TaskDefinitionEvent(String id,
+                                  Type type,
+                                  String definitionId,
+                                  String name,
+                                  long version,
+                                  TaskStatus status,
+                                  Instant occurredAt) {
+
+    public enum Type {
+        /**
+         * First version of a definition, including a new definition taking over the name of an earlier one.
+         */
+        CREATED,
+        /**
+         * The status changed.
+         */
+        STATUS_CHANGED,
+        /**
+         * Anything else changed: HTTP configuration, retry policy or metadata.
+         */
+        RECONFIGURED
+    }
+}
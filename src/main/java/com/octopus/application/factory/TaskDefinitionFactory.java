@@ -2,6 +2,8 @@ package com.octopus.application.factory;
 
 import com.octopus.application.port.inbound.command.CreateTaskDefinitionCommand;
 import com.octopus.domain.entity.TaskDefinition;
+import com.octopus.domain.exception.DomainValidationException;
+import com.octopus.domain.exception.ValidationErrors;
 import com.octopus.domain.vo.*;
 import jakarta.enterprise.context.ApplicationScoped;
 
@@ -12,16 +14,53 @@ public class TaskDefinitionFactory {
      * Creates a TaskDefinition domain entity from an application command.
      */
     public TaskDefinition createFrom(CreateTaskDefinitionCommand command) {
-        var taskInfo = buildTaskInfo(command);
-        var httpConfig = buildHttpConfig(command.getHttpConfig());
-        var retryPolicy = buildRetryPolicy(command.getRetryPolicy());
+        return createFrom(command, TaskDefinition.INITIAL_VERSION);
+    }
+
+    /**
+     * Creates a TaskDefinition domain entity from an application command, starting at the given version.
+     * Every part of the command is validated, so that all violations are reported together.
+     *
+     * @throws DomainValidationException with every violation found in the command
+     */
+    public TaskDefinition createFrom(CreateTaskDefinitionCommand command, long initialVersion) {
+        return createFrom(command, TaskDefinitionId.random(), initialVersion);
+    }
+
+    /**
+     * Creates an imported TaskDefinition from an application command. Imports start at the first version, and the
+     * id is derived from {@code name@1}, so that importing the same record again yields the same definition.
+     *
+     * @throws DomainValidationException with every violation found in the command
+     */
+    public TaskDefinition createImportedFrom(CreateTaskDefinitionCommand command) {
+        var id = command.getName() != null && !command.getName().isBlank()
+                ? TaskDefinitionId.derivedFrom(TaskDefinitionRef.pinned(command.getName(), TaskDefinition.INITIAL_VERSION))
+                : TaskDefinitionId.random();
+        return createFrom(command, id, TaskDefinition.INITIAL_VERSION);
+    }
+
+    /**
+     * Creates a TaskDefinition domain entity from an application command, with the given id and first version.
+     *
+     * @throws DomainValidationException with every violation found in the command
+     */
+    public TaskDefinition createFrom(CreateTaskDefinitionCommand command, TaskDefinitionId id, long initialVersion) {
+        var errors = new ValidationErrors();
+        var taskInfo = errors.collect(() -> buildTaskInfo(command));
+        var status = errors.collect(() -> TaskStatus.fromString(command.getStatus()));
+        var httpConfig = buildHttpConfig(command.getHttpConfig(), errors);
+        var retryPolicy = errors.collect(() -> buildRetryPolicy(command.getRetryPolicy()));
+        errors.throwIfAny();
 
         return TaskDefinition.createNew(
+                id,
                 taskInfo,
-                TaskStatus.fromString(command.getStatus()),
+                status,
                 command.getMetadata(),
                 httpConfig,
-                retryPolicy
+                retryPolicy,
+                initialVersion
         );
     }
 
@@ -33,17 +72,27 @@ public class TaskDefinitionFactory {
                 .build();
     }
 
-    private HttpConfig buildHttpConfig(CreateTaskDefinitionCommand.HttpConfigCommand cmd) {
-        return HttpConfig.builder()
-                .endpoint(Endpoint.of(cmd.getEndpoint()))
-                .httpMethod(HttpMethod.fromString(cmd.getHttpMethod()))
+    private HttpConfig buildHttpConfig(CreateTaskDefinitionCommand.HttpConfigCommand cmd, ValidationErrors errors) {
+        if (cmd == null) {
+            errors.add("HttpConfig cannot be null");
+            return null;
+        }
+        var endpoint = errors.collect(() -> Endpoint.of(cmd.getEndpoint()));
+        var httpMethod = errors.collect(() -> HttpMethod.fromString(cmd.getHttpMethod()));
+        // already reported, HttpConfig would only add that they are missing
+        if (endpoint == null || httpMethod == null) return null;
+
+        return errors.collect(() -> HttpConfig.builder()
+                .endpoint(endpoint)
+                .httpMethod(httpMethod)
                 .timeoutSeconds(cmd.getTimeoutSeconds())
                 .headers(cmd.getHeaders())
                 .payloadTemplate(cmd.getPayloadTemplate())
-                .build();
+                .build());
     }
 
     private RetryPolicy buildRetryPolicy(CreateTaskDefinitionCommand.RetryPolicyCommand cmd) {
+        if (cmd == null) throw new DomainValidationException("RetryPolicy cannot be null");
         return RetryPolicy.builder()
                 .maxAttempts(cmd.getMaxAttempts())
                 .backoffSeconds(cmd.getBackoffSeconds())
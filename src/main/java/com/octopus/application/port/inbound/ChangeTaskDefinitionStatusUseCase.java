@@ -0,0 +1,22 @@
+package com.octopus.application.port.inbound;
+
+import com.octopus.application.port.inbound.command.ChangeTaskDefinitionStatusCommand;
+import com.octopus.domain.entity.TaskDefinition;
+import com.octopus.domain.exception.DomainBusinessRuleException;
+import com.octopus.domain.exception.DomainResourceNotFoundException;
+import com.octopus.domain.vo.TaskDefinitionId;
+
+public interface ChangeTaskDefinitionStatusUseCase {
+
+    /**
+     * Moves a task definition to another status, recording the result as a new version.
+     *
+     * @param id      the id of the task definition
+     * @param command the command containing the target status
+     * @return the {@link TaskDefinition} at its new version
+     * @throws DomainResourceNotFoundException if there is no task definition with that id
+     * @throws DomainBusinessRuleException     if activating it would give its name two active definitions,
+     *                                         or if it was changed concurrently
+     */
+    TaskDefinition execute(TaskDefinitionId id, ChangeTaskDefinitionStatusCommand command);
+}
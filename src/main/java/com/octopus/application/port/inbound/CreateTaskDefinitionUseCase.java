@@ -3,9 +3,33 @@ package com.octopus.application.port.inbound;
 import com.octopus.application.port.inbound.command.CreateTaskDefinitionCommand;
 import com.octopus.domain.entity.TaskDefinition;
 import com.octopus.domain.exception.DomainBusinessRuleException;
+import com.octopus.domain.vo.TaskDefinitionId;
+
+import java.util.List;
 
 public interface CreateTaskDefinitionUseCase {
 
+    /**
+     * What became of one command of {@link #executeAll}.
+     *
+     * @param created the task definition created, or {@code null} if it was refused
+     * @param refusal why it was refused, the exception {@link #execute} would have thrown
+     */
+    record Outcome(TaskDefinition created, RuntimeException refusal) {
+
+        public static Outcome created(TaskDefinition definition) {
+            return new Outcome(definition, null);
+        }
+
+        public static Outcome refused(RuntimeException refusal) {
+            return new Outcome(null, refusal);
+        }
+
+        public boolean isCreated() {
+            return created != null;
+        }
+    }
+
     /**
      * Creates a new task definition.
      *
@@ -17,4 +41,24 @@ public interface CreateTaskDefinitionUseCase {
      */
     TaskDefinition execute(CreateTaskDefinitionCommand command);
 
+    /**
+     * Creates several task definitions in bulk writes, each command checked as by {@link #execute}. Commands take effect
+     * as if executed one after the other in list order: when several create the same name, the first one is written
+     * first and the next ones are checked against it, in a later write.
+     *
+     * @param commands the commands to execute
+     * @return the outcome of each command, in the order of {@code commands}
+     */
+    default List<Outcome> executeAll(List<CreateTaskDefinitionCommand> commands) {
+        return executeAll(commands, commands.stream().map(command -> TaskDefinitionId.random()).toList());
+    }
+
+    /**
+     * Same as {@link #executeAll(List)}, creating each definition under the given id, so that the caller can find it
+     * later by id.
+     *
+     * @param ids the id of the definition each command creates, in the order of {@code commands}
+     */
+    List<Outcome> executeAll(List<CreateTaskDefinitionCommand> commands, List<TaskDefinitionId> ids);
+
 }
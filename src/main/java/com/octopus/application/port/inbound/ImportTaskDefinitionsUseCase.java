@@ -0,0 +1,30 @@
+package com.octopus.application.port.inbound;
+
+import com.octopus.application.port.inbound.command.CreateTaskDefinitionCommand;
+
+import java.util.List;
+
+public interface ImportTaskDefinitionsUseCase {
+
+    /**
+     * Why a command of an imported batch was not imported.
+     *
+     * @param position position of the command in the batch
+     * @param errors   every validation error found, or the business rule that refused it
+     */
+    record Rejection(int position, List<String> errors) {
+    }
+
+    /**
+     * Creates a batch of new task definitions, validated like {@link CreateTaskDefinitionUseCase#execute} and saved in
+     * bulk. Invalid commands are reported rather than failing the batch.
+     * <p>
+     * Imported definitions start at the first version of their name, so a name that already has versions is refused.
+     * This also makes re-importing the same batch harmless.
+     * </p>
+     *
+     * @param commands the commands to import
+     * @return the commands that were not imported
+     */
+    List<Rejection> importBatch(List<CreateTaskDefinitionCommand> commands);
+}
@@ -0,0 +1,25 @@
+package com.octopus.application.port.inbound;
+
+import com.octopus.application.port.inbound.query.Page;
+import com.octopus.application.port.inbound.query.TaskDefinitionListCriteria;
+import com.octopus.domain.entity.TaskDefinition;
+import com.octopus.domain.vo.TaskDefinitionSummary;
+
+public interface ListTaskDefinitionsQuery {
+
+    /**
+     * Lists task definitions using the {@link com.octopus.application.port.inbound.query.TaskDefinitionProjection#SUMMARY SUMMARY} projection.
+     *
+     * @param criteria the filters and page position
+     * @return a page of {@link TaskDefinitionSummary}
+     */
+    Page<TaskDefinitionSummary> listSummaries(TaskDefinitionListCriteria criteria);
+
+    /**
+     * Lists complete task definitions.
+     *
+     * @param criteria the filters and page position
+     * @return a page of {@link TaskDefinition}
+     */
+    Page<TaskDefinition> list(TaskDefinitionListCriteria criteria);
+}
@@ -0,0 +1,39 @@
+package com.octopus.application.port.inbound;
+
+import com.octopus.application.port.inbound.query.ExecutionSettingsRecommendation;
+import com.octopus.domain.vo.TaskDefinitionId;
+
+import java.time.Duration;
+import java.util.Set;
+
+public interface RecommendExecutionSettingsQuery {
+
+    /**
+     * Period of reported executions a recommendation is based on.
+     */
+    Duration WINDOW = Duration.ofDays(7);
+
+    /**
+     * Executions below which the latency and status code distributions are not trusted to recommend anything.
+     */
+    long MIN_EXECUTIONS = 100;
+
+    /**
+     * Factor applied to the p99 latency to get the recommended timeout.
+     */
+    double TIMEOUT_HEADROOM = 1.5;
+
+    /**
+     * Status codes of failures that may succeed when retried.
+     */
+    Set<Integer> TRANSIENT_STATUS_CODES = Set.of(408, 425, 429, 500, 502, 503, 504);
+
+    /**
+     * Derives timeout and retry settings of a task definition from the executions reported for its name.
+     *
+     * @param id the {@link TaskDefinitionId}
+     * @return the recommendation, next to the current settings
+     * @throws com.octopus.domain.exception.DomainResourceNotFoundException if there is no such definition
+     */
+    ExecutionSettingsRecommendation recommend(TaskDefinitionId id);
+}
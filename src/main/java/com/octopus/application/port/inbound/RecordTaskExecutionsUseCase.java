@@ -0,0 +1,12 @@
+package com.octopus.application.port.inbound;
+
+public interface RecordTaskExecutionsUseCase {
+
+    /**
+     * Records the outcome of one task execution reported by an orchestrator. Never blocks: executions are aggregated
+     * in memory and stored in the background.
+     *
+     * @return whether the execution was recorded, false if it was invalid or could not be tracked
+     */
+    boolean record(String taskName, long latencyMillis, int httpStatus, int attempt);
+}
@@ -0,0 +1,20 @@
+package com.octopus.application.port.inbound;
+
+import com.octopus.application.port.inbound.command.RegisterWorkflowDefinitionCommand;
+import com.octopus.domain.entity.WorkflowDefinition;
+import com.octopus.domain.exception.DomainBusinessRuleException;
+import com.octopus.domain.exception.DomainValidationException;
+
+public interface RegisterWorkflowDefinitionUseCase {
+
+    /**
+     * Registers a new workflow definition.
+     *
+     * @param command the command containing the workflow name and steps
+     * @return the registered {@link WorkflowDefinition}, with its topological order and parallelism levels
+     * @throws DomainValidationException   if the steps do not form a directed acyclic graph
+     * @throws DomainBusinessRuleException if the name is taken, or if a step runs a task with no active definition
+     * @throws jakarta.validation.ConstraintViolationException if the command fails validation constraints
+     */
+    WorkflowDefinition execute(RegisterWorkflowDefinitionCommand command);
+}
@@ -1,5 +1,12 @@
 package com.octopus.application.port.inbound;
 
+import com.octopus.application.port.inbound.query.LazyTaskDefinition;
+import com.octopus.domain.entity.TaskDefinition;
+import com.octopus.domain.vo.TaskDefinitionHead;
+import com.octopus.domain.vo.TaskDefinitionId;
+
+import java.util.Optional;
+
 public interface ResolveTaskDefinitionQuery {
 
     /**
@@ -9,4 +16,48 @@ public interface ResolveTaskDefinitionQuery {
      * @return true if the task definition exists and is active, false otherwise.
      */
     boolean execute(String name);
+
+    /**
+     * Resolves an active task definition by its name, reading only its summary.
+     * The heavy sections are fetched when first accessed through the returned {@link LazyTaskDefinition}.
+     *
+     * @param name the name of the task definition to resolve
+     * @return optional containing the {@link LazyTaskDefinition} if the task definition exists and is active
+     */
+    Optional<LazyTaskDefinition> resolve(String name);
+
+    /**
+     * Resolves an active task definition by its name with all its sections, read at once so that they all belong
+     * to the same version.
+     *
+     * @param name the name of the task definition to resolve
+     * @return optional containing the {@link TaskDefinition} if the task definition exists and is active
+     */
+    Optional<TaskDefinition> resolveComplete(String name);
+
+    /**
+     * Resolves an immutable version of a task definition, whatever its status.
+     *
+     * @param name    the name of the task definition
+     * @param version the version number
+     * @return optional containing the {@link TaskDefinition} as it was at that version
+     */
+    Optional<TaskDefinition> resolveVersion(String name, long version);
+
+    /**
+     * Resolves a task definition by id, whatever its status.
+     *
+     * @param id the id of the task definition
+     * @return optional containing the current version of the {@link TaskDefinition}
+     */
+    Optional<TaskDefinition> resolveById(TaskDefinitionId id);
+
+    /**
+     * Resolves the pointer to the current version of a name, which is all a client needs to revalidate
+     * a definition it already holds.
+     *
+     * @param name the name of the task definition
+     * @return optional containing the {@link TaskDefinitionHead} if the latest version of that name is active
+     */
+    Optional<TaskDefinitionHead> resolveActiveHead(String name);
 }
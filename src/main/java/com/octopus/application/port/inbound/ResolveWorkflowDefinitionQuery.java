@@ -0,0 +1,16 @@
+package com.octopus.application.port.inbound;
+
+import com.octopus.application.port.inbound.query.ResolvedWorkflow;
+
+import java.util.Optional;
+
+public interface ResolveWorkflowDefinitionQuery {
+
+    /**
+     * Resolves a workflow together with the active definitions of every task its steps run, in one call.
+     *
+     * @param name the name of the workflow
+     * @return optional containing the {@link ResolvedWorkflow} if there is a workflow with that name
+     */
+    Optional<ResolvedWorkflow> resolve(String name);
+}
@@ -0,0 +1,28 @@
+package com.octopus.application.port.inbound;
+
+import com.octopus.application.port.inbound.query.TaskDefinitionSearchHit;
+
+import java.util.List;
+
+public interface SearchTaskDefinitionsQuery {
+
+    int DEFAULT_LIMIT = 10;
+    int MAX_LIMIT = 50;
+
+    /**
+     * Suggests task names starting with a prefix, case-insensitively, in name order.
+     *
+     * @param prefix the beginning of the name typed so far
+     * @param limit  maximum number of suggestions
+     */
+    List<TaskDefinitionSearchHit> suggest(String prefix, int limit);
+
+    /**
+     * Searches task names, categories and descriptions for the words of a text, best matches first.
+     * The last word also matches longer words it is a prefix of.
+     *
+     * @param text  the words to search for
+     * @param limit maximum number of hits
+     */
+    List<TaskDefinitionSearchHit> search(String text, int limit);
+}
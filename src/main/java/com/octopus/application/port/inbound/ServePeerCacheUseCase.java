@@ -0,0 +1,39 @@
+package com.octopus.application.port.inbound;
+
+import com.octopus.domain.vo.TaskDefinitionId;
+
+import java.util.Optional;
+
+/**
+ * Lookups and invalidations other registry replicas send to the replica owning a key of their shared cache.
+ * Values are the encoded form replicas exchange, not an API representation.
+ */
+public interface ServePeerCacheUseCase {
+
+    boolean isEnabled();
+
+    /**
+     * @return whether {@code token} is the one replicas share, {@code false} if none was sent
+     */
+    boolean authorizes(String token);
+
+    /**
+     * @return the encoded active definition of the name, if it has one
+     */
+    Optional<byte[]> serveByName(String name);
+
+    /**
+     * @return the encoded definition, if there is one
+     */
+    Optional<byte[]> serveById(TaskDefinitionId id);
+
+    /**
+     * Drops a name after one of its definitions was saved on another replica.
+     */
+    void invalidateName(String name);
+
+    /**
+     * Drops a definition after it was saved on another replica.
+     */
+    void invalidateId(TaskDefinitionId id);
+}
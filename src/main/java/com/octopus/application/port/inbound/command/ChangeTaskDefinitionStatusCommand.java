@@ -0,0 +1,19 @@
+package com.octopus.application.port.inbound.command;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeTaskDefinitionStatusCommand {
+
+    @NotBlank(message = "Status cannot be blank")
+    private String status;
+}
@@ -0,0 +1,54 @@
+package com.octopus.application.port.inbound.command;
+
+import com.octopus.domain.entity.WorkflowDefinition;
+import com.octopus.domain.vo.TaskInfo;
+import com.octopus.domain.vo.WorkflowStep;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RegisterWorkflowDefinitionCommand {
+
+    @NotBlank(message = "Workflow name cannot be blank")
+    @Size(min = TaskInfo.TASK_NAME_MIN_LENGTH, max = TaskInfo.TASK_NAME_MAX_LENGTH, message = "Workflow name must be between {min} and {max} characters")
+    @Pattern(regexp = TaskInfo.TASK_NAME_PATTERN, message = "Workflow name can only contain letters, numbers, hyphens and underscores")
+    private String name;
+
+    @Size(max = TaskInfo.DESCRIPTION_MAX_LENGTH, message = "Description cannot exceed {max} characters")
+    private String description;
+
+    @Valid
+    @NotEmpty(message = "A workflow needs at least one step")
+    @Size(max = WorkflowDefinition.MAX_STEPS, message = "A workflow cannot have more than {max} steps")
+    private List<StepCommand> steps;
+
+    @Getter
+    @Setter
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class StepCommand {
+        @NotBlank(message = "Step id cannot be blank")
+        @Size(max = WorkflowStep.STEP_ID_MAX_LENGTH, message = "Step id cannot exceed {max} characters")
+        private String id;
+
+        @NotBlank(message = "Step task name cannot be blank")
+        private String task;
+
+        private List<String> dependsOn;
+    }
+}
@@ -0,0 +1,31 @@
+package com.octopus.application.port.inbound.query;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Timeout and retry settings suggested by the executions reported for a task definition.
+ *
+ * @param executions                      executions the recommendation is based on, reported since {@code since}
+ * @param p50LatencyMillis                median latency
+ * @param p99LatencyMillis                99th percentile latency
+ * @param recommendedTimeoutSeconds       the p99 latency with headroom, or {@code null} without enough executions
+ * @param observedStatusCodes             executions by final HTTP status code
+ * @param recommendedRetryableStatusCodes transient failure codes actually observed, or {@code null} without enough
+ *                                        executions
+ * @param attemptCounts                   executions by attempt number
+ */
+public record ExecutionSettingsRecommendation(String definitionId,
+                                              String name,
+                                              Instant since,
+                                              long executions,
+                                              double p50LatencyMillis,
+                                              double p99LatencyMillis,
+                                              int currentTimeoutSeconds,
+                                              Integer recommendedTimeoutSeconds,
+                                              Set<Integer> currentRetryableStatusCodes,
+                                              Set<Integer> recommendedRetryableStatusCodes,
+                                              Map<Integer, Long> observedStatusCodes,
+                                              Map<Integer, Long> attemptCounts) {
+}
@@ -0,0 +1,67 @@
+package com.octopus.application.port.inbound.query;
+
+import com.octopus.domain.entity.TaskDefinition;
+import com.octopus.domain.exception.DomainResourceNotFoundException;
+import com.octopus.domain.vo.TaskDefinitionDetails;
+import com.octopus.domain.vo.TaskDefinitionSummary;
+
+import java.util.HashMap;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static java.util.Objects.isNull;
+
+/**
+ * A task definition whose summary is loaded eagerly and whose heavy sections
+ * ({@link TaskDefinitionDetails}) are fetched on first access only.
+ */
+public final class LazyTaskDefinition {
+
+    private final TaskDefinitionSummary summary;
+    private final Supplier<Optional<TaskDefinitionDetails>> detailsLoader;
+    private volatile TaskDefinitionDetails details;
+
+    public LazyTaskDefinition(TaskDefinitionSummary summary, Supplier<Optional<TaskDefinitionDetails>> detailsLoader) {
+        this.summary = summary;
+        this.detailsLoader = detailsLoader;
+    }
+
+    public TaskDefinitionSummary summary() {
+        return summary;
+    }
+
+    public boolean isDetailsLoaded() {
+        return details != null;
+    }
+
+    /**
+     * Returns the heavy sections, loading them on the first call.
+     *
+     * @throws DomainResourceNotFoundException if the definition was removed after its summary was read
+     */
+    public TaskDefinitionDetails details() {
+        var loaded = details;
+        if (isNull(loaded)) {
+            synchronized (this) {
+                loaded = details;
+                if (isNull(loaded)) {
+                    loaded = detailsLoader.get().orElseThrow(() -> new DomainResourceNotFoundException(
+                            "Task definition '" + summary.id().value() + "' no longer exists"));
+                    details = loaded;
+                }
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Assembles the complete definition, loading the heavy sections if needed. The sections are read after the
+     * summary and may belong to a later version; {@code ResolveTaskDefinitionQuery#resolveComplete} reads a
+     * consistent definition.
+     */
+    public TaskDefinition toTaskDefinition() {
+        var loaded = details();
+        return new TaskDefinition(summary.id(), summary.taskInfo(), summary.taskStatus(), new HashMap<>(summary.metadata()),
+                loaded.httpConfig(), loaded.retryPolicy(), summary.audit(), summary.version());
+    }
+}
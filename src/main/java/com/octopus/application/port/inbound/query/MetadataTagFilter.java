@@ -0,0 +1,82 @@
+package com.octopus.application.port.inbound.query;
+
+import com.octopus.domain.exception.DomainValidationException;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Metadata key/value pairs a listed definition must carry, all of them or any of them.
+ *
+ * @param tags  the metadata entries to match
+ * @param match whether every tag or at least one must match
+ */
+public record MetadataTagFilter(List<Tag> tags, Match match) {
+
+    public static final int MAX_TAGS = 10;
+
+    public record Tag(String key, String value) {
+
+        public Tag {
+            if (isNull(key) || !key.matches(TaskDefinitionListCriteria.METADATA_KEY_PATTERN)) throw new DomainValidationException("Metadata key can only contain letters, numbers, hyphens and underscores");
+            if (isNull(value)) throw new DomainValidationException("Tag value is required");
+        }
+
+        /**
+         * Parses a tag written as {@code key:value}.
+         */
+        public static Tag parse(String tag) {
+            int separator = tag.indexOf(':');
+            if (separator <= 0) throw new DomainValidationException("Tag '" + tag + "' must be written as key:value");
+            return new Tag(tag.substring(0, separator), tag.substring(separator + 1));
+        }
+
+        boolean matches(Map<String, String> metadata) {
+            return value.equals(metadata.get(key));
+        }
+    }
+
+    public enum Match {
+        ALL,
+        ANY;
+
+        public static Match fromString(String match) {
+            if (isNull(match)) return ALL;
+
+            try {
+                return valueOf(match.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new DomainValidationException("Tag match " + match + " not found. Valid values are: ALL|ANY", e);
+            }
+        }
+    }
+
+    public MetadataTagFilter {
+        if (isNull(tags) || tags.isEmpty()) throw new DomainValidationException("At least one tag is required");
+        if (tags.size() > MAX_TAGS) throw new DomainValidationException("At most " + MAX_TAGS + " tags can be combined");
+        tags = List.copyOf(tags);
+        if (isNull(match)) match = Match.ALL;
+    }
+
+    /**
+     * Parses tags written as {@code key:value}.
+     *
+     * @return the filter, or {@code null} when there is no tag
+     */
+    public static MetadataTagFilter parse(Collection<String> tags, String match) {
+        if (isNull(tags) || tags.isEmpty()) return null;
+
+        return new MetadataTagFilter(tags.stream().map(Tag::parse).toList(), Match.fromString(match));
+    }
+
+    public boolean matches(Map<String, String> metadata) {
+        if (isNull(metadata)) return false;
+
+        return match == Match.ALL
+                ? tags.stream().allMatch(tag -> tag.matches(metadata))
+                : tags.stream().anyMatch(tag -> tag.matches(metadata));
+    }
+}
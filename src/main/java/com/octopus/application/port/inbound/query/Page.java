@@ -0,0 +1,23 @@
+package com.octopus.application.port.inbound.query;
+
+import java.util.List;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * A page of a keyset-paginated listing.
+ *
+ * @param items      the items of this page, in listing order
+ * @param nextCursor position after the last item, or null if this is the last page
+ */
+public record Page<T>(List<T> items, PageCursor nextCursor) {
+
+    public Page {
+        items = isNull(items) ? List.of() : List.copyOf(items);
+    }
+
+    public boolean hasNext() {
+        return nonNull(nextCursor);
+    }
+}
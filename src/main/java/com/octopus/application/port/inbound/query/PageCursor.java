@@ -0,0 +1,48 @@
+package com.octopus.application.port.inbound.query;
+
+import com.octopus.domain.exception.DomainValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Keyset position of a task definition listing, ordered by {@code category, name, id}.
+ * <p>
+ * Clients only ever see the opaque {@link #encode() encoded} form, so the sort key can evolve
+ * without breaking them.
+ * </p>
+ */
+public record PageCursor(String category, String name, String id) {
+
+    private static final char SEPARATOR = '\u0000';
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    public PageCursor {
+        if (isNull(category) || isNull(name) || isNull(id)) throw new DomainValidationException("Cursor fields cannot be null");
+    }
+
+    public String encode() {
+        var raw = category + SEPARATOR + name + SEPARATOR + id;
+        return ENCODER.encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static PageCursor decode(String value) {
+        if (isNull(value) || value.isBlank()) return null;
+
+        String raw;
+        try {
+            raw = new String(DECODER.decode(value), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new DomainValidationException("Invalid page cursor", e);
+        }
+
+        var first = raw.indexOf(SEPARATOR);
+        var second = first < 0 ? -1 : raw.indexOf(SEPARATOR, first + 1);
+        if (first < 0 || second < 0) throw new DomainValidationException("Invalid page cursor");
+
+        return new PageCursor(raw.substring(0, first), raw.substring(first + 1, second), raw.substring(second + 1));
+    }
+}
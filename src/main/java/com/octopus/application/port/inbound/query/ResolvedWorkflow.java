@@ -0,0 +1,27 @@
+package com.octopus.application.port.inbound.query;
+
+import com.octopus.domain.entity.TaskDefinition;
+import com.octopus.domain.entity.WorkflowDefinition;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A workflow and the active definition of each task it runs, resolved together.
+ *
+ * @param workflow the workflow definition
+ * @param tasks    the active definition of each task name run by the workflow, keyed by name
+ */
+public record ResolvedWorkflow(WorkflowDefinition workflow, Map<String, TaskDefinition> tasks) {
+
+    /**
+     * @return the task names run by the workflow that have no active definition anymore, in step order
+     */
+    public List<String> missingTasks() {
+        return workflow.taskNames().stream().filter(name -> !tasks.containsKey(name)).toList();
+    }
+
+    public boolean isComplete() {
+        return tasks.keySet().containsAll(workflow.taskNames());
+    }
+}
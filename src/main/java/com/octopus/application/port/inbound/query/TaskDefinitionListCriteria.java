@@ -0,0 +1,36 @@
+package com.octopus.application.port.inbound.query;
+
+import com.octopus.domain.exception.DomainValidationException;
+import com.octopus.domain.vo.TaskStatus;
+import lombok.Builder;
+
+import static java.util.Objects.nonNull;
+
+/**
+ * Filters and keyset position of a task definition listing.
+ * Every filter is optional; results are always ordered by {@code category, name, id}.
+ *
+ * @param category    only definitions of this category
+ * @param status      only definitions with this status
+ * @param metadataKey only definitions carrying this metadata key
+ * @param tags        only definitions carrying all or any of these metadata key/value pairs
+ * @param after       return definitions strictly after this position
+ * @param limit       maximum number of definitions in the page
+ */
+@Builder
+public record TaskDefinitionListCriteria(String category,
+                                         TaskStatus status,
+                                         String metadataKey,
+                                         MetadataTagFilter tags,
+                                         PageCursor after,
+                                         int limit) {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 200;
+    public static final String METADATA_KEY_PATTERN = "^[a-zA-Z0-9_-]+$";
+
+    public TaskDefinitionListCriteria {
+        if (limit < 1 || limit > MAX_LIMIT) throw new DomainValidationException("limit must be between 1 and " + MAX_LIMIT);
+        if (nonNull(metadataKey) && !metadataKey.matches(METADATA_KEY_PATTERN)) throw new DomainValidationException("Metadata key can only contain letters, numbers, hyphens and underscores");
+    }
+}
@@ -0,0 +1,29 @@
+package com.octopus.application.port.inbound.query;
+
+import com.octopus.domain.exception.DomainValidationException;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Field projection requested by a reader of task definitions.
+ */
+public enum TaskDefinitionProjection {
+    /**
+     * Scalar fields only: no headers, payload template or retry policy.
+     */
+    SUMMARY,
+    /**
+     * The complete definition.
+     */
+    FULL;
+
+    public static TaskDefinitionProjection fromString(String projection) {
+        if (isNull(projection)) return SUMMARY;
+
+        try {
+            return valueOf(projection.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new DomainValidationException("Projection " + projection + " not found. Valid values are: SUMMARY|FULL", e);
+        }
+    }
+}
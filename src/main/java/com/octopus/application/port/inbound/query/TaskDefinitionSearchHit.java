@@ -0,0 +1,18 @@
+package com.octopus.application.port.inbound.query;
+
+import com.octopus.domain.vo.TaskDefinitionId;
+import com.octopus.domain.vo.TaskStatus;
+
+/**
+ * A task definition matched by a search, with the fields shown in search results.
+ *
+ * @param score relevance of the match, higher is better; {@code 0} for name suggestions, which are ordered by name
+ */
+public record TaskDefinitionSearchHit(TaskDefinitionId id,
+                                      String name,
+                                      String category,
+                                      String description,
+                                      TaskStatus status,
+                                      long version,
+                                      double score) {
+}
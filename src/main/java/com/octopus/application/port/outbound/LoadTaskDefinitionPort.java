@@ -1,10 +1,20 @@
 package com.octopus.application.port.outbound;
 
 
+import com.octopus.application.port.inbound.query.Page;
+import com.octopus.application.port.inbound.query.TaskDefinitionListCriteria;
 import com.octopus.domain.entity.TaskDefinition;
+import com.octopus.domain.vo.TaskDefinitionDetails;
+import com.octopus.domain.vo.TaskDefinitionHead;
 import com.octopus.domain.vo.TaskDefinitionId;
+import com.octopus.domain.vo.TaskDefinitionSummary;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
 
 public interface LoadTaskDefinitionPort {
 
@@ -16,6 +26,17 @@ public interface LoadTaskDefinitionPort {
      */
     Optional<TaskDefinition> loadById(TaskDefinitionId id);
 
+    /**
+     * Loads a task definition by its ID in order to change it.
+     * <p>
+     * Always answered by the store, never by a cache or a snapshot: the change is checked against the version read.
+     * </p>
+     *
+     * @param id the {@link TaskDefinitionId}
+     * @return optional containing the {@link TaskDefinition} if found
+     */
+    Optional<TaskDefinition> loadForUpdate(TaskDefinitionId id);
+
     /**
      * Loads an active task definition by its name.
      *
@@ -24,6 +45,96 @@ public interface LoadTaskDefinitionPort {
      */
     Optional<TaskDefinition> loadActiveByName(String name);
 
+    /**
+     * Loads the active task definitions of several names in one query.
+     *
+     * @param names the task names
+     * @return the active {@link TaskDefinition} of each name that has one, keyed by name
+     */
+    Map<String, TaskDefinition> loadActiveByNames(Collection<String> names);
+
+    /**
+     * Loads only the scalar fields of the active task definitions of several names in one query.
+     *
+     * @param names the task names
+     * @return the {@link TaskDefinitionSummary} of each name that has an active definition, keyed by name
+     */
+    Map<String, TaskDefinitionSummary> loadActiveSummariesByNames(Collection<String> names);
+
+    /**
+     * Checks in one query which of several names have an active task definition.
+     * <p>
+     * Always answered by the store, never by a cache or a snapshot: creations rely on it to refuse a duplicate name.
+     * </p>
+     *
+     * @param names the task names
+     * @return the subset of {@code names} that have an active definition
+     */
+    Set<String> loadActiveNames(Collection<String> names);
+
+    /**
+     * Loads an immutable version of a task definition.
+     *
+     * @param name    the task name
+     * @param version the version number
+     * @return optional containing the {@link TaskDefinition} as it was at that version, whatever its status
+     */
+    Optional<TaskDefinition> loadVersion(String name, long version);
+
+    /**
+     * Loads the pointer to the current version of a name: the latest version of its active definition, or the latest
+     * version recorded while none is active.
+     *
+     * @param name the task name
+     * @return optional containing the {@link TaskDefinitionHead} if any definition ever had that name
+     */
+    Optional<TaskDefinitionHead> loadHead(String name);
+
+    /**
+     * Loads the highest version recorded for each of several names in one query, whatever definition it belongs to.
+     * New versions of a name continue from it rather than from the head, which a save interrupted between its writes
+     * may have left behind.
+     *
+     * @param names the task names
+     * @return the latest version of each name any definition ever had, keyed by name
+     */
+    Map<String, Long> loadLatestVersions(Collection<String> names);
+
+    /**
+     * Loads the highest version recorded for a name, see {@link #loadLatestVersions}.
+     *
+     * @param name the task name
+     * @return the latest version of the name, empty if no definition ever had it
+     */
+    default OptionalLong loadLatestVersion(String name) {
+        var latest = loadLatestVersions(List.of(name)).get(name);
+        return latest != null ? OptionalLong.of(latest) : OptionalLong.empty();
+    }
+
+    /**
+     * Loads only the scalar fields of a task definition by its ID.
+     *
+     * @param id the {@link TaskDefinitionId}
+     * @return optional containing the {@link TaskDefinitionSummary} if found
+     */
+    Optional<TaskDefinitionSummary> loadSummaryById(TaskDefinitionId id);
+
+    /**
+     * Loads only the scalar fields of an active task definition by its name.
+     *
+     * @param name the task name
+     * @return optional containing the {@link TaskDefinitionSummary} if found and active
+     */
+    Optional<TaskDefinitionSummary> loadActiveSummaryByName(String name);
+
+    /**
+     * Loads only the heavy sections (HTTP configuration and retry policy) of a task definition.
+     *
+     * @param id the {@link TaskDefinitionId}
+     * @return optional containing the {@link TaskDefinitionDetails} if found
+     */
+    Optional<TaskDefinitionDetails> loadDetailsById(TaskDefinitionId id);
+
     /**
      * Checks if an active task with the given name exists.
      *
@@ -31,5 +142,20 @@ public interface LoadTaskDefinitionPort {
      * @return true if exists, false otherwise
      */
     boolean existsActiveByName(String name);
-}
 
+    /**
+     * Loads a page of task definition summaries, without headers, payload template or retry policy.
+     *
+     * @param criteria the filters and keyset position
+     * @return the page of {@link TaskDefinitionSummary}, ordered by category, name and id
+     */
+    Page<TaskDefinitionSummary> loadSummaryPage(TaskDefinitionListCriteria criteria);
+
+    /**
+     * Loads a page of complete task definitions.
+     *
+     * @param criteria the filters and keyset position
+     * @return the page of {@link TaskDefinition}, ordered by category, name and id
+     */
+    Page<TaskDefinition> loadPage(TaskDefinitionListCriteria criteria);
+}
@@ -0,0 +1,24 @@
+package com.octopus.application.port.outbound;
+
+import com.octopus.domain.entity.WorkflowDefinition;
+
+import java.util.Optional;
+
+public interface LoadWorkflowDefinitionPort {
+
+    /**
+     * Loads a workflow definition by its name.
+     *
+     * @param name the workflow name
+     * @return optional containing the {@link WorkflowDefinition} if found
+     */
+    Optional<WorkflowDefinition> loadByName(String name);
+
+    /**
+     * Checks whether a workflow with the given name exists.
+     *
+     * @param name the workflow name
+     * @return true if such a workflow exists
+     */
+    boolean existsByName(String name);
+}
@@ -0,0 +1,38 @@
+package com.octopus.application.port.outbound;
+
+import com.octopus.domain.entity.TaskDefinition;
+import com.octopus.domain.vo.TaskDefinitionId;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Cache of lookups shared by the registry replicas, as seen by the replica owning a key.
+ */
+public interface PeerCachePort {
+
+    boolean isEnabled();
+
+    /**
+     * @return whether {@code token} is the one replicas share
+     */
+    boolean authorizes(String token);
+
+    /**
+     * Answers a lookup by name from another replica, loading it with {@code loader} unless it is cached.
+     *
+     * @return the encoded definition, or empty if there is none
+     */
+    Optional<byte[]> serveName(String name, Supplier<Optional<TaskDefinition>> loader);
+
+    /**
+     * Answers a lookup by id from another replica, loading it with {@code loader} unless it is cached.
+     *
+     * @return the encoded definition, or empty if there is none
+     */
+    Optional<byte[]> serveId(TaskDefinitionId id, Supplier<Optional<TaskDefinition>> loader);
+
+    void invalidateName(String name);
+
+    void invalidateId(TaskDefinitionId id);
+}
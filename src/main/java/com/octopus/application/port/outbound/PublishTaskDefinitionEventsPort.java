@@ -0,0 +1,19 @@
+package com.octopus.application.port.outbound;
+
+import com.octopus.application.event.TaskDefinitionEvent;
+
+import java.util.List;
+
+/**
+ * Sink the outbox relay delivers events to, such as a message broker.
+ */
+public interface PublishTaskDefinitionEventsPort {
+
+    /**
+     * Publishes a batch of events, in order. The batch counts as delivered only if this returns normally; otherwise
+     * all of it is published again later, so sinks must tolerate duplicates.
+     *
+     * @throws RuntimeException if the batch could not be delivered
+     */
+    void publish(List<TaskDefinitionEvent> events);
+}
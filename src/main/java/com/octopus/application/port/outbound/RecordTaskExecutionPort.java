@@ -0,0 +1,16 @@
+package com.octopus.application.port.outbound;
+
+public interface RecordTaskExecutionPort {
+
+    /**
+     * Counts one execution of a task. Called at a high rate by the ingestion endpoint, so implementations must
+     * neither block nor allocate.
+     *
+     * @param taskName      the name of the executed task
+     * @param latencyMillis how long the call took
+     * @param httpStatus    the HTTP status the call ended with
+     * @param attempt       the attempt number, 1 being the first call
+     * @return whether the execution was counted; executions of tasks beyond the tracking capacity are not
+     */
+    boolean record(String taskName, long latencyMillis, int httpStatus, int attempt);
+}
@@ -2,15 +2,48 @@ package com.octopus.application.port.outbound;
 
 
 import com.octopus.domain.entity.TaskDefinition;
+import com.octopus.domain.exception.DomainBusinessRuleException;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 public interface SaveTaskDefinitionPort {
 
     /**
-     * Persists a task definition (insert or update).
+     * Persists a task definition (insert or update) and records its current version as an immutable version
+     * of its name.
+     * <p>
+     * If another definition of the same name recorded that version in the meantime, the definition is moved past the
+     * latest version of its name and saved there. Saving again a change whose version was recorded by an earlier,
+     * interrupted save completes it.
+     * </p>
      *
      * @param taskDefinition the {@link TaskDefinition} to save
      * @return the saved task (with generated ID if new)
+     * @throws DomainBusinessRuleException if the definition itself was changed concurrently
      */
     TaskDefinition save(TaskDefinition taskDefinition);
-}
 
+    /**
+     * Persists new task definitions in bulk, in no particular order. A definition that cannot be saved, e.g. because
+     * that version of its name already exists, does not prevent the others from being saved.
+     * <p>
+     * Meant for imports and bulk creation. Like {@link #save}, every definition saved fires a change event.
+     * </p>
+     *
+     * @param taskDefinitions the new definitions to save
+     * @return the reason each definition that was not saved was refused, by its position in {@code taskDefinitions}
+     */
+    default Map<Integer, String> saveAll(List<TaskDefinition> taskDefinitions) {
+        var failures = new HashMap<Integer, String>();
+        for (int i = 0; i < taskDefinitions.size(); i++) {
+            try {
+                save(taskDefinitions.get(i));
+            } catch (DomainBusinessRuleException e) {
+                failures.put(i, e.getMessage());
+            }
+        }
+        return failures;
+    }
+}
@@ -0,0 +1,16 @@
+package com.octopus.application.port.outbound;
+
+import com.octopus.domain.entity.WorkflowDefinition;
+import com.octopus.domain.exception.DomainBusinessRuleException;
+
+public interface SaveWorkflowDefinitionPort {
+
+    /**
+     * Saves a new workflow definition.
+     *
+     * @param workflowDefinition the workflow to save
+     * @return the saved {@link WorkflowDefinition}
+     * @throws DomainBusinessRuleException if a workflow with the same name was saved concurrently
+     */
+    WorkflowDefinition save(WorkflowDefinition workflowDefinition);
+}
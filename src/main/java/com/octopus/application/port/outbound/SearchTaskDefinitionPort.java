@@ -0,0 +1,18 @@
+package com.octopus.application.port.outbound;
+
+import com.octopus.application.port.inbound.query.TaskDefinitionSearchHit;
+
+import java.util.List;
+
+public interface SearchTaskDefinitionPort {
+
+    /**
+     * @return definitions whose name starts with {@code prefix}, ignoring case, in name order
+     */
+    List<TaskDefinitionSearchHit> findByNamePrefix(String prefix, int limit);
+
+    /**
+     * @return definitions matching the words of {@code text}, ranked by relevance
+     */
+    List<TaskDefinitionSearchHit> findByText(String text, int limit);
+}
@@ -0,0 +1,26 @@
+package com.octopus.application.port.outbound;
+
+import com.octopus.application.event.TaskDefinitionEvent;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Events recorded with the changes they describe, waiting to be published.
+ */
+public interface TaskDefinitionOutboxPort {
+
+    /**
+     * Loads events not yet published, ordered by name and version, so that the events of one name come in the order
+     * of its versions. Events of changes still being saved are held back, along with the later events of their name,
+     * and events of changes whose save was interrupted are dropped.
+     *
+     * @return up to {@code limit} events of completed changes
+     */
+    List<TaskDefinitionEvent> loadPending(int limit);
+
+    /**
+     * Removes published events from the outbox. Unknown or already removed ids are ignored.
+     */
+    void markPublished(Collection<String> eventIds);
+}
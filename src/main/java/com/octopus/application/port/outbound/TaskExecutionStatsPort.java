@@ -0,0 +1,26 @@
+package com.octopus.application.port.outbound;
+
+import com.octopus.domain.vo.TaskExecutionStats;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Optional;
+
+public interface TaskExecutionStatsPort {
+
+    /**
+     * Adds statistics aggregated over a flush interval to the stored ones. Deltas are stored independently of each
+     * other, so some may be stored while others fail.
+     *
+     * @param deltas one entry per task executed during the interval
+     * @return the deltas that could not be stored, empty if all were
+     */
+    Collection<TaskExecutionStats> merge(Collection<TaskExecutionStats> deltas);
+
+    /**
+     * @param name  the task name
+     * @param since start of the period of interest; stores may round it down, to the start of a day for instance
+     * @return the statistics of the task over that period, or empty if none was reported
+     */
+    Optional<TaskExecutionStats> load(String name, Instant since);
+}
@@ -0,0 +1,53 @@
+package com.octopus.application.usecase;
+
+import com.octopus.application.port.inbound.ChangeTaskDefinitionStatusUseCase;
+import com.octopus.application.port.inbound.command.ChangeTaskDefinitionStatusCommand;
+import com.octopus.application.port.outbound.LoadTaskDefinitionPort;
+import com.octopus.application.port.outbound.SaveTaskDefinitionPort;
+import com.octopus.domain.entity.TaskDefinition;
+import com.octopus.domain.exception.DomainBusinessRuleException;
+import com.octopus.domain.exception.DomainResourceNotFoundException;
+import com.octopus.domain.vo.TaskDefinitionId;
+import com.octopus.domain.vo.TaskStatus;
+import jakarta.enterprise.context.ApplicationScoped;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+
+@Slf4j
+@ApplicationScoped
+@RequiredArgsConstructor
+public class ChangeTaskDefinitionStatusUseCaseImpl implements ChangeTaskDefinitionStatusUseCase {
+
+    private final LoadTaskDefinitionPort loadTaskDefinitionPort;
+    private final SaveTaskDefinitionPort saveTaskDefinitionPort;
+
+    @Override
+    public TaskDefinition execute(TaskDefinitionId id, ChangeTaskDefinitionStatusCommand command) {
+        var status = TaskStatus.fromString(command.getStatus());
+        log.info("Changing status of task definition '{}' to {}", id.value(), status);
+
+        // read from the store rather than a cache: a stale version would be refused, or would hide an active name
+        var taskDefinition = loadTaskDefinitionPort.loadForUpdate(id)
+                .orElseThrow(() -> new DomainResourceNotFoundException("Task definition '" + id.value() + "' not found"));
+
+        if (taskDefinition.taskStatus() == status) return taskDefinition;
+
+        if (status == TaskStatus.ACTIVE) {
+            var name = taskDefinition.taskInfo().name();
+            // the definition is not active itself, so any active one of the name is another definition
+            if (loadTaskDefinitionPort.loadActiveNames(List.of(name)).contains(name)) {
+                throw new DomainBusinessRuleException("An active task definition with name '" + name + "' already exists");
+            }
+        }
+
+        taskDefinition.changeStatus(status);
+
+        var saved = saveTaskDefinitionPort.save(taskDefinition);
+
+        log.info("Task definition '{}' is now {} at version {}", saved.id().value(), saved.taskStatus(), saved.version());
+
+        return saved;
+    }
+}
@@ -7,6 +7,8 @@ import com.octopus.application.port.outbound.LoadTaskDefinitionPort;
 import com.octopus.application.port.outbound.SaveTaskDefinitionPort;
 import com.octopus.domain.entity.TaskDefinition;
 import com.octopus.domain.exception.DomainBusinessRuleException;
+import com.octopus.domain.exception.DomainValidationException;
+import com.octopus.domain.vo.TaskDefinitionId;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
@@ -14,7 +16,13 @@ import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
 import java.util.Set;
+import java.util.stream.IntStream;
 
 @Slf4j
 @ApplicationScoped
@@ -33,15 +41,16 @@ public class CreateTaskDefinitionUseCaseImpl implements CreateTaskDefinitionUseC
         // Perform bean validation on the command
         validate(command);
 
-        // Perform business validation (check for duplicate name)
-        if (loadTaskDefinitionPort.existsActiveByName(command.getName())) {
+        // Perform business validation (check for duplicate name), against the store rather than a cached answer
+        if (loadTaskDefinitionPort.loadActiveNames(List.of(command.getName())).contains(command.getName())) {
             log.warn("Task definition with name '{}' already exists", command.getName());
-            throw new DomainBusinessRuleException(
-                    String.format("An active task definition with name '%s' already exists", command.getName()));
+            throw nameTaken(command.getName());
         }
 
-        // Build the TaskDefinition entity from the command
-        var taskDefinition = taskFactory.createFrom(command);
+        // Build the TaskDefinition entity from the command, continuing the version sequence of its name
+        var initialVersion = loadTaskDefinitionPort.loadLatestVersion(command.getName())
+                .orElse(TaskDefinition.INITIAL_VERSION - 1) + 1;
+        var taskDefinition = taskFactory.createFrom(command, initialVersion);
 
         // Save the new task definition
         var saved = saveTaskDefinitionPort.save(taskDefinition);
@@ -51,6 +60,68 @@ public class CreateTaskDefinitionUseCaseImpl implements CreateTaskDefinitionUseC
         return saved;
     }
 
+    @Override
+    public List<Outcome> executeAll(List<CreateTaskDefinitionCommand> commands, List<TaskDefinitionId> ids) {
+        log.debug("Creating {} task definitions in bulk", commands.size());
+
+        var outcomes = new Outcome[commands.size()];
+        var pending = IntStream.range(0, commands.size()).boxed().toList();
+        while (!pending.isEmpty()) {
+            // the first command of each name is written now, the next ones of the same name after it
+            var names = new HashSet<String>();
+            var now = new ArrayList<Integer>(pending.size());
+            var later = new ArrayList<Integer>();
+            for (var position : pending) {
+                (names.add(commands.get(position).getName()) ? now : later).add(position);
+            }
+            createInBulk(commands, ids, now, outcomes);
+            pending = later;
+        }
+        return Arrays.asList(outcomes);
+    }
+
+    /**
+     * Creates commands of distinct names with one bulk write.
+     */
+    private void createInBulk(List<CreateTaskDefinitionCommand> commands, List<TaskDefinitionId> ids, List<Integer> positions,
+                              Outcome[] outcomes) {
+        var names = positions.stream().map(position -> commands.get(position).getName()).filter(Objects::nonNull).toList();
+        var activeNames = loadTaskDefinitionPort.loadActiveNames(names);
+        var latestVersions = loadTaskDefinitionPort.loadLatestVersions(names);
+
+        var definitions = new ArrayList<TaskDefinition>(positions.size());
+        var written = new ArrayList<Integer>(positions.size());
+        for (var position : positions) {
+            var command = commands.get(position);
+            try {
+                validate(command);
+                if (activeNames.contains(command.getName())) throw nameTaken(command.getName());
+
+                var latest = latestVersions.get(command.getName());
+                definitions.add(taskFactory.createFrom(command, ids.get(position),
+                        latest != null ? latest + 1 : TaskDefinition.INITIAL_VERSION));
+                written.add(position);
+            } catch (ConstraintViolationException | DomainValidationException | DomainBusinessRuleException e) {
+                outcomes[position] = Outcome.refused(e);
+            }
+        }
+        if (definitions.isEmpty()) return;
+
+        var failures = saveTaskDefinitionPort.saveAll(definitions);
+        for (int i = 0; i < definitions.size(); i++) {
+            var failure = failures.get(i);
+            if (failure != null) {
+                outcomes[written.get(i)] = Outcome.refused(new DomainBusinessRuleException(failure));
+                continue;
+            }
+            outcomes[written.get(i)] = Outcome.created(definitions.get(i));
+        }
+    }
+
+    private static DomainBusinessRuleException nameTaken(String name) {
+        return new DomainBusinessRuleException("An active task definition with name '" + name + "' already exists");
+    }
+
     /**
      * Validates the CreateTaskDefinitionCommand using Bean Validation.
      * If any constraint violations are found, a ConstraintViolationException is thrown.
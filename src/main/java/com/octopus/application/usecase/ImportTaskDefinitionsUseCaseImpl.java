@@ -0,0 +1,83 @@
+package com.octopus.application.usecase;
+
+import com.octopus.application.factory.TaskDefinitionFactory;
+import com.octopus.application.port.inbound.ImportTaskDefinitionsUseCase;
+import com.octopus.application.port.inbound.command.CreateTaskDefinitionCommand;
+import com.octopus.application.port.outbound.LoadTaskDefinitionPort;
+import com.octopus.application.port.outbound.SaveTaskDefinitionPort;
+import com.octopus.domain.entity.TaskDefinition;
+import com.octopus.domain.exception.DomainValidationException;
+import com.octopus.domain.vo.TaskStatus;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Slf4j
+@ApplicationScoped
+@RequiredArgsConstructor
+public class ImportTaskDefinitionsUseCaseImpl implements ImportTaskDefinitionsUseCase {
+
+    private final Validator validator;
+    private final LoadTaskDefinitionPort loadTaskDefinitionPort;
+    private final SaveTaskDefinitionPort saveTaskDefinitionPort;
+    private final TaskDefinitionFactory taskFactory;
+
+    @Override
+    public List<Rejection> importBatch(List<CreateTaskDefinitionCommand> commands) {
+        var rejections = new ArrayList<Rejection>();
+        var definitions = new ArrayList<TaskDefinition>(commands.size());
+        var positions = new ArrayList<Integer>(commands.size());
+
+        for (int i = 0; i < commands.size(); i++) {
+            var command = commands.get(i);
+            var violations = validator.validate(command);
+            if (!violations.isEmpty()) {
+                rejections.add(new Rejection(i, violations.stream()
+                        .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                        .sorted()
+                        .toList()));
+                continue;
+            }
+            try {
+                definitions.add(taskFactory.createImportedFrom(command));
+                positions.add(i);
+            } catch (DomainValidationException e) {
+                rejections.add(new Rejection(i, e.violations()));
+            }
+        }
+
+        // versions are numbered from 1 on import, so only a name that is active already needs checking here;
+        // a name with a history is refused by its first version. A name active with the very definition being
+        // imported was imported by an earlier run, which the save completes if it was interrupted.
+        var active = loadTaskDefinitionPort.loadActiveSummariesByNames(definitions.stream()
+                .filter(definition -> definition.taskStatus() == TaskStatus.ACTIVE)
+                .map(definition -> definition.taskInfo().name())
+                .toList());
+
+        var accepted = new ArrayList<TaskDefinition>(definitions.size());
+        var acceptedPositions = new ArrayList<Integer>(definitions.size());
+        for (int i = 0; i < definitions.size(); i++) {
+            var definition = definitions.get(i);
+            var current = active.get(definition.taskInfo().name());
+            if (definition.taskStatus() == TaskStatus.ACTIVE && current != null && !current.id().equals(definition.id())) {
+                rejections.add(new Rejection(positions.get(i),
+                        List.of("An active task definition with name '" + definition.taskInfo().name() + "' already exists")));
+                continue;
+            }
+            accepted.add(definition);
+            acceptedPositions.add(positions.get(i));
+        }
+
+        if (!accepted.isEmpty()) {
+            saveTaskDefinitionPort.saveAll(accepted).forEach((position, reason) ->
+                    rejections.add(new Rejection(acceptedPositions.get(position), List.of(reason))));
+        }
+
+        log.debug("Imported {} of {} task definitions", commands.size() - rejections.size(), commands.size());
+        return rejections;
+    }
+}
@@ -0,0 +1,33 @@
+package com.octopus.application.usecase;
+
+import com.octopus.application.port.inbound.ListTaskDefinitionsQuery;
+import com.octopus.application.port.inbound.query.Page;
+import com.octopus.application.port.inbound.query.TaskDefinitionListCriteria;
+import com.octopus.application.port.outbound.LoadTaskDefinitionPort;
+import com.octopus.domain.entity.TaskDefinition;
+import com.octopus.domain.vo.TaskDefinitionSummary;
+import jakarta.enterprise.context.ApplicationScoped;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@ApplicationScoped
+@RequiredArgsConstructor
+public class ListTaskDefinitionsQueryImpl implements ListTaskDefinitionsQuery {
+
+    private final LoadTaskDefinitionPort loadTaskDefinitionPort;
+
+    @Override
+    public Page<TaskDefinitionSummary> listSummaries(TaskDefinitionListCriteria criteria) {
+        log.debug("Listing task definition summaries with criteria: {}", criteria);
+
+        return loadTaskDefinitionPort.loadSummaryPage(criteria);
+    }
+
+    @Override
+    public Page<TaskDefinition> list(TaskDefinitionListCriteria criteria) {
+        log.debug("Listing task definitions with criteria: {}", criteria);
+
+        return loadTaskDefinitionPort.loadPage(criteria);
+    }
+}
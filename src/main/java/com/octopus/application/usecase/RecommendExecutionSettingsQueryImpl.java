@@ -0,0 +1,77 @@
+package com.octopus.application.usecase;
+
+import com.octopus.application.port.inbound.RecommendExecutionSettingsQuery;
+import com.octopus.application.port.inbound.query.ExecutionSettingsRecommendation;
+import com.octopus.application.port.outbound.LoadTaskDefinitionPort;
+import com.octopus.application.port.outbound.TaskExecutionStatsPort;
+import com.octopus.domain.exception.DomainResourceNotFoundException;
+import com.octopus.domain.vo.HttpConfig;
+import com.octopus.domain.vo.TaskDefinitionId;
+import com.octopus.domain.vo.TaskExecutionStats;
+import jakarta.enterprise.context.ApplicationScoped;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+@Slf4j
+@ApplicationScoped
+@RequiredArgsConstructor
+public class RecommendExecutionSettingsQueryImpl implements RecommendExecutionSettingsQuery {
+
+    private final LoadTaskDefinitionPort loadTaskDefinitionPort;
+    private final TaskExecutionStatsPort taskExecutionStatsPort;
+
+    @Override
+    public ExecutionSettingsRecommendation recommend(TaskDefinitionId id) {
+        var definition = loadTaskDefinitionPort.loadById(id)
+                .orElseThrow(() -> new DomainResourceNotFoundException("Task definition '" + id.value() + "' not found"));
+        var name = definition.taskInfo().name();
+        log.debug("Recommending execution settings of task definition '{}'", name);
+
+        var since = Instant.now().minus(WINDOW);
+        var stats = taskExecutionStatsPort.load(name, since).orElseGet(() -> TaskExecutionStats.empty(name));
+        var trusted = stats.executions() >= MIN_EXECUTIONS;
+
+        var p99 = stats.latency().quantile(0.99);
+        var retryableStatusCodes = definition.retryPolicy().retryableStatusCodes();
+        Set<Integer> currentRetryable = retryableStatusCodes == null ? Set.of() : Arrays.stream(retryableStatusCodes)
+                .collect(Collectors.toCollection(TreeSet::new));
+
+        return new ExecutionSettingsRecommendation(
+                id.value().toString(),
+                name,
+                since,
+                stats.executions(),
+                stats.latency().quantile(0.5),
+                p99,
+                definition.httpConfig().timeoutSeconds(),
+                trusted ? recommendTimeout(p99) : null,
+                currentRetryable,
+                trusted ? recommendRetryable(stats) : null,
+                stats.statusCounts(),
+                stats.attemptCounts());
+    }
+
+    private static int recommendTimeout(double p99Millis) {
+        var seconds = (int) Math.ceil(p99Millis * TIMEOUT_HEADROOM / 1000);
+        return Math.clamp(seconds, HttpConfig.MIN_TIMEOUT_SECONDS, HttpConfig.MAX_TIMEOUT_SECONDS);
+    }
+
+    /**
+     * Transient failure codes seen in at least one execution out of a thousand; rarer ones are not worth retrying on.
+     */
+    private static Set<Integer> recommendRetryable(TaskExecutionStats stats) {
+        var threshold = Math.max(1, stats.executions() / 1000);
+
+        return stats.statusCounts().entrySet().stream()
+                .filter(entry -> TRANSIENT_STATUS_CODES.contains(entry.getKey()) && entry.getValue() >= threshold)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toCollection(TreeSet::new));
+    }
+}
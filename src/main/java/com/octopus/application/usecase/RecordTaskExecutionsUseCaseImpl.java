@@ -0,0 +1,34 @@
+package com.octopus.application.usecase;
+
+import com.octopus.application.port.inbound.RecordTaskExecutionsUseCase;
+import com.octopus.application.port.outbound.RecordTaskExecutionPort;
+import com.octopus.domain.vo.RetryPolicy;
+import com.octopus.domain.vo.TaskInfo;
+import jakarta.enterprise.context.ApplicationScoped;
+import lombok.RequiredArgsConstructor;
+
+import java.util.regex.Pattern;
+
+import static java.util.Objects.isNull;
+
+@ApplicationScoped
+@RequiredArgsConstructor
+public class RecordTaskExecutionsUseCaseImpl implements RecordTaskExecutionsUseCase {
+
+    private static final Pattern TASK_NAME = Pattern.compile(TaskInfo.TASK_NAME_PATTERN);
+
+    private final RecordTaskExecutionPort recordTaskExecutionPort;
+
+    @Override
+    public boolean record(String taskName, long latencyMillis, int httpStatus, int attempt) {
+        // invalid reports are counted as rejected by the caller rather than thrown, which would cost a stack per event
+        if (isNull(taskName)) return false;
+        if (taskName.length() < TaskInfo.TASK_NAME_MIN_LENGTH || taskName.length() > TaskInfo.TASK_NAME_MAX_LENGTH) return false;
+        if (!TASK_NAME.matcher(taskName).matches()) return false;
+        if (latencyMillis < 0) return false;
+        if (httpStatus < RetryPolicy.MIN_HTTP_STATUS_CODE || httpStatus > RetryPolicy.MAX_HTTP_STATUS_CODE) return false;
+        if (attempt < 1 || attempt > RetryPolicy.MAX_ATTEMPTS_LIMIT + 1) return false;
+
+        return recordTaskExecutionPort.record(taskName, latencyMillis, httpStatus, attempt);
+    }
+}
@@ -0,0 +1,71 @@
+package com.octopus.application.usecase;
+
+import com.octopus.application.port.inbound.RegisterWorkflowDefinitionUseCase;
+import com.octopus.application.port.inbound.command.RegisterWorkflowDefinitionCommand;
+import com.octopus.application.port.outbound.LoadTaskDefinitionPort;
+import com.octopus.application.port.outbound.LoadWorkflowDefinitionPort;
+import com.octopus.application.port.outbound.SaveWorkflowDefinitionPort;
+import com.octopus.domain.entity.WorkflowDefinition;
+import com.octopus.domain.exception.DomainBusinessRuleException;
+import com.octopus.domain.exception.ValidationErrors;
+import com.octopus.domain.vo.WorkflowStep;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+
+@Slf4j
+@ApplicationScoped
+@RequiredArgsConstructor
+public class RegisterWorkflowDefinitionUseCaseImpl implements RegisterWorkflowDefinitionUseCase {
+
+    private final Validator validator;
+    private final LoadWorkflowDefinitionPort loadWorkflowDefinitionPort;
+    private final SaveWorkflowDefinitionPort saveWorkflowDefinitionPort;
+    private final LoadTaskDefinitionPort loadTaskDefinitionPort;
+
+    @Override
+    public WorkflowDefinition execute(RegisterWorkflowDefinitionCommand command) {
+        log.info("Registering workflow definition '{}'", command.getName());
+
+        var violations = validator.validate(command);
+        if (!violations.isEmpty()) throw new ConstraintViolationException(violations);
+
+        if (loadWorkflowDefinitionPort.existsByName(command.getName())) {
+            throw new DomainBusinessRuleException("A workflow definition named '" + command.getName() + "' already exists");
+        }
+
+        // the graph is checked first: it needs no query
+        var workflow = WorkflowDefinition.createNew(command.getName(), command.getDescription(), buildSteps(command));
+
+        var active = loadTaskDefinitionPort.loadActiveNames(workflow.taskNames());
+        var missing = workflow.taskNames().stream().filter(name -> !active.contains(name)).toList();
+        if (!missing.isEmpty()) {
+            throw new DomainBusinessRuleException("Workflow '" + command.getName() + "' runs tasks with no active definition: " + missing);
+        }
+
+        var saved = saveWorkflowDefinitionPort.save(workflow);
+
+        log.info("Registered workflow '{}' with {} steps in {} levels", saved.name(), saved.steps().size(), saved.levels().size());
+
+        return saved;
+    }
+
+    private static ArrayList<WorkflowStep> buildSteps(RegisterWorkflowDefinitionCommand command) {
+        var errors = new ValidationErrors();
+        var steps = new ArrayList<WorkflowStep>(command.getSteps().size());
+        for (var step : command.getSteps()) {
+            var built = errors.collect(() -> WorkflowStep.builder()
+                    .id(step.getId())
+                    .taskName(step.getTask())
+                    .dependsOn(step.getDependsOn())
+                    .build());
+            if (built != null) steps.add(built);
+        }
+        errors.throwIfAny();
+        return steps;
+    }
+}
@@ -1,13 +1,19 @@
 package com.octopus.application.usecase;
 
 import com.octopus.application.port.inbound.ResolveTaskDefinitionQuery;
+import com.octopus.application.port.inbound.query.LazyTaskDefinition;
 import com.octopus.application.port.outbound.LoadTaskDefinitionPort;
+import com.octopus.domain.entity.TaskDefinition;
 import com.octopus.domain.exception.DomainValidationException;
+import com.octopus.domain.vo.TaskDefinitionHead;
+import com.octopus.domain.vo.TaskDefinitionId;
+import com.octopus.domain.vo.TaskDefinitionRef;
 import jakarta.enterprise.context.ApplicationScoped;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.Objects;
+import java.util.Optional;
 
 @Slf4j
 @ApplicationScoped
@@ -24,4 +30,47 @@ public class ResolveTaskDefinitionQueryImpl implements ResolveTaskDefinitionQuer
 
         return loadTaskDefinitionPort.existsActiveByName(name);
     }
+
+    @Override
+    public Optional<LazyTaskDefinition> resolve(String name) {
+        log.debug("Resolving task definition summary with name '{}'", name);
+
+        if(Objects.isNull(name) || name.isBlank()) throw new DomainValidationException("Task definition name must not be null or blank");
+
+        return loadTaskDefinitionPort.loadActiveSummaryByName(name)
+                .map(summary -> new LazyTaskDefinition(summary, () -> loadTaskDefinitionPort.loadDetailsById(summary.id())));
+    }
+
+    @Override
+    public Optional<TaskDefinition> resolveComplete(String name) {
+        log.debug("Resolving complete task definition with name '{}'", name);
+
+        if(Objects.isNull(name) || name.isBlank()) throw new DomainValidationException("Task definition name must not be null or blank");
+
+        return loadTaskDefinitionPort.loadActiveByName(name);
+    }
+
+    @Override
+    public Optional<TaskDefinition> resolveVersion(String name, long version) {
+        var ref = TaskDefinitionRef.pinned(name, version);
+        log.debug("Resolving task definition version '{}'", ref);
+
+        return loadTaskDefinitionPort.loadVersion(ref.name(), version);
+    }
+
+    @Override
+    public Optional<TaskDefinition> resolveById(TaskDefinitionId id) {
+        log.debug("Resolving task definition by id '{}'", id.value());
+
+        return loadTaskDefinitionPort.loadById(id);
+    }
+
+    @Override
+    public Optional<TaskDefinitionHead> resolveActiveHead(String name) {
+        log.debug("Resolving task definition head '{}'", name);
+
+        if(Objects.isNull(name) || name.isBlank()) throw new DomainValidationException("Task definition name must not be null or blank");
+
+        return loadTaskDefinitionPort.loadHead(name).filter(TaskDefinitionHead::isActive);
+    }
 }
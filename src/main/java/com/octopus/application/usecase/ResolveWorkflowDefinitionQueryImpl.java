@@ -0,0 +1,114 @@
+package com.octopus.application.usecase;
+
+import com.octopus.application.event.TaskDefinitionChangedEvent;
+import com.octopus.application.port.inbound.ResolveWorkflowDefinitionQuery;
+import com.octopus.application.port.inbound.query.ResolvedWorkflow;
+import com.octopus.application.port.outbound.LoadTaskDefinitionPort;
+import com.octopus.application.port.outbound.LoadWorkflowDefinitionPort;
+import com.octopus.domain.exception.DomainValidationException;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Resolves a workflow and the active definitions of all its tasks with one query by name, and keeps the result as a
+ * unit until any of those tasks is saved again, or for {@link #RESOLUTION_TTL} at most.
+ * <p>
+ * Only complete resolutions are kept: a task missing from one may be created by a bulk import, which fires no
+ * change event. A resolution started before a task change is never kept, which a generation counter checks. Change
+ * events are local to this instance, so saves made through other replicas, and changes of the workflow itself, are
+ * only seen once the kept resolution expires. Callers get their own copy of the task definitions of a resolution.
+ * </p>
+ */
+@Slf4j
+@ApplicationScoped
+@RequiredArgsConstructor
+public class ResolveWorkflowDefinitionQueryImpl implements ResolveWorkflowDefinitionQuery {
+
+    /**
+     * Resolutions kept at most. The cache is emptied when it is full; workflows are few and resolved again cheaply.
+     */
+    static final int MAX_CACHED_WORKFLOWS = 10_000;
+
+    /**
+     * How long a resolution is kept, which bounds how stale it is when its tasks were changed elsewhere.
+     */
+    static final Duration RESOLUTION_TTL = Duration.ofSeconds(30);
+
+    private final LoadWorkflowDefinitionPort loadWorkflowDefinitionPort;
+    private final LoadTaskDefinitionPort loadTaskDefinitionPort;
+
+    private final ConcurrentHashMap<String, Kept> resolved = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Set<String>> workflowsByTask = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    private record Kept(ResolvedWorkflow resolution, long expiresAt) {
+
+        boolean isExpired(long now) {
+            return now - expiresAt >= 0;
+        }
+    }
+
+    @Override
+    public Optional<ResolvedWorkflow> resolve(String name) {
+        log.debug("Resolving workflow definition '{}'", name);
+
+        if (Objects.isNull(name) || name.isBlank()) throw new DomainValidationException("Workflow name must not be null or blank");
+
+        var cached = resolved.get(name);
+        if (cached != null) {
+            if (!cached.isExpired(System.nanoTime())) return Optional.of(copyOf(cached.resolution()));
+            resolved.remove(name, cached);
+        }
+
+        var started = generation.get();
+        return loadWorkflowDefinitionPort.loadByName(name).map(workflow -> {
+            var tasks = loadTaskDefinitionPort.loadActiveByNames(workflow.taskNames());
+            var resolution = new ResolvedWorkflow(workflow, Map.copyOf(tasks));
+            if (!resolution.isComplete()) return resolution;
+
+            keep(resolution, started);
+            return copyOf(resolution);
+        });
+    }
+
+    private void keep(ResolvedWorkflow resolution, long started) {
+        var name = resolution.workflow().name();
+        if (resolved.size() >= MAX_CACHED_WORKFLOWS) {
+            resolved.clear();
+            workflowsByTask.clear();
+        }
+        resolution.workflow().taskNames()
+                .forEach(task -> workflowsByTask.computeIfAbsent(task, key -> ConcurrentHashMap.newKeySet()).add(name));
+
+        var kept = new Kept(resolution, System.nanoTime() + RESOLUTION_TTL.toNanos());
+        resolved.put(name, kept);
+        // a task saved since the resolution started: its invalidation may have run before the put
+        if (generation.get() != started) resolved.remove(name, kept);
+    }
+
+    /**
+     * The workflow is immutable, while task definitions are entities their holder may change.
+     */
+    private static ResolvedWorkflow copyOf(ResolvedWorkflow resolution) {
+        return new ResolvedWorkflow(resolution.workflow(), resolution.tasks().entrySet().stream()
+                .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, entry -> entry.getValue().copy())));
+    }
+
+    void onTaskChanged(@Observes TaskDefinitionChangedEvent event) {
+        generation.incrementAndGet();
+
+        var workflows = workflowsByTask.remove(event.name());
+        if (workflows != null) workflows.forEach(resolved::remove);
+    }
+}
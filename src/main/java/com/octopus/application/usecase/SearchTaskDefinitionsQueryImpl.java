@@ -0,0 +1,42 @@
+package com.octopus.application.usecase;
+
+import com.octopus.application.port.inbound.SearchTaskDefinitionsQuery;
+import com.octopus.application.port.inbound.query.TaskDefinitionSearchHit;
+import com.octopus.application.port.outbound.SearchTaskDefinitionPort;
+import com.octopus.domain.exception.DomainValidationException;
+import jakarta.enterprise.context.ApplicationScoped;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+
+import static java.util.Objects.isNull;
+
+@Slf4j
+@ApplicationScoped
+@RequiredArgsConstructor
+public class SearchTaskDefinitionsQueryImpl implements SearchTaskDefinitionsQuery {
+
+    private final SearchTaskDefinitionPort searchTaskDefinitionPort;
+
+    @Override
+    public List<TaskDefinitionSearchHit> suggest(String prefix, int limit) {
+        validate(prefix, limit);
+        log.debug("Suggesting task names starting with '{}'", prefix);
+
+        return searchTaskDefinitionPort.findByNamePrefix(prefix.strip(), limit);
+    }
+
+    @Override
+    public List<TaskDefinitionSearchHit> search(String text, int limit) {
+        validate(text, limit);
+        log.debug("Searching task definitions for '{}'", text);
+
+        return searchTaskDefinitionPort.findByText(text, limit);
+    }
+
+    private static void validate(String text, int limit) {
+        if (isNull(text) || text.isBlank()) throw new DomainValidationException("Search text is required");
+        if (limit < 1 || limit > MAX_LIMIT) throw new DomainValidationException("limit must be between 1 and " + MAX_LIMIT);
+    }
+}
@@ -0,0 +1,52 @@
+package com.octopus.application.usecase;
+
+import com.octopus.application.port.inbound.ServePeerCacheUseCase;
+import com.octopus.application.port.outbound.LoadTaskDefinitionPort;
+import com.octopus.application.port.outbound.PeerCachePort;
+import com.octopus.domain.vo.TaskDefinitionId;
+import jakarta.enterprise.context.ApplicationScoped;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Optional;
+
+@Slf4j
+@ApplicationScoped
+@RequiredArgsConstructor
+public class ServePeerCacheUseCaseImpl implements ServePeerCacheUseCase {
+
+    private final PeerCachePort peerCachePort;
+    private final LoadTaskDefinitionPort loadTaskDefinitionPort;
+
+    @Override
+    public boolean isEnabled() {
+        return peerCachePort.isEnabled();
+    }
+
+    @Override
+    public boolean authorizes(String token) {
+        return token != null && peerCachePort.authorizes(token);
+    }
+
+    @Override
+    public Optional<byte[]> serveByName(String name) {
+        return peerCachePort.serveName(name, () -> loadTaskDefinitionPort.loadActiveByName(name));
+    }
+
+    @Override
+    public Optional<byte[]> serveById(TaskDefinitionId id) {
+        return peerCachePort.serveId(id, () -> loadTaskDefinitionPort.loadById(id));
+    }
+
+    @Override
+    public void invalidateName(String name) {
+        log.debug("Peer cache: invalidating name '{}'", name);
+        peerCachePort.invalidateName(name);
+    }
+
+    @Override
+    public void invalidateId(TaskDefinitionId id) {
+        log.debug("Peer cache: invalidating id '{}'", id);
+        peerCachePort.invalidateId(id);
+    }
+}
@@ -7,12 +7,15 @@ import lombok.Builder;
 import java.time.Instant;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
 
 import static java.util.Objects.isNull;
 
 @Builder
 public class TaskDefinition {
 
+    public static final long INITIAL_VERSION = 1L;
+
     private TaskDefinitionId id;
 
     private TaskInfo taskInfo;
@@ -29,13 +32,21 @@ public class TaskDefinition {
 
     private Audit audit;
 
+    /**
+     * Version of this definition. Every change produces a new version; a given version never changes.
+     * Versions are numbered per name, so a definition follows the versions other definitions of its name recorded.
+     */
+    @Builder.Default
+    private long version = INITIAL_VERSION;
+
     public TaskDefinition(TaskDefinitionId id,
                           TaskInfo taskInfo,
                           TaskStatus status,
                           Map<String, String> metadata,
                           HttpConfig httpConfig,
                           RetryPolicy retryPolicy,
-                          Audit audit) {
+                          Audit audit,
+                          long version) {
         this.setId(id);
         this.setTaskInfo(taskInfo);
         this.setTaskStatus(status);
@@ -43,6 +54,7 @@ public class TaskDefinition {
         this.setHttpConfig(httpConfig);
         this.setRetryPolicy(retryPolicy);
         this.setAudit(audit);
+        this.setVersion(version);
     }
 
     /**
@@ -60,15 +72,50 @@ public class TaskDefinition {
             Map<String, String> metadata,
             HttpConfig httpConfig,
             RetryPolicy retryPolicy
+    ) {
+        return createNew(taskInfo, taskStatus, metadata, httpConfig, retryPolicy, INITIAL_VERSION);
+    }
+
+    /**
+     * Factory method to create a new TaskDefinition continuing the version sequence of its name,
+     * used when the name was held by an earlier definition.
+     *
+     * @param initialVersion The first version of the new definition.
+     */
+    public static TaskDefinition createNew(
+            TaskInfo taskInfo,
+            TaskStatus taskStatus,
+            Map<String, String> metadata,
+            HttpConfig httpConfig,
+            RetryPolicy retryPolicy,
+            long initialVersion
+    ) {
+        return createNew(TaskDefinitionId.random(), taskInfo, taskStatus, metadata, httpConfig, retryPolicy, initialVersion);
+    }
+
+    /**
+     * Factory method to create a new TaskDefinition with a given id.
+     *
+     * @param id The id of the new definition.
+     */
+    public static TaskDefinition createNew(
+            TaskDefinitionId id,
+            TaskInfo taskInfo,
+            TaskStatus taskStatus,
+            Map<String, String> metadata,
+            HttpConfig httpConfig,
+            RetryPolicy retryPolicy,
+            long initialVersion
     ) {
         return TaskDefinition.builder()
-                .id(TaskDefinitionId.random())
+                .id(id)
                 .taskInfo(taskInfo)
                 .taskStatus(taskStatus)
                 .metadata(metadata)
                 .httpConfig(httpConfig)
                 .retryPolicy(retryPolicy)
                 .audit(Audit.createNew())
+                .version(initialVersion)
                 .build();
     }
 
@@ -88,6 +135,29 @@ public class TaskDefinition {
         this.markAsModified();
     }
 
+    /**
+     * Deprecates this task definition.
+     */
+    public void deprecate() {
+        this.setTaskStatus(TaskStatus.DEPRECATED);
+        this.markAsModified();
+    }
+
+    /**
+     * Moves this task definition to the given status.
+     *
+     * @param status the target status
+     */
+    public void changeStatus(TaskStatus status) {
+        if (isNull(status)) throw new DomainValidationException("taskStatus cannot be null");
+
+        switch (status) {
+            case ACTIVE -> activate();
+            case INACTIVE -> deactivate();
+            case DEPRECATED -> deprecate();
+        }
+    }
+
     /**
      * Adds a single metadata entry.
      *
@@ -119,10 +189,35 @@ public class TaskDefinition {
     }
 
     /**
-     * Marks this task definition as modified by updating the audit information.
+     * Marks this task definition as modified by updating the audit information and moving to the next version.
      */
     private void markAsModified() {
         this.setAudit(this.audit.withUpdatedAt(Instant.now()));
+        this.version++;
+    }
+
+    /**
+     * Checks if another task definition is the same version of this one: same id, version and content, whenever
+     * either was last modified.
+     */
+    public boolean isSameVersionAs(TaskDefinition other) {
+        return this.id.equals(other.id)
+                && this.version == other.version
+                && this.taskInfo.equals(other.taskInfo)
+                && this.taskStatus == other.taskStatus
+                && Objects.equals(this.metadata, other.metadata)
+                && Objects.equals(this.httpConfig, other.httpConfig)
+                && Objects.equals(this.retryPolicy, other.retryPolicy);
+    }
+
+    /**
+     * Moves this definition past the latest version recorded for its name, which other definitions of the same name
+     * may have taken since it was loaded. Does nothing if it is past it already.
+     *
+     * @param latestVersion the highest version recorded for the name
+     */
+    public void continueVersionsAfter(long latestVersion) {
+        if (latestVersion >= this.version) this.setVersion(latestVersion + 1);
     }
 
     /**
@@ -183,6 +278,42 @@ public class TaskDefinition {
         return audit;
     }
 
+    public long version() {
+        return version;
+    }
+
+    /**
+     * @return a copy of this definition that can be changed without affecting this one. The HTTP configuration and
+     * retry policy are read-only value objects, and are shared.
+     */
+    public TaskDefinition copy() {
+        return new TaskDefinition(id, taskInfo, taskStatus, new HashMap<>(metadata), httpConfig, retryPolicy, audit, version);
+    }
+
+    /**
+     * @return the scalar fields of this definition, see {@link TaskDefinitionSummary}
+     */
+    public TaskDefinitionSummary toSummary() {
+        return TaskDefinitionSummary.builder()
+                .id(id)
+                .taskInfo(taskInfo)
+                .taskStatus(taskStatus)
+                .metadata(metadata)
+                .endpoint(httpConfig.endpoint())
+                .httpMethod(httpConfig.httpMethod())
+                .timeoutSeconds(httpConfig.timeoutSeconds())
+                .audit(audit)
+                .version(version)
+                .build();
+    }
+
+    /**
+     * @return the reference pinning this exact version, see {@link TaskDefinitionRef}
+     */
+    public TaskDefinitionRef versionRef() {
+        return TaskDefinitionRef.pinned(taskInfo.name(), version);
+    }
+
     private void setId(TaskDefinitionId id) {
         if (isNull(id)) throw new DomainValidationException("id cannot be null");
 
@@ -226,6 +357,12 @@ public class TaskDefinition {
 
         this.audit = audit;
     }
+
+    private void setVersion(long version) {
+        if (version < INITIAL_VERSION) throw new DomainValidationException("version must be at least " + INITIAL_VERSION);
+
+        this.version = version;
+    }
 }
 
 
@@ -0,0 +1,204 @@
+package com.octopus.domain.entity;
+
+import com.octopus.domain.exception.DomainValidationException;
+import com.octopus.domain.exception.ValidationErrors;
+import com.octopus.domain.vo.Audit;
+import com.octopus.domain.vo.Rehydration;
+import com.octopus.domain.vo.TaskInfo;
+import com.octopus.domain.vo.WorkflowDefinitionId;
+import com.octopus.domain.vo.WorkflowStep;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import static java.util.Objects.isNull;
+
+/**
+ * A workflow: a directed acyclic graph of steps, each running the active task definition of a name.
+ * <p>
+ * The graph is checked when the workflow is built: step ids are unique, dependencies name steps of the workflow, and
+ * there is no cycle. Its topological order and parallelism levels are computed at the same time, once: the steps of
+ * a level only depend on steps of earlier levels, so all of them can run as soon as the previous level completed.
+ * </p>
+ * Whether the referenced tasks exist is checked against the registry at registration, not here.
+ */
+public class WorkflowDefinition {
+
+    public static final long INITIAL_VERSION = 1L;
+    public static final int MAX_STEPS = 500;
+
+    private static final Pattern NAME = Pattern.compile(TaskInfo.TASK_NAME_PATTERN);
+
+    private final WorkflowDefinitionId id;
+    private final String name;
+    private final String description;
+    private final List<WorkflowStep> steps;
+    private final Audit audit;
+    private final long version;
+
+    private final List<List<WorkflowStep>> levels;
+    private final List<WorkflowStep> topologicalOrder;
+    private final Set<String> taskNames;
+
+    public WorkflowDefinition(WorkflowDefinitionId id,
+                              String name,
+                              String description,
+                              List<WorkflowStep> steps,
+                              Audit audit,
+                              long version) {
+        if (isNull(id)) throw new DomainValidationException("Workflow id cannot be null");
+        if (isNull(audit)) throw new DomainValidationException("Workflow audit cannot be null");
+        if (!Rehydration.isTrusted()) validate(name, description, steps);
+
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.steps = List.copyOf(steps);
+        this.audit = audit;
+        this.version = version;
+
+        this.levels = levelsOf(this.steps);
+        this.topologicalOrder = levels.stream().flatMap(List::stream).toList();
+
+        var names = new LinkedHashSet<String>();
+        this.steps.forEach(step -> names.add(step.taskName()));
+        this.taskNames = Collections.unmodifiableSet(names);
+    }
+
+    /**
+     * Factory method to create a new WorkflowDefinition.
+     *
+     * @param name        unique name of the workflow
+     * @param description optional description
+     * @param steps       the steps, in any order
+     * @throws DomainValidationException if the steps do not form a valid graph
+     */
+    public static WorkflowDefinition createNew(String name, String description, List<WorkflowStep> steps) {
+        return new WorkflowDefinition(WorkflowDefinitionId.random(), name, description, steps, Audit.createNew(), INITIAL_VERSION);
+    }
+
+    private static void validate(String name, String description, List<WorkflowStep> steps) {
+        var errors = new ValidationErrors();
+
+        if (isNull(name) || name.isBlank()) errors.add("Workflow name cannot be blank");
+        else {
+            if (name.length() < TaskInfo.TASK_NAME_MIN_LENGTH || name.length() > TaskInfo.TASK_NAME_MAX_LENGTH) errors.add("Workflow name must be between 3 and 100 characters");
+            if (!NAME.matcher(name).matches()) errors.add("Workflow name can only contain letters, numbers, hyphens and underscores");
+        }
+        if (!isNull(description) && description.length() > TaskInfo.DESCRIPTION_MAX_LENGTH) errors.add("Description cannot exceed 500 characters");
+
+        if (isNull(steps) || steps.isEmpty()) errors.add("A workflow needs at least one step");
+        else if (steps.size() > MAX_STEPS) errors.add("A workflow cannot have more than " + MAX_STEPS + " steps");
+        else if (steps.contains(null)) errors.add("Steps cannot be null");
+
+        errors.throwIfAny();
+    }
+
+    /**
+     * Sorts the steps into parallelism levels, by Kahn's algorithm applied one level at a time.
+     *
+     * @throws DomainValidationException on duplicate step ids, unknown dependencies or cycles
+     */
+    private static List<List<WorkflowStep>> levelsOf(List<WorkflowStep> steps) {
+        var errors = new ValidationErrors();
+
+        var byId = new LinkedHashMap<String, WorkflowStep>();
+        for (var step : steps) {
+            if (byId.putIfAbsent(step.id(), step) != null) errors.add("Step id '" + step.id() + "' is used more than once");
+        }
+
+        var remaining = new HashMap<String, Integer>();
+        var dependents = new HashMap<String, List<WorkflowStep>>();
+        for (var step : byId.values()) {
+            var count = 0;
+            for (var dependency : new LinkedHashSet<>(step.dependsOn())) {
+                if (dependency.equals(step.id())) {
+                    errors.add("Step '" + step.id() + "' cannot depend on itself");
+                } else if (!byId.containsKey(dependency)) {
+                    errors.add("Step '" + step.id() + "' depends on unknown step '" + dependency + "'");
+                } else {
+                    dependents.computeIfAbsent(dependency, key -> new ArrayList<>()).add(step);
+                    count++;
+                }
+            }
+            remaining.put(step.id(), count);
+        }
+        errors.throwIfAny();
+
+        var levels = new ArrayList<List<WorkflowStep>>();
+        var level = byId.values().stream().filter(step -> remaining.get(step.id()) == 0).toList();
+        var placed = 0;
+        while (!level.isEmpty()) {
+            levels.add(level);
+            placed += level.size();
+
+            var next = new ArrayList<WorkflowStep>();
+            for (var step : level) {
+                for (var dependent : dependents.getOrDefault(step.id(), List.of())) {
+                    if (remaining.merge(dependent.id(), -1, Integer::sum) == 0) next.add(dependent);
+                }
+            }
+            level = List.copyOf(next);
+        }
+
+        if (placed < byId.size()) {
+            var blocked = byId.keySet().stream().filter(stepId -> remaining.get(stepId) > 0).toList();
+            throw new DomainValidationException("Steps " + blocked + " are in or behind a dependency cycle");
+        }
+        return List.copyOf(levels);
+    }
+
+    public WorkflowDefinitionId id() {
+        return id;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public String description() {
+        return description;
+    }
+
+    /**
+     * @return the steps, in the order they were registered
+     */
+    public List<WorkflowStep> steps() {
+        return steps;
+    }
+
+    public Audit audit() {
+        return audit;
+    }
+
+    public long version() {
+        return version;
+    }
+
+    /**
+     * @return the steps grouped by parallelism level, each level depending only on earlier ones
+     */
+    public List<List<WorkflowStep>> levels() {
+        return levels;
+    }
+
+    /**
+     * @return every step after all the steps it depends on
+     */
+    public List<WorkflowStep> topologicalOrder() {
+        return topologicalOrder;
+    }
+
+    /**
+     * @return the names of the task definitions run by the steps, each once
+     */
+    public Set<String> taskNames() {
+        return taskNames;
+    }
+}
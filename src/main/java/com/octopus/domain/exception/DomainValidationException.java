@@ -1,15 +1,40 @@
 package com.octopus.domain.exception;
 
+import java.util.List;
+
 /**
  * Exception thrown when a domain validation error occurs.
  * This is a domain exception representing a business rule violation.
+ * <p>
+ * Invalid input is an expected outcome rather than a bug, so no stack trace is captured: it would cost more than
+ * the validation itself and never be looked at. Every violation found is reported, see {@link ValidationErrors}.
+ * </p>
  */
 public class DomainValidationException extends RuntimeException {
+
+    private final transient List<String> violations;
+
     public DomainValidationException(String message) {
-        super(message);
+        this(List.of(message), null);
     }
 
     public DomainValidationException(String message, Exception e) {
-        super(message, e);
+        this(List.of(message), e);
+    }
+
+    public DomainValidationException(List<String> violations) {
+        this(violations, null);
+    }
+
+    private DomainValidationException(List<String> violations, Exception cause) {
+        super(String.join("; ", violations), cause, false, false);
+        this.violations = List.copyOf(violations);
+    }
+
+    /**
+     * @return every violation found, at least one
+     */
+    public List<String> violations() {
+        return violations;
     }
 }
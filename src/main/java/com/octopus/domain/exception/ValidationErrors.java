@@ -0,0 +1,44 @@
+package com.octopus.domain.exception;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Collects the violations found while validating, so that all of them are reported at once instead of only the first.
+ * Nothing is allocated until a violation is added.
+ */
+public final class ValidationErrors {
+
+    private List<String> violations;
+
+    public void add(String violation) {
+        if (violations == null) violations = new ArrayList<>(4);
+        violations.add(violation);
+    }
+
+    /**
+     * Builds a value, collecting the violations it is rejected for.
+     *
+     * @return the value, or {@code null} if it is invalid
+     */
+    public <T> T collect(Supplier<T> builder) {
+        try {
+            return builder.get();
+        } catch (DomainValidationException e) {
+            e.violations().forEach(this::add);
+            return null;
+        }
+    }
+
+    public boolean isEmpty() {
+        return violations == null;
+    }
+
+    /**
+     * @throws DomainValidationException with every violation collected, if any
+     */
+    public void throwIfAny() {
+        if (violations != null) throw new DomainValidationException(violations);
+    }
+}
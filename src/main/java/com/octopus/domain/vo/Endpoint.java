@@ -15,16 +15,18 @@ public record Endpoint(String url) {
     public static final int MAX_URL_LENGTH = 2048;
 
     public Endpoint {
-        if (isNull(url)) throw new DomainValidationException("Endpoint URL cannot be null");
-        if (url.isBlank()) throw new DomainValidationException("Endpoint URL cannot be blank");
+        // a stored endpoint is lower case and was parsed when it was written
+        if (!Rehydration.isTrusted()) {
+            if (isNull(url)) throw new DomainValidationException("Endpoint URL cannot be null");
+            if (url.isBlank()) throw new DomainValidationException("Endpoint URL cannot be blank");
 
-        if (url.length() > MAX_URL_LENGTH) throw new DomainValidationException(
-                String.format("Endpoint URL cannot exceed {%d} characters, got: %d", MAX_URL_LENGTH, url.length()));
+            if (url.length() > MAX_URL_LENGTH) throw new DomainValidationException(
+                    "Endpoint URL cannot exceed {" + MAX_URL_LENGTH + "} characters, got: " + url.length());
 
-        url = url.toLowerCase();
-
-        validateUrl(url);
+            url = url.toLowerCase();
 
+            validateUrl(url);
+        }
     }
 
     public static Endpoint of(String url) {
@@ -48,19 +50,19 @@ public record Endpoint(String url) {
             host = parsedUrl.getHost();
 
         } catch (IllegalArgumentException e) {
-            throw new DomainValidationException(String.format("Endpoint must be a valid URL: %s ", url), e);
+            throw new DomainValidationException("Endpoint must be a valid URL: " + url + " ", e);
         }
 
         if (isNull(protocol)) {
-            throw new DomainValidationException(String.format("Endpoint URL must have a protocol (HTTP or HTTPS): %s", url));
+            throw new DomainValidationException("Endpoint URL must have a protocol (HTTP or HTTPS): " + url);
         }
 
         if (!"http".equals(protocol) && !"https".equals(protocol)) {
-            throw new DomainValidationException(String.format("Endpoint protocol must be HTTP or HTTPS, but was: %s", protocol));
+            throw new DomainValidationException("Endpoint protocol must be HTTP or HTTPS, but was: " + protocol);
         }
 
         if (isNull(host) || host.isBlank()) {
-            throw new DomainValidationException(String.format("Endpoint must have a valid host: %s", url));
+            throw new DomainValidationException("Endpoint must have a valid host: " + url);
         }
     }
 
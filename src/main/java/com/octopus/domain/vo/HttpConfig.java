@@ -1,17 +1,19 @@
 package com.octopus.domain.vo;
 
-import com.octopus.domain.exception.DomainValidationException;
+import com.octopus.domain.exception.ValidationErrors;
 import lombok.Builder;
 
 import java.util.Map;
 import java.util.Objects;
+import java.util.regex.Pattern;
 
 import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
 
 /**
  * HttpConfig Value Object.
- * Represents HTTP configuration in the domain model.
+ * Represents HTTP configuration in the domain model. Headers and payload template are held read-only, see
+ * {@link ReadOnlyMap}.
  */
 @Builder
 public record HttpConfig(Endpoint endpoint,
@@ -24,30 +26,41 @@ public record HttpConfig(Endpoint endpoint,
     public static final int MAX_TIMEOUT_SECONDS = 300; // 5 minutes
     public static final String HEADER_KEY_PATTERN = "^[a-zA-Z0-9-]+$";
 
+    private static final Pattern HEADER_KEY = Pattern.compile(HEADER_KEY_PATTERN);
+
     public HttpConfig {
-        if (isNull(endpoint)) throw new DomainValidationException("Endpoint cannot be null");
-        if (isNull(httpMethod)) throw new DomainValidationException("HTTP method cannot be null");
-        if (isNull(timeoutSeconds)) throw new DomainValidationException("Timeout seconds cannot be null");
+        headers = ReadOnlyMap.copyOf(headers);
+        payloadTemplate = ReadOnlyMap.copyOf(payloadTemplate);
+        if (!Rehydration.isTrusted()) validate(endpoint, httpMethod, timeoutSeconds, headers);
+    }
+
+    private static void validate(Endpoint endpoint, HttpMethod httpMethod, Integer timeoutSeconds, Map<String, String> headers) {
+        var errors = new ValidationErrors();
 
-        validateTimeout(timeoutSeconds, httpMethod);
-        validateHeaders(headers);
+        if (isNull(endpoint)) errors.add("Endpoint cannot be null");
+        if (isNull(httpMethod)) errors.add("HTTP method cannot be null");
+        if (isNull(timeoutSeconds)) errors.add("Timeout seconds cannot be null");
+        else validateTimeout(timeoutSeconds, httpMethod, errors);
+        validateHeaders(headers, errors);
+
+        errors.throwIfAny();
     }
 
-    private void validateTimeout(Integer timeoutSeconds, HttpMethod httpMethod) {
-        if (timeoutSeconds < MIN_TIMEOUT_SECONDS) throw new DomainValidationException(
-                String.format("Timeout must be at least %d second, got: %d", MIN_TIMEOUT_SECONDS, timeoutSeconds));
+    private static void validateTimeout(Integer timeoutSeconds, HttpMethod httpMethod, ValidationErrors errors) {
+        if (timeoutSeconds < MIN_TIMEOUT_SECONDS) errors.add("Timeout must be at least " + MIN_TIMEOUT_SECONDS + " second, got: " + timeoutSeconds);
 
-        if (httpMethod == HttpMethod.GET && timeoutSeconds > MAX_TIMEOUT_SECONDS) throw new DomainValidationException(
-                String.format("GET requests should not have timeout exceeding %d seconds", MAX_TIMEOUT_SECONDS));
+        if (httpMethod == HttpMethod.GET && timeoutSeconds > MAX_TIMEOUT_SECONDS) errors.add("GET requests should not have timeout exceeding " + MAX_TIMEOUT_SECONDS + " seconds");
     }
 
-    private void validateHeaders(Map<String, String> headers) {
+    private static void validateHeaders(Map<String, String> headers, ValidationErrors errors) {
         if (nonNull(headers)) {
             headers.forEach((key, value) -> {
-                if (isNull(key) || key.isBlank())throw new DomainValidationException("Header key cannot be null or blank");
-                if (isNull(value)) throw new DomainValidationException(String.format("Header value for key '%s' cannot be null", key));
-                if (!key.matches(HEADER_KEY_PATTERN))throw new DomainValidationException(String.format("Header value for key '%s' contains invalid characters", key));
-
+                if (isNull(key) || key.isBlank()) {
+                    errors.add("Header key cannot be null or blank");
+                    return;
+                }
+                if (isNull(value)) errors.add("Header value for key '" + key + "' cannot be null");
+                if (!HEADER_KEY.matcher(key).matches()) errors.add("Header value for key '" + key + "' contains invalid characters");
             });
         }
     }
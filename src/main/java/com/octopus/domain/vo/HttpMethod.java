@@ -35,7 +35,7 @@ public enum HttpMethod {
 
         HttpMethod result = ENUM_MAP.get(httpMethod.toUpperCase());
         if (isNull(result)) {
-            throw new DomainValidationException(String.format("HTTP method %s not found. Valid values are: %s", httpMethod, HTTP_METHOD_PATTERN));
+            throw new DomainValidationException("HTTP method " + httpMethod + " not found. Valid values are: " + HTTP_METHOD_PATTERN);
         }
 
         return result;
@@ -0,0 +1,75 @@
+package com.octopus.domain.vo;
+
+import com.octopus.domain.exception.DomainValidationException;
+
+import java.util.Arrays;
+
+import static java.util.Objects.isNull;
+
+/**
+ * LatencyDistribution Value Object.
+ * Counts of observed latencies in logarithmic buckets: bucket {@code i} holds latencies in
+ * {@code (GAMMA^(i-1), GAMMA^i]} milliseconds, so any quantile is known within {@link #RELATIVE_ACCURACY}
+ * whatever the range of latencies. Distributions recorded separately merge exactly by adding their counts.
+ */
+public record LatencyDistribution(long[] counts) {
+
+    public static final double RELATIVE_ACCURACY = 0.02;
+    public static final double GAMMA = (1 + RELATIVE_ACCURACY) / (1 - RELATIVE_ACCURACY);
+    private static final double LOG_GAMMA = Math.log(GAMMA); // initialized before BUCKETS, which depends on it
+    public static final long MAX_LATENCY_MILLIS = 3_600_000L;
+    public static final int BUCKETS = bucketOf(MAX_LATENCY_MILLIS) + 1;
+
+    public LatencyDistribution {
+        if (isNull(counts)) throw new DomainValidationException("counts cannot be null");
+        if (counts.length > BUCKETS) throw new DomainValidationException("counts cannot have more than " + BUCKETS + " buckets");
+    }
+
+    public static LatencyDistribution empty() {
+        return new LatencyDistribution(new long[BUCKETS]);
+    }
+
+    /**
+     * @return the bucket of a latency, latencies below one millisecond and above {@link #MAX_LATENCY_MILLIS} being
+     * counted in the first and last bucket
+     */
+    public static int bucketOf(long latencyMillis) {
+        if (latencyMillis <= 1) return 0;
+        return (int) Math.ceil(Math.log(Math.min(latencyMillis, MAX_LATENCY_MILLIS)) / LOG_GAMMA);
+    }
+
+    /**
+     * @return the latency standing for a bucket, within {@link #RELATIVE_ACCURACY} of every latency it holds
+     */
+    public static double valueOf(int bucket) {
+        if (bucket == 0) return 1;
+        return 2 * Math.pow(GAMMA, bucket) / (GAMMA + 1);
+    }
+
+    public long total() {
+        return Arrays.stream(counts).sum();
+    }
+
+    /**
+     * @param quantile between 0 and 1
+     * @return the latency in milliseconds below which that share of the observations lies, or 0 if there are none
+     */
+    public double quantile(double quantile) {
+        var total = total();
+        if (total == 0) return 0;
+
+        var rank = (long) Math.ceil(quantile * total);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank && counts[i] > 0) return valueOf(i);
+        }
+        return valueOf(counts.length - 1);
+    }
+
+    public LatencyDistribution merge(LatencyDistribution other) {
+        var merged = Arrays.copyOf(counts, Math.max(counts.length, other.counts.length));
+        for (int i = 0; i < other.counts.length; i++) merged[i] += other.counts[i];
+        return new LatencyDistribution(merged);
+    }
+}
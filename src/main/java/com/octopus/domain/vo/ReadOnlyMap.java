@@ -0,0 +1,45 @@
+package com.octopus.domain.vo;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Marks a map that cannot be modified, nor any map or list nested in it.
+ * <p>
+ * Value objects hold their maps through {@link #copyOf}, which keeps such a map as it is, so that lazily decoded
+ * content is not materialized, and copies any other one. Definitions can then be handed out by caches without
+ * callers affecting each other.
+ * </p>
+ */
+public interface ReadOnlyMap {
+
+    /**
+     * @return {@code map} itself if it is a {@link ReadOnlyMap} or {@code null}, otherwise an unmodifiable copy of it
+     * whose nested maps and lists are unmodifiable copies too. Entry order and {@code null} values are kept.
+     */
+    static <V> Map<String, V> copyOf(Map<String, V> map) {
+        if (map == null || map instanceof ReadOnlyMap) return map;
+        return copyOfNested(map);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K, V> Map<K, V> copyOfNested(Map<K, V> map) {
+        var copy = new LinkedHashMap<K, V>(map.size() * 2);
+        map.forEach((key, value) -> copy.put(key, (V) copyOfValue(value)));
+        return Collections.unmodifiableMap(copy);
+    }
+
+    private static Object copyOfValue(Object value) {
+        if (value instanceof ReadOnlyMap) return value;
+        if (value instanceof Map<?, ?> map) return copyOfNested(map);
+        if (value instanceof List<?> list) {
+            var copy = new ArrayList<>(list.size());
+            list.forEach(element -> copy.add(copyOfValue(element)));
+            return Collections.unmodifiableList(copy);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,60 @@
+package com.octopus.domain.vo;
+
+import java.util.function.Supplier;
+
+/**
+ * Trusted reconstitution of value objects from storage.
+ * <p>
+ * Values are validated when a definition is created or changed, and stored along with the
+ * {@link #VALIDATION_VERSION} they were validated under. Reading them back through {@link #rehydrate} skips the
+ * invariant checks of the value objects when that version is the current one; anything stored under an older or
+ * unknown version is checked again in full. Bump {@link #VALIDATION_VERSION} whenever an invariant becomes stricter.
+ * </p>
+ */
+public final class Rehydration {
+
+    /**
+     * Version of the domain invariants. Stored values validated under another version are not trusted.
+     */
+    public static final int VALIDATION_VERSION = 1;
+
+    private static final ThreadLocal<int[]> TRUSTED_DEPTH = ThreadLocal.withInitial(() -> new int[1]);
+
+    private Rehydration() {
+    }
+
+    /**
+     * @return whether the value objects being constructed on this thread come from trusted storage
+     */
+    public static boolean isTrusted() {
+        return TRUSTED_DEPTH.get()[0] > 0;
+    }
+
+    /**
+     * Builds a stored value, trusting it if it was validated under the current {@link #VALIDATION_VERSION}.
+     *
+     * @param storedValidationVersion the validation version stored with the value, {@code null} if there was none
+     */
+    public static <T> T rehydrate(Integer storedValidationVersion, Supplier<T> builder) {
+        if (storedValidationVersion == null || storedValidationVersion != VALIDATION_VERSION) return builder.get();
+
+        begin();
+        try {
+            return builder.get();
+        } finally {
+            end();
+        }
+    }
+
+    /**
+     * Starts trusting the value objects constructed on this thread, for readers that only learn the stored
+     * validation version halfway through. Every call must be paired with {@link #end()}.
+     */
+    public static void begin() {
+        TRUSTED_DEPTH.get()[0]++;
+    }
+
+    public static void end() {
+        TRUSTED_DEPTH.get()[0]--;
+    }
+}
@@ -1,6 +1,6 @@
 package com.octopus.domain.vo;
 
-import com.octopus.domain.exception.DomainValidationException;
+import com.octopus.domain.exception.ValidationErrors;
 import lombok.Builder;
 
 import java.util.Arrays;
@@ -22,47 +22,60 @@ public record RetryPolicy(Integer maxAttempts,
     public static final int MAX_ATTEMPTS_LIMIT = 20;
 
     public RetryPolicy {
-        if (isNull(maxAttempts)) throw new DomainValidationException("maxAttempts cannot be null");
-        if (maxAttempts < MIN_ATTEMPTS_LIMIT) throw new DomainValidationException(String.format("maxAttempts cannot be less than %d", MIN_ATTEMPTS_LIMIT));
-        if (maxAttempts > MAX_ATTEMPTS_LIMIT) throw new DomainValidationException(String.format("maxAttempts cannot exceed %d", MAX_ATTEMPTS_LIMIT));
+        if (!Rehydration.isTrusted()) validate(maxAttempts, backoffSeconds, retryableStatusCodes);
+    }
+
+    private static void validate(Integer maxAttempts, Integer[] backoffSeconds, Integer[] retryableStatusCodes) {
+        var errors = new ValidationErrors();
 
+        if (isNull(maxAttempts)) errors.add("maxAttempts cannot be null");
+        else if (maxAttempts < MIN_ATTEMPTS_LIMIT) errors.add("maxAttempts cannot be less than " + MIN_ATTEMPTS_LIMIT);
+        else if (maxAttempts > MAX_ATTEMPTS_LIMIT) errors.add("maxAttempts cannot exceed " + MAX_ATTEMPTS_LIMIT);
 
-        if (maxAttempts > 0) {
-            validateBackoffSeconds(backoffSeconds, maxAttempts);
-            validateRetryableStatusCodes(retryableStatusCodes);
+        if (errors.isEmpty() && maxAttempts > 0) {
+            validateBackoffSeconds(backoffSeconds, maxAttempts, errors);
+            validateRetryableStatusCodes(retryableStatusCodes, errors);
         }
+
+        errors.throwIfAny();
     }
 
-    private void validateBackoffSeconds(Integer[] backoffSeconds, Integer maxAttempts) {
+    private static void validateBackoffSeconds(Integer[] backoffSeconds, Integer maxAttempts, ValidationErrors errors) {
 
         if (isNull(backoffSeconds)) {
-            throw new DomainValidationException(String.format("backoffSeconds cannot be null when maxAttempts is greater than %d. Provided maxAttempts: %d", MIN_ATTEMPTS_LIMIT, maxAttempts));
+            errors.add("backoffSeconds cannot be null when maxAttempts is greater than " + MIN_ATTEMPTS_LIMIT + ". Provided maxAttempts: " + maxAttempts);
+            return;
         }
 
         if (backoffSeconds.length == 0) {
-            throw new DomainValidationException("backoffSeconds must have at least one element when maxAttempts is greater than 0");
+            errors.add("backoffSeconds must have at least one element when maxAttempts is greater than 0");
+            return;
         }
 
         if (backoffSeconds.length < maxAttempts) {
-            throw new DomainValidationException(String.format("backoffSeconds array length (%d) cannot be less than maxAttempts (%d)", backoffSeconds.length, maxAttempts));
+            errors.add("backoffSeconds array length (" + backoffSeconds.length + ") cannot be less than maxAttempts (" + maxAttempts + ")");
         }
 
         for (int i = 0; i < backoffSeconds.length; i++) {
-            if (backoffSeconds[i] < 0) {
-                throw new DomainValidationException(String.format("backoff Seconds at index %d cannot be negative: %d", i, backoffSeconds[i]));
+            if (isNull(backoffSeconds[i]) || backoffSeconds[i] < 0) {
+                errors.add("backoff Seconds at index " + i + " cannot be negative: " + backoffSeconds[i]);
             }
         }
     }
 
-    private void validateRetryableStatusCodes(Integer[] retryableStatusCodes) {
-        if (isNull(retryableStatusCodes)) throw new DomainValidationException(String.format("retryableStatusCodes cannot be null when maxAttempts is greater than %d", MIN_ATTEMPTS_LIMIT));
+    private static void validateRetryableStatusCodes(Integer[] retryableStatusCodes, ValidationErrors errors) {
+        if (isNull(retryableStatusCodes)) {
+            errors.add("retryableStatusCodes cannot be null when maxAttempts is greater than " + MIN_ATTEMPTS_LIMIT);
+            return;
+        }
         if (retryableStatusCodes.length == 0) {
-            throw new DomainValidationException(String.format("retryableStatusCodes must have at least one element when maxAttempts is greater than %d", MIN_ATTEMPTS_LIMIT));
+            errors.add("retryableStatusCodes must have at least one element when maxAttempts is greater than " + MIN_ATTEMPTS_LIMIT);
+            return;
         }
 
         for (int i = 0; i < retryableStatusCodes.length; i++) {
-            if (retryableStatusCodes[i] < MIN_HTTP_STATUS_CODE || retryableStatusCodes[i] > MAX_HTTP_STATUS_CODE) {
-                throw new DomainValidationException(String.format("Invalid HTTP status code at index %d: %d. Valid range is %d-%d", i, retryableStatusCodes[i], MIN_HTTP_STATUS_CODE, MAX_HTTP_STATUS_CODE));
+            if (isNull(retryableStatusCodes[i]) || retryableStatusCodes[i] < MIN_HTTP_STATUS_CODE || retryableStatusCodes[i] > MAX_HTTP_STATUS_CODE) {
+                errors.add("Invalid HTTP status code at index " + i + ": " + retryableStatusCodes[i] + ". Valid range is " + MIN_HTTP_STATUS_CODE + "-" + MAX_HTTP_STATUS_CODE);
             }
         }
     }
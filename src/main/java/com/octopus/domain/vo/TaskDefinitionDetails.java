@@ -0,0 +1,19 @@
+package com.octopus.domain.vo;
+
+import com.octopus.domain.exception.DomainValidationException;
+
+import static java.util.Objects.isNull;
+
+/**
+ * TaskDefinitionDetails Value Object.
+ * The heavy sections of a TaskDefinition (HTTP configuration with headers and payload template,
+ * and retry policy) that are not part of its {@link TaskDefinitionSummary}.
+ */
+public record TaskDefinitionDetails(HttpConfig httpConfig,
+                                    RetryPolicy retryPolicy) {
+
+    public TaskDefinitionDetails {
+        if (isNull(httpConfig)) throw new DomainValidationException("httpConfig cannot be null");
+        if (isNull(retryPolicy)) throw new DomainValidationException("retryPolicy cannot be null");
+    }
+}
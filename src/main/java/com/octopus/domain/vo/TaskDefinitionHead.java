@@ -0,0 +1,28 @@
+package com.octopus.domain.vo;
+
+import com.octopus.domain.exception.DomainValidationException;
+
+import static java.util.Objects.isNull;
+
+/**
+ * TaskDefinitionHead Value Object.
+ * Small pointer to the current version of a task definition name: the latest version of its active definition, or
+ * the latest version recorded while none is active. It is the only piece of version information that changes over
+ * time; the versions themselves are immutable.
+ */
+public record TaskDefinitionHead(String name, TaskDefinitionId definitionId, long version, TaskStatus status) {
+
+    public TaskDefinitionHead {
+        if (isNull(name) || name.isBlank()) throw new DomainValidationException("name cannot be null or blank");
+        if (isNull(definitionId)) throw new DomainValidationException("definitionId cannot be null");
+        if (isNull(status)) throw new DomainValidationException("status cannot be null");
+    }
+
+    public boolean isActive() {
+        return TaskStatus.ACTIVE.equals(status);
+    }
+
+    public TaskDefinitionRef versionRef() {
+        return TaskDefinitionRef.pinned(name, version);
+    }
+}
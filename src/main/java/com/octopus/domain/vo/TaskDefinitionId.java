@@ -2,6 +2,7 @@ package com.octopus.domain.vo;
 
 import com.octopus.domain.exception.DomainValidationException;
 
+import java.nio.charset.StandardCharsets;
 import java.util.UUID;
 
 import static java.util.Objects.isNull;
@@ -17,6 +18,14 @@ public record TaskDefinitionId(UUID value) {
         return new TaskDefinitionId(UUID.randomUUID());
     }
 
+    /**
+     * Id derived from a version reference, the same every time it is derived from that reference. Used by imports,
+     * so that a definition imported again is recognized as the one imported before.
+     */
+    public static TaskDefinitionId derivedFrom(TaskDefinitionRef ref) {
+        return new TaskDefinitionId(UUID.nameUUIDFromBytes(ref.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+
     public static TaskDefinitionId of(String value) {
         if (isNull(value)) throw new DomainValidationException("id string value cannot be null");
 
@@ -0,0 +1,55 @@
+package com.octopus.domain.vo;
+
+import com.octopus.domain.exception.DomainValidationException;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * TaskDefinitionRef Value Object.
+ * Reference to a task definition by name, optionally pinned to a version with the {@code name@version} notation.
+ * An unpinned reference designates the current active definition of that name; a pinned one designates
+ * an immutable version.
+ */
+public record TaskDefinitionRef(String name, Long version) {
+
+    public static final char VERSION_SEPARATOR = '@';
+
+    public TaskDefinitionRef {
+        if (isNull(name) || name.isBlank()) throw new DomainValidationException("Task definition name must not be null or blank");
+        if (nonNull(version) && version < 1) throw new DomainValidationException("Task definition version must be at least 1");
+    }
+
+    public static TaskDefinitionRef latest(String name) {
+        return new TaskDefinitionRef(name, null);
+    }
+
+    public static TaskDefinitionRef pinned(String name, long version) {
+        return new TaskDefinitionRef(name, version);
+    }
+
+    /**
+     * Parses {@code name} or {@code name@version}.
+     */
+    public static TaskDefinitionRef parse(String value) {
+        if (isNull(value)) throw new DomainValidationException("Task definition reference cannot be null");
+
+        var separator = value.lastIndexOf(VERSION_SEPARATOR);
+        if (separator < 0) return latest(value);
+
+        try {
+            return pinned(value.substring(0, separator), Long.parseLong(value.substring(separator + 1)));
+        } catch (NumberFormatException e) {
+            throw new DomainValidationException("Task definition version must be a number: " + value, e);
+        }
+    }
+
+    public boolean isPinned() {
+        return nonNull(version);
+    }
+
+    @Override
+    public String toString() {
+        return isPinned() ? name + VERSION_SEPARATOR + version : name;
+    }
+}
@@ -0,0 +1,42 @@
+package com.octopus.domain.vo;
+
+import com.octopus.domain.exception.DomainValidationException;
+import lombok.Builder;
+
+import java.util.Map;
+
+import static java.util.Objects.isNull;
+
+/**
+ * TaskDefinitionSummary Value Object.
+ * Lightweight read view of a TaskDefinition holding only its scalar fields,
+ * without HTTP headers, payload template or retry policy.
+ */
+@Builder
+public record TaskDefinitionSummary(TaskDefinitionId id,
+                                    TaskInfo taskInfo,
+                                    TaskStatus taskStatus,
+                                    Map<String, String> metadata,
+                                    Endpoint endpoint,
+                                    HttpMethod httpMethod,
+                                    Integer timeoutSeconds,
+                                    Audit audit,
+                                    long version) {
+
+    public TaskDefinitionSummary {
+        if (isNull(id)) throw new DomainValidationException("id cannot be null");
+        if (isNull(taskInfo)) throw new DomainValidationException("taskInfo cannot be null");
+        if (isNull(taskStatus)) throw new DomainValidationException("taskStatus cannot be null");
+        if (version < 1) throw new DomainValidationException("version must be at least 1");
+
+        metadata = isNull(metadata) ? Map.of() : metadata;
+    }
+
+    public TaskDefinitionRef versionRef() {
+        return TaskDefinitionRef.pinned(taskInfo.name(), version);
+    }
+
+    public boolean isActive() {
+        return TaskStatus.ACTIVE.equals(taskStatus);
+    }
+}
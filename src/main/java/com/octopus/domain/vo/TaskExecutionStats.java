@@ -0,0 +1,49 @@
+package com.octopus.domain.vo;
+
+import com.octopus.domain.exception.DomainValidationException;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static java.util.Objects.isNull;
+
+/**
+ * TaskExecutionStats Value Object.
+ * Outcomes of the executions of a task reported by the orchestrators: how long calls took, which HTTP status they
+ * ended with and at which attempt. Statistics of separate periods or replicas merge by adding them up.
+ *
+ * @param statusCounts  executions by final HTTP status code
+ * @param attemptCounts executions by attempt number, 1 being the first call
+ */
+public record TaskExecutionStats(String name,
+                                 long executions,
+                                 LatencyDistribution latency,
+                                 Map<Integer, Long> statusCounts,
+                                 Map<Integer, Long> attemptCounts) {
+
+    public TaskExecutionStats {
+        if (isNull(name) || name.isBlank()) throw new DomainValidationException("name cannot be null or blank");
+        if (isNull(latency)) throw new DomainValidationException("latency cannot be null");
+
+        statusCounts = isNull(statusCounts) ? Map.of() : Map.copyOf(statusCounts);
+        attemptCounts = isNull(attemptCounts) ? Map.of() : Map.copyOf(attemptCounts);
+    }
+
+    public static TaskExecutionStats empty(String name) {
+        return new TaskExecutionStats(name, 0, LatencyDistribution.empty(), Map.of(), Map.of());
+    }
+
+    public TaskExecutionStats merge(TaskExecutionStats other) {
+        return new TaskExecutionStats(name,
+                executions + other.executions,
+                latency.merge(other.latency),
+                sum(statusCounts, other.statusCounts),
+                sum(attemptCounts, other.attemptCounts));
+    }
+
+    private static Map<Integer, Long> sum(Map<Integer, Long> left, Map<Integer, Long> right) {
+        var sum = new HashMap<>(left);
+        right.forEach((key, count) -> sum.merge(key, count, Long::sum));
+        return sum;
+    }
+}
@@ -1,8 +1,10 @@
 package com.octopus.domain.vo;
 
-import com.octopus.domain.exception.DomainValidationException;
+import com.octopus.domain.exception.ValidationErrors;
 import lombok.Builder;
 
+import java.util.regex.Pattern;
+
 import static java.util.Objects.isNull;
 
 @Builder
@@ -17,19 +19,29 @@ public record TaskInfo(String name,
     public static final int DESCRIPTION_MAX_LENGTH = 500;
     public static final String TASK_NAME_PATTERN = "^[a-zA-Z0-9-_]+$";
 
+    private static final Pattern TASK_NAME = Pattern.compile(TASK_NAME_PATTERN);
+
     public TaskInfo {
-        if (isNull(name)) throw new DomainValidationException("Task name cannot be null");
-        if (isNull(category)) throw new DomainValidationException("Category cannot be null");
-        if (isNull(description)) throw new DomainValidationException("Description cannot be null");
+        if (!Rehydration.isTrusted()) validate(name, category, description);
+    }
+
+    private static void validate(String name, String category, String description) {
+        var errors = new ValidationErrors();
 
-        if (name.isBlank()) throw new DomainValidationException("Task name cannot be blank");
-        if (name.length() < TASK_NAME_MIN_LENGTH || name.length() > TASK_NAME_MAX_LENGTH) throw new DomainValidationException("Task name must be between 3 and 100 characters");
-        if (!name.matches(TASK_NAME_PATTERN)) throw new DomainValidationException("Task name can only contain letters, numbers, hyphens and underscores");
+        if (isNull(name)) errors.add("Task name cannot be null");
+        else if (name.isBlank()) errors.add("Task name cannot be blank");
+        else {
+            if (name.length() < TASK_NAME_MIN_LENGTH || name.length() > TASK_NAME_MAX_LENGTH) errors.add("Task name must be between 3 and 100 characters");
+            if (!TASK_NAME.matcher(name).matches()) errors.add("Task name can only contain letters, numbers, hyphens and underscores");
+        }
 
-        if (category.isBlank()) throw new DomainValidationException("Category cannot be blank");
-        if (category.length() < CATEGORY_MIN_LENGTH || category.length() > CATEGORY_MAX_LENGTH) throw new DomainValidationException("Category must be between 2 and 50 characters");
+        if (isNull(category)) errors.add("Category cannot be null");
+        else if (category.isBlank()) errors.add("Category cannot be blank");
+        else if (category.length() < CATEGORY_MIN_LENGTH || category.length() > CATEGORY_MAX_LENGTH) errors.add("Category must be between 2 and 50 characters");
 
-        if (description.length() > DESCRIPTION_MAX_LENGTH) throw new DomainValidationException("Description cannot exceed 500 characters");
+        if (isNull(description)) errors.add("Description cannot be null");
+        else if (description.length() > DESCRIPTION_MAX_LENGTH) errors.add("Description cannot exceed 500 characters");
 
+        errors.throwIfAny();
     }
 }
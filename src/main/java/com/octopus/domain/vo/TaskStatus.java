@@ -37,7 +37,7 @@ public enum TaskStatus {
 
         TaskStatus result = ENUM_MAP.get(status.toUpperCase());
         if (isNull(result)) {
-            throw new DomainValidationException(String.format("Status %s not found. Valid values are: %s", status, STATUS_PATTERN));
+            throw new DomainValidationException("Status " + status + " not found. Valid values are: " + STATUS_PATTERN);
         }
 
         return result;
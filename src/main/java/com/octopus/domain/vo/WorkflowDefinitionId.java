@@ -0,0 +1,28 @@
+package com.octopus.domain.vo;
+
+import com.octopus.domain.exception.DomainValidationException;
+
+import java.util.UUID;
+
+import static java.util.Objects.isNull;
+
+public record WorkflowDefinitionId(UUID value) {
+
+    public WorkflowDefinitionId {
+        if (isNull(value)) throw new DomainValidationException("uuid value cannot be null");
+    }
+
+    public static WorkflowDefinitionId random() {
+        return new WorkflowDefinitionId(UUID.randomUUID());
+    }
+
+    public static WorkflowDefinitionId of(String value) {
+        if (isNull(value)) throw new DomainValidationException("id string value cannot be null");
+
+        try {
+            return new WorkflowDefinitionId(UUID.fromString(value));
+        } catch (IllegalArgumentException e) {
+            throw new DomainValidationException("id string value must be a valid UUID", e);
+        }
+    }
+}
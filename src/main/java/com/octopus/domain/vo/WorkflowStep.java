@@ -0,0 +1,46 @@
+package com.octopus.domain.vo;
+
+import com.octopus.domain.exception.ValidationErrors;
+import lombok.Builder;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static java.util.Objects.isNull;
+
+/**
+ * WorkflowStep Value Object.
+ * A step of a workflow: the task it runs, referenced by name, and the steps that must complete before it starts.
+ *
+ * @param id        identifies the step within its workflow
+ * @param taskName  name of the task definition the step runs, resolved to its active version
+ * @param dependsOn ids of the steps this one waits for, empty for a starting step
+ */
+@Builder
+public record WorkflowStep(String id, String taskName, List<String> dependsOn) {
+
+    public static final int STEP_ID_MAX_LENGTH = 100;
+
+    private static final Pattern STEP_ID = Pattern.compile(TaskInfo.TASK_NAME_PATTERN);
+
+    public WorkflowStep {
+        if (!Rehydration.isTrusted()) validate(id, taskName, dependsOn);
+        dependsOn = isNull(dependsOn) ? List.of() : List.copyOf(dependsOn);
+    }
+
+    private static void validate(String id, String taskName, List<String> dependsOn) {
+        var errors = new ValidationErrors();
+
+        if (isNull(id) || id.isBlank()) errors.add("Step id cannot be blank");
+        else {
+            if (id.length() > STEP_ID_MAX_LENGTH) errors.add("Step id cannot exceed " + STEP_ID_MAX_LENGTH + " characters");
+            if (!STEP_ID.matcher(id).matches()) errors.add("Step id '" + id + "' can only contain letters, numbers, hyphens and underscores");
+        }
+        if (isNull(taskName) || taskName.isBlank()) errors.add("Task name of step '" + id + "' cannot be blank");
+        if (!isNull(dependsOn) && dependsOn.stream().anyMatch(dependency -> isNull(dependency) || dependency.isBlank())) {
+            errors.add("Dependencies of step '" + id + "' cannot be blank");
+        }
+
+        errors.throwIfAny();
+    }
+}